@@ -1,20 +1,30 @@
 package com.example.portfolio;
 
+import com.example.portfolio.config.BootstrapProperties;
+import com.example.portfolio.config.ChangeFeedProperties;
+import com.example.portfolio.config.EventStreamProperties;
+import com.example.portfolio.config.FacetProperties;
 import com.example.portfolio.config.JwtProperties;
+import com.example.portfolio.config.OffHeapCacheProperties;
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.config.PushProperties;
+import com.example.portfolio.config.RelatedProjectsProperties;
+import com.example.portfolio.config.SimilarMembersProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import jakarta.annotation.PostConstruct;
 
 @SpringBootApplication
-@EnableCaching
 @EnableScheduling
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, OffHeapCacheProperties.class, PaginationProperties.class,
+        BootstrapProperties.class, FacetProperties.class, RelatedProjectsProperties.class,
+        SimilarMembersProperties.class, ChangeFeedProperties.class, EventStreamProperties.class,
+        PushProperties.class})
 public class PortfolioApplication {
     private static final Logger logger = LoggerFactory.getLogger(PortfolioApplication.class);
 
@@ -1,11 +1,17 @@
 package com.example.portfolio.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.http.MediaType;
 
+import java.util.List;
+
 /**
  * Configuration for API versioning support.
  * Enables content negotiation for versioned API endpoints.
@@ -23,6 +29,16 @@ public class ApiVersionConfig implements WebMvcConfigurer {
      */
     public static final String CURRENT_API_VERSION = "1.0";
 
+    /**
+     * Media type selecting the normalized (v2) list payloads.
+     */
+    public static final String V2_MEDIA_TYPE = "application/vnd.portfolio.v2+json";
+
+    /**
+     * Binary (CBOR) encoding of the v2 payloads.
+     */
+    public static final String V2_CBOR_MEDIA_TYPE = "application/vnd.portfolio.v2+cbor";
+
     /**
      * Configure content negotiation for API versioning.
      * Supports versioning through Accept headers.
@@ -34,6 +50,21 @@ public class ApiVersionConfig implements WebMvcConfigurer {
             .defaultContentType(MediaType.APPLICATION_JSON)
             .mediaType("json", MediaType.APPLICATION_JSON)
             .mediaType("v1", MediaType.valueOf("application/vnd.portfolio.v1+json"))
-            .mediaType("v2", MediaType.valueOf("application/vnd.portfolio.v2+json"));
+            .mediaType("v2", MediaType.valueOf(V2_MEDIA_TYPE))
+            .mediaType("cbor", MediaType.APPLICATION_CBOR)
+            .mediaType("v2cbor", MediaType.valueOf(V2_CBOR_MEDIA_TYPE));
+    }
+
+    /**
+     * CBOR converter for clients that send {@code Accept: application/cbor}
+     * (or the v2 CBOR type). Built from Boot's Jackson builder so the binary
+     * encoding serializes the same records exactly like the JSON one.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR, MediaType.valueOf(V2_CBOR_MEDIA_TYPE)));
+        return converter;
     }
 }
\ No newline at end of file
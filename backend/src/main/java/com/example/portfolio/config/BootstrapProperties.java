@@ -0,0 +1,51 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing for the home page bootstrap payload and the executor that loads
+ * its parts in parallel.
+ */
+@ConfigurationProperties(prefix = "app.bootstrap")
+public class BootstrapProperties {
+    /** Threads loading bootstrap parts; also the most parts in flight at once. */
+    private int threads = 4;
+    /** Parts that may wait for a thread before callers load them inline. */
+    private int queueCapacity = 32;
+    /** Newest projects shown as featured. */
+    private int featuredProjects = 6;
+    /** Entries in the "What's New" feed. */
+    private int recentUpdates = 10;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getFeaturedProjects() {
+        return featuredProjects;
+    }
+
+    public void setFeaturedProjects(int featuredProjects) {
+        this.featuredProjects = featuredProjects;
+    }
+
+    public int getRecentUpdates() {
+        return recentUpdates;
+    }
+
+    public void setRecentUpdates(int recentUpdates) {
+        this.recentUpdates = recentUpdates;
+    }
+}
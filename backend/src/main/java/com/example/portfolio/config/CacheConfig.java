@@ -2,6 +2,7 @@ package com.example.portfolio.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -13,11 +14,14 @@ import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 import java.util.Arrays;
 
 @Configuration
-@EnableCaching
+// Caching wraps the transaction (which keeps the default lowest precedence), so
+// @CacheEvict runs after the write commits and a reload cannot cache the old rows
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class CacheConfig implements CachingConfigurer {
     
     private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
@@ -27,23 +31,45 @@ public class CacheConfig implements CachingConfigurer {
     public static final String USER_DETAILS_CACHE = "userDetails";
     public static final String JWT_BLACKLIST_CACHE = "jwtBlacklist";
     public static final String PROJECTS_CACHE = "projects";
+    // Keyset pages and their total counts; cleared as a whole on writes
+    public static final String PROJECT_PAGES_CACHE = "projectPages";
+    public static final String TEAM_PAGES_CACHE = "teamPages";
+    // Serialized and gzipped public responses, one entry per resource tagged with its ETag
+    public static final String RESPONSE_BODIES_CACHE = "responseBodies";
+    // Search result pages keyed by normalized query; cleared as a whole on content writes
+    public static final String SEARCH_CACHE = "search";
+
+    // Key under which the unfiltered project list is cached
+    public static final String PROJECTS_ALL_KEY = "ALL";
+    
+    private final OffHeapCacheProperties offHeapProperties;
+
+    public CacheConfig(OffHeapCacheProperties offHeapProperties) {
+        this.offHeapProperties = offHeapProperties;
+    }
     
     @Bean
     @Override
     public CacheManager cacheManager() {
         logger.info("Initializing cache manager with caches: {}", 
-            Arrays.asList(USER_CACHE, USER_DETAILS_CACHE, JWT_BLACKLIST_CACHE, PROJECTS_CACHE));
+            Arrays.asList(USER_CACHE, USER_DETAILS_CACHE, JWT_BLACKLIST_CACHE, PROJECTS_CACHE,
+                PROJECT_PAGES_CACHE, TEAM_PAGES_CACHE, RESPONSE_BODIES_CACHE, SEARCH_CACHE));
         
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
-            USER_CACHE,
-            USER_DETAILS_CACHE, 
-            JWT_BLACKLIST_CACHE,
-            PROJECTS_CACHE
-        );
+        TieredCacheManager cacheManager = new TieredCacheManager(offHeapProperties);
         
         // Enable dynamic cache creation for any additional caches needed
         // Allow null values in cache to handle cases where users are not found
         cacheManager.setAllowNullValues(true);
+        cacheManager.setCacheNames(Arrays.asList(
+            USER_CACHE,
+            USER_DETAILS_CACHE, 
+            JWT_BLACKLIST_CACHE,
+            PROJECTS_CACHE,
+            PROJECT_PAGES_CACHE,
+            TEAM_PAGES_CACHE,
+            RESPONSE_BODIES_CACHE,
+            SEARCH_CACHE
+        ));
         
         logger.info("Cache manager initialized successfully");
         return cacheManager;
@@ -65,4 +91,28 @@ public class CacheConfig implements CachingConfigurer {
     public CacheResolver cacheResolver() {
         return null; // Use default resolver
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates an {@link OffHeapCache} for every cache configured under
+     * {@code app.cache.off-heap.caches} and a regular heap cache otherwise,
+     * each wrapped in a {@link HotKeyTrackingCache}.
+     */
+    static class TieredCacheManager extends ConcurrentMapCacheManager {
+        private final OffHeapCacheProperties offHeapProperties;
+
+        TieredCacheManager(OffHeapCacheProperties offHeapProperties) {
+            this.offHeapProperties = offHeapProperties;
+        }
+
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            OffHeapCacheProperties.CacheSpec spec = offHeapProperties.getCaches().get(name);
+            if (spec == null) {
+                return new HotKeyTrackingCache(super.createConcurrentMapCache(name));
+            }
+            logger.info("Cache '{}' uses the off-heap tier ({} capacity, {} eviction)",
+                name, spec.getCapacity(), spec.getEviction());
+            return new HotKeyTrackingCache(new OffHeapCache(name, spec, isAllowNullValues()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Delta sync over {@code /api/v1/changes}.
+ */
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+    /**
+     * How far behind the clock the feed stays, so a transaction that stamped
+     * its rows before an earlier one committed is not skipped by a cursor.
+     */
+    private Duration settleTime = Duration.ofSeconds(2);
+    /** How long tombstones are kept; older cursors must sync from the start. */
+    private Duration retention = Duration.ofDays(30);
+    /** How often expired tombstones are purged. */
+    private Duration purgeInterval = Duration.ofHours(6);
+
+    public Duration getSettleTime() {
+        return settleTime;
+    }
+
+    public void setSettleTime(Duration settleTime) {
+        this.settleTime = settleTime;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits for the Server-Sent Events stream at {@code /api/v1/events}.
+ */
+@ConfigurationProperties(prefix = "app.events")
+public class EventStreamProperties {
+    /** Open streams allowed on this node; further subscribers get 503. */
+    private int maxConnections = 10_000;
+    /** Events queued per subscriber; when full the oldest is dropped. */
+    private int bufferSize = 64;
+    /** Recent events kept for {@code Last-Event-ID} resume. */
+    private int history = 1024;
+    /** Idle streams get a comment line this often so proxies keep them open. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    /** Threads writing queued events to subscribers. */
+    private int senderThreads = 4;
+    /** A stream whose write has been blocked this long is dropped and its sender replaced. */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+    /** How long a stream stays open before the client has to reconnect. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getHistory() {
+        return history;
+    }
+
+    public void setHistory(int history) {
+        this.history = history;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
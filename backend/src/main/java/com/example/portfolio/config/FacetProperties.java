@@ -0,0 +1,32 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Facet counts kept in memory for list sidebars.
+ */
+@ConfigurationProperties(prefix = "app.facets")
+public class FacetProperties {
+    /** Most values returned per facet, highest counts first. */
+    private int maxValues = 20;
+    /** How often the in-memory counts are rebuilt from the database to undo any drift. */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+
+    public int getMaxValues() {
+        return maxValues;
+    }
+
+    public void setMaxValues(int maxValues) {
+        this.maxValues = maxValues;
+    }
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.portfolio.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Approximate per-key access counts for one cache in constant memory.
+ * Reads and loads are counted in two Count-Min Sketches; the {@value #TOP_K}
+ * most read keys are kept as heavy-hitter candidates. {@link #decay()} halves
+ * every counter, so counts track recent traffic with a half-life of one decay
+ * interval.
+ * <p>
+ * Recording sits on every cache hit, including the users cache that each
+ * authenticated request reads, so it takes no lock: a read is {@value #DEPTH}
+ * atomic counter increments plus a set lookup. Only a key that may enter the
+ * top list takes the candidate lock, and it skips the update rather than wait
+ * if another thread holds it; the top list is approximate anyway.
+ */
+public class HotKeyTracker {
+    public static final long DECAY_INTERVAL_MS = 60_000L;
+    static final int TOP_K = 16;
+    static final int DEPTH = 4;
+    static final int WIDTH = 2048;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    // Row-major DEPTH x WIDTH counters
+    private final AtomicIntegerArray reads = new AtomicIntegerArray(DEPTH * WIDTH);
+    private final AtomicIntegerArray loads = new AtomicIntegerArray(DEPTH * WIDTH);
+    private final Set<Object> candidates = ConcurrentHashMap.newKeySet(TOP_K * 2);
+    private final ReentrantLock candidateLock = new ReentrantLock();
+    // Lower bound on the smallest candidate count; refreshed whenever a candidate is replaced
+    private volatile int candidateFloor;
+
+    public void recordRead(Object key) {
+        int estimate = increment(reads, key);
+        if (candidates.contains(key)) {
+            return;
+        }
+        if ((candidates.size() < TOP_K || estimate > candidateFloor) && candidateLock.tryLock()) {
+            try {
+                admit(key, estimate);
+            } finally {
+                candidateLock.unlock();
+            }
+        }
+    }
+
+    public void recordLoad(Object key) {
+        increment(loads, key);
+    }
+
+    public KeyStats stats(Object key) {
+        return toStats(key, estimate(reads, key));
+    }
+
+    /**
+     * @return current heavy hitters, most read first
+     */
+    public List<KeyStats> topKeys() {
+        List<KeyStats> top = new ArrayList<>(TOP_K);
+        for (Object key : candidates) {
+            int count = estimate(reads, key);
+            if (count > 0) {
+                top.add(toStats(key, count));
+            }
+        }
+        top.sort(Comparator.comparingLong(KeyStats::reads).reversed());
+        return top;
+    }
+
+    public void decay() {
+        halve(reads);
+        halve(loads);
+        candidateLock.lock();
+        try {
+            candidates.removeIf(key -> estimate(reads, key) == 0);
+            candidateFloor >>>= 1;
+        } finally {
+            candidateLock.unlock();
+        }
+    }
+
+    public void forget(Object key) {
+        candidates.remove(key);
+    }
+
+    public void reset() {
+        candidateLock.lock();
+        try {
+            for (int i = 0; i < DEPTH * WIDTH; i++) {
+                reads.set(i, 0);
+                loads.set(i, 0);
+            }
+            candidates.clear();
+            candidateFloor = 0;
+        } finally {
+            candidateLock.unlock();
+        }
+    }
+
+    // Called with candidateLock held; counts are re-estimated since they move concurrently
+    private void admit(Object key, int estimate) {
+        if (candidates.size() < TOP_K) {
+            candidates.add(key);
+            return;
+        }
+        Object weakest = null;
+        int weakestCount = Integer.MAX_VALUE;
+        for (Object candidate : candidates) {
+            int count = estimate(reads, candidate);
+            if (count < weakestCount) {
+                weakest = candidate;
+                weakestCount = count;
+            }
+        }
+        candidateFloor = weakestCount;
+        if (weakest != null && estimate > weakestCount) {
+            candidates.remove(weakest);
+            candidates.add(key);
+        }
+    }
+
+    private KeyStats toStats(Object key, int readCount) {
+        int loadCount = estimate(loads, key);
+        // Halving every interval makes a steady rate r settle at about 2 * r * interval
+        double minutes = DECAY_INTERVAL_MS / 60_000.0;
+        return new KeyStats(String.valueOf(key), readCount, loadCount,
+                readCount / (2 * minutes), loadCount / (2 * minutes));
+    }
+
+    private static int increment(AtomicIntegerArray sketch, Object key) {
+        int hash = key.hashCode();
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            // Decay halves counters every interval, far below the 2^31 reads it would take to wrap
+            min = Math.min(min, sketch.incrementAndGet(row * WIDTH + index(hash, row)));
+        }
+        return min;
+    }
+
+    private static int estimate(AtomicIntegerArray sketch, Object key) {
+        int hash = key.hashCode();
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, sketch.get(row * WIDTH + index(hash, row)));
+        }
+        return min;
+    }
+
+    private static void halve(AtomicIntegerArray sketch) {
+        for (int i = 0; i < DEPTH * WIDTH; i++) {
+            sketch.getAndUpdate(i, value -> value >>> 1);
+        }
+    }
+
+    private static int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (mixed >>> 40) & (WIDTH - 1);
+    }
+
+    /**
+     * Approximate counts for one key; counts may over-estimate, never under-estimate.
+     */
+    public record KeyStats(
+            String key,
+            long reads,
+            long loads,
+            double readsPerMinute,
+            double loadsPerMinute
+    ) {
+    }
+}
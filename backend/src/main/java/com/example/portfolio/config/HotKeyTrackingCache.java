@@ -0,0 +1,114 @@
+package com.example.portfolio.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that feeds every read and load into a {@link HotKeyTracker}.
+ * A load is a {@code put} or a value-loader invocation, so a key that keeps
+ * showing loads is being evicted and reloaded repeatedly.
+ */
+public class HotKeyTrackingCache implements Cache {
+
+    private final Cache delegate;
+    private final HotKeyTracker tracker = new HotKeyTracker();
+
+    public HotKeyTrackingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    public HotKeyTracker getTracker() {
+        return tracker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        tracker.recordRead(key);
+        return delegate.get(key);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        tracker.recordRead(key);
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        tracker.recordRead(key);
+        return delegate.get(key, () -> {
+            tracker.recordLoad(key);
+            return valueLoader.call();
+        });
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        tracker.recordRead(key);
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        tracker.recordRead(key);
+        return delegate.retrieve(key, () -> {
+            tracker.recordLoad(key);
+            return valueLoader.get();
+        });
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        tracker.recordLoad(key);
+        delegate.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        tracker.recordLoad(key);
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.portfolio.config;
+
+import com.example.portfolio.config.OffHeapCacheProperties.EvictionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache that keeps serialized values in a direct buffer managed by a
+ * {@link SlabAllocator}, so large read caches add no object graphs to the heap.
+ * Only keys and small slot descriptors stay on-heap. Values are deserialized on
+ * every hit, which also means callers always receive their own copy.
+ */
+public class OffHeapCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCache.class);
+    private static final int LFU_SAMPLE_SIZE = 16;
+    private static final int ANY_CLASS = -1;
+
+    private final String name;
+    private final SlabAllocator allocator;
+    private final EvictionPolicy evictionPolicy;
+    private final int maxEntrySize;
+    private final SerializationDelegate serialization;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Object, Slot> index = new LinkedHashMap<>(64, 0.75f, true);
+
+    public OffHeapCache(String name, OffHeapCacheProperties.CacheSpec spec, boolean allowNullValues) {
+        super(allowNullValues);
+        this.name = name;
+        this.maxEntrySize = (int) spec.getMaxEntrySize().toBytes();
+        this.allocator = new SlabAllocator(spec.getCapacity().toBytes(), maxEntrySize);
+        this.evictionPolicy = spec.getEviction();
+        this.serialization = new SerializationDelegate(OffHeapCache.class.getClassLoader());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        byte[] data;
+        lock.lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            slot.hits++;
+            data = allocator.read(slot.offset, slot.length);
+        } finally {
+            lock.unlock();
+        }
+        return deserialize(key, data);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        byte[] data = serialize(key, toStoreValue(value));
+        int sizeClass = data.length <= maxEntrySize ? allocator.sizeClass(data.length) : -1;
+
+        lock.lock();
+        try {
+            release(index.remove(key));
+            if (sizeClass < 0) {
+                logger.debug("Entry for key '{}' in cache '{}' is {} bytes, above the off-heap limit; not cached",
+                        key, name, data.length);
+                return;
+            }
+            int offset = allocator.allocate(sizeClass);
+            while (offset < 0 && (evictOne(sizeClass) || reclaimPage())) {
+                offset = allocator.allocate(sizeClass);
+            }
+            if (offset < 0) {
+                logger.debug("No off-heap space for {} bytes in cache '{}'; entry not cached", data.length, name);
+                return;
+            }
+            allocator.write(offset, data);
+            index.put(key, new Slot(sizeClass, offset, data.length));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        lock.lock();
+        try {
+            release(index.remove(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            allocator.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long reservedBytes() {
+        lock.lock();
+        try {
+            return allocator.reservedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Free one chunk of the given size class. Chunks of other classes would not
+     * help the pending allocation, so only same-class entries are considered.
+     */
+    private boolean evictOne(int sizeClass) {
+        Map.Entry<Object, Slot> victim = victim(sizeClass);
+        if (victim == null) {
+            return false;
+        }
+        release(index.remove(victim.getKey()));
+        return true;
+    }
+
+    /**
+     * Empty the page holding the entry the policy would evict first, so a size
+     * class that owns no page yet can take it over once every page is handed out.
+     */
+    private boolean reclaimPage() {
+        Map.Entry<Object, Slot> victim = victim(ANY_CLASS);
+        if (victim == null) {
+            return false;
+        }
+        int page = allocator.page(victim.getValue().offset);
+        Iterator<Slot> slots = index.values().iterator();
+        while (slots.hasNext()) {
+            Slot slot = slots.next();
+            if (allocator.page(slot.offset) == page) {
+                slots.remove();
+                release(slot);
+            }
+        }
+        return true;
+    }
+
+    // LRU takes the eldest match; LFU samples the eldest matches for the fewest hits
+    @Nullable
+    private Map.Entry<Object, Slot> victim(int sizeClass) {
+        Map.Entry<Object, Slot> victim = null;
+        int sampled = 0;
+        for (Map.Entry<Object, Slot> entry : index.entrySet()) {
+            if (sizeClass != ANY_CLASS && entry.getValue().sizeClass != sizeClass) {
+                continue;
+            }
+            if (victim == null || entry.getValue().hits < victim.getValue().hits) {
+                victim = entry;
+            }
+            if (evictionPolicy == EvictionPolicy.LRU || ++sampled == LFU_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        return victim;
+    }
+
+    private byte[] serialize(Object key, Object storeValue) {
+        try {
+            return serialization.serializeToByteArray(storeValue);
+        } catch (Throwable ex) {
+            throw new IllegalArgumentException("Failed to serialize value for key '" + key + "' in cache '" + name
+                    + "'. Off-heap caches require Serializable values.", ex);
+        }
+    }
+
+    private Object deserialize(Object key, byte[] data) {
+        try {
+            return serialization.deserializeFromByteArray(data);
+        } catch (Throwable ex) {
+            throw new IllegalArgumentException("Failed to deserialize value for key '" + key + "' in cache '" + name + "'", ex);
+        }
+    }
+
+    private void release(@Nullable Slot slot) {
+        if (slot != null) {
+            allocator.free(slot.offset);
+        }
+    }
+
+    private static final class Slot {
+        final int sizeClass;
+        final int offset;
+        final int length;
+        int hits;
+
+        Slot(int sizeClass, int offset, int length) {
+            this.sizeClass = sizeClass;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache settings for the optional off-heap tier. Caches that are not
+ * listed under {@code app.cache.off-heap.caches} stay on the heap.
+ */
+@ConfigurationProperties(prefix = "app.cache.off-heap")
+public class OffHeapCacheProperties {
+    /** Off-heap settings keyed by cache name. */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    public Map<String, CacheSpec> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, CacheSpec> caches) {
+        this.caches = caches;
+    }
+
+    public enum EvictionPolicy {
+        LRU,
+        LFU
+    }
+
+    public static class CacheSpec {
+        /** Size of the direct buffer reserved for this cache. */
+        private DataSize capacity = DataSize.ofMegabytes(64);
+        /** Largest serialized entry accepted; bigger entries are not cached. */
+        private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+        /** Which entry to drop when a size class runs out of chunks. */
+        private EvictionPolicy eviction = EvictionPolicy.LRU;
+
+        public DataSize getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(DataSize capacity) {
+            this.capacity = capacity;
+        }
+
+        public DataSize getMaxEntrySize() {
+            return maxEntrySize;
+        }
+
+        public void setMaxEntrySize(DataSize maxEntrySize) {
+            this.maxEntrySize = maxEntrySize;
+        }
+
+        public EvictionPolicy getEviction() {
+            return eviction;
+        }
+
+        public void setEviction(EvictionPolicy eviction) {
+            this.eviction = eviction;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Page size limits for the keyset-paginated list endpoints, the hard cap
+ * applied to their legacy unpaginated forms and the batch lookup limit.
+ */
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+    /** Page size used when the client does not send a limit. */
+    private int defaultPageSize = 20;
+    /** Largest page size a client may request; larger limits are clamped. */
+    private int maxPageSize = 100;
+    /** Most rows returned by the unpaginated list endpoints. */
+    private int unpaginatedCap = 500;
+    /** Most slugs accepted by one batch profile lookup. */
+    private int maxBatchSize = 50;
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int getUnpaginatedCap() {
+        return unpaginatedCap;
+    }
+
+    public void setUnpaginatedCap(int unpaginatedCap) {
+        this.unpaginatedCap = unpaginatedCap;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Web push over {@code /api/push}: which changes are announced and how the
+ * messages are delivered to the browsers' push services.
+ */
+@ConfigurationProperties(prefix = "app.push")
+public class PushProperties {
+    /** Changes announced to subscribers, as {@code type:op}. */
+    private List<String> announce = new ArrayList<>(List.of("project:created", "profile:created"));
+    /** Changes arriving within this window go out as one message per subscription. */
+    private Duration batchWindow = Duration.ofSeconds(5);
+    /** Requests to push services in flight at once. */
+    private int concurrency = 16;
+    /** Attempts per message, the first included, before it is given up. */
+    private int maxAttempts = 4;
+    /** Wait before the first retry; doubled for each one after it. */
+    private Duration initialBackoff = Duration.ofSeconds(2);
+    private Duration maxBackoff = Duration.ofMinutes(2);
+    /** How long a push service keeps an undelivered message. */
+    private Duration ttl = Duration.ofHours(12);
+    /**
+     * Hosts subscriptions may point at, matched as suffixes. Clients choose
+     * the endpoint, so anything else would let them make this server post
+     * to arbitrary addresses.
+     */
+    private List<String> allowedHosts = new ArrayList<>(List.of(
+            "fcm.googleapis.com", "push.services.mozilla.com", "notify.windows.com", "push.apple.com"));
+    /** Only accept https endpoints. */
+    private boolean requireHttps = true;
+    private final Vapid vapid = new Vapid();
+
+    public List<String> getAnnounce() {
+        return announce;
+    }
+
+    public void setAnnounce(List<String> announce) {
+        this.announce = announce;
+    }
+
+    public Duration getBatchWindow() {
+        return batchWindow;
+    }
+
+    public void setBatchWindow(Duration batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public List<String> getAllowedHosts() {
+        return allowedHosts;
+    }
+
+    public void setAllowedHosts(List<String> allowedHosts) {
+        this.allowedHosts = allowedHosts;
+    }
+
+    public boolean isRequireHttps() {
+        return requireHttps;
+    }
+
+    public void setRequireHttps(boolean requireHttps) {
+        this.requireHttps = requireHttps;
+    }
+
+    public Vapid getVapid() {
+        return vapid;
+    }
+
+    /**
+     * Application server keys (RFC 8292), base64url: the uncompressed P-256
+     * public key the frontend subscribes with and its private scalar. Startup
+     * fails without them unless {@code generate} is set.
+     */
+    public static class Vapid {
+        private String publicKey;
+        private String privateKey;
+        /**
+         * Generate a key pair at startup when none is configured. Only for
+         * tests and local runs: browsers subscribed with the previous run's
+         * key reject every message after a restart.
+         */
+        private boolean generate;
+        /** Contact the push services can reach the operator at. */
+        private String subject = "mailto:admin@example.com";
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public boolean isGenerate() {
+            return generate;
+        }
+
+        public void setGenerate(boolean generate) {
+            this.generate = generate;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing for the in-memory related-projects lists.
+ */
+@ConfigurationProperties(prefix = "app.related")
+public class RelatedProjectsProperties {
+    /** Neighbours kept per project; also the most a request can get back. */
+    private int neighbours = 10;
+    /** Projects scored per write when refreshing a neighbour list. */
+    private int maxCandidates = 500;
+    /** Tags per project that take part in the co-occurrence matrix. */
+    private int maxTags = 16;
+    /** How often every list is recomputed from the database and compared with the incremental one. */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    public int getNeighbours() {
+        return neighbours;
+    }
+
+    public void setNeighbours(int neighbours) {
+        this.neighbours = neighbours;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    public int getMaxTags() {
+        return maxTags;
+    }
+
+    public void setMaxTags(int maxTags) {
+        this.maxTags = maxTags;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+}
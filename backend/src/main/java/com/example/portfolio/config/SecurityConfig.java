@@ -51,7 +51,14 @@ public class SecurityConfig {
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/team/**", "/api/team/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/projects/**", "/api/projects/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/v1/team/batch", "/api/team/batch").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/bootstrap", "/api/v1/search", "/api/v1/search/fuzzy", "/api/v1/suggest",
+                        "/api/v1/changes", "/api/v1/events").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/v1/contact").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/push/subscribe", "/api/push/unsubscribe").permitAll()
+                // Per-key endpoints name and evict individual entries, including other users' cache keys
+                .requestMatchers("/api/v1/debug/cache/hot-keys/**", "/api/v1/debug/cache/inspect/**",
+                        "/api/v1/debug/cache/evict/**").hasRole("ADMIN")
                 .requestMatchers("/api/v1/debug/**").authenticated() // Debug endpoints should require authentication
                 .requestMatchers("/api/v1/profile/**").authenticated()
                 .anyRequest().authenticated()
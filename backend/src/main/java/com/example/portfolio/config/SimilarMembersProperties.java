@@ -0,0 +1,72 @@
+package com.example.portfolio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing for the MinHash signatures behind similar-member lookups.
+ */
+@ConfigurationProperties(prefix = "app.similar")
+public class SimilarMembersProperties {
+    /** Hash functions per signature; more estimate similarity more precisely. */
+    private int hashes = 128;
+    /** LSH bands; must divide {@code hashes}. More bands find less similar members. */
+    private int bands = 64;
+    /** Most members a request can get back. */
+    private int neighbours = 10;
+    /** Estimated Jaccard similarity below which members are not returned. */
+    private float minSimilarity = 0.1f;
+    /** Members scored per lookup. */
+    private int maxCandidates = 1000;
+    /** How often every signature is recomputed from the database and compared with the incremental ones. */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    public void setHashes(int hashes) {
+        this.hashes = hashes;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+
+    public int getNeighbours() {
+        return neighbours;
+    }
+
+    public void setNeighbours(int neighbours) {
+        this.neighbours = neighbours;
+    }
+
+    public float getMinSimilarity() {
+        return minSimilarity;
+    }
+
+    public void setMinSimilarity(float minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.portfolio.config;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Slab allocator over a single direct buffer. The arena is carved into
+ * fixed-size pages on demand; each page serves chunks of one power-of-two
+ * size class until its last chunk is freed, when it goes back to a shared
+ * pool and can be given to any class. Not thread-safe; {@link OffHeapCache}
+ * guards it with its own lock.
+ */
+final class SlabAllocator {
+    static final int MIN_CHUNK_SIZE = 64;
+    private static final int MIN_PAGE_SIZE = 1024 * 1024;
+    private static final int NONE = -1;
+
+    private final ByteBuffer arena;
+    private final int pageSize;
+    private final int pageCount;
+    private final int[] chunkSizes;
+    // Per page: the class it serves (NONE while pooled), chunks handed out and free chunk offsets
+    private final int[] pageClass;
+    private final int[] pageLive;
+    private final IntStack[] pageFree;
+    // Per class, a doubly linked list of its pages that still have a free chunk
+    private final int[] partialHead;
+    private final int[] nextPartial;
+    private final int[] prevPartial;
+    private final IntStack pooledPages = new IntStack();
+    private int pagesCarved;
+
+    SlabAllocator(long capacity, int maxChunkSize) {
+        int maxChunk = Math.max(MIN_CHUNK_SIZE, roundUpToPowerOfTwo(maxChunkSize));
+        this.pageSize = Math.max(MIN_PAGE_SIZE, maxChunk);
+        long pages = capacity / pageSize;
+        if (pages < 1 || pages * pageSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Off-heap capacity must be between one page (" + pageSize
+                    + " bytes) and 2 GB, was " + capacity);
+        }
+        this.pageCount = (int) pages;
+        this.arena = ByteBuffer.allocateDirect(pageCount * pageSize);
+
+        int classes = Integer.numberOfTrailingZeros(maxChunk) - Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE) + 1;
+        this.chunkSizes = new int[classes];
+        for (int i = 0; i < classes; i++) {
+            chunkSizes[i] = MIN_CHUNK_SIZE << i;
+        }
+        this.partialHead = new int[classes];
+        this.pageClass = new int[pageCount];
+        this.pageLive = new int[pageCount];
+        this.pageFree = new IntStack[pageCount];
+        this.nextPartial = new int[pageCount];
+        this.prevPartial = new int[pageCount];
+        reset();
+    }
+
+    /**
+     * @return the size class that fits {@code length} bytes, or -1 if it exceeds the largest chunk
+     */
+    int sizeClass(int length) {
+        for (int i = 0; i < chunkSizes.length; i++) {
+            if (length <= chunkSizes[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return offset of a free chunk in the given class, or -1 if the class has no free chunk and no page is left
+     */
+    int allocate(int sizeClass) {
+        int page = partialHead[sizeClass];
+        if (page == NONE) {
+            page = takePage(sizeClass);
+            if (page == NONE) {
+                return -1;
+            }
+        }
+        IntStack free = pageFree[page];
+        int offset = free.pop();
+        pageLive[page]++;
+        if (free.isEmpty()) {
+            unlink(sizeClass, page);
+        }
+        return offset;
+    }
+
+    void free(int offset) {
+        int page = page(offset);
+        int sizeClass = pageClass[page];
+        IntStack free = pageFree[page];
+        boolean wasFull = free.isEmpty();
+        free.push(offset);
+        if (--pageLive[page] == 0) {
+            if (!wasFull) {
+                unlink(sizeClass, page);
+            }
+            pageClass[page] = NONE;
+            free.clear();
+            pooledPages.push(page);
+        } else if (wasFull) {
+            link(sizeClass, page);
+        }
+    }
+
+    /**
+     * The page {@code offset} lies in; freeing every chunk handed out from
+     * it returns the page to the pool.
+     */
+    int page(int offset) {
+        return offset / pageSize;
+    }
+
+    void write(int offset, byte[] data) {
+        arena.put(offset, data);
+    }
+
+    byte[] read(int offset, int length) {
+        byte[] data = new byte[length];
+        arena.get(offset, data);
+        return data;
+    }
+
+    /** Drop every allocation; pages are handed out again from the start. */
+    void reset() {
+        pagesCarved = 0;
+        pooledPages.clear();
+        Arrays.fill(partialHead, NONE);
+        Arrays.fill(pageClass, NONE);
+        Arrays.fill(pageLive, 0);
+    }
+
+    long capacity() {
+        return (long) pageCount * pageSize;
+    }
+
+    /** Bytes of the pages currently serving a size class. */
+    long reservedBytes() {
+        return (long) (pagesCarved - pooledPages.size()) * pageSize;
+    }
+
+    private int takePage(int sizeClass) {
+        int page;
+        if (!pooledPages.isEmpty()) {
+            page = pooledPages.pop();
+        } else if (pagesCarved < pageCount) {
+            page = pagesCarved++;
+        } else {
+            return NONE;
+        }
+        IntStack free = pageFree[page];
+        if (free == null) {
+            free = pageFree[page] = new IntStack();
+        }
+        free.clear();
+        int pageStart = page * pageSize;
+        int chunkSize = chunkSizes[sizeClass];
+        for (int offset = pageStart + pageSize - chunkSize; offset >= pageStart; offset -= chunkSize) {
+            free.push(offset);
+        }
+        pageClass[page] = sizeClass;
+        link(sizeClass, page);
+        return page;
+    }
+
+    private void link(int sizeClass, int page) {
+        int head = partialHead[sizeClass];
+        prevPartial[page] = NONE;
+        nextPartial[page] = head;
+        if (head != NONE) {
+            prevPartial[head] = page;
+        }
+        partialHead[sizeClass] = page;
+    }
+
+    private void unlink(int sizeClass, int page) {
+        int prev = prevPartial[page];
+        int next = nextPartial[page];
+        if (prev != NONE) {
+            nextPartial[prev] = next;
+        } else {
+            partialHead[sizeClass] = next;
+        }
+        if (next != NONE) {
+            prevPartial[next] = prev;
+        }
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(Math.max(1, value));
+        return highest == value ? value : highest << 1;
+    }
+
+    private static final class IntStack {
+        private int[] values = new int[16];
+        private int size;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -45,6 +45,32 @@ public class CacheManagementController {
         }
     }
 
+    @GetMapping("/hot-keys/{cacheName}")
+    public ResponseEntity<?> getHotKeys(@PathVariable String cacheName) {
+        return cacheMonitoringService.getHotKeys(cacheName)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> cacheNotFound(cacheName));
+    }
+
+    @GetMapping("/inspect/{cacheName}/{key}")
+    public ResponseEntity<?> inspectKey(@PathVariable String cacheName, @PathVariable String key) {
+        return cacheMonitoringService.inspectKey(cacheName, key)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> cacheNotFound(cacheName));
+    }
+
+    @PostMapping("/evict/{cacheName}/{key}")
+    public ResponseEntity<Map<String, String>> evictKey(@PathVariable String cacheName, @PathVariable String key) {
+        if (!cacheMonitoringService.evictKey(cacheName, key)) {
+            return cacheNotFound(cacheName);
+        }
+        return ResponseEntity.ok(Map.of(
+            "message", "Cache key evicted successfully",
+            "cache", cacheName,
+            "key", key
+        ));
+    }
+
     @PostMapping("/clear-all")
     public ResponseEntity<Map<String, String>> clearAllCaches() {
         cacheMonitoringService.clearAllCaches();
@@ -60,4 +86,12 @@ public class CacheManagementController {
             "message", "Cache warm-up initiated"
         ));
     }
+
+    private ResponseEntity<Map<String, String>> cacheNotFound(String cacheName) {
+        return ResponseEntity.badRequest().body(Map.of(
+            "error", "Cache not found",
+            "message", "Cache '" + cacheName + "' does not exist",
+            "cache", cacheName
+        ));
+    }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.example.portfolio.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(name = "profile_project")
@@ -22,16 +25,23 @@ public class Project {
     @Column(length = 2000)
     private String description;
 
-    private String tags; // comma-separated for simplicity
+    private String tags; // comma-separated, as entered; tagSet holds the normalized form
     private String repoUrl;
     private String liveUrl;
     private String imageUrl;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_id")
     @JsonIgnoreProperties({"experiences", "projects", "user"})
     private Profile owner;
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "project_tag",
+            joinColumns = @JoinColumn(name = "project_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    @JsonIgnore
+    private Set<Tag> tagSet = new HashSet<>();
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -93,6 +103,9 @@ public class Project {
     public Profile getOwner() { return owner; }
     public void setOwner(Profile owner) { this.owner = owner; }
 
+    public Set<Tag> getTagSet() { return tagSet; }
+    public void setTagSet(Set<Tag> tagSet) { this.tagSet = tagSet; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
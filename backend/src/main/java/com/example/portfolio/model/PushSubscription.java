@@ -0,0 +1,59 @@
+package com.example.portfolio.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A browser's web push subscription: where its push service accepts
+ * messages and the keys they are encrypted for.
+ */
+@Entity
+@Table(name = "push_subscription")
+public class PushSubscription {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 2048)
+    private String endpoint;
+
+    /** The browser's P-256 public key, base64url. */
+    @Column(nullable = false, length = 128)
+    private String p256dh;
+
+    /** The browser's authentication secret, base64url. */
+    @Column(nullable = false, length = 64)
+    private String auth;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public PushSubscription() {}
+
+    public PushSubscription(String endpoint, String p256dh, String auth) {
+        this.endpoint = endpoint;
+        this.p256dh = p256dh;
+        this.auth = auth;
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+    public String getP256dh() { return p256dh; }
+    public void setP256dh(String p256dh) { this.p256dh = p256dh; }
+
+    public String getAuth() { return auth; }
+    public void setAuth(String auth) { this.auth = auth; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
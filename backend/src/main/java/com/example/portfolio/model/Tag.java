@@ -0,0 +1,29 @@
+package com.example.portfolio.model;
+
+import jakarta.persistence.*;
+
+/**
+ * A normalized project tag; see {@code TagNames} for the normal form.
+ */
+@Entity
+@Table(name = "tag")
+public class Tag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    public Tag() {}
+
+    public Tag(String name) {
+        this.name = name;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
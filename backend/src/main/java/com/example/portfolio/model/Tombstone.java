@@ -0,0 +1,57 @@
+package com.example.portfolio.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted profile, experience or project so delta
+ * sync clients can drop their copy.
+ */
+@Entity
+@Table(name = "tombstone")
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public Tombstone() {}
+
+    public Tombstone(String entityType, Long entityId, Long ownerId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.ownerId = ownerId;
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -1,12 +1,38 @@
 package com.example.portfolio.repo;
 
 import com.example.portfolio.model.Experience;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ExperienceRepository extends JpaRepository<Experience, Long> {
     List<Experience> findByProfileIdOrderByOrderIndexAsc(Long profileId);
+    List<Experience> findByProfileIdIn(Collection<Long> profileIds);
     Optional<Experience> findByIdAndProfileId(Long id, Long profileId);
+
+    // Delta sync: continue after (updatedAt, id), up to a settled upper bound. The profile stays an uninitialized proxy.
+    @Query("SELECT e FROM Experience e WHERE (e.updatedAt > :at OR (e.updatedAt = :at AND e.id > :afterId))"
+            + " AND e.updatedAt <= :until ORDER BY e.updatedAt, e.id")
+    List<Experience> findChangedSince(@Param("at") LocalDateTime at, @Param("afterId") Long afterId,
+                                      @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("SELECT e.profile.id AS ownerId, COUNT(e) AS total FROM Experience e GROUP BY e.profile.id")
+    List<OwnerCount> countByProfile();
+
+    // Streaming scan; must be consumed inside a read-only transaction. The profile stays an uninitialized proxy.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + ProjectRepository.EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Experience e ORDER BY e.id")
+    Stream<Experience> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,9 @@
+package com.example.portfolio.repo;
+
+/**
+ * Row count per owning profile, for aggregate projections.
+ */
+public interface OwnerCount {
+    Long getOwnerId();
+    Long getTotal();
+}
@@ -0,0 +1,9 @@
+package com.example.portfolio.repo;
+
+/**
+ * A tag used on one of a profile's projects, by owner id and tag name.
+ */
+public interface OwnerTag {
+    Long getOwnerId();
+    String getName();
+}
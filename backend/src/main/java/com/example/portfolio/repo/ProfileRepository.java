@@ -1,11 +1,63 @@
 package com.example.portfolio.repo;
 
 import com.example.portfolio.model.Profile;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.example.portfolio.repo.ProjectRepository.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findBySlug(String slug);
     Optional<Profile> findByUserId(Long userId);
-}
\ No newline at end of file
+    List<Profile> findBySlugIn(Collection<String> slugs);
+    List<Profile> findAllByOrderByUpdatedAtDescIdDesc(Limit limit);
+    List<Profile> findAllByOrderByIdAsc(Limit limit);
+
+    // Keyset pagination: continue after the last id of the previous page
+    List<Profile> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Delta sync: continue after (updatedAt, id), up to a settled upper bound
+    @Query("SELECT p FROM Profile p WHERE (p.updatedAt > :at OR (p.updatedAt = :at AND p.id > :afterId))"
+            + " AND p.updatedAt <= :until ORDER BY p.updatedAt, p.id")
+    List<Profile> findChangedSince(@Param("at") LocalDateTime at, @Param("afterId") Long afterId,
+                                   @Param("until") LocalDateTime until, Limit limit);
+
+    // Validators for conditional GETs; profile.updated_at also covers child writes, see touch()
+    @Query("SELECT p.updatedAt FROM Profile p WHERE p.slug = :slug")
+    Optional<LocalDateTime> findUpdatedAtBySlug(@Param("slug") String slug);
+
+    @Query("SELECT p.updatedAt FROM Profile p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT MAX(p.updatedAt) AS lastModified, COUNT(p) AS profiles FROM Profile p")
+    TeamStamp findTeamStamp();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Profile p SET p.updatedAt = :now WHERE p.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Streaming export; must be consumed inside a read-only transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM Profile p ORDER BY p.id")
+    Stream<Profile> streamAllByOrderByIdAsc();
+
+    interface TeamStamp {
+        LocalDateTime getLastModified();
+        Long getProfiles();
+    }
+}
@@ -1,14 +1,80 @@
 package com.example.portfolio.repo;
 
 import com.example.portfolio.model.Project;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByOwnerSlugOrderByTitleAsc(String slug);
+    // Rows fetched per round trip by the streaming exports; also how often they clear the session
+    int EXPORT_FETCH_SIZE = 500;
+
+    // The owner is lazy; queries whose results are mapped to DTOs join it in the same statement
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findByOwnerSlugOrderByTitleAscIdAsc(String slug, Limit limit);
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findAllByOrderByIdAsc(Limit limit);
+    @EntityGraph(attributePaths = "owner")
     List<Project> findByOwnerIdOrderByCreatedAtDesc(Long ownerId);
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findByOwnerIdInOrderByTitleAscIdAsc(Collection<Long> ownerIds);
+    @EntityGraph(attributePaths = "owner")
     Optional<Project> findByIdAndOwnerId(Long id, Long ownerId);
     Optional<Project> findByTitleIgnoreCase(String title);
+
+    // Keyset pagination: continue after the last id of the previous page
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findByOwnerSlugAndIdGreaterThanOrderByIdAsc(String slug, Long afterId, Limit limit);
+    long countByOwnerSlug(String slug);
+
+    // Home page bootstrap
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+    @EntityGraph(attributePaths = "owner")
+    List<Project> findAllByOrderByUpdatedAtDescIdDesc(Limit limit);
+
+    // Delta sync: continue after (updatedAt, id), up to a settled upper bound
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner WHERE (p.updatedAt > :at OR (p.updatedAt = :at AND p.id > :afterId))"
+            + " AND p.updatedAt <= :until ORDER BY p.updatedAt, p.id")
+    List<Project> findChangedSince(@Param("at") LocalDateTime at, @Param("afterId") Long afterId,
+                                   @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("SELECT p.owner.id AS ownerId, COUNT(p) AS total FROM Project p GROUP BY p.owner.id")
+    List<OwnerCount> countByOwner();
+
+    // Streaming export; must be consumed inside a read-only transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner ORDER BY p.id")
+    Stream<Project> streamAllByOrderByIdAsc();
+
+    // Tag filter index load; same transaction rules as the exports
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id AS projectId, t.name AS name FROM Project p JOIN p.tagSet t")
+    Stream<ProjectTagLink> streamTagLinks();
+
+    // Similar-member signatures; same transaction rules as the exports
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT DISTINCT p.owner.id AS ownerId, t.name AS name FROM Project p JOIN p.tagSet t")
+    Stream<OwnerTag> streamOwnerTags();
+
+    @Query("SELECT DISTINCT p.owner.id AS ownerId, t.name AS name FROM Project p JOIN p.tagSet t WHERE p.owner.id IN :ownerIds")
+    List<OwnerTag> findOwnerTagsByOwnerIdIn(@Param("ownerIds") Collection<Long> ownerIds);
+
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.owner WHERE p.id IN :ids ORDER BY p.id")
+    List<Project> findWithOwnerByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package com.example.portfolio.repo;
+
+/**
+ * One row of the project/tag association, by project id and tag name.
+ */
+public interface ProjectTagLink {
+    Long getProjectId();
+    String getName();
+}
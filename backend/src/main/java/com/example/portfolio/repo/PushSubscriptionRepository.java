@@ -0,0 +1,30 @@
+package com.example.portfolio.repo;
+
+import com.example.portfolio.model.PushSubscription;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PushSubscriptionRepository extends JpaRepository<PushSubscription, Long> {
+    Optional<PushSubscription> findByEndpoint(String endpoint);
+
+    // Push fan-out pages through subscriptions by id
+    List<PushSubscription> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PushSubscription s WHERE s.endpoint = :endpoint")
+    int deleteByEndpoint(@Param("endpoint") String endpoint);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PushSubscription s WHERE s.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
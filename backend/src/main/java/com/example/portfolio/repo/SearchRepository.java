@@ -0,0 +1,241 @@
+package com.example.portfolio.repo;
+
+import com.example.portfolio.web.dto.SearchHitDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ranked full-text search over profiles, projects and experiences.
+ * <p>
+ * On PostgreSQL the queries use the same {@code to_tsvector} expressions as
+ * the GIN indexes from {@code V3__performance_indexes.sql}, so the planner
+ * can use them, and snippets come from {@code ts_headline}. Other databases
+ * (H2 in tests) get a portable fallback that matches every query term with
+ * {@code LIKE} and ranks by term frequency. It only ranks the first
+ * {@link #FALLBACK_SCAN_LIMIT} matches by id, so later matches are missing
+ * from its results; it is not meant for large data.
+ * {@code SearchPostgresIntegrationTest} covers the native queries where
+ * Docker is available.
+ * <p>
+ * Results are ordered by rank, then id, and continue after a
+ * {@code (rank, id)} pair so pages stay stable while ranks tie.
+ */
+@Repository
+public class SearchRepository {
+    public static final int FALLBACK_SCAN_LIMIT = 1000;
+
+    // Sentinels around matched terms; the snippet is escaped before they become <mark> tags
+    private static final String START_SEL = "\u0002";
+    private static final String STOP_SEL = "\u0003";
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=" + START_SEL + ", StopSel=" + STOP_SEL + ", MaxWords=30, MinWords=10, MaxFragments=2";
+    private static final int SNIPPET_CONTEXT = 60;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int MAX_TERMS = 8;
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public enum Type {
+        PROFILE("profile", "p.id", "p.display_name", "p.headline", "p.slug",
+                "profile p",
+                "p.display_name || ' ' || COALESCE(p.headline, '') || ' ' || COALESCE(p.bio, '')",
+                "Profile p", "p.id", "p.name", "p.role", "p.slug", "p.bio"),
+        PROJECT("project", "x.id", "x.title", "x.summary", "p.slug",
+                "profile_project x LEFT JOIN profile p ON p.id = x.profile_id",
+                "x.title || ' ' || COALESCE(x.summary, '') || ' ' || COALESCE(x.description, '') || ' ' || COALESCE(x.tags, '')",
+                "Project x LEFT JOIN x.owner p", "x.id", "x.title", "x.summary", "p.slug", "x.description", "x.tags"),
+        EXPERIENCE("experience", "x.id", "x.title", "x.company", "p.slug",
+                "experience x JOIN profile p ON p.id = x.profile_id",
+                "x.title || ' ' || COALESCE(x.company, '') || ' ' || COALESCE(x.description, '')",
+                "Experience x JOIN x.profile p", "x.id", "x.title", "x.company", "p.slug", "x.description");
+
+        private final String value;
+        private final String nativeSql;
+        private final String fallbackFrom;
+        // JPQL paths: id, title, subtitle, slug, then further searchable text
+        private final String[] fallbackColumns;
+
+        Type(String value, String id, String title, String subtitle, String slug, String from, String document,
+             String fallbackFrom, String... fallbackColumns) {
+            this.value = value;
+            String tsvector = "to_tsvector('english', " + document + ")";
+            // ts_headline is only evaluated for the rows on the page
+            this.nativeSql = "SELECT pg.id, pg.title, pg.subtitle, pg.slug,"
+                    + " ts_headline('english', pg.doc, websearch_to_tsquery('english', :q), :options), pg.rank"
+                    + " FROM (SELECT h.* FROM ("
+                    + "SELECT " + id + " AS id, " + title + " AS title, " + subtitle + " AS subtitle, " + slug + " AS slug,"
+                    + " " + document + " AS doc, ts_rank(" + tsvector + ", websearch_to_tsquery('english', :q)) AS rank"
+                    + " FROM " + from
+                    + " WHERE " + tsvector + " @@ websearch_to_tsquery('english', :q)) h"
+                    + " WHERE h.rank < CAST(:rank AS real) OR (h.rank = CAST(:rank AS real) AND h.id > :afterId)"
+                    + " ORDER BY h.rank DESC, h.id LIMIT :limit) pg"
+                    + " ORDER BY pg.rank DESC, pg.id";
+            this.fallbackFrom = fallbackFrom;
+            this.fallbackColumns = fallbackColumns;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public static Type fromValue(String value) {
+            for (Type type : values()) {
+                if (type.value.equals(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown search type: " + value);
+        }
+    }
+
+    private final EntityManager entityManager;
+    private volatile Boolean postgres;
+
+    public SearchRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Up to {@code limit} hits ranked below {@code afterRank}, or tied with it
+     * and after {@code afterId}. Pass {@link Float#MAX_VALUE} and {@code 0}
+     * for the first page.
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHitDto> search(Type type, String query, float afterRank, long afterId, int limit) {
+        return isPostgres()
+                ? searchNative(type, query, afterRank, afterId, limit)
+                : searchFallback(type, query, afterRank, afterId, limit);
+    }
+
+    private List<SearchHitDto> searchNative(Type type, String query, float afterRank, long afterId, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(type.nativeSql)
+                .setParameter("q", query)
+                .setParameter("options", HEADLINE_OPTIONS)
+                .setParameter("rank", afterRank)
+                .setParameter("afterId", afterId)
+                .setParameter("limit", limit)
+                .getResultList();
+        List<SearchHitDto> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new SearchHitDto(type.value, ((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                    (String) row[3], markup((String) row[4]), ((Number) row[5]).floatValue()));
+        }
+        return hits;
+    }
+
+    private List<SearchHitDto> searchFallback(Type type, String query, float afterRank, long afterId, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        String[] columns = type.fallbackColumns;
+        String document = "LOWER(CONCAT(" + documentColumns(columns)
+                .map(path -> "COALESCE(" + path + ", '')")
+                .collect(Collectors.joining(", ' ', ")) + "))";
+        StringBuilder jpql = new StringBuilder("SELECT ").append(String.join(", ", columns))
+                .append(" FROM ").append(type.fallbackFrom).append(" WHERE ");
+        for (int i = 0; i < terms.size(); i++) {
+            jpql.append(i == 0 ? "" : " AND ").append(document).append(" LIKE :t").append(i);
+        }
+        jpql.append(" ORDER BY ").append(columns[0]);
+        TypedQuery<Object[]> select = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setMaxResults(FALLBACK_SCAN_LIMIT);
+        for (int i = 0; i < terms.size(); i++) {
+            select.setParameter("t" + i, "%" + terms.get(i) + "%");
+        }
+
+        Pattern matcher = Pattern.compile(terms.stream().map(Pattern::quote).collect(Collectors.joining("|")),
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        List<SearchHitDto> hits = new ArrayList<>();
+        for (Object[] row : select.getResultList()) {
+            String title = (String) row[1];
+            String text = documentColumns(row)
+                    .filter(part -> part != null)
+                    .map(String.class::cast)
+                    .collect(Collectors.joining(" "));
+            float rank = count(matcher, text) + count(matcher, title);
+            long id = ((Number) row[0]).longValue();
+            if (rank < afterRank || (rank == afterRank && id > afterId)) {
+                hits.add(new SearchHitDto(type.value, id, title, (String) row[2], (String) row[3],
+                        highlight(matcher, text), rank));
+            }
+        }
+        hits.sort(Comparator.comparing(SearchHitDto::rank).reversed().thenComparing(SearchHitDto::id));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    // Title, subtitle and the extra text columns, skipping id and slug
+    private static <T> Stream<T> documentColumns(T[] columns) {
+        return Stream.concat(Stream.of(columns[1], columns[2]), Arrays.stream(columns, 4, columns.length));
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            postgres = result;
+        }
+        return result;
+    }
+
+    static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : TERM_SEPARATOR.split(query.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    private static int count(Pattern matcher, String text) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        Matcher match = matcher.matcher(text);
+        while (match.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * A window of {@code text} around the first match with every match marked.
+     */
+    static String highlight(Pattern matcher, String text) {
+        Matcher first = matcher.matcher(text);
+        int start = first.find() ? Math.max(0, first.start() - SNIPPET_CONTEXT) : 0;
+        if (start > 0) {
+            int space = text.indexOf(' ', start);
+            start = space >= 0 && space < first.start() ? space + 1 : start;
+        }
+        String window = text.substring(start, Math.min(text.length(), start + SNIPPET_LENGTH));
+        return markup(matcher.matcher(window).replaceAll(match -> Matcher.quoteReplacement(START_SEL + match.group() + STOP_SEL)));
+    }
+
+    private static String markup(String snippet) {
+        if (snippet == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(snippet).replace(START_SEL, "<mark>").replace(STOP_SEL, "</mark>");
+    }
+}
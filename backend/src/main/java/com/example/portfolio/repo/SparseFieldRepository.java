@@ -0,0 +1,155 @@
+package com.example.portfolio.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tuple queries that select only the requested columns for sparse list
+ * responses. Field names map to a fixed set of JPQL paths, so nothing from
+ * the request is ever spliced into the query. Dotted names such as
+ * {@code owner.slug} come back as nested maps.
+ */
+@Repository
+public class SparseFieldRepository {
+    private static final String OWNER_PREFIX = "owner.";
+
+    private static final Map<String, String> PROFILE_COLUMNS = columns(
+            "id", "p.id",
+            "slug", "p.slug",
+            "name", "p.name",
+            "role", "p.role",
+            "bio", "p.bio",
+            "photoUrl", "p.photoUrl",
+            "githubUrl", "p.githubUrl",
+            "linkedinUrl", "p.linkedinUrl",
+            "twitterUrl", "p.twitterUrl",
+            "websiteUrl", "p.websiteUrl",
+            "location", "p.location"
+    );
+
+    private static final Map<String, String> PROJECT_COLUMNS = projectColumns();
+
+    private final EntityManager entityManager;
+
+    public SparseFieldRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public static Set<String> profileFields() {
+        return PROFILE_COLUMNS.keySet();
+    }
+
+    public static Set<String> projectFields() {
+        return PROJECT_COLUMNS.keySet();
+    }
+
+    /**
+     * Profiles with id greater than {@code afterId}, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findProfiles(List<String> fields, long afterId, int limit) {
+        return select(PROFILE_COLUMNS, fields, "Profile p", "p.id > :afterId", "p.id", null, afterId, limit);
+    }
+
+    /**
+     * Projects with id greater than {@code afterId}, ordered by id and
+     * optionally restricted to one owner.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findProjects(List<String> fields, String ownerSlug, long afterId, int limit) {
+        return selectProjects(fields, ownerSlug, afterId, "p.id", limit);
+    }
+
+    /**
+     * Unpaginated project list in the order of the full representation:
+     * by id, or by title when restricted to one owner.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findProjectList(List<String> fields, String ownerSlug, int limit) {
+        return selectProjects(fields, ownerSlug, 0L, StringUtils.hasText(ownerSlug) ? "p.title, p.id" : "p.id", limit);
+    }
+
+    private List<Map<String, Object>> selectProjects(List<String> fields, String ownerSlug, long afterId, String orderBy, int limit) {
+        boolean byOwner = StringUtils.hasText(ownerSlug);
+        // The owner is joined only when it is filtered on or one of its fields is selected
+        String from = byOwner ? "Project p JOIN p.owner o"
+                : fields.stream().anyMatch(field -> field.startsWith(OWNER_PREFIX)) ? "Project p LEFT JOIN p.owner o"
+                : "Project p";
+        String where = byOwner ? "p.id > :afterId AND o.slug = :ownerSlug" : "p.id > :afterId";
+        return select(PROJECT_COLUMNS, fields, from, where, orderBy, byOwner ? ownerSlug : null, afterId, limit);
+    }
+
+    private List<Map<String, Object>> select(Map<String, String> columns, List<String> fields, String from, String where,
+                                             String orderBy, String ownerSlug, long afterId, int limit) {
+        List<String> selections = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            String path = columns.get(fields.get(i));
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown field: " + fields.get(i));
+            }
+            selections.add(path + " AS f" + i);
+        }
+        String jpql = "SELECT " + String.join(", ", selections) + " FROM " + from + " WHERE " + where + " ORDER BY " + orderBy;
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit);
+        if (ownerSlug != null) {
+            query.setParameter("ownerSlug", ownerSlug);
+        }
+
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                put(row, fields.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> row, String field, Object value) {
+        int dot = field.indexOf('.');
+        if (dot < 0) {
+            row.put(field, value);
+            return;
+        }
+        Map<String, Object> nested = (Map<String, Object>) row.computeIfAbsent(field.substring(0, dot), key -> new LinkedHashMap<>());
+        nested.put(field.substring(dot + 1), value);
+    }
+
+    private static Map<String, String> projectColumns() {
+        Map<String, String> columns = columns(
+                "id", "p.id",
+                "title", "p.title",
+                "summary", "p.summary",
+                "description", "p.description",
+                "tags", "p.tags",
+                "repoUrl", "p.repoUrl",
+                "liveUrl", "p.liveUrl",
+                "imageUrl", "p.imageUrl"
+        );
+        PROFILE_COLUMNS.forEach((field, path) -> columns.put(OWNER_PREFIX + field, "o" + path.substring(1)));
+        return columns;
+    }
+
+    private static Map<String, String> columns(String... pairs) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            columns.put(pairs[i], pairs[i + 1]);
+        }
+        return columns;
+    }
+}
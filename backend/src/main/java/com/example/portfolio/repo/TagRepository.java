@@ -0,0 +1,11 @@
+package com.example.portfolio.repo;
+
+import com.example.portfolio.model.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+    List<Tag> findByNameIn(Collection<String> names);
+}
@@ -0,0 +1,25 @@
+package com.example.portfolio.repo;
+
+import com.example.portfolio.model.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    // Delta sync: continue after (deletedAt, id), up to a settled upper bound
+    @Query("SELECT t FROM Tombstone t WHERE (t.deletedAt > :at OR (t.deletedAt = :at AND t.id > :afterId))"
+            + " AND t.deletedAt <= :until ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findChangedSince(@Param("at") LocalDateTime at, @Param("afterId") Long afterId,
+                                     @Param("until") LocalDateTime until, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
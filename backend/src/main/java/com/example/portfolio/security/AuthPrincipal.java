@@ -0,0 +1,20 @@
+package com.example.portfolio.security;
+
+import com.example.portfolio.model.UserAccount;
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of the fields authentication needs from a {@link UserAccount}.
+ * This is what the users cache holds, so password hashes and timestamps never
+ * sit in the cache and callers cannot mutate a shared cached entity.
+ */
+public record AuthPrincipal(
+        Long id,
+        String email,
+        String role
+) implements Serializable {
+    public static AuthPrincipal from(UserAccount account) {
+        return new AuthPrincipal(account.getId(), account.getEmail(), account.getRole());
+    }
+}
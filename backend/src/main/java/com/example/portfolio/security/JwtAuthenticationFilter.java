@@ -61,17 +61,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 logger.debug("Looking up user by email: {}", email);
                 cachedUserService.findByEmail(email).ifPresent(user -> {
                     if (jwtService.isTokenValid(token, user)) {
-                        logger.debug("JWT token valid for user: {}", user.getEmail());
+                        logger.debug("JWT token valid for user: {}", user.email());
                         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                                 email,
                                 null,
-                                java.util.List.of(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole()))
+                                java.util.List.of(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.role()))
                         );
                         auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(auth);
                         logger.debug("Authentication set successfully for user: {}", email);
                     } else {
-                        logger.warn("Invalid JWT token for user: {}", user.getEmail());
+                        logger.warn("Invalid JWT token for user: {}", user.email());
                     }
                 });
             }
@@ -55,6 +55,11 @@ public class JwtService {
         return email.equalsIgnoreCase(user.getEmail()) && !isTokenExpired(token);
     }
 
+    public boolean isTokenValid(String token, AuthPrincipal principal) {
+        String email = extractEmail(token);
+        return email.equalsIgnoreCase(principal.email()) && !isTokenExpired(token);
+    }
+
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
     }
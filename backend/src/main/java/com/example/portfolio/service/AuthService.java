@@ -1,11 +1,16 @@
 package com.example.portfolio.service;
 
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.model.Experience;
 import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
 import com.example.portfolio.model.UserAccount;
 import com.example.portfolio.repo.ProfileRepository;
 import com.example.portfolio.repo.UserAccountRepository;
 import com.example.portfolio.security.JwtService;
 import com.example.portfolio.web.dto.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Locale;
 
 import static org.springframework.http.HttpStatus.*;
@@ -24,33 +30,61 @@ import static org.springframework.http.HttpStatus.*;
 @Service
 public class AuthService {
     private final UserAccountRepository userRepository;
-    private final CachedUserService cachedUserService;
     private final ProfileRepository profileRepository;
     private final ProfileService profileService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenService refreshTokenService;
+    private final SuggestService suggestService;
+    private final FuzzySearchService fuzzySearchService;
+    private final FacetService facetService;
+    private final TagFilterIndex tagFilterIndex;
+    private final RelatedProjectsService relatedProjectsService;
+    private final SimilarMembersService similarMembersService;
+    private final ChangeFeedService changeFeedService;
+    private final EventStreamService eventStreamService;
+    private final ContentVersions contentVersions;
+    private final OwnerSummaryTable ownerSummaries;
 
     public AuthService(UserAccountRepository userRepository,
-                       CachedUserService cachedUserService,
                        ProfileRepository profileRepository,
                        ProfileService profileService,
                        PasswordEncoder passwordEncoder,
                        JwtService jwtService,
                        AuthenticationManager authenticationManager,
-                       RefreshTokenService refreshTokenService) {
+                       RefreshTokenService refreshTokenService,
+                       SuggestService suggestService,
+                       FuzzySearchService fuzzySearchService,
+                       FacetService facetService,
+                       TagFilterIndex tagFilterIndex,
+                       RelatedProjectsService relatedProjectsService,
+                       SimilarMembersService similarMembersService,
+                       ChangeFeedService changeFeedService,
+                       EventStreamService eventStreamService,
+                       ContentVersions contentVersions,
+                       OwnerSummaryTable ownerSummaries) {
         this.userRepository = userRepository;
-        this.cachedUserService = cachedUserService;
         this.profileRepository = profileRepository;
         this.profileService = profileService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.refreshTokenService = refreshTokenService;
+        this.suggestService = suggestService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.facetService = facetService;
+        this.tagFilterIndex = tagFilterIndex;
+        this.relatedProjectsService = relatedProjectsService;
+        this.similarMembersService = similarMembersService;
+        this.changeFeedService = changeFeedService;
+        this.eventStreamService = eventStreamService;
+        this.contentVersions = contentVersions;
+        this.ownerSummaries = ownerSummaries;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.TEAM_PAGES_CACHE, CacheConfig.SEARCH_CACHE}, allEntries = true)
     public AuthResponse register(RegisterRequest request) {
         String email = normalizeEmail(request.email());
         String password = request.password();
@@ -84,6 +118,10 @@ public class AuthService {
             Profile profile = profileService.createProfileForUser(account, normalizedSlug, displayName);
             applyProfileFields(profile, request);
             profileRepository.save(profile);
+            suggestService.indexProfile(profile);
+            fuzzySearchService.indexProfile(profile);
+            facetService.indexProfile(profile);
+            similarMembersService.refresh(profile.getId());
 
             return buildAuthResponse(account, profile);
         } catch (DataIntegrityViolationException ex) {
@@ -112,7 +150,7 @@ public class AuthService {
         System.err.println("DEBUG: Authenticated email: " + authenticatedEmail);
         System.err.println("DEBUG: Normalized authenticated email: " + authenticatedEmail.toLowerCase(Locale.ENGLISH));
         
-        UserAccount account = cachedUserService.findByEmail(authenticatedEmail.toLowerCase(Locale.ENGLISH))
+        UserAccount account = userRepository.findByEmail(authenticatedEmail.toLowerCase(Locale.ENGLISH))
                 .orElseThrow(() -> new ResponseStatusException(UNAUTHORIZED, "Invalid credentials"));
         return buildAuthResponse(account, null);
     }
@@ -139,12 +177,37 @@ public class AuthService {
     }
 
     @Transactional
+    @Caching(evict = {
+            // The owner's slug is only known once the profile is loaded, so per-member lists go as a whole
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SEARCH_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RESPONSE_BODIES_CACHE, allEntries = true)
+    })
     public void deleteAccount(UserAccount userAccount) {
         // First revoke all refresh tokens
         refreshTokenService.revokeAllUserTokens(userAccount);
         
         // Delete user profile if exists (cascade should handle related data)
-        profileRepository.findByUserId(userAccount.getId()).ifPresent(profileRepository::delete);
+        profileRepository.findByUserId(userAccount.getId()).ifPresent(profile -> {
+            List<Long> projectIds = profile.getProjects().stream().map(Project::getId).toList();
+            List<Long> experienceIds = profile.getExperiences().stream().map(Experience::getId).toList();
+            profileRepository.delete(profile);
+            changeFeedService.recordDeletion(ChangeFeedService.PROFILE, profile.getId(), null);
+            experienceIds.forEach(id -> changeFeedService.recordDeletion(ChangeFeedService.EXPERIENCE, id, profile.getId()));
+            projectIds.forEach(id -> changeFeedService.recordDeletion(ChangeFeedService.PROJECT, id, profile.getId()));
+            tagFilterIndex.removeProjects(projectIds);
+            relatedProjectsService.removeProjects(projectIds);
+            suggestService.removeProfile(profile.getId());
+            fuzzySearchService.removeProfile(profile.getId());
+            facetService.removeProfile(profile.getId());
+            similarMembersService.refresh(profile.getId());
+            ownerSummaries.remove(profile.getId());
+            contentVersions.projectsChanged();
+            contentVersions.profilesChanged();
+            eventStreamService.publish(ChangeFeedService.PROFILE, "deleted", profile.getId(), null);
+        });
         
         // Finally delete the user account
         userRepository.delete(userAccount);
@@ -0,0 +1,134 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.BootstrapProperties;
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.web.dto.MemberCountsDto;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.RecentUpdateDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads the parts of the home page bootstrap in parallel. Every part comes
+ * from one of the existing caches, so a warm request only waits for cache
+ * lookups; a cold one waits for the slowest query instead of their sum.
+ * <p>
+ * The executor is private rather than a bean so it does not replace the
+ * application task executor that async MVC requests run on. When its queue
+ * is full the calling thread loads the part itself.
+ */
+@Service
+public class BootstrapService implements DisposableBean {
+    private static final Comparator<RecentUpdateDto> NEWEST_FIRST = Comparator.comparing(
+            RecentUpdateDto::updatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final TeamPageCache teamPageCache;
+    private final ProjectListCache projectListCache;
+    private final ProjectService projectService;
+    private final PaginationProperties pagination;
+    private final BootstrapProperties properties;
+    private final ExecutorService executor;
+
+    public BootstrapService(TeamPageCache teamPageCache,
+                            ProjectListCache projectListCache,
+                            ProjectService projectService,
+                            PaginationProperties pagination,
+                            BootstrapProperties properties) {
+        this.teamPageCache = teamPageCache;
+        this.projectListCache = projectListCache;
+        this.projectService = projectService;
+        this.pagination = pagination;
+        this.properties = properties;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bootstrap-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public Parts load() {
+        int teamSize = pagination.getDefaultPageSize();
+        int recentSize = properties.getRecentUpdates();
+
+        CompletableFuture<KeysetPage<ProfileSummaryDto>> team = async(() -> teamPageCache.loadPage(0L, teamSize));
+        CompletableFuture<List<ProjectDto>> featured = async(
+                () -> projectService.toDtos(projectListCache.featured(properties.getFeaturedProjects())));
+        CompletableFuture<List<RecentUpdateDto>> recentProfiles = async(() -> teamPageCache.recentUpdates(recentSize));
+        CompletableFuture<List<RecentUpdateDto>> recentProjects = async(() -> projectListCache.recentUpdates(recentSize));
+        CompletableFuture<Map<Long, Long>> experienceCounts = async(teamPageCache::experienceCountsByProfile);
+        CompletableFuture<Map<Long, Long>> projectCounts = async(projectListCache::countsByOwner);
+
+        List<RecentUpdateDto> recent = new ArrayList<>(join(recentProfiles));
+        recent.addAll(join(recentProjects));
+        recent.sort(NEWEST_FIRST);
+
+        return new Parts(
+                join(team),
+                teamSize,
+                join(featured),
+                List.copyOf(recent.subList(0, Math.min(recentSize, recent.size()))),
+                memberCounts(join(projectCounts), join(experienceCounts)));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> part) {
+        return CompletableFuture.supplyAsync(part, executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the part's own exception so the usual handlers map it
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Map<Long, MemberCountsDto> memberCounts(Map<Long, Long> projects, Map<Long, Long> experiences) {
+        Set<Long> members = new HashSet<>(projects.keySet());
+        members.addAll(experiences.keySet());
+        Map<Long, MemberCountsDto> counts = new LinkedHashMap<>();
+        members.stream().sorted().forEach(id -> counts.put(id, new MemberCountsDto(
+                projects.getOrDefault(id, 0L), experiences.getOrDefault(id, 0L))));
+        return counts;
+    }
+
+    public record Parts(
+            KeysetPage<ProfileSummaryDto> team,
+            int teamSize,
+            List<ProjectDto> featuredProjects,
+            List<RecentUpdateDto> recentUpdates,
+            Map<Long, MemberCountsDto> memberCounts
+    ) {
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.portfolio.service;
 
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.config.HotKeyTracker;
+import com.example.portfolio.config.HotKeyTrackingCache;
+import com.example.portfolio.config.OffHeapCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Cache monitoring and management utilities for performance insights
@@ -70,6 +81,65 @@ public class CacheMonitoringService {
         logger.info("All caches cleared successfully");
     }
     
+    /**
+     * Get the most read keys of a cache with approximate access rates
+     * @param cacheName Name of cache to inspect
+     * @return Top keys, or empty if the cache doesn't exist or isn't tracked
+     */
+    public Optional<List<HotKeyTracker.KeyStats>> getHotKeys(String cacheName) {
+        return tracker(cacheName).map(tracker -> tracker.topKeys().stream()
+                .map(stats -> masked(cacheName, stats))
+                .toList());
+    }
+
+    /**
+     * Inspect a single cache key without exposing the cached value
+     * @param cacheName Name of cache
+     * @param key Cache key
+     * @return Key details, or empty if the cache doesn't exist
+     */
+    public Optional<KeyInspection> inspectKey(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return Optional.empty();
+        }
+        // Read the native store directly so inspection doesn't count as traffic
+        Cache.ValueWrapper value = cache instanceof HotKeyTrackingCache tracking
+                ? tracking.getDelegate().get(key)
+                : cache.get(key);
+        HotKeyTracker.KeyStats stats = tracker(cacheName).map(t -> masked(cacheName, t.stats(key))).orElse(null);
+        String valueType = value == null ? null
+                : value.get() == null ? "null" : value.get().getClass().getSimpleName();
+        return Optional.of(new KeyInspection(cacheName, displayKey(cacheName, key), value != null, valueType, stats));
+    }
+
+    /**
+     * Evict a single key from a cache
+     * @param cacheName Name of cache
+     * @param key Cache key
+     * @return true if cache existed, false if cache didn't exist
+     */
+    public boolean evictKey(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            logger.warn("Cache '{}' not found", cacheName);
+            return false;
+        }
+        cache.evict(key);
+        logger.info("Evicted key '{}' from cache '{}'", displayKey(cacheName, key), cacheName);
+        return true;
+    }
+
+    /**
+     * Age hot-key counters so they reflect recent traffic
+     */
+    @Scheduled(fixedRate = HotKeyTracker.DECAY_INTERVAL_MS)
+    public void decayHotKeys() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            tracker(cacheName).ifPresent(HotKeyTracker::decay);
+        }
+    }
+
     /**
      * Warm up user caches (can be called at startup)
      */
@@ -80,8 +150,40 @@ public class CacheMonitoringService {
         logger.info("Cache warm-up completed");
     }
     
+    /**
+     * Users cache keys are email addresses; they are reported only as a
+     * digest, which is stable enough to spot a hot key without revealing it.
+     */
+    static String displayKey(String cacheName, Object key) {
+        if (!CacheConfig.USER_CACHE.equals(cacheName)) {
+            return String.valueOf(key);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static HotKeyTracker.KeyStats masked(String cacheName, HotKeyTracker.KeyStats stats) {
+        return new HotKeyTracker.KeyStats(displayKey(cacheName, stats.key()), stats.reads(), stats.loads(),
+                stats.readsPerMinute(), stats.loadsPerMinute());
+    }
+
+    private Optional<HotKeyTracker> tracker(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache instanceof HotKeyTrackingCache tracking
+                ? Optional.of(tracking.getTracker())
+                : Optional.empty();
+    }
+
     private int getCacheSize(Cache cache) {
         try {
+            if (cache.getNativeCache() instanceof OffHeapCache offHeapCache) {
+                return offHeapCache.size();
+            }
             // For ConcurrentMapCache, we can access the underlying store
             if (cache instanceof org.springframework.cache.concurrent.ConcurrentMapCache) {
                 org.springframework.cache.concurrent.ConcurrentMapCache concurrentMapCache = 
@@ -121,4 +223,16 @@ public class CacheMonitoringService {
             return String.format("CacheStats{name='%s', size=%d}", name, size);
         }
     }
+
+    /**
+     * Details of a single cache key; never includes the cached value itself
+     */
+    public record KeyInspection(
+            String cache,
+            String key,
+            boolean present,
+            String valueType,
+            HotKeyTracker.KeyStats access
+    ) {
+    }
 }
\ No newline at end of file
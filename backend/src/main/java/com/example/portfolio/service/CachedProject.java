@@ -0,0 +1,48 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Project;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRefDto;
+
+import java.io.Serializable;
+
+/**
+ * Compact, immutable form of a project as held in the projects cache.
+ * The owner is referenced by id and resolved through {@link OwnerSummaryTable}
+ * on read, so an owner's summary is stored once no matter how many projects
+ * or cached lists point at it.
+ */
+public record CachedProject(
+        Long id,
+        String title,
+        String summary,
+        String description,
+        String tags,
+        String repoUrl,
+        String liveUrl,
+        String imageUrl,
+        Long ownerId
+) implements Serializable {
+    static CachedProject from(Project project) {
+        return new CachedProject(
+                project.getId(),
+                project.getTitle(),
+                project.getSummary(),
+                project.getDescription(),
+                project.getTags(),
+                project.getRepoUrl(),
+                project.getLiveUrl(),
+                project.getImageUrl(),
+                project.getOwner() != null ? project.getOwner().getId() : null
+        );
+    }
+
+    ProjectDto toDto(ProfileSummaryDto owner) {
+        return new ProjectDto(id, title, summary, description, tags, repoUrl, liveUrl, imageUrl, owner);
+    }
+
+    ProjectRefDto toRefDto() {
+        return new ProjectRefDto(id, title, summary, description, tags, repoUrl, liveUrl, imageUrl, ownerId);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.portfolio.service;
 import com.example.portfolio.config.CacheConfig;
 import com.example.portfolio.model.UserAccount;
 import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.security.AuthPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
@@ -26,14 +27,15 @@ public class CachedUserService {
     }
 
     /**
-     * Find user by email with caching
+     * Find user by email with caching. Only the immutable {@link AuthPrincipal}
+     * is cached, never the JPA entity.
      * @param email User email (case-insensitive)
-     * @return Optional UserAccount
+     * @return Optional AuthPrincipal
      */
     @Cacheable(value = CacheConfig.USER_CACHE, key = "#email.toLowerCase()")
-    public Optional<UserAccount> findByEmail(String email) {
+    public Optional<AuthPrincipal> findByEmail(String email) {
         logger.debug("Finding user by email (will cache if found): {}", email);
-        Optional<UserAccount> user = userRepository.findByEmail(email.toLowerCase());
+        Optional<AuthPrincipal> user = userRepository.findByEmail(email.toLowerCase()).map(AuthPrincipal::from);
         
         if (user.isPresent()) {
             logger.debug("User found and cached: {}", email);
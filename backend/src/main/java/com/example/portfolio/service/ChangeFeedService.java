@@ -0,0 +1,179 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.ChangeFeedProperties;
+import com.example.portfolio.model.Experience;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.model.Tombstone;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.TombstoneRepository;
+import com.example.portfolio.web.dto.ChangeDto;
+import com.example.portfolio.web.dto.ProfileMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.GONE;
+
+/**
+ * Delta sync: everything created, updated or deleted after a position, in
+ * the order it happened. Rows are read in {@code (updated_at, id)} order
+ * from each table and deletions from {@code tombstone}; the four streams
+ * are merged on {@link Position}, so a page costs four indexed range scans
+ * of at most {@code limit + 1} rows however large the tables are.
+ * <p>
+ * Project and experience writes touch their owner, so they also report the
+ * owning profile as updated.
+ */
+@Service
+public class ChangeFeedService {
+    public static final String PROFILE = "profile";
+    public static final String EXPERIENCE = "experience";
+    public static final String PROJECT = "project";
+
+    // Order of the tables among rows stamped at the same instant
+    static final int PROFILE_KIND = 0;
+    static final int EXPERIENCE_KIND = 1;
+    static final int PROJECT_KIND = 2;
+    static final int TOMBSTONE_KIND = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::position, Position.ORDER);
+
+    private final ProfileRepository profileRepository;
+    private final ExperienceRepository experienceRepository;
+    private final ProjectRepository projectRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final ChangeFeedProperties properties;
+
+    public ChangeFeedService(ProfileRepository profileRepository,
+                             ExperienceRepository experienceRepository,
+                             ProjectRepository projectRepository,
+                             TombstoneRepository tombstoneRepository,
+                             ChangeFeedProperties properties) {
+        this.profileRepository = profileRepository;
+        this.experienceRepository = experienceRepository;
+        this.projectRepository = projectRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, oldest first. Changes
+     * newer than the settle time are held back for a later call.
+     */
+    @Transactional(readOnly = true)
+    public Page changesSince(Position since, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!since.equals(Position.FIRST) && since.at().isBefore(now.minus(properties.getRetention()))) {
+            throw new ResponseStatusException(GONE, "Cursor is older than the change history; sync from the start");
+        }
+        LocalDateTime until = now.minus(properties.getSettleTime());
+        Limit fetch = Limit.of(limit + 1);
+
+        List<Entry> entries = new ArrayList<>();
+        for (Profile profile : profileRepository.findChangedSince(since.at(), since.afterId(PROFILE_KIND), until, fetch)) {
+            entries.add(new Entry(new Position(profile.getUpdatedAt(), PROFILE_KIND, profile.getId()),
+                    upsert(PROFILE, profile.getId(), null, profile.getCreatedAt(), profile.getUpdatedAt(), since,
+                            ProfileMapper.toSummary(profile))));
+        }
+        for (Experience experience : experienceRepository.findChangedSince(since.at(), since.afterId(EXPERIENCE_KIND), until, fetch)) {
+            entries.add(new Entry(new Position(experience.getUpdatedAt(), EXPERIENCE_KIND, experience.getId()),
+                    upsert(EXPERIENCE, experience.getId(), experience.getProfile().getId(), experience.getCreatedAt(),
+                            experience.getUpdatedAt(), since, ProfileMapper.toExperienceDto(experience))));
+        }
+        for (Project project : projectRepository.findChangedSince(since.at(), since.afterId(PROJECT_KIND), until, fetch)) {
+            entries.add(new Entry(new Position(project.getUpdatedAt(), PROJECT_KIND, project.getId()),
+                    upsert(PROJECT, project.getId(), project.getOwner() != null ? project.getOwner().getId() : null,
+                            project.getCreatedAt(), project.getUpdatedAt(), since, ProfileMapper.toProjectDto(project))));
+        }
+        for (Tombstone tombstone : tombstoneRepository.findChangedSince(since.at(), since.afterId(TOMBSTONE_KIND), until, fetch)) {
+            entries.add(new Entry(new Position(tombstone.getDeletedAt(), TOMBSTONE_KIND, tombstone.getId()),
+                    new ChangeDto(tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getOwnerId(),
+                            "deleted", tombstone.getDeletedAt(), null)));
+        }
+
+        entries.sort(ORDER);
+        List<Entry> page = entries.subList(0, Math.min(limit, entries.size()));
+        boolean hasMore = entries.size() > limit;
+        // Once caught up, move on to the settle boundary so an idle client's cursor keeps pace with the clock
+        // and does not fall out of the retention window between changes
+        Position next = hasMore ? page.get(page.size() - 1).position() : Position.latest(since, until);
+        return new Page(page.stream().map(Entry::change).toList(), next, hasMore);
+    }
+
+    /**
+     * Leaves a tombstone for a deleted row; {@code ownerId} is the owning
+     * profile of experiences and projects.
+     */
+    public void recordDeletion(String type, Long id, Long ownerId) {
+        if (id == null) {
+            return;
+        }
+        tombstoneRepository.save(new Tombstone(type, id, ownerId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval:PT6H}",
+            initialDelayString = "${app.changes.purge-interval:PT6H}")
+    public void purgeExpired() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            logger.info("Purged {} expired tombstones", purged);
+        }
+    }
+
+    private static ChangeDto upsert(String type, Long id, Long ownerId, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                    Position since, Object data) {
+        boolean created = createdAt != null && createdAt.isAfter(since.at());
+        return new ChangeDto(type, id, ownerId, created ? "created" : "updated", updatedAt, data);
+    }
+
+    /**
+     * Where a change sits in the feed: its timestamp, then the table it
+     * comes from, then its id in that table.
+     */
+    public record Position(LocalDateTime at, int kind, long id) {
+        public static final Position FIRST = new Position(LocalDateTime.of(1970, 1, 1, 0, 0), -1, 0L);
+
+        static final Comparator<Position> ORDER = Comparator.comparing(Position::at)
+                .thenComparingInt(Position::kind)
+                .thenComparingLong(Position::id);
+
+        /**
+         * The later of {@code since} and the position just after every row
+         * stamped at or before {@code until}.
+         */
+        static Position latest(Position since, LocalDateTime until) {
+            Position settled = new Position(until, TOMBSTONE_KIND, Long.MAX_VALUE);
+            return ORDER.compare(since, settled) >= 0 ? since : settled;
+        }
+
+        /**
+         * The id rows of {@code kind} stamped exactly at {@link #at} must
+         * exceed to come after this position.
+         */
+        long afterId(int kind) {
+            if (kind > this.kind) {
+                return -1L;
+            }
+            return kind == this.kind ? id : Long.MAX_VALUE;
+        }
+    }
+
+    public record Page(List<ChangeDto> changes, Position next, boolean hasMore) {
+    }
+
+    private record Entry(Position position, ChangeDto change) {
+    }
+}
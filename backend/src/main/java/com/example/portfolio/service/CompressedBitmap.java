@@ -0,0 +1,472 @@
+package com.example.portfolio.service;
+
+import java.util.Arrays;
+
+/**
+ * Set of non-negative ints split into 65536-value chunks by their high 16
+ * bits, after the Roaring layout: a sparse chunk is a sorted {@code char[]}
+ * of low bits, a dense one a 1024-word bitmap, switching at 4096 values so
+ * a chunk never takes more than 8 KB. Intersections and unions work chunk
+ * by chunk and skip chunks missing on either side.
+ * <p>
+ * Results of {@link #and} and {@link #or} may share chunks with their
+ * inputs, so they are only valid until the next write to those inputs. Not
+ * thread-safe; {@link TagFilterIndex} guards its bitmaps with a read-write
+ * lock.
+ */
+final class CompressedBitmap {
+    static final int ARRAY_MAX = 4096;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Chunk[] NO_CHUNKS = new Chunk[0];
+
+    // High 16 bits of each chunk, sorted, parallel to chunks
+    private char[] keys = NO_KEYS;
+    private Chunk[] chunks = NO_CHUNKS;
+    private int size;
+
+    void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i >= 0) {
+            chunks[i] = chunks[i].add((char) value);
+            return;
+        }
+        insertChunk(-(i + 1), key, new ArrayChunk().add((char) value));
+    }
+
+    boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (i < 0 || !chunks[i].contains((char) value)) {
+            return false;
+        }
+        Chunk updated = chunks[i].remove((char) value);
+        if (updated.cardinality() == 0) {
+            removeChunk(i);
+        } else {
+            chunks[i] = updated;
+        }
+        return true;
+    }
+
+    boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return i >= 0 && chunks[i].contains((char) value);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += chunks[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Up to {@code limit} values greater than {@code after}, ascending.
+     */
+    int[] after(int after, int limit) {
+        if (after == Integer.MAX_VALUE || limit <= 0) {
+            return new int[0];
+        }
+        int[] found = new int[Math.min(limit, 64)];
+        int count = 0;
+        int from = Math.max(0, after + 1);
+        int i = Arrays.binarySearch(keys, 0, size, (char) (from >>> 16));
+        int start = i >= 0 ? i : -(i + 1);
+        for (int c = start; c < size && count < limit; c++) {
+            int high = keys[c] << 16;
+            int low = high == (from & 0xFFFF0000) ? from & 0xFFFF : 0;
+            while (count < limit && (low = chunks[c].next(low)) >= 0) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, Math.min(limit, count * 2));
+                }
+                found[count++] = high | low;
+                low++;
+            }
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Chunk both = a.chunks[i].and(b.chunks[j]);
+                if (both.cardinality() > 0) {
+                    result.insertChunk(result.size, a.keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of the intersection, without building it.
+     */
+    static int andCardinality(CompressedBitmap a, CompressedBitmap b) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                total += a.chunks[i].andCardinality(b.chunks[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.insertChunk(result.size, a.keys[i], a.chunks[i]);
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.insertChunk(result.size, b.keys[j], b.chunks[j]);
+                j++;
+            } else {
+                result.insertChunk(result.size, a.keys[i], a.chunks[i].or(b.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private void insertChunk(int at, char key, Chunk chunk) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(chunks, at, chunks, at + 1, size - at);
+        keys[at] = key;
+        chunks[at] = chunk;
+        size++;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+        System.arraycopy(chunks, at + 1, chunks, at, size - at - 1);
+        size--;
+        chunks[size] = null;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value);
+        }
+    }
+
+    /**
+     * Low 16 bits of the values in one chunk. Writes return the chunk to
+     * use from then on, which may be a converted copy; reads never modify.
+     */
+    private interface Chunk {
+        Chunk add(char value);
+
+        Chunk remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        // Smallest value at or above from, or -1
+        int next(int from);
+
+        Chunk and(Chunk other);
+
+        int andCardinality(Chunk other);
+
+        Chunk or(Chunk other);
+    }
+
+    private static final class ArrayChunk implements Chunk {
+        char[] values;
+        int cardinality;
+
+        ArrayChunk() {
+            this(new char[4], 0);
+        }
+
+        ArrayChunk(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public Chunk add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            int at = -(i + 1);
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Chunk remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int next(int from) {
+            if (from > 0xFFFF) {
+                return -1;
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            int at = i >= 0 ? i : -(i + 1);
+            return at < cardinality ? values[at] : -1;
+        }
+
+        @Override
+        public Chunk and(Chunk other) {
+            char[] both = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        both[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        both[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayChunk(both, count);
+        }
+
+        @Override
+        public int andCardinality(Chunk other) {
+            int count = 0;
+            if (other instanceof ArrayChunk array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                return other.or(this);
+            }
+            ArrayChunk array = (ArrayChunk) other;
+            char[] merged = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    merged[count++] = array.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayChunk union = new ArrayChunk(merged, count);
+            return count > ARRAY_MAX ? union.toBitmap() : union;
+        }
+
+        BitmapChunk toBitmap() {
+            BitmapChunk bitmap = new BitmapChunk();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapChunk implements Chunk {
+        final long[] words = new long[1024];
+        int cardinality;
+
+        @Override
+        public Chunk add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Chunk remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int next(int from) {
+            if (from > 0xFFFF) {
+                return -1;
+            }
+            int w = from >>> 6;
+            long word = words[w] & (-1L << from);
+            while (word == 0) {
+                if (++w == words.length) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            BitmapChunk bitmap = (BitmapChunk) other;
+            BitmapChunk both = new BitmapChunk();
+            for (int i = 0; i < words.length; i++) {
+                both.words[i] = words[i] & bitmap.words[i];
+                both.cardinality += Long.bitCount(both.words[i]);
+            }
+            return both.cardinality <= ARRAY_MAX ? both.toArray() : both;
+        }
+
+        @Override
+        public int andCardinality(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapChunk) other).words;
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                count += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public Chunk or(Chunk other) {
+            BitmapChunk union = new BitmapChunk();
+            System.arraycopy(words, 0, union.words, 0, words.length);
+            if (other instanceof ArrayChunk array) {
+                union.cardinality = cardinality;
+                for (int i = 0; i < array.cardinality; i++) {
+                    union.add(array.values[i]);
+                }
+            } else {
+                BitmapChunk bitmap = (BitmapChunk) other;
+                for (int i = 0; i < words.length; i++) {
+                    union.words[i] |= bitmap.words[i];
+                    union.cardinality += Long.bitCount(union.words[i]);
+                }
+            }
+            return union;
+        }
+
+        ArrayChunk toArray() {
+            char[] values = new char[Math.max(4, cardinality)];
+            int count = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[count++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayChunk(values, count);
+        }
+    }
+}
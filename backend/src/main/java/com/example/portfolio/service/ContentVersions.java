@@ -0,0 +1,38 @@
+package com.example.portfolio.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version stamps for public content, bumped after every write and
+ * used to derive ETags without touching the data itself. Seeded from the
+ * clock so stamps issued before a restart are not handed out again.
+ */
+@Component
+public class ContentVersions {
+    private final AtomicLong projects;
+    private final AtomicLong profiles;
+
+    public ContentVersions() {
+        long seed = System.currentTimeMillis();
+        this.projects = new AtomicLong(seed);
+        this.profiles = new AtomicLong(seed);
+    }
+
+    public long projects() {
+        return projects.get();
+    }
+
+    public long profiles() {
+        return profiles.get();
+    }
+
+    public void projectsChanged() {
+        projects.incrementAndGet();
+    }
+
+    public void profilesChanged() {
+        profiles.incrementAndGet();
+    }
+}
@@ -3,6 +3,8 @@ package com.example.portfolio.service;
 import com.example.portfolio.model.Profile;
 import com.example.portfolio.model.UserAccount;
 import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.security.AuthPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -14,13 +16,17 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 public class CurrentUserService {
     private final CachedUserService cachedUserService;
     private final ProfileRepository profileRepository;
+    private final UserAccountRepository userRepository;
 
-    public CurrentUserService(CachedUserService cachedUserService, ProfileRepository profileRepository) {
+    public CurrentUserService(CachedUserService cachedUserService,
+                              ProfileRepository profileRepository,
+                              UserAccountRepository userRepository) {
         this.cachedUserService = cachedUserService;
         this.profileRepository = profileRepository;
+        this.userRepository = userRepository;
     }
 
-    public UserAccount requireUser() {
+    public AuthPrincipal requirePrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new ResponseStatusException(UNAUTHORIZED, "Authentication required");
@@ -30,13 +36,18 @@ public class CurrentUserService {
                 .orElseThrow(() -> new ResponseStatusException(UNAUTHORIZED, "User not found"));
     }
 
+    /**
+     * Loads the managed account entity; only needed by callers that write
+     * through it (logout, account deletion).
+     */
     public UserAccount getCurrentUser() {
-        return requireUser();
+        return userRepository.findById(requirePrincipal().id())
+                .orElseThrow(() -> new ResponseStatusException(UNAUTHORIZED, "User not found"));
     }
 
     public Profile requireProfile() {
-        UserAccount user = requireUser();
-        return profileRepository.findByUserId(user.getId())
+        AuthPrincipal user = requirePrincipal();
+        return profileRepository.findByUserId(user.id())
                 .orElseThrow(() -> new ResponseStatusException(UNAUTHORIZED, "Profile not found"));
     }
 
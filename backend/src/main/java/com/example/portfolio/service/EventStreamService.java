@@ -0,0 +1,401 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.EventStreamProperties;
+import com.example.portfolio.web.dto.ChangeEventDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Fans committed profile, experience and project changes out to the open
+ * event streams of this node.
+ * <p>
+ * Publishing serializes the event once and appends it to a ring of recent
+ * events; a dispatcher thread then queues it on every subscriber, so the
+ * committing thread waits neither on the fan-out nor on a socket. Each
+ * subscriber has a bounded queue that drops its oldest event when a
+ * slow client falls behind, and a small pool of sender threads drains the
+ * queues. A write still blocked after the write timeout drops its stream
+ * and the pool starts another sender in place of the stuck one, so a
+ * stalled connection never holds up the others. Event ids
+ * increase across restarts, and a client resuming with
+ * {@code Last-Event-ID} gets the events it missed from the ring; when they
+ * are no longer all there it gets a {@code reset} event and should resync
+ * from the change feed.
+ */
+@Service
+public class EventStreamService implements DisposableBean {
+    public static final String RESET = "reset";
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamService.class);
+    private static final Event HEARTBEAT = new Event(-1L, null, null);
+
+    // Write states of a subscription besides the System.nanoTime() its current write started at
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long CLOSED = Long.MIN_VALUE + 1;
+    private static final long DETACHED = Long.MIN_VALUE + 2;
+
+    private final EventStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService dispatcher;
+    private final ThreadPoolExecutor senders;
+    // Sender threads still blocked in a write for a stream that was dropped; guarded by senders
+    private int detachedSenders;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<ChangeEventDto>> listeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by itself; the ring holds the last history.length events, the newest at nextId - 1
+    private final Event[] history;
+    private final long firstId;
+    private long nextId;
+
+    public EventStreamService(EventStreamProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.history = new Event[Math.max(1, properties.getHistory())];
+        // Ids stay ahead of the previous run's as long as it published fewer than a thousand events per millisecond
+        this.firstId = System.currentTimeMillis() * 1_000;
+        this.nextId = firstId;
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        int senderThreads = Math.max(1, properties.getSenderThreads());
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "event-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Announces a change once the current transaction commits, or right away
+     * outside one; rolled back writes are never announced. {@code ownerId} is
+     * the owning profile of experiences and projects.
+     */
+    public void publish(String type, String op, Long id, Long ownerId) {
+        if (id == null) {
+            return;
+        }
+        ChangeEventDto event = new ChangeEventDto(type, op, id, ownerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast(event);
+                }
+            });
+        } else {
+            broadcast(event);
+        }
+    }
+
+    /**
+     * Opens a stream onto {@code sink}, first replaying what came after
+     * {@code lastEventId} when the client is resuming.
+     *
+     * @throws ResponseStatusException 503 when this node already serves the
+     *                                 configured number of streams
+     */
+    public Subscription subscribe(Sink sink, Long lastEventId) {
+        Subscription subscription = new Subscription(sink);
+        synchronized (history) {
+            if (subscriptions.size() >= properties.getMaxConnections()) {
+                throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Too many event streams; retry later");
+            }
+            if (lastEventId != null) {
+                replay(subscription, lastEventId);
+            }
+            // Events still waiting for the dispatcher are in the ring, so already replayed or not wanted
+            subscription.lastQueued = nextId - 1;
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    /**
+     * Hands every published change to {@code listener} as well, on the
+     * dispatcher thread and in id order; it must not block.
+     */
+    public void addListener(Consumer<ChangeEventDto> listener) {
+        listeners.add(listener);
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Queues a comment line on every idle stream, which keeps proxies from
+     * closing it and finds the connections that went away silently.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval:PT15S}",
+            initialDelayString = "${app.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscriptions.forEach(Subscription::heartbeat);
+    }
+
+    /**
+     * Drops the streams whose current write has been blocked for longer than
+     * the write timeout, a client that stopped reading with a full socket
+     * buffer. The sender stays in the write until the container gives up on
+     * the socket; the pool runs another thread meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${app.events.write-timeout:PT10S}",
+            initialDelayString = "${app.events.write-timeout:PT10S}")
+    public void dropStalledStreams() {
+        long now = System.nanoTime();
+        long timeout = properties.getWriteTimeout().toNanos();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.writingFor(now) > timeout) {
+                logger.debug("Dropping event stream blocked in a write for over {}", properties.getWriteTimeout());
+                subscription.cancel();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(Subscription::cancel);
+    }
+
+    private void broadcast(ChangeEventDto change) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            logger.warn("Could not serialize change event {}", change, ex);
+            return;
+        }
+        synchronized (history) {
+            Event event = new Event(nextId++, change.type(), data);
+            history[(int) (event.id() % history.length)] = event;
+            // Queued under the lock so the dispatcher sees events in id order
+            dispatcher.execute(() -> {
+                for (Subscription subscription : subscriptions) {
+                    subscription.offer(event);
+                }
+                for (Consumer<ChangeEventDto> listener : listeners) {
+                    try {
+                        listener.accept(change);
+                    } catch (RuntimeException ex) {
+                        logger.warn("Change listener failed for {}", change, ex);
+                    }
+                }
+            });
+        }
+    }
+
+    // Called holding the history lock, so nothing is published between the replay and the live events
+    private void replay(Subscription subscription, long lastEventId) {
+        long oldest = Math.max(nextId - history.length, firstId);
+        long missed = nextId - 1 - lastEventId;
+        if (lastEventId < oldest - 1 || missed < 0 || missed > properties.getBufferSize()) {
+            subscription.offer(new Event(nextId - 1, RESET, "{}"));
+            return;
+        }
+        for (long id = lastEventId + 1; id < nextId; id++) {
+            subscription.offer(history[(int) (id % history.length)]);
+        }
+    }
+
+    // Grows the pool while a sender is stuck on a dropped stream and shrinks it once the write returns
+    private void resizeSenders(int detached) {
+        synchronized (senders) {
+            detachedSenders += detached;
+            int size = Math.max(1, properties.getSenderThreads()) + detachedSenders;
+            if (detached > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * Where a subscriber's events are written; implementations may block, as
+     * only a sender thread calls them, never more than one at a time. A
+     * write blocked past the write timeout gets the stream dropped, and
+     * {@link #close()} is then called once that write has returned.
+     */
+    public interface Sink {
+        void send(long id, String name, String data) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    private record Event(long id, String name, String data) {
+    }
+
+    public final class Subscription {
+        private final Sink sink;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicLong writing = new AtomicLong(IDLE);
+        private long dropped;
+        // Newest event id queued so far; guarded by queue
+        private long lastQueued = Long.MIN_VALUE;
+
+        private Subscription(Sink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Closes the stream; safe to call more than once and from the
+         * container's completion callbacks.
+         */
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                subscriptions.remove(this);
+                synchronized (queue) {
+                    queue.clear();
+                }
+                detach();
+            }
+        }
+
+        /**
+         * Events dropped because the client fell behind by more than the
+         * buffer.
+         */
+        public long dropped() {
+            synchronized (queue) {
+                return dropped;
+            }
+        }
+
+        void offer(Event event) {
+            synchronized (queue) {
+                if (event.id() <= lastQueued) {
+                    return;
+                }
+                lastQueued = event.id();
+                if (queue.size() >= properties.getBufferSize()) {
+                    queue.pollFirst();
+                    dropped++;
+                }
+                queue.addLast(event);
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            synchronized (queue) {
+                if (!queue.isEmpty()) {
+                    return;
+                }
+                queue.addLast(HEARTBEAT);
+            }
+            schedule();
+        }
+
+        // Closes the sink now when no write is in flight, or leaves that to the sender once the write returns
+        private void detach() {
+            while (true) {
+                long state = writing.get();
+                if (state == IDLE) {
+                    if (writing.compareAndSet(IDLE, CLOSED)) {
+                        sink.close();
+                        return;
+                    }
+                } else if (writing.compareAndSet(state, DETACHED)) {
+                    resizeSenders(1);
+                    return;
+                }
+            }
+        }
+
+        long writingFor(long now) {
+            long started = writing.get();
+            return started == IDLE || started == CLOSED || started == DETACHED ? 0L : now - started;
+        }
+
+        private void schedule() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down
+                cancel();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Event event;
+                synchronized (queue) {
+                    event = queue.pollFirst();
+                    if (event == null) {
+                        // Cleared under the lock, so an offer after this schedules a new drain
+                        draining.set(false);
+                        return;
+                    }
+                }
+                long started = System.nanoTime();
+                if (!writing.compareAndSet(IDLE, started)) {
+                    // Cancelled
+                    return;
+                }
+                Exception failure = null;
+                try {
+                    if (event == HEARTBEAT) {
+                        sink.heartbeat();
+                    } else {
+                        sink.send(event.id(), event.name(), event.data());
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    failure = ex;
+                }
+                if (!writing.compareAndSet(started, IDLE)) {
+                    // Dropped while this write was blocked; another sender has taken this thread's place
+                    resizeSenders(-1);
+                    sink.close();
+                    return;
+                }
+                if (failure != null) {
+                    logger.debug("Event stream closed: {}", failure.getMessage());
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
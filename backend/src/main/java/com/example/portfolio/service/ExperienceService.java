@@ -1,16 +1,20 @@
 package com.example.portfolio.service;
 
+import com.example.portfolio.config.CacheConfig;
 import com.example.portfolio.model.Experience;
 import com.example.portfolio.model.Profile;
 import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
 import com.example.portfolio.web.dto.ExperienceDto;
 import com.example.portfolio.web.dto.ExperienceRequest;
 import com.example.portfolio.web.dto.ProfileMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -19,33 +23,72 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @Service
 public class ExperienceService {
     private final ExperienceRepository experienceRepository;
+    private final ProfileRepository profileRepository;
+    private final FuzzySearchService fuzzySearchService;
+    private final FacetService facetService;
+    private final SimilarMembersService similarMembersService;
+    private final ChangeFeedService changeFeedService;
+    private final EventStreamService eventStreamService;
 
-    public ExperienceService(ExperienceRepository experienceRepository) {
+    public ExperienceService(ExperienceRepository experienceRepository,
+                             ProfileRepository profileRepository,
+                             FuzzySearchService fuzzySearchService,
+                             FacetService facetService,
+                             SimilarMembersService similarMembersService,
+                             ChangeFeedService changeFeedService,
+                             EventStreamService eventStreamService) {
         this.experienceRepository = experienceRepository;
+        this.profileRepository = profileRepository;
+        this.fuzzySearchService = fuzzySearchService;
+        this.facetService = facetService;
+        this.similarMembersService = similarMembersService;
+        this.changeFeedService = changeFeedService;
+        this.eventStreamService = eventStreamService;
     }
 
     public List<ExperienceDto> list(Profile profile) {
         return ProfileMapper.toExperienceDtos(experienceRepository.findByProfileIdOrderByOrderIndexAsc(profile.getId()));
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TEAM_PAGES_CACHE, CacheConfig.SEARCH_CACHE}, allEntries = true)
     public ExperienceDto create(Profile profile, ExperienceRequest request) {
         Experience experience = new Experience();
         experience.setProfile(profile);
         applyRequest(experience, request);
-        return ProfileMapper.toExperienceDto(experienceRepository.save(experience));
+        Experience stored = experienceRepository.save(experience);
+        profileRepository.touch(profile.getId(), LocalDateTime.now());
+        fuzzySearchService.indexExperience(stored);
+        facetService.indexExperience(stored);
+        similarMembersService.refresh(profile.getId());
+        eventStreamService.publish(ChangeFeedService.EXPERIENCE, "created", stored.getId(), profile.getId());
+        return ProfileMapper.toExperienceDto(stored);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TEAM_PAGES_CACHE, CacheConfig.SEARCH_CACHE}, allEntries = true)
     public ExperienceDto update(Profile profile, Long id, ExperienceRequest request) {
         Experience experience = experienceRepository.findByIdAndProfileId(id, profile.getId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Experience not found"));
         applyRequest(experience, request);
-        return ProfileMapper.toExperienceDto(experienceRepository.save(experience));
+        Experience stored = experienceRepository.save(experience);
+        profileRepository.touch(profile.getId(), LocalDateTime.now());
+        fuzzySearchService.indexExperience(stored);
+        facetService.indexExperience(stored);
+        similarMembersService.refresh(profile.getId());
+        eventStreamService.publish(ChangeFeedService.EXPERIENCE, "updated", stored.getId(), profile.getId());
+        return ProfileMapper.toExperienceDto(stored);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TEAM_PAGES_CACHE, CacheConfig.SEARCH_CACHE}, allEntries = true)
     public void delete(Profile profile, Long id) {
         Experience experience = experienceRepository.findByIdAndProfileId(id, profile.getId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Experience not found"));
         experienceRepository.delete(experience);
+        changeFeedService.recordDeletion(ChangeFeedService.EXPERIENCE, id, profile.getId());
+        profileRepository.touch(profile.getId(), LocalDateTime.now());
+        fuzzySearchService.removeExperience(id);
+        facetService.removeExperience(id);
+        similarMembersService.refresh(profile.getId());
+        eventStreamService.publish(ChangeFeedService.EXPERIENCE, "deleted", id, profile.getId());
     }
 
     private void applyRequest(Experience experience, ExperienceRequest request) {
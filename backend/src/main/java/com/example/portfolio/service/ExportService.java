@@ -0,0 +1,76 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.web.dto.ProfileMapper;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import com.example.portfolio.web.dto.ProjectDto;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-table exports that hand each row to a sink as soon as it is mapped.
+ * Rows are read through a forward-only cursor with a JDBC fetch size and the
+ * session is cleared every batch, so memory stays flat regardless of the
+ * number of rows.
+ */
+@Service
+public class ExportService {
+    private final ProjectRepository projectRepository;
+    private final ProfileRepository profileRepository;
+    private final EntityManager entityManager;
+
+    public ExportService(ProjectRepository projectRepository,
+                         ProfileRepository profileRepository,
+                         EntityManager entityManager) {
+        this.projectRepository = projectRepository;
+        this.profileRepository = profileRepository;
+        this.entityManager = entityManager;
+    }
+
+    @FunctionalInterface
+    public interface RowSink<T> {
+        void accept(T row) throws IOException;
+    }
+
+    /**
+     * Streams every project ordered by id and returns the number written.
+     */
+    @Transactional(readOnly = true)
+    public long exportProjects(RowSink<ProjectDto> sink) throws IOException {
+        try (Stream<Project> rows = projectRepository.streamAllByOrderByIdAsc()) {
+            return drain(rows, ProfileMapper::toProjectDto, sink);
+        }
+    }
+
+    /**
+     * Streams every profile summary ordered by id and returns the number written.
+     */
+    @Transactional(readOnly = true)
+    public long exportProfiles(RowSink<ProfileSummaryDto> sink) throws IOException {
+        try (Stream<Profile> rows = profileRepository.streamAllByOrderByIdAsc()) {
+            return drain(rows, ProfileMapper::toSummary, sink);
+        }
+    }
+
+    private <E, T> long drain(Stream<E> rows, Function<E, T> mapper, RowSink<T> sink) throws IOException {
+        long written = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            sink.accept(mapper.apply(iterator.next()));
+            // Mapped rows are no longer needed; drop them from the session before the next batch
+            if (++written % ProjectRepository.EXPORT_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.web.dto.FacetCountDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of members per facet value, kept as items come and go. An item
+ * (a profile, an experience) belongs to one owner and carries at most one
+ * value; an owner counts once per value however many of its items carry
+ * it. Reading the top values costs the number of distinct values, never
+ * the number of items.
+ * <p>
+ * Every write replaces the item's previous state, so replaying a write is
+ * harmless. Not thread-safe; {@link FacetService} guards it with a
+ * read-write lock.
+ */
+final class FacetCounter {
+
+    private record Item(long owner, String value) {
+    }
+
+    private final Map<Long, Item> items = new HashMap<>();
+    // Value -> owner -> how many of the owner's items carry the value
+    private final Map<String, Map<Long, Integer>> owners = new HashMap<>();
+
+    /**
+     * Sets the value of {@code item}; values are normalized with
+     * {@link TagNames#normalize} and a blank one only removes the item.
+     */
+    void put(long item, long owner, String value) {
+        remove(item);
+        String name = TagNames.normalize(value);
+        if (name.isEmpty()) {
+            return;
+        }
+        items.put(item, new Item(owner, name));
+        owners.computeIfAbsent(name, key -> new HashMap<>()).merge(owner, 1, Integer::sum);
+    }
+
+    void remove(long item) {
+        Item removed = items.remove(item);
+        if (removed == null) {
+            return;
+        }
+        Map<Long, Integer> byOwner = owners.get(removed.value());
+        if (byOwner.merge(removed.owner(), -1, Integer::sum) == 0) {
+            byOwner.remove(removed.owner());
+            if (byOwner.isEmpty()) {
+                owners.remove(removed.value());
+            }
+        }
+    }
+
+    /**
+     * Removes every item of {@code owner}; a full scan, meant for the rare
+     * account deletion.
+     */
+    void removeOwner(long owner) {
+        List<Long> owned = new ArrayList<>();
+        items.forEach((item, state) -> {
+            if (state.owner() == owner) {
+                owned.add(item);
+            }
+        });
+        owned.forEach(this::remove);
+    }
+
+    int count(String value) {
+        Map<Long, Integer> byOwner = owners.get(TagNames.normalize(value));
+        return byOwner != null ? byOwner.size() : 0;
+    }
+
+    /**
+     * The {@code limit} values with the most owners, ties by name.
+     */
+    List<FacetCountDto> top(int limit) {
+        List<FacetCountDto> counts = new ArrayList<>(owners.size());
+        owners.forEach((name, byOwner) -> counts.add(new FacetCountDto(name, byOwner.size())));
+        counts.sort(Comparator.comparingLong(FacetCountDto::count).reversed().thenComparing(FacetCountDto::name));
+        return counts.size() > limit ? List.copyOf(counts.subList(0, limit)) : counts;
+    }
+
+    /**
+     * Values whose count differs between the two counters.
+     */
+    static int differences(FacetCounter a, FacetCounter b) {
+        int differing = 0;
+        for (Map.Entry<String, Map<Long, Integer>> entry : a.owners.entrySet()) {
+            Map<Long, Integer> other = b.owners.get(entry.getKey());
+            if (other == null || other.size() != entry.getValue().size()) {
+                differing++;
+            }
+        }
+        for (String value : b.owners.keySet()) {
+            if (!a.owners.containsKey(value)) {
+                differing++;
+            }
+        }
+        return differing;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.FacetProperties;
+import com.example.portfolio.model.Experience;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.web.dto.FacetCountDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Member counts per location and per company for list sidebars, held in
+ * {@link FacetCounter}s. The services that write profiles and experiences
+ * update them as they go; a scheduled pass rebuilds them from the database
+ * so a missed or rolled-back write cannot leave them wrong for long. Tag
+ * counts live in {@link TagFilterIndex}, next to the bitmaps they count.
+ */
+@Service
+public class FacetService {
+    public static final String TAGS = "tags";
+    public static final String LOCATIONS = "locations";
+    public static final String COMPANIES = "companies";
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetService.class);
+
+    private final ProfileRepository profileRepository;
+    private final ExperienceRepository experienceRepository;
+    private final TagFilterIndex tagFilterIndex;
+    private final FacetProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FacetCounter locations = new FacetCounter();
+    private FacetCounter companies = new FacetCounter();
+    // Writes made while a rebuild reads the database, replayed onto its result; null otherwise
+    private List<Runnable> pending;
+    private boolean loaded;
+
+    public FacetService(ProfileRepository profileRepository,
+                        ExperienceRepository experienceRepository,
+                        TagFilterIndex tagFilterIndex,
+                        FacetProperties properties) {
+        this.profileRepository = profileRepository;
+        this.experienceRepository = experienceRepository;
+        this.tagFilterIndex = tagFilterIndex;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.facets.reconcile-interval:PT10M}",
+            initialDelayString = "${app.facets.reconcile-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long started = System.nanoTime();
+        FacetCounter freshLocations = new FacetCounter();
+        FacetCounter freshCompanies = new FacetCounter();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            try (Stream<Profile> profiles = profileRepository.streamAllByOrderByIdAsc()) {
+                profiles.forEach(profile -> freshLocations.put(profile.getId(), profile.getId(), profile.getLocation()));
+            }
+            try (Stream<Experience> experiences = experienceRepository.streamAllByOrderByIdAsc()) {
+                experiences.forEach(experience -> freshCompanies.put(experience.getId(),
+                        experience.getProfile().getId(), experience.getCompany()));
+            }
+        } catch (RuntimeException ex) {
+            // Keep serving the live counts; the next run starts over
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                FacetCounter previousLocations = locations;
+                FacetCounter previousCompanies = companies;
+                locations = freshLocations;
+                companies = freshCompanies;
+                pending.forEach(Runnable::run);
+                pending = null;
+                int drift = FacetCounter.differences(previousLocations, locations)
+                        + FacetCounter.differences(previousCompanies, companies);
+                if (loaded && drift > 0) {
+                    logger.warn("Facet counts had drifted for {} values; rebuilt from the database", drift);
+                }
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Facet counts rebuilt in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * The top tags among projects carrying all (or any) of {@code names},
+     * already normalized.
+     */
+    public Map<String, List<FacetCountDto>> tagFacets(List<String> names, boolean all) {
+        return Map.of(TAGS, tagFilterIndex.facets(names, all, properties.getMaxValues()));
+    }
+
+    /**
+     * The top locations and companies, highest counts first.
+     */
+    public Map<String, List<FacetCountDto>> memberFacets() {
+        int limit = properties.getMaxValues();
+        Map<String, List<FacetCountDto>> facets = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            facets.put(LOCATIONS, locations.top(limit));
+            facets.put(COMPANIES, companies.top(limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    public void indexProfile(Profile profile) {
+        if (profile == null || profile.getId() == null) {
+            return;
+        }
+        long id = profile.getId();
+        String location = profile.getLocation();
+        write(() -> locations.put(id, id, location));
+    }
+
+    public void removeProfile(Long profileId) {
+        if (profileId == null) {
+            return;
+        }
+        write(() -> {
+            locations.remove(profileId);
+            companies.removeOwner(profileId);
+        });
+    }
+
+    public void indexExperience(Experience experience) {
+        if (experience == null || experience.getId() == null || experience.getProfile() == null) {
+            return;
+        }
+        long id = experience.getId();
+        long owner = experience.getProfile().getId();
+        String company = experience.getCompany();
+        write(() -> companies.put(id, owner, company));
+    }
+
+    public void removeExperience(Long experienceId) {
+        if (experienceId == null) {
+            return;
+        }
+        write(() -> companies.remove(experienceId));
+    }
+
+    // The write reads the counter fields when it runs, so a replay lands on the rebuilt counters
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Experience;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.web.dto.FuzzyHitDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Typo-tolerant lookup of member names and headlines, experience companies
+ * and project titles through an in-memory {@link TrigramIndex}. Like
+ * {@link SuggestService}, it is loaded once when the application is ready
+ * and then kept current by the services that write those rows.
+ * <p>
+ * Each field is indexed on its own, so a short name is not diluted by a
+ * long headline; a hit is reported once, through its most similar field.
+ */
+@Service
+public class FuzzySearchService {
+    public static final int MAX_RESULTS = 50;
+    // pg_trgm's default similarity_threshold
+    public static final float SIMILARITY_THRESHOLD = 0.3f;
+
+    public static final String PROFILE = "profile";
+    public static final String PROJECT = "project";
+    public static final String EXPERIENCE = "experience";
+
+    private static final Logger logger = LoggerFactory.getLogger(FuzzySearchService.class);
+
+    private final ProfileRepository profileRepository;
+    private final ProjectRepository projectRepository;
+    private final ExperienceRepository experienceRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex index = new TrigramIndex();
+    // Owner slugs are resolved when answering, so a slug change touches one entry
+    private final Map<Long, String> slugs = new HashMap<>();
+
+    public FuzzySearchService(ProfileRepository profileRepository,
+                              ProjectRepository projectRepository,
+                              ExperienceRepository experienceRepository) {
+        this.profileRepository = profileRepository;
+        this.projectRepository = projectRepository;
+        this.experienceRepository = experienceRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.nanoTime();
+        try (Stream<Profile> profiles = profileRepository.streamAllByOrderByIdAsc();
+             Stream<Project> projects = projectRepository.streamAllByOrderByIdAsc();
+             Stream<Experience> experiences = experienceRepository.streamAllByOrderByIdAsc()) {
+            profiles.forEach(this::indexProfile);
+            projects.forEach(this::indexProject);
+            experiences.forEach(this::indexExperience);
+        }
+        logger.info("Fuzzy search index loaded with {} fields in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Hits at least {@link #SIMILARITY_THRESHOLD} similar to {@code query},
+     * most similar first.
+     */
+    public List<FuzzyHitDto> search(String query, int limit) {
+        int max = Math.min(limit, MAX_RESULTS);
+        List<FuzzyHitDto> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<String> seen = new HashSet<>();
+            for (TrigramIndex.Match match : index.search(query, SIMILARITY_THRESHOLD)) {
+                TrigramIndex.Document document = match.document();
+                if (!seen.add(document.type() + ":" + document.id())) {
+                    continue;
+                }
+                hits.add(new FuzzyHitDto(document.type(), document.id(), document.field(), document.text(),
+                        slugs.get(document.ownerId()), match.similarity()));
+                if (hits.size() == max) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexProfile(Profile profile) {
+        if (profile == null || profile.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long id = profile.getId();
+            slugs.put(id, profile.getSlug());
+            put(PROFILE, id, "name", profile.getName(), id);
+            put(PROFILE, id, "headline", profile.getRole(), id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProfile(Long profileId) {
+        if (profileId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Owned projects and experiences go with the account
+            index.removeOwnedBy(profileId);
+            slugs.remove(profileId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexProject(Project project) {
+        if (project == null || project.getId() == null || project.getOwner() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(PROJECT, project.getId(), "title", project.getTitle(), project.getOwner().getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProject(Long projectId) {
+        remove(PROJECT, projectId, "title");
+    }
+
+    public void indexExperience(Experience experience) {
+        if (experience == null || experience.getId() == null || experience.getProfile() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(EXPERIENCE, experience.getId(), "company", experience.getCompany(), experience.getProfile().getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeExperience(Long experienceId) {
+        remove(EXPERIENCE, experienceId, "company");
+    }
+
+    private void put(String type, long id, String field, String text, long ownerId) {
+        String identity = type + ":" + id + ":" + field;
+        if (text == null || text.isBlank()) {
+            index.remove(identity);
+        } else {
+            index.put(identity, new TrigramIndex.Document(type, id, field, text, ownerId));
+        }
+    }
+
+    private void remove(String type, Long id, String field) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.remove(type + ":" + id + ":" + field);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.PushProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyPair;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers push messages over HTTP as RFC 8030 describes, identifying this
+ * server with a VAPID token (RFC 8292). Tokens are signed once per push
+ * service origin and reused until they near expiry, so a broadcast to many
+ * browsers of the same push service costs one signature.
+ */
+@Component
+public class HttpPushSender implements PushSender {
+    private static final Logger logger = LoggerFactory.getLogger(HttpPushSender.class);
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(12);
+    // Re-signed this long before expiry so a token never lapses in flight
+    private static final Duration TOKEN_MARGIN = Duration.ofHours(1);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ECPrivateKey privateKey;
+    private final String publicKey;
+    private final String subject;
+    private final Map<String, Token> tokens = new ConcurrentHashMap<>();
+
+    public HttpPushSender(PushProperties properties) {
+        PushProperties.Vapid vapid = properties.getVapid();
+        if (StringUtils.hasText(vapid.getPublicKey()) && StringUtils.hasText(vapid.getPrivateKey())) {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            WebPushCrypto.publicKey(decoder.decode(vapid.getPublicKey()));
+            this.privateKey = WebPushCrypto.privateKey(decoder.decode(vapid.getPrivateKey()));
+            this.publicKey = vapid.getPublicKey();
+        } else if (!vapid.isGenerate()) {
+            throw new IllegalStateException("No VAPID keys configured: set app.push.vapid.public-key and "
+                    + "app.push.vapid.private-key, or app.push.vapid.generate=true for a local run");
+        } else {
+            KeyPair generated = WebPushCrypto.generateKeyPair();
+            this.privateKey = (ECPrivateKey) generated.getPrivate();
+            this.publicKey = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(WebPushCrypto.encode((ECPublicKey) generated.getPublic()));
+            logger.warn("No VAPID keys configured (app.push.vapid.*); generated public key {} for this run", publicKey);
+        }
+        this.subject = vapid.getSubject();
+    }
+
+    @Override
+    public Response send(String endpoint, byte[] body, Duration ttl) throws IOException, InterruptedException {
+        URI uri = URI.create(endpoint);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("TTL", Long.toString(ttl.toSeconds()))
+                .header("Content-Encoding", "aes128gcm")
+                .header("Content-Type", "application/octet-stream")
+                .header("Authorization", "vapid t=" + token(uri) + ", k=" + publicKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        return new Response(response.statusCode(), response.headers().firstValue("Retry-After")
+                .map(HttpPushSender::parseRetryAfter)
+                .orElse(null));
+    }
+
+    private String token(URI endpoint) {
+        String audience = endpoint.getScheme() + "://" + endpoint.getAuthority();
+        Instant now = Instant.now();
+        Token token = tokens.get(audience);
+        if (token == null || token.expiresAt().minus(TOKEN_MARGIN).isBefore(now)) {
+            Instant expiresAt = now.plus(TOKEN_LIFETIME);
+            token = new Token(Jwts.builder()
+                    .setHeaderParam("typ", "JWT")
+                    .setAudience(audience)
+                    .setExpiration(Date.from(expiresAt))
+                    .setSubject(subject)
+                    .signWith(privateKey, SignatureAlgorithm.ES256)
+                    .compact(), expiresAt);
+            tokens.put(audience, token);
+        }
+        return token.value();
+    }
+
+    private static Duration parseRetryAfter(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            // HTTP dates are rare from push services; fall back to our own backoff
+            return null;
+        }
+    }
+
+    private record Token(String value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.portfolio.service;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset-paginated list ordered by id. {@code lastId} is the
+ * key the next page continues after; it is only meaningful while
+ * {@code hasMore} is set.
+ */
+public record KeysetPage<T>(List<T> items, long lastId, boolean hasMore) implements Serializable {
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra
+     * row only signals that another page exists and is dropped.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, ToLongFunction<T> id) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? List.copyOf(rows.subList(0, limit)) : List.copyOf(rows);
+        long lastId = items.isEmpty() ? 0L : id.applyAsLong(items.get(items.size() - 1));
+        return new KeysetPage<>(items, lastId, hasMore);
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), lastId, hasMore);
+    }
+}
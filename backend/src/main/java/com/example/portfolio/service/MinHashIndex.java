@@ -0,0 +1,334 @@
+package com.example.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * MinHash signatures of feature sets with LSH banding for candidate lookup.
+ * The share of positions two signatures agree on estimates the Jaccard
+ * similarity of their sets; splitting the signature into bands of
+ * {@code hashes / bands} rows and bucketing each band makes similar sets
+ * collide in at least one bucket with high probability, so a lookup only
+ * scores the sets sharing a bucket instead of every set.
+ * <p>
+ * Signatures live in one flat array indexed by slot; each band is an
+ * open-addressing table from band hash to a chain of slots, so a member
+ * costs a few ints per band rather than a map entry. Signatures are pure
+ * functions of the features and can be computed outside any lock. Not
+ * thread-safe; {@link SimilarMembersService} guards it with a read-write
+ * lock.
+ */
+final class MinHashIndex {
+
+    record Match(long id, float similarity) {
+    }
+
+    // Chain terminator, and the head of a bucket that has been emptied
+    private static final int NONE = -1;
+    // Band table position never used
+    private static final int EMPTY = -2;
+    // Same seed everywhere, so signatures computed by separate indexes are comparable
+    private static final long SEED = 0x5eed_1dL;
+    private static final Comparator<Match> ORDER = Comparator.comparingDouble((Match match) -> -match.similarity())
+            .thenComparingLong(Match::id);
+
+    private final int hashes;
+    private final int bands;
+    private final int rows;
+    private final long[] salts;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[16];
+    private int[] signatures;
+    // Next slot in the same bucket, per slot and band
+    private int[] chains;
+    private final BandTable[] tables;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int used;
+
+    MinHashIndex(int hashes, int bands) {
+        if (hashes <= 0 || bands <= 0 || hashes % bands != 0) {
+            throw new IllegalArgumentException("hashes must be a positive multiple of bands");
+        }
+        this.hashes = hashes;
+        this.bands = bands;
+        this.rows = hashes / bands;
+        this.salts = new Random(SEED).longs(hashes).toArray();
+        this.signatures = new int[ids.length * hashes];
+        this.chains = new int[ids.length * bands];
+        this.tables = new BandTable[bands];
+        for (int band = 0; band < bands; band++) {
+            tables[band] = new BandTable(band);
+        }
+    }
+
+    /**
+     * The signature of {@code features}, or null when there are none.
+     */
+    int[] signature(Collection<String> features) {
+        if (features.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[hashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long hash = hash(feature);
+            for (int i = 0; i < hashes; i++) {
+                signature[i] = Math.min(signature[i], (int) (mix(hash ^ salts[i]) >>> 33));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Replaces the signature of {@code id}; null removes it.
+     */
+    void put(long id, int[] signature) {
+        remove(id);
+        if (signature == null) {
+            return;
+        }
+        if (signature.length != hashes) {
+            throw new IllegalArgumentException("Signature has " + signature.length + " hashes, expected " + hashes);
+        }
+        int slot = allocate();
+        ids[slot] = id;
+        System.arraycopy(signature, 0, signatures, slot * hashes, hashes);
+        for (int band = 0; band < bands; band++) {
+            tables[band].add(bandHash(slot * hashes, band), slot);
+        }
+        slots.put(id, slot);
+    }
+
+    void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            tables[band].remove(bandHash(slot * hashes, band), slot);
+        }
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = slot;
+    }
+
+    boolean contains(long id) {
+        return slots.containsKey(id);
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Up to {@code limit} members sharing a bucket with {@code id} whose
+     * estimated similarity is at least {@code minSimilarity}, most similar
+     * first. At most {@code maxCandidates} are scored, taken band by band.
+     */
+    List<Match> similar(long id, int limit, float minSimilarity, int maxCandidates) {
+        Integer self = slots.get(id);
+        if (self == null) {
+            return List.of();
+        }
+        int base = self * hashes;
+        BitSet seen = new BitSet(used);
+        seen.set(self);
+        List<Match> matches = new ArrayList<>();
+        int scored = 0;
+        for (int band = 0; band < bands && scored < maxCandidates; band++) {
+            int slot = tables[band].head(bandHash(base, band));
+            for (; slot != NONE && scored < maxCandidates; slot = chains[slot * bands + band]) {
+                if (seen.get(slot)) {
+                    continue;
+                }
+                seen.set(slot);
+                scored++;
+                float similarity = agreement(base, slot * hashes);
+                if (similarity >= minSimilarity) {
+                    matches.add(new Match(ids[slot], similarity));
+                }
+            }
+        }
+        matches.sort(ORDER);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Members whose signatures differ between the two indexes, or that only
+     * one of them holds.
+     */
+    static int differences(MinHashIndex a, MinHashIndex b) {
+        Set<Long> all = new HashSet<>(a.slots.keySet());
+        all.addAll(b.slots.keySet());
+        int differing = 0;
+        for (long id : all) {
+            Integer left = a.slots.get(id);
+            Integer right = b.slots.get(id);
+            if (left == null || right == null || !Arrays.equals(
+                    a.signatures, left * a.hashes, (left + 1) * a.hashes,
+                    b.signatures, right * b.hashes, (right + 1) * b.hashes)) {
+                differing++;
+            }
+        }
+        return differing;
+    }
+
+    private float agreement(int left, int right) {
+        int same = 0;
+        for (int i = 0; i < hashes; i++) {
+            if (signatures[left + i] == signatures[right + i]) {
+                same++;
+            }
+        }
+        return (float) same / hashes;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (used == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            signatures = Arrays.copyOf(signatures, capacity * hashes);
+            chains = Arrays.copyOf(chains, capacity * bands);
+        }
+        return used++;
+    }
+
+    private int bandHash(int base, int band) {
+        long hash = band;
+        for (int row = band * rows; row < (band + 1) * rows; row++) {
+            hash = mix(hash * 31 + signatures[base + row]);
+        }
+        return (int) hash;
+    }
+
+    // 64-bit FNV-1a; String.hashCode is too narrow once salted into many hash functions
+    private static long hash(String feature) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Linear-probing table from band hash to the first slot of its chain;
+     * the rest of the chain runs through {@link #chains}. Emptied buckets
+     * keep their key until the next resize drops them.
+     */
+    private final class BandTable {
+        private final int band;
+        private int[] keys = new int[16];
+        private int[] heads = filled(16);
+        private int occupied;
+
+        BandTable(int band) {
+            this.band = band;
+        }
+
+        int head(int key) {
+            int at = find(key);
+            return at < 0 ? NONE : heads[at];
+        }
+
+        void add(int key, int slot) {
+            int at = find(key);
+            if (at < 0) {
+                if ((occupied + 1) * 4 > keys.length * 3) {
+                    resize();
+                }
+                at = ~find(key);
+                keys[at] = key;
+                heads[at] = NONE;
+                occupied++;
+            }
+            chains[slot * bands + band] = heads[at];
+            heads[at] = slot;
+        }
+
+        void remove(int key, int slot) {
+            int at = find(key);
+            if (at < 0) {
+                return;
+            }
+            int previous = NONE;
+            for (int current = heads[at]; current != NONE; current = chains[current * bands + band]) {
+                if (current == slot) {
+                    int next = chains[current * bands + band];
+                    if (previous == NONE) {
+                        heads[at] = next;
+                    } else {
+                        chains[previous * bands + band] = next;
+                    }
+                    return;
+                }
+                previous = current;
+            }
+        }
+
+        // Position of the key, or the bitwise complement of the free position it would take
+        private int find(int key) {
+            int mask = keys.length - 1;
+            for (int at = key & mask; ; at = (at + 1) & mask) {
+                if (heads[at] == EMPTY) {
+                    return ~at;
+                }
+                if (keys[at] == key) {
+                    return at;
+                }
+            }
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            int live = 0;
+            for (int head : oldHeads) {
+                if (head >= 0) {
+                    live++;
+                }
+            }
+            // Resized at three quarters full; dropping emptied buckets and doubling leaves it at most half full
+            int capacity = Math.max(16, Integer.highestOneBit(live * 2 + 1) << 1);
+            keys = new int[capacity];
+            heads = filled(capacity);
+            occupied = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] >= 0) {
+                    int at = ~find(oldKeys[i]);
+                    keys[at] = oldKeys[i];
+                    heads[at] = oldHeads[i];
+                    occupied++;
+                }
+            }
+        }
+    }
+
+    private static int[] filled(int capacity) {
+        int[] heads = new int[capacity];
+        Arrays.fill(heads, EMPTY);
+        return heads;
+    }
+}
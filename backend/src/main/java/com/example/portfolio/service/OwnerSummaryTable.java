@@ -0,0 +1,71 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.web.dto.ProfileMapper;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared table of owner summaries referenced by id from {@link CachedProject}
+ * entries. Holds at most one immutable summary per profile, stamped with the
+ * profile's {@code updatedAt} so a cache fill that read the row before a
+ * profile write cannot replace the summary that write left behind.
+ */
+@Component
+public class OwnerSummaryTable {
+    private final ConcurrentMap<Long, Owner> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the summary of an owner a cache fill loaded, unless the table
+     * already holds one at least as recent.
+     */
+    public void register(Profile owner) {
+        if (owner != null && owner.getId() != null) {
+            Owner loaded = Owner.of(owner);
+            owners.merge(owner.getId(), loaded, (previous, candidate) -> candidate.newerThan(previous) ? candidate : previous);
+        }
+    }
+
+    /**
+     * Stores the summary a profile write produced; only a summary stamped
+     * later than this one is kept instead.
+     */
+    public void refresh(Profile owner) {
+        if (owner != null && owner.getId() != null) {
+            Owner written = Owner.of(owner);
+            owners.merge(owner.getId(), written, (previous, candidate) -> previous.newerThan(candidate) ? previous : candidate);
+        }
+    }
+
+    public ProfileSummaryDto get(Long ownerId) {
+        Owner owner = ownerId != null ? owners.get(ownerId) : null;
+        return owner != null ? owner.summary() : null;
+    }
+
+    public void remove(Long ownerId) {
+        if (ownerId != null) {
+            owners.remove(ownerId);
+        }
+    }
+
+    public int size() {
+        return owners.size();
+    }
+
+    private record Owner(ProfileSummaryDto summary, LocalDateTime updatedAt) {
+        static Owner of(Profile profile) {
+            return new Owner(ProfileMapper.toSummary(profile), profile.getUpdatedAt());
+        }
+
+        boolean newerThan(Owner other) {
+            if (updatedAt == null) {
+                return false;
+            }
+            return other.updatedAt == null || updatedAt.isAfter(other.updatedAt);
+        }
+    }
+}
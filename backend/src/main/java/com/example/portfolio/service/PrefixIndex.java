@@ -0,0 +1,334 @@
+package com.example.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Path-compressed trie from normalized prefixes to the best-ranked entries
+ * below them. Every node keeps its own top {@code capacity} entries, so a
+ * lookup walks the prefix and copies one small array however many entries
+ * share it. Writes only revisit the nodes on the paths of the keys they
+ * touch; entry arrays are replaced rather than modified, so a node created
+ * by a split can share its child's array.
+ * <p>
+ * Not thread-safe; {@link SuggestService} guards it with a read-write lock.
+ */
+final class PrefixIndex {
+    static final int MAX_KEY_LENGTH = 64;
+    static final int MAX_WORDS = 8;
+
+    static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(Entry::label)
+            .thenComparing(Entry::type)
+            .thenComparingLong(Entry::id);
+
+    private static final char[] NO_FIRSTS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    record Entry(String type, long id, String label, String slug, long score) {
+    }
+
+    private record Indexed(Entry entry, List<String> keys) {
+    }
+
+    private static final class Node {
+        // Characters on the edge from the parent; empty only for the root
+        String edge;
+        // First character of each child's edge, sorted, parallel to children
+        char[] firsts = NO_FIRSTS;
+        Node[] children = NO_CHILDREN;
+        // Entries with a key ending at this node
+        Entry[] here = NO_ENTRIES;
+        // Best entries of the whole subtree, in RANKING order
+        Entry[] top = NO_ENTRIES;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void addChild(Node child) {
+            char c = child.edge.charAt(0);
+            int i = -(Arrays.binarySearch(firsts, c) + 1);
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            newFirsts[i] = c;
+            newChildren[i] = child;
+            System.arraycopy(firsts, i, newFirsts, i + 1, firsts.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        // The replacement must start with the same character
+        void replaceChild(Node replacement) {
+            children[Arrays.binarySearch(firsts, replacement.edge.charAt(0))] = replacement;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            if (i < 0) {
+                return;
+            }
+            if (firsts.length == 1) {
+                firsts = NO_FIRSTS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(firsts, i + 1, newFirsts, i, firsts.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+    }
+
+    private final int capacity;
+    private final Node root = new Node("");
+    private final Map<String, Indexed> entries = new HashMap<>();
+
+    PrefixIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds or replaces the entry known as {@code identity}, reachable through
+     * every prefix of each of {@code keys}.
+     */
+    void put(String identity, Entry entry, Set<String> keys) {
+        remove(identity);
+        List<String> normalized = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String candidate = normalize(key);
+            if (!candidate.isEmpty() && !normalized.contains(candidate)) {
+                normalized.add(candidate);
+            }
+        }
+        for (String key : normalized) {
+            insert(key, entry);
+        }
+        entries.put(identity, new Indexed(entry, List.copyOf(normalized)));
+    }
+
+    boolean remove(String identity) {
+        Indexed indexed = entries.remove(identity);
+        if (indexed == null) {
+            return false;
+        }
+        for (String key : indexed.keys()) {
+            delete(key, indexed.entry());
+        }
+        return true;
+    }
+
+    Entry get(String identity) {
+        Indexed indexed = entries.get(identity);
+        return indexed != null ? indexed.entry() : null;
+    }
+
+    List<Entry> lookup(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            node = node.child(key.charAt(i));
+            if (node == null) {
+                return List.of();
+            }
+            int matched = commonPrefix(node.edge, key, i);
+            if (i + matched == key.length()) {
+                // The prefix ends on or inside this edge; everything below it matches
+                break;
+            }
+            if (matched < node.edge.length()) {
+                return List.of();
+            }
+            i += matched;
+        }
+        Entry[] top = node.top;
+        return List.of(top.length > limit ? Arrays.copyOf(top, limit) : top);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Lower-cased with whitespace collapsed, cut to {@link #MAX_KEY_LENGTH}.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    /**
+     * The label itself and the rest of it from each later word on, so
+     * "Ada Lovelace" is found by "lov" as well as by "ada".
+     */
+    static Set<String> wordKeys(String label) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(label);
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        int start = normalized.indexOf(' ');
+        while (start >= 0 && keys.size() < MAX_WORDS) {
+            keys.add(normalized.substring(start + 1));
+            start = normalized.indexOf(' ', start + 1);
+        }
+        return keys;
+    }
+
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(key.substring(i));
+                leaf.here = new Entry[]{entry};
+                leaf.top = leaf.here;
+                node.addChild(leaf);
+                return;
+            }
+            int matched = commonPrefix(child.edge, key, i);
+            if (matched < child.edge.length()) {
+                // Split the edge where the key leaves it; the new node starts with the child's entries
+                Node middle = new Node(child.edge.substring(0, matched));
+                child.edge = child.edge.substring(matched);
+                middle.addChild(child);
+                middle.top = child.top;
+                node.replaceChild(middle);
+                child = middle;
+            }
+            offer(child, entry);
+            node = child;
+            i += matched;
+        }
+        node.here = append(node.here, entry);
+    }
+
+    private void delete(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            node = node.child(key.charAt(i));
+            if (node == null || !key.startsWith(node.edge, i)) {
+                return;
+            }
+            path.add(node);
+            i += node.edge.length();
+        }
+        node.here = without(node.here, entry);
+        // Bottom-up, so each node recomputes from children that are already up to date
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.here.length == 0 && current.children.length == 0) {
+                parent.removeChild(current.edge.charAt(0));
+            } else if (current.here.length == 0 && current.children.length == 1) {
+                // A pass-through node is folded into its only child, whose entries are the same
+                Node only = current.children[0];
+                only.edge = current.edge + only.edge;
+                parent.replaceChild(only);
+            } else if (indexOf(current.top, entry) >= 0) {
+                recompute(current);
+            }
+        }
+    }
+
+    private void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        if (indexOf(top, entry) >= 0) {
+            return;
+        }
+        if (top.length == capacity && RANKING.compare(entry, top[top.length - 1]) >= 0) {
+            return;
+        }
+        int found = Arrays.binarySearch(top, entry, RANKING);
+        int at = found >= 0 ? found : -(found + 1);
+        int size = Math.min(capacity, top.length + 1);
+        Entry[] updated = new Entry[size];
+        System.arraycopy(top, 0, updated, 0, at);
+        updated[at] = entry;
+        System.arraycopy(top, at, updated, at + 1, size - at - 1);
+        node.top = updated;
+    }
+
+    private void recompute(Node node) {
+        node.top = NO_ENTRIES;
+        for (Entry entry : node.here) {
+            offer(node, entry);
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top) {
+                offer(node, entry);
+            }
+        }
+    }
+
+    private static int commonPrefix(String edge, String key, int from) {
+        int max = Math.min(edge.length(), key.length() - from);
+        int matched = 0;
+        while (matched < max && edge.charAt(matched) == key.charAt(from + matched)) {
+            matched++;
+        }
+        return matched;
+    }
+
+    // Entries are compared by reference: the same instance is shared by all keys of one put
+    private static int indexOf(Entry[] entries, Entry entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        Entry[] updated = Arrays.copyOf(entries, entries.length + 1);
+        updated[entries.length] = entry;
+        return updated;
+    }
+
+    private static Entry[] without(Entry[] entries, Entry entry) {
+        int i = indexOf(entries, entry);
+        if (i < 0) {
+            return entries;
+        }
+        if (entries.length == 1) {
+            return NO_ENTRIES;
+        }
+        Entry[] updated = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, updated, 0, i);
+        System.arraycopy(entries, i + 1, updated, i, entries.length - i - 1);
+        return updated;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.model.Experience;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.web.dto.ProfileDetailDto;
+import com.example.portfolio.web.dto.ProfileMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Loads several profile detail views at once with a fixed number of
+ * queries: profiles, experiences and projects are each fetched with one
+ * {@code IN} query, and project lists already in the cache are reused.
+ */
+@Service
+public class ProfileBatchService {
+    private final ProfileRepository profileRepository;
+    private final ExperienceRepository experienceRepository;
+    private final ProjectListCache projectListCache;
+    private final ProjectService projectService;
+    private final PaginationProperties pagination;
+
+    public ProfileBatchService(ProfileRepository profileRepository,
+                               ExperienceRepository experienceRepository,
+                               ProjectListCache projectListCache,
+                               ProjectService projectService,
+                               PaginationProperties pagination) {
+        this.profileRepository = profileRepository;
+        this.experienceRepository = experienceRepository;
+        this.projectListCache = projectListCache;
+        this.projectService = projectService;
+        this.pagination = pagination;
+    }
+
+    /**
+     * Detail views keyed by slug in request order; unknown slugs are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, ProfileDetailDto> loadBySlugs(Collection<String> requested) {
+        Set<String> slugs = new LinkedHashSet<>();
+        for (String slug : requested) {
+            if (StringUtils.hasText(slug)) {
+                slugs.add(slug.trim());
+            }
+        }
+        if (slugs.size() > pagination.getMaxBatchSize()) {
+            throw new ResponseStatusException(BAD_REQUEST, "At most " + pagination.getMaxBatchSize() + " slugs per batch");
+        }
+        if (slugs.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Profile> profiles = profileRepository.findBySlugIn(slugs).stream()
+                .collect(Collectors.toMap(Profile::getSlug, Function.identity()));
+        if (profiles.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<Experience>> experiences = experienceRepository.findByProfileIdIn(
+                        profiles.values().stream().map(Profile::getId).toList()).stream()
+                .collect(Collectors.groupingBy(experience -> experience.getProfile().getId()));
+        Map<String, ProjectListing> projects = projectListCache.loadAll(profiles.values());
+
+        Map<String, ProfileDetailDto> details = new LinkedHashMap<>();
+        for (String slug : slugs) {
+            Profile profile = profiles.get(slug);
+            if (profile == null) {
+                continue;
+            }
+            details.put(slug, ProfileMapper.toDetail(profile,
+                    ProfileMapper.toExperienceDtos(experiences.getOrDefault(profile.getId(), List.of())),
+                    projectService.toDtos(projects.get(slug))));
+        }
+        return details;
+    }
+}
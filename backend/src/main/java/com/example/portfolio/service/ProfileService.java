@@ -1,9 +1,13 @@
 package com.example.portfolio.service;
 
+import com.example.portfolio.config.CacheConfig;
 import com.example.portfolio.model.Profile;
 import com.example.portfolio.model.UserAccount;
 import com.example.portfolio.repo.ProfileRepository;
 import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,9 +20,33 @@ import static org.springframework.http.HttpStatus.CONFLICT;
 @Service
 public class ProfileService {
     private final ProfileRepository profileRepository;
+    private final CacheManager cacheManager;
+    private final OwnerSummaryTable ownerSummaries;
+    private final ContentVersions contentVersions;
+    private final SuggestService suggestService;
+    private final FuzzySearchService fuzzySearchService;
+    private final FacetService facetService;
+    private final SimilarMembersService similarMembersService;
+    private final EventStreamService eventStreamService;
 
-    public ProfileService(ProfileRepository profileRepository) {
+    public ProfileService(ProfileRepository profileRepository,
+                          CacheManager cacheManager,
+                          OwnerSummaryTable ownerSummaries,
+                          ContentVersions contentVersions,
+                          SuggestService suggestService,
+                          FuzzySearchService fuzzySearchService,
+                          FacetService facetService,
+                          SimilarMembersService similarMembersService,
+                          EventStreamService eventStreamService) {
         this.profileRepository = profileRepository;
+        this.cacheManager = cacheManager;
+        this.ownerSummaries = ownerSummaries;
+        this.contentVersions = contentVersions;
+        this.suggestService = suggestService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.facetService = facetService;
+        this.similarMembersService = similarMembersService;
+        this.eventStreamService = eventStreamService;
     }
 
     public Profile createProfileForUser(UserAccount user, String slug, String displayName) {
@@ -28,14 +56,18 @@ public class ProfileService {
         profile.setSlug(normalizedSlug != null ? normalizedSlug : generateSlug(displayName));
         profile.setName(displayName);
         profile.setRole("Member");
-        return profileRepository.save(profile);
+        Profile saved = profileRepository.save(profile);
+        eventStreamService.publish(ChangeFeedService.PROFILE, "created", saved.getId(), null);
+        return saved;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TEAM_PAGES_CACHE, CacheConfig.SEARCH_CACHE}, allEntries = true)
     public Profile updateProfile(Profile profile, ProfileUpdateRequest request) {
         if (request == null) {
             return profile;
         }
 
+        String previousSlug = profile.getSlug();
         if (request.slug() != null) {
             String desired = normalizeSlug(request.slug());
             if (desired != null && !desired.equals(profile.getSlug())) {
@@ -76,7 +108,15 @@ public class ProfileService {
             profile.setWebsiteUrl(normalizeNullable(request.websiteUrl()));
         }
 
-        return profileRepository.save(profile);
+        Profile saved = profileRepository.save(profile);
+        refreshProjectCaches(saved, previousSlug);
+        contentVersions.profilesChanged();
+        suggestService.indexProfile(saved);
+        fuzzySearchService.indexProfile(saved);
+        facetService.indexProfile(saved);
+        similarMembersService.refresh(saved.getId());
+        eventStreamService.publish(ChangeFeedService.PROFILE, "updated", saved.getId(), null);
+        return saved;
     }
 
     public String normalizeSlug(String input) {
@@ -112,6 +152,31 @@ public class ProfileService {
         return slug.isBlank() ? "profile" : slug;
     }
 
+    /**
+     * Cached project lists reference owners by id, so a profile write only
+     * refreshes the shared owner summary. The lists keyed by the old and new
+     * slug, and the slug-keyed pages, are evicted when the slug itself changes.
+     */
+    private void refreshProjectCaches(Profile profile, String previousSlug) {
+        ownerSummaries.refresh(profile);
+        String currentSlug = profile.getSlug();
+        if (currentSlug == null || currentSlug.equals(previousSlug)) {
+            return;
+        }
+        Cache projects = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+        if (projects == null) {
+            return;
+        }
+        if (previousSlug != null) {
+            projects.evict(previousSlug);
+        }
+        projects.evict(currentSlug);
+        Cache pages = cacheManager.getCache(CacheConfig.PROJECT_PAGES_CACHE);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+
     private String normalizeNullable(String value) {
         if (value == null) {
             return null;
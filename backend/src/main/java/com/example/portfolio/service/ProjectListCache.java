@@ -0,0 +1,179 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.OwnerCount;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.web.dto.RecentUpdateDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads project lists in their cached form. Kept separate from
+ * {@link ProjectService} so the cache proxy applies to the compact entries
+ * while the service expands them into DTOs per request.
+ */
+@Component
+public class ProjectListCache {
+    // Skips caching a listing whose version stamp was overtaken by a write while it loaded
+    private static final String UNSETTLED = "#result.version() != @contentVersions.projects()";
+
+    private final ProjectRepository projectRepository;
+    private final OwnerSummaryTable ownerSummaries;
+    private final ContentVersions contentVersions;
+    private final PaginationProperties pagination;
+    private final CacheManager cacheManager;
+
+    public ProjectListCache(ProjectRepository projectRepository,
+                            OwnerSummaryTable ownerSummaries,
+                            ContentVersions contentVersions,
+                            PaginationProperties pagination,
+                            CacheManager cacheManager) {
+        this.projectRepository = projectRepository;
+        this.ownerSummaries = ownerSummaries;
+        this.contentVersions = contentVersions;
+        this.pagination = pagination;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * The listing, stamped with the version read before loading. When a
+     * write moves the version while the rows are read, they may already be
+     * newer than the stamp, so the listing is returned but not cached; a
+     * cached stamp always matches the data it was stored with.
+     */
+    @Cacheable(cacheNames = CacheConfig.PROJECTS_CACHE,
+            key = "T(org.springframework.util.StringUtils).hasText(#memberSlug) ? #memberSlug : T(com.example.portfolio.config.CacheConfig).PROJECTS_ALL_KEY",
+            unless = UNSETTLED)
+    public ProjectListing load(String memberSlug) {
+        long version = contentVersions.projects();
+        // The unpaginated form is kept for existing clients but never returns more than the cap
+        Limit cap = Limit.of(pagination.getUnpaginatedCap());
+        List<Project> projects = StringUtils.hasText(memberSlug)
+                ? projectRepository.findByOwnerSlugOrderByTitleAscIdAsc(memberSlug, cap)
+                : projectRepository.findAllByOrderByIdAsc(cap);
+        return new ProjectListing(version, toEntries(projects));
+    }
+
+    /**
+     * Per-owner listings for several owners at once, keyed by slug. Entries
+     * already in the projects cache are reused; the rest are loaded with a
+     * single {@code IN} query and cached under the same keys as {@link #load}.
+     */
+    public Map<String, ProjectListing> loadAll(Collection<Profile> owners) {
+        Cache cache = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+        Map<String, ProjectListing> listings = new HashMap<>();
+        Map<Long, String> missing = new LinkedHashMap<>();
+        for (Profile owner : owners) {
+            ProjectListing cached = cache != null ? cache.get(owner.getSlug(), ProjectListing.class) : null;
+            if (cached != null) {
+                listings.put(owner.getSlug(), cached);
+            } else {
+                missing.put(owner.getId(), owner.getSlug());
+            }
+        }
+        if (missing.isEmpty()) {
+            return listings;
+        }
+
+        long version = contentVersions.projects();
+        Map<Long, List<Project>> byOwner = projectRepository.findByOwnerIdInOrderByTitleAscIdAsc(missing.keySet()).stream()
+                .collect(Collectors.groupingBy(project -> project.getOwner().getId()));
+        // As in load: listings read while a write moved the version are not cached
+        boolean settled = version == contentVersions.projects();
+        int cap = pagination.getUnpaginatedCap();
+        missing.forEach((ownerId, slug) -> {
+            List<Project> projects = byOwner.getOrDefault(ownerId, List.of());
+            ProjectListing listing = new ProjectListing(version, toEntries(projects.subList(0, Math.min(cap, projects.size()))));
+            if (cache != null && settled) {
+                // Keep an entry a concurrent single-owner load may already have stored
+                cache.putIfAbsent(slug, listing);
+            }
+            listings.put(slug, listing);
+        });
+        return listings;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROJECT_PAGES_CACHE,
+            key = "(T(org.springframework.util.StringUtils).hasText(#memberSlug) ? #memberSlug : T(com.example.portfolio.config.CacheConfig).PROJECTS_ALL_KEY) + ':' + #afterId + ':' + #limit")
+    public KeysetPage<CachedProject> loadPage(String memberSlug, long afterId, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<Project> projects = StringUtils.hasText(memberSlug)
+                ? projectRepository.findByOwnerSlugAndIdGreaterThanOrderByIdAsc(memberSlug, afterId, fetch)
+                : projectRepository.findByIdGreaterThanOrderByIdAsc(afterId, fetch);
+        return KeysetPage.of(toEntries(projects), limit, CachedProject::id);
+    }
+
+    /**
+     * The given projects in id order; ids that no longer exist are skipped.
+     * Not cached: callers pick ids from an index that is already in memory.
+     */
+    public List<CachedProject> loadByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : toEntries(projectRepository.findWithOwnerByIdIn(ids));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROJECT_PAGES_CACHE,
+            key = "'count:' + (T(org.springframework.util.StringUtils).hasText(#memberSlug) ? #memberSlug : T(com.example.portfolio.config.CacheConfig).PROJECTS_ALL_KEY)")
+    public long count(String memberSlug) {
+        return StringUtils.hasText(memberSlug)
+                ? projectRepository.countByOwnerSlug(memberSlug)
+                : projectRepository.count();
+    }
+
+    /**
+     * Newest projects, shown as featured on the home page.
+     */
+    @Cacheable(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, key = "'featured:' + #limit", unless = UNSETTLED)
+    public ProjectListing featured(int limit) {
+        long version = contentVersions.projects();
+        return new ProjectListing(version, toEntries(projectRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(limit))));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, key = "'recent:' + #limit")
+    public List<RecentUpdateDto> recentUpdates(int limit) {
+        return projectRepository.findAllByOrderByUpdatedAtDescIdDesc(Limit.of(limit)).stream()
+                .map(project -> new RecentUpdateDto(RecentUpdateDto.PROJECT, project.getId(), project.getTitle(),
+                        project.getOwner() != null ? project.getOwner().getSlug() : null, project.getUpdatedAt()))
+                .toList();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, key = "'countsByOwner'")
+    public Map<Long, Long> countsByOwner() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (OwnerCount row : projectRepository.countByOwner()) {
+            if (row.getOwnerId() != null) {
+                counts.put(row.getOwnerId(), row.getTotal());
+            }
+        }
+        return Map.copyOf(counts);
+    }
+
+    private List<CachedProject> toEntries(List<Project> projects) {
+        Set<Long> registered = new HashSet<>();
+        List<CachedProject> entries = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            Profile owner = project.getOwner();
+            if (owner != null && registered.add(owner.getId())) {
+                ownerSummaries.register(owner);
+            }
+            entries.add(CachedProject.from(project));
+        }
+        return List.copyOf(entries);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.portfolio.service;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Cached project list together with the {@link ContentVersions#projects()}
+ * stamp read before it was loaded.
+ */
+public record ProjectListing(
+        long version,
+        List<CachedProject> projects
+) implements Serializable {
+}
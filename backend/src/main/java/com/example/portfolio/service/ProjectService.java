@@ -1,18 +1,41 @@
 package com.example.portfolio.service;
 
+import com.example.portfolio.config.CacheConfig;
 import com.example.portfolio.model.Profile;
 import com.example.portfolio.model.Project;
+import com.example.portfolio.model.Tag;
+import com.example.portfolio.repo.ProfileRepository;
 import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.TagRepository;
+import com.example.portfolio.web.dto.FacetCountDto;
+import com.example.portfolio.web.dto.NormalizedProjectsDto;
 import com.example.portfolio.web.dto.ProfileMapper;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
 import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRefDto;
 import com.example.portfolio.web.dto.ProjectRequest;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -21,46 +44,243 @@ import static org.springframework.http.HttpStatus.NOT_FOUND;
 @Service
 public class ProjectService {
     private final ProjectRepository projectRepository;
+    private final TagRepository tagRepository;
+    private final ProfileRepository profileRepository;
+    private final ProjectListCache projectListCache;
+    private final OwnerSummaryTable ownerSummaries;
+    private final ContentVersions contentVersions;
+    private final SuggestService suggestService;
+    private final FuzzySearchService fuzzySearchService;
+    private final TagFilterIndex tagFilterIndex;
+    private final RelatedProjectsService relatedProjectsService;
+    private final SimilarMembersService similarMembersService;
+    private final ChangeFeedService changeFeedService;
+    private final EventStreamService eventStreamService;
+    private final TransactionTemplate tagInserts;
 
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository,
+                          TagRepository tagRepository,
+                          ProfileRepository profileRepository,
+                          ProjectListCache projectListCache,
+                          OwnerSummaryTable ownerSummaries,
+                          ContentVersions contentVersions,
+                          SuggestService suggestService,
+                          FuzzySearchService fuzzySearchService,
+                          TagFilterIndex tagFilterIndex,
+                          RelatedProjectsService relatedProjectsService,
+                          SimilarMembersService similarMembersService,
+                          ChangeFeedService changeFeedService,
+                          EventStreamService eventStreamService,
+                          PlatformTransactionManager transactionManager) {
         this.projectRepository = projectRepository;
+        this.tagRepository = tagRepository;
+        this.profileRepository = profileRepository;
+        this.projectListCache = projectListCache;
+        this.ownerSummaries = ownerSummaries;
+        this.contentVersions = contentVersions;
+        this.suggestService = suggestService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.tagFilterIndex = tagFilterIndex;
+        this.relatedProjectsService = relatedProjectsService;
+        this.similarMembersService = similarMembersService;
+        this.changeFeedService = changeFeedService;
+        this.eventStreamService = eventStreamService;
+        this.tagInserts = new TransactionTemplate(transactionManager);
+        this.tagInserts.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
-    @Cacheable(cacheNames = "projects", key = "T(org.springframework.util.StringUtils).hasText(#memberSlug) ? #memberSlug : 'ALL'")
     public List<ProjectDto> getProjects(String memberSlug) {
-        List<Project> projects = StringUtils.hasText(memberSlug)
-                ? projectRepository.findByOwnerSlugOrderByTitleAsc(memberSlug)
-                : projectRepository.findAll();
-        return projects.stream().map(ProfileMapper::toProjectDto).collect(Collectors.toList());
+        return toDtos(getProjectListing(memberSlug));
     }
 
+    /**
+     * Cached listing for conditional requests; callers can compare its version
+     * before paying for {@link #toDtos(ProjectListing)}.
+     */
+    public ProjectListing getProjectListing(String memberSlug) {
+        return projectListCache.load(memberSlug);
+    }
+
+    public List<ProjectDto> toDtos(ProjectListing listing) {
+        return listing.projects().stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Builds the normalized list shape in one pass: projects keep only their
+     * owner id and each owner summary is added to the includes once.
+     */
+    public NormalizedProjectsDto toNormalizedDto(ProjectListing listing) {
+        List<ProjectRefDto> data = new ArrayList<>(listing.projects().size());
+        Map<Long, ProfileSummaryDto> owners = new LinkedHashMap<>();
+        for (CachedProject entry : listing.projects()) {
+            data.add(entry.toRefDto());
+            Long ownerId = entry.ownerId();
+            if (ownerId != null && !owners.containsKey(ownerId)) {
+                ProfileSummaryDto owner = ownerSummaries.get(ownerId);
+                if (owner != null) {
+                    owners.put(ownerId, owner);
+                }
+            }
+        }
+        return new NormalizedProjectsDto(data, new NormalizedProjectsDto.Includes(owners));
+    }
+
+    /**
+     * Page of projects ordered by id, continuing after {@code afterId}
+     * ({@code 0} for the first page).
+     */
+    public KeysetPage<ProjectDto> getProjectPage(String memberSlug, long afterId, int limit) {
+        return projectListCache.loadPage(memberSlug, afterId, limit).map(this::toDto);
+    }
+
+    public long countProjects(String memberSlug) {
+        return projectListCache.count(memberSlug);
+    }
+
+    /**
+     * Page of projects carrying all (or any) of the normalized {@code tags},
+     * ordered by id and continuing after {@code afterId}.
+     */
+    public KeysetPage<ProjectDto> getTaggedPage(List<String> tags, boolean matchAll, long afterId, int limit) {
+        List<Long> ids = tagFilterIndex.filter(tags, matchAll, afterId, limit + 1);
+        return KeysetPage.of(projectListCache.loadByIds(ids), limit, CachedProject::id).map(this::toDto);
+    }
+
+    public long countTagged(List<String> tags, boolean matchAll) {
+        return tagFilterIndex.count(tags, matchAll);
+    }
+
+    public List<FacetCountDto> tagCounts() {
+        return tagFilterIndex.counts();
+    }
+
+    /**
+     * The projects most related to {@code id} by their tags, most related first.
+     */
+    public List<ProjectDto> getRelated(Long id, int limit) {
+        List<Long> ids = relatedProjectsService.related(id, limit);
+        if (ids.isEmpty()) {
+            if (!relatedProjectsService.contains(id) && !projectRepository.existsById(id)) {
+                throw new ResponseStatusException(NOT_FOUND, "Project not found");
+            }
+            return List.of();
+        }
+        Map<Long, CachedProject> byId = new HashMap<>();
+        projectListCache.loadByIds(ids).forEach(entry -> byId.put(entry.id(), entry));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private ProjectDto toDto(CachedProject entry) {
+        return entry.toDto(ownerSummaries.get(entry.ownerId()));
+    }
+
+    @Transactional(readOnly = true)
     public List<ProjectDto> listOwned(Profile profile) {
         return projectRepository.findByOwnerIdOrderByCreatedAtDesc(profile.getId()).stream()
                 .map(ProfileMapper::toProjectDto)
                 .collect(Collectors.toList());
     }
 
-    @CacheEvict(cacheNames = "projects", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#profile.slug"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "T(com.example.portfolio.config.CacheConfig).PROJECTS_ALL_KEY"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, allEntries = true),
+            // The owner is touched, which moves it in the bootstrap's recent updates
+            @CacheEvict(cacheNames = CacheConfig.TEAM_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SEARCH_CACHE, allEntries = true)
+    })
+    @Transactional
     public ProjectDto createProject(Profile profile, ProjectRequest request) {
         Project project = new Project();
         project.setOwner(profile);
         applyRequest(project, request);
-        return ProfileMapper.toProjectDto(projectRepository.save(project));
+        Project stored = projectRepository.save(project);
+        profileRepository.touch(profile.getId(), LocalDateTime.now());
+        ProjectDto dto = ProfileMapper.toProjectDto(stored);
+        afterCommit(() -> indexProject(stored));
+        similarMembersService.refresh(profile.getId());
+        eventStreamService.publish(ChangeFeedService.PROJECT, "created", stored.getId(), profile.getId());
+        return dto;
     }
 
-    @CacheEvict(cacheNames = "projects", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#profile.slug"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "T(com.example.portfolio.config.CacheConfig).PROJECTS_ALL_KEY"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SEARCH_CACHE, allEntries = true)
+    })
+    // The saved copy's owner is a lazy proxy; the DTO loads it inside this transaction, before the indexes read it
+    @Transactional
     public ProjectDto updateProject(Profile profile, Long id, ProjectRequest request) {
         Project project = projectRepository.findByIdAndOwnerId(id, profile.getId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Project not found"));
         applyRequest(project, request);
-        return ProfileMapper.toProjectDto(projectRepository.save(project));
+        Project stored = projectRepository.save(project);
+        profileRepository.touch(profile.getId(), LocalDateTime.now());
+        ProjectDto dto = ProfileMapper.toProjectDto(stored);
+        afterCommit(() -> indexProject(stored));
+        similarMembersService.refresh(profile.getId());
+        eventStreamService.publish(ChangeFeedService.PROJECT, "updated", stored.getId(), profile.getId());
+        return dto;
     }
 
-    @CacheEvict(cacheNames = "projects", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#profile.slug"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, key = "T(com.example.portfolio.config.CacheConfig).PROJECTS_ALL_KEY"),
+            @CacheEvict(cacheNames = CacheConfig.PROJECT_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.TEAM_PAGES_CACHE, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SEARCH_CACHE, allEntries = true)
+    })
+    @Transactional
     public void deleteProject(Profile profile, Long id) {
         Project project = projectRepository.findByIdAndOwnerId(id, profile.getId())
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Project not found"));
         projectRepository.delete(project);
+        changeFeedService.recordDeletion(ChangeFeedService.PROJECT, id, profile.getId());
+        profileRepository.touch(profile.getId(), LocalDateTime.now());
+        afterCommit(() -> {
+            contentVersions.projectsChanged();
+            suggestService.removeProject(id);
+            fuzzySearchService.removeProject(id);
+            tagFilterIndex.removeProjects(List.of(id));
+            relatedProjectsService.removeProjects(List.of(id));
+        });
+        similarMembersService.refresh(profile.getId());
+        eventStreamService.publish(ChangeFeedService.PROJECT, "deleted", id, profile.getId());
+    }
+
+    private void indexProject(Project stored) {
+        contentVersions.projectsChanged();
+        suggestService.indexProject(stored);
+        fuzzySearchService.indexProject(stored);
+        List<String> tags = TagNames.parse(stored.getTags());
+        tagFilterIndex.indexProject(stored.getId(), tags);
+        relatedProjectsService.indexProject(stored.getId(), tags);
+    }
+
+    /**
+     * Runs {@code update} once the current transaction commits, or right away
+     * outside one, so a rolled back write leaves the in-memory indexes and
+     * the content version alone.
+     */
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
     }
 
     private void applyRequest(Project project, ProjectRequest request) {
@@ -75,11 +295,44 @@ public class ProjectService {
         project.setSummary(normalizeNullable(request.summary()));
         project.setDescription(normalizeNullable(request.description()));
         project.setTags(normalizeNullable(request.tags()));
+        project.setTagSet(resolveTags(TagNames.parse(request.tags())));
         project.setRepoUrl(normalizeNullable(request.repoUrl()));
         project.setLiveUrl(normalizeNullable(request.liveUrl()));
         project.setImageUrl(normalizeNullable(request.imageUrl()));
     }
 
+    // Existing tags are reused; new names are inserted as they first appear
+    private Set<Tag> resolveTags(List<String> names) {
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Tag> found = tagRepository.findByNameIn(names);
+        if (found.size() < names.size()) {
+            Set<String> existing = found.stream().map(Tag::getName).collect(Collectors.toSet());
+            for (String name : names) {
+                if (!existing.contains(name)) {
+                    insertTag(name);
+                }
+            }
+            found = tagRepository.findByNameIn(names);
+        }
+        return new HashSet<>(found);
+    }
+
+    /**
+     * Inserts a tag in its own transaction. A concurrent write that adds the
+     * same name first makes this insert fail, which would roll back this
+     * whole write inside the caller's transaction; here it only means the
+     * tag is already there for the caller to read.
+     */
+    private void insertTag(String name) {
+        try {
+            tagInserts.executeWithoutResult(status -> tagRepository.saveAndFlush(new Tag(name)));
+        } catch (DataIntegrityViolationException ex) {
+            // Committed by the other write; the caller reads it back
+        }
+    }
+
     private String normalizeNullable(String value) {
         if (value == null) {
             return null;
@@ -0,0 +1,424 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.PushProperties;
+import com.example.portfolio.model.PushSubscription;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.PushSubscriptionRepository;
+import com.example.portfolio.web.dto.ChangeEventDto;
+import com.example.portfolio.web.dto.PushNotificationDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Turns committed changes into web push messages for every subscription.
+ * <p>
+ * Changes listed in {@code app.push.announce} are collected for the batch
+ * window and then go out as one message per subscription. A single
+ * dispatcher thread pages through the subscriptions and hands each to the
+ * sender pool, which encrypts and posts it; a semaphore bounds the messages
+ * in flight, so paging never runs ahead of delivery. Failed posts that may
+ * succeed later (network errors, 429, 5xx) are retried with exponential
+ * backoff; subscriptions the push service reports gone (404, 410) are
+ * deleted when the round ends. Rounds never overlap, so changes arriving
+ * during a long round are batched into the next one.
+ * <p>
+ * Delivery outcomes are counted in {@code push.messages} by result, retries
+ * in {@code push.retries}, and rounds are timed in {@code push.rounds}.
+ */
+@Service
+public class PushDispatchService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(PushDispatchService.class);
+
+    // Subscriptions read, and gone ones deleted, per query
+    private static final int PAGE = 1000;
+    // Changes listed in one message, and names in its body
+    private static final int MAX_CHANGES = 20;
+    private static final int MAX_NAMES = 3;
+    private static final int MAX_NAME_LENGTH = 80;
+
+    private final PushSubscriptionRepository subscriptionRepository;
+    private final ProfileRepository profileRepository;
+    private final ProjectRepository projectRepository;
+    private final ExperienceRepository experienceRepository;
+    private final PushSender sender;
+    private final PushProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final Set<String> announce;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final Counter delivered;
+    private final Counter gone;
+    private final Counter failed;
+    private final Counter retries;
+    private final Timer rounds;
+
+    private final Object lock = new Object();
+    // Guarded by lock
+    private List<ChangeEventDto> pending = new ArrayList<>();
+    private int pendingCount;
+    private boolean flushScheduled;
+
+    public PushDispatchService(PushSubscriptionRepository subscriptionRepository,
+                               ProfileRepository profileRepository,
+                               ProjectRepository projectRepository,
+                               ExperienceRepository experienceRepository,
+                               PushSender sender,
+                               PushProperties properties,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               EventStreamService eventStreamService) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.profileRepository = profileRepository;
+        this.projectRepository = projectRepository;
+        this.experienceRepository = experienceRepository;
+        this.sender = sender;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.announce = Set.copyOf(properties.getAnnounce());
+
+        int concurrency = Math.max(1, properties.getConcurrency());
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("push-timer"));
+        this.dispatcher = Executors.newSingleThreadExecutor(daemon("push-dispatch"));
+        this.senders = Executors.newFixedThreadPool(concurrency, daemon("push-sender"));
+        // Messages being encrypted, posted or waiting for a retry
+        this.maxInFlight = concurrency * 4;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        this.delivered = meterRegistry.counter("push.messages", "result", "delivered");
+        this.gone = meterRegistry.counter("push.messages", "result", "gone");
+        this.failed = meterRegistry.counter("push.messages", "result", "failed");
+        this.retries = meterRegistry.counter("push.retries");
+        this.rounds = meterRegistry.timer("push.rounds");
+
+        eventStreamService.addListener(this::onChange);
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void onChange(ChangeEventDto change) {
+        if (!announce.contains(change.type() + ":" + change.op())) {
+            return;
+        }
+        synchronized (lock) {
+            pendingCount++;
+            if (pending.size() < MAX_CHANGES) {
+                pending.add(change);
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                timer.schedule(() -> dispatcher.execute(this::flush),
+                        properties.getBatchWindow().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        List<ChangeEventDto> changes;
+        int count;
+        synchronized (lock) {
+            changes = pending;
+            count = pendingCount;
+            pending = new ArrayList<>();
+            pendingCount = 0;
+            flushScheduled = false;
+        }
+        try {
+            byte[] payload = readOnly.execute(status -> payload(changes, count));
+            if (payload != null) {
+                broadcast(payload, count);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            logger.warn("Push round for {} changes failed", count, ex);
+        }
+    }
+
+    private void broadcast(byte[] payload, int changes) throws InterruptedException {
+        long started = System.nanoTime();
+        // One sender key pair per round; RFC 8291 derives a distinct key for each browser from it
+        Round round = new Round(payload, WebPushCrypto.generateKeyPair());
+        long afterId = 0L;
+        int subscriptions = 0;
+        while (true) {
+            long from = afterId;
+            List<Target> page = readOnly.execute(status -> subscriptionRepository
+                    .findByIdGreaterThanOrderByIdAsc(from, Limit.of(PAGE)).stream()
+                    .map(Target::of)
+                    .toList());
+            for (Target target : page) {
+                inFlight.acquire();
+                submit(() -> deliver(round, target));
+            }
+            subscriptions += page.size();
+            if (page.size() < PAGE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+        // Every permit back means every message of the round has settled
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+
+        List<Long> goneIds = new ArrayList<>(round.gone);
+        // In pages, so a mass expiry stays under PostgreSQL's bind parameter limit
+        for (int from = 0; from < goneIds.size(); from += PAGE) {
+            subscriptionRepository.deleteByIdIn(goneIds.subList(from, Math.min(goneIds.size(), from + PAGE)));
+        }
+        long nanos = System.nanoTime() - started;
+        rounds.record(nanos, TimeUnit.NANOSECONDS);
+        logger.info("Pushed {} changes to {} subscriptions in {} ms ({} messages/s): {} delivered, {} gone, {} failed, {} retries",
+                changes, subscriptions, nanos / 1_000_000, nanos > 0 ? subscriptions * 1_000_000_000L / nanos : subscriptions,
+                round.delivered.get(), goneIds.size(), round.failed.get(), round.retries.get());
+    }
+
+    private void deliver(Round round, Target target) {
+        byte[] body;
+        try {
+            body = WebPushCrypto.encrypt(round.payload, WebPushCrypto.publicKey(target.p256dh()), target.auth(),
+                    round.senderKeys);
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            logger.debug("Cannot encrypt for push subscription {}: {}", target.id(), ex.getMessage());
+            settle(round, Outcome.FAILED, target);
+            return;
+        }
+        send(round, target, body, 1);
+    }
+
+    private void send(Round round, Target target, byte[] body, int attempt) {
+        PushSender.Response response;
+        try {
+            response = sender.send(target.endpoint(), body, properties.getTtl());
+        } catch (IOException ex) {
+            retry(round, target, body, attempt, null);
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            settle(round, Outcome.FAILED, target);
+            return;
+        } catch (RuntimeException ex) {
+            logger.debug("Push to subscription {} failed", target.id(), ex);
+            settle(round, Outcome.FAILED, target);
+            return;
+        }
+        int status = response.status();
+        if (status >= 200 && status < 300) {
+            settle(round, Outcome.DELIVERED, target);
+        } else if (status == 404 || status == 410) {
+            settle(round, Outcome.GONE, target);
+        } else if (status == 429 || status >= 500) {
+            retry(round, target, body, attempt, response.retryAfter());
+        } else {
+            logger.debug("Push service rejected a message for subscription {} with {}", target.id(), status);
+            settle(round, Outcome.FAILED, target);
+        }
+    }
+
+    // The message keeps its permit while it waits
+    private void retry(Round round, Target target, byte[] body, int attempt, Duration retryAfter) {
+        if (attempt >= properties.getMaxAttempts()) {
+            settle(round, Outcome.FAILED, target);
+            return;
+        }
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (retryAfter != null && retryAfter.compareTo(backoff) > 0) {
+            backoff = retryAfter;
+        }
+        if (backoff.compareTo(properties.getMaxBackoff()) > 0) {
+            backoff = properties.getMaxBackoff();
+        }
+        round.retries.incrementAndGet();
+        retries.increment();
+        try {
+            timer.schedule(() -> submit(() -> send(round, target, body, attempt + 1)),
+                    backoff.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            settle(round, Outcome.FAILED, target);
+        }
+    }
+
+    private void submit(Runnable delivery) {
+        try {
+            senders.execute(delivery);
+        } catch (RejectedExecutionException ex) {
+            // Shutting down
+            inFlight.release();
+        }
+    }
+
+    private void settle(Round round, Outcome outcome, Target target) {
+        switch (outcome) {
+            case DELIVERED -> {
+                round.delivered.incrementAndGet();
+                delivered.increment();
+            }
+            case GONE -> {
+                round.gone.add(target.id());
+                gone.increment();
+            }
+            case FAILED -> {
+                round.failed.incrementAndGet();
+                failed.increment();
+            }
+        }
+        inFlight.release();
+    }
+
+    /**
+     * The notification for a batch, or null when none of its rows exist any
+     * more. One change gets a specific title; several are summed up, naming
+     * the first few.
+     */
+    private byte[] payload(List<ChangeEventDto> changes, int count) {
+        Map<String, String> names = names(changes);
+        List<String> shown = changes.stream()
+                .map(change -> names.get(change.type() + ":" + change.id()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (shown.isEmpty() && changes.stream().noneMatch(change -> "deleted".equals(change.op()))) {
+            return null;
+        }
+        String title = count == 1 ? title(changes.get(0)) : count + " updates from the team";
+        String body = null;
+        if (!shown.isEmpty()) {
+            body = String.join(", ", shown.subList(0, Math.min(MAX_NAMES, shown.size())));
+            int more = count - Math.min(MAX_NAMES, shown.size());
+            if (more > 0) {
+                body += " and " + more + " more";
+            }
+        }
+        try {
+            return objectMapper.writeValueAsBytes(new PushNotificationDto(title, body,
+                    new PushNotificationDto.Data(changes, count)));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize push notification", ex);
+        }
+    }
+
+    private Map<String, String> names(List<ChangeEventDto> changes) {
+        Map<String, List<Long>> idsByType = changes.stream()
+                .collect(Collectors.groupingBy(ChangeEventDto::type, Collectors.mapping(ChangeEventDto::id, Collectors.toList())));
+        Map<String, String> names = new HashMap<>();
+        List<Long> projects = idsByType.getOrDefault(ChangeFeedService.PROJECT, List.of());
+        if (!projects.isEmpty()) {
+            projectRepository.findAllById(projects)
+                    .forEach(project -> names.put(ChangeFeedService.PROJECT + ":" + project.getId(), shorten(project.getTitle())));
+        }
+        List<Long> profiles = idsByType.getOrDefault(ChangeFeedService.PROFILE, List.of());
+        if (!profiles.isEmpty()) {
+            profileRepository.findAllById(profiles)
+                    .forEach(profile -> names.put(ChangeFeedService.PROFILE + ":" + profile.getId(), shorten(profile.getName())));
+        }
+        List<Long> experiences = idsByType.getOrDefault(ChangeFeedService.EXPERIENCE, List.of());
+        if (!experiences.isEmpty()) {
+            experienceRepository.findAllById(experiences)
+                    .forEach(experience -> names.put(ChangeFeedService.EXPERIENCE + ":" + experience.getId(), shorten(experience.getTitle())));
+        }
+        names.values().removeIf(Objects::isNull);
+        return names;
+    }
+
+    private static String title(ChangeEventDto change) {
+        if ("created".equals(change.op())) {
+            return switch (change.type()) {
+                case ChangeFeedService.PROJECT -> "New project";
+                case ChangeFeedService.PROFILE -> "New team member";
+                default -> "New " + change.type();
+            };
+        }
+        return Character.toUpperCase(change.type().charAt(0)) + change.type().substring(1) + " " + change.op();
+    }
+
+    private static String shorten(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String trimmed = name.trim();
+        return trimmed.length() <= MAX_NAME_LENGTH ? trimmed : trimmed.substring(0, MAX_NAME_LENGTH - 1) + "…";
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private enum Outcome {
+        DELIVERED, GONE, FAILED
+    }
+
+    private record Target(long id, String endpoint, byte[] p256dh, byte[] auth) {
+        static Target of(PushSubscription subscription) {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            return new Target(subscription.getId(), subscription.getEndpoint(),
+                    decoder.decode(subscription.getP256dh()), decoder.decode(subscription.getAuth()));
+        }
+    }
+
+    private static final class Round {
+        final byte[] payload;
+        final KeyPair senderKeys;
+        final AtomicInteger delivered = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger retries = new AtomicInteger();
+        final Queue<Long> gone = new ConcurrentLinkedQueue<>();
+
+        Round(byte[] payload, KeyPair senderKeys) {
+            this.payload = payload;
+            this.senderKeys = senderKeys;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.portfolio.service;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Hands encrypted messages to the push service behind a subscription's
+ * endpoint. Called from the push sender threads only, so implementations
+ * may block.
+ */
+public interface PushSender {
+
+    /**
+     * Posts one {@code aes128gcm} encrypted message that the push service
+     * should keep for at most {@code ttl} while the browser is offline.
+     */
+    Response send(String endpoint, byte[] body, Duration ttl) throws IOException, InterruptedException;
+
+    /**
+     * The push service's answer; {@code retryAfter} is its
+     * {@code Retry-After} header, or null.
+     */
+    record Response(int status, Duration retryAfter) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.PushProperties;
+import com.example.portfolio.model.PushSubscription;
+import com.example.portfolio.repo.PushSubscriptionRepository;
+import com.example.portfolio.web.dto.PushSubscriptionRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Base64;
+import java.util.Locale;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Stores browsers' push subscriptions. Endpoints must point at one of the
+ * allowed push services and keys must be usable for encryption, so the
+ * dispatcher never posts to an arbitrary address or fails on a bad key.
+ */
+@Service
+public class PushSubscriptionService {
+    private static final int AUTH_SECRET_LENGTH = 16;
+    private static final int MAX_ENDPOINT_LENGTH = 2048;
+
+    private final PushSubscriptionRepository repository;
+    private final PushProperties properties;
+
+    public PushSubscriptionService(PushSubscriptionRepository repository, PushProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * Adds the subscription, or replaces the keys of the one already stored
+     * for its endpoint.
+     */
+    @Transactional
+    public void subscribe(PushSubscriptionRequest request) {
+        String endpoint = validEndpoint(request);
+        if (request.keys() == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Subscription keys are required");
+        }
+        String p256dh = request.keys().p256dh();
+        String auth = request.keys().auth();
+        try {
+            WebPushCrypto.publicKey(decode(p256dh));
+            if (decode(auth).length != AUTH_SECRET_LENGTH) {
+                throw new IllegalArgumentException("auth must be 16 bytes");
+            }
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid subscription keys");
+        }
+        PushSubscription subscription = repository.findByEndpoint(endpoint)
+                .orElseGet(() -> new PushSubscription(endpoint, p256dh, auth));
+        subscription.setP256dh(p256dh);
+        subscription.setAuth(auth);
+        repository.save(subscription);
+    }
+
+    public void unsubscribe(PushSubscriptionRequest request) {
+        if (request == null || !StringUtils.hasText(request.endpoint())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Subscription endpoint is required");
+        }
+        repository.deleteByEndpoint(request.endpoint().trim());
+    }
+
+    private String validEndpoint(PushSubscriptionRequest request) {
+        if (request == null || !StringUtils.hasText(request.endpoint())) {
+            throw new ResponseStatusException(BAD_REQUEST, "Subscription endpoint is required");
+        }
+        String endpoint = request.endpoint().trim();
+        URI uri;
+        try {
+            uri = new URI(endpoint);
+        } catch (URISyntaxException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid subscription endpoint");
+        }
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        boolean schemeAllowed = scheme.equals("https") || (scheme.equals("http") && !properties.isRequireHttps());
+        if (endpoint.length() > MAX_ENDPOINT_LENGTH || !schemeAllowed || uri.getHost() == null
+                || uri.getUserInfo() != null || !allowedHost(uri.getHost().toLowerCase(Locale.ROOT))) {
+            throw new ResponseStatusException(BAD_REQUEST, "Subscription endpoint is not an allowed push service");
+        }
+        return endpoint;
+    }
+
+    private boolean allowedHost(String host) {
+        for (String allowed : properties.getAllowedHosts()) {
+            String suffix = allowed.toLowerCase(Locale.ROOT);
+            if (host.equals(suffix) || host.endsWith("." + suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] decode(String value) {
+        if (!StringUtils.hasText(value)) {
+            throw new IllegalArgumentException("Missing key");
+        }
+        return Base64.getUrlDecoder().decode(value.trim());
+    }
+}
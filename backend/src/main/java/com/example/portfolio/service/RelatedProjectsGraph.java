@@ -0,0 +1,393 @@
+package com.example.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse tag co-occurrence matrix and, for every project, its most related
+ * projects. Two projects are related by a soft overlap of their tags: each
+ * tag counts by its best match on the other side, where a tag matches
+ * itself fully and another tag by how often the two are used together
+ * (the cosine of their project sets, damped by {@link #RELATED_TAG_WEIGHT}).
+ * <p>
+ * A write rescores the written project against the projects sharing its
+ * tags or their closest co-occurring tags (rarest tags first, at most
+ * {@code maxCandidates}) and offers it to their lists, so its cost does not
+ * grow with the number of projects. Scores elsewhere go stale as the matrix
+ * moves; {@link #relinkAll()} recomputes every list. Not thread-safe;
+ * {@link RelatedProjectsService} guards it with a read-write lock.
+ */
+final class RelatedProjectsGraph {
+
+    private static final class TagNode {
+        final String name;
+        final CompressedBitmap projects = new CompressedBitmap();
+        // Other tag -> projects carrying both
+        final Map<TagNode, Integer> together = new IdentityHashMap<>();
+        int count;
+
+        TagNode(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class ProjectNode {
+        TagNode[] tags;
+        // Neighbours, most related first
+        int[] ids = NO_IDS;
+        float[] scores = NO_SCORES;
+        // Projects whose list holds this one, unordered
+        int[] holders = NO_IDS;
+        int holderCount;
+    }
+
+    private record Scored(int project, float score) {
+    }
+
+    // A tag that always travels with another still counts for less than the tag itself
+    static final float RELATED_TAG_WEIGHT = 0.5f;
+    // Strongest co-occurring tags of each own tag whose projects are also candidates
+    private static final int EXPANSION = 2;
+    private static final int[] NO_IDS = new int[0];
+    private static final float[] NO_SCORES = new float[0];
+    // Highest score first, then lowest id; written out to avoid boxing on the hot path
+    private static final Comparator<Scored> ORDER = (a, b) -> a.score() != b.score()
+            ? Float.compare(b.score(), a.score())
+            : Integer.compare(a.project(), b.project());
+
+    private final int neighbours;
+    private final int maxCandidates;
+    private final int maxTags;
+
+    private final Map<String, TagNode> tags = new HashMap<>();
+    private final Map<Integer, ProjectNode> projects = new HashMap<>();
+    private int tagged;
+
+    RelatedProjectsGraph(int neighbours, int maxCandidates, int maxTags) {
+        this.neighbours = neighbours;
+        this.maxCandidates = maxCandidates;
+        this.maxTags = maxTags;
+    }
+
+    /**
+     * Replaces the tags of {@code project} with {@code names}, already
+     * normalized, then refreshes its list and its place in other lists.
+     * No names removes the project.
+     */
+    void put(int project, Collection<String> names) {
+        ProjectNode node = setTags(project, names);
+        Scorer scorer = new Scorer(node.tags);
+        List<Scored> scored = node.tags != null ? candidates(project, scorer) : List.of();
+        setList(project, node, top(scored));
+
+        Set<Integer> holders = new HashSet<>();
+        for (int i = 0; i < node.holderCount; i++) {
+            holders.add(node.holders[i]);
+        }
+        for (Scored candidate : scored) {
+            offer(candidate.project(), project, candidate.score());
+            holders.remove(candidate.project());
+        }
+        // Lists that held the project but no longer see it as a candidate still need its new score
+        for (int holder : holders) {
+            offer(holder, project, scorer.score(projects.get(holder).tags));
+        }
+        dropIfUnused(project, node);
+    }
+
+    void remove(int project) {
+        if (projects.containsKey(project)) {
+            put(project, List.of());
+        }
+    }
+
+    /**
+     * Sets tags without touching any list; for bulk loads followed by
+     * {@link #relinkAll()}.
+     */
+    void addTags(int project, Collection<String> names) {
+        dropIfUnused(project, setTags(project, names));
+    }
+
+    /**
+     * Recomputes every list from the current matrix.
+     */
+    void relinkAll() {
+        for (Map.Entry<Integer, ProjectNode> entry : List.copyOf(projects.entrySet())) {
+            ProjectNode node = entry.getValue();
+            if (node.tags != null) {
+                setList(entry.getKey(), node, top(candidates(entry.getKey(), new Scorer(node.tags))));
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} related project ids, most related first.
+     */
+    int[] related(int project, int limit) {
+        ProjectNode node = projects.get(project);
+        if (node == null) {
+            return NO_IDS;
+        }
+        return node.ids.length > limit ? Arrays.copyOf(node.ids, limit) : node.ids.clone();
+    }
+
+    boolean contains(int project) {
+        ProjectNode node = projects.get(project);
+        return node != null && node.tags != null;
+    }
+
+    int size() {
+        return tagged;
+    }
+
+    int pairCount() {
+        int pairs = 0;
+        for (TagNode node : tags.values()) {
+            pairs += node.together.size();
+        }
+        return pairs / 2;
+    }
+
+    /**
+     * Projects whose lists name different neighbours, or the same ones in
+     * another order, in the two graphs.
+     */
+    static int differences(RelatedProjectsGraph a, RelatedProjectsGraph b) {
+        Set<Integer> ids = new HashSet<>(a.projects.keySet());
+        ids.addAll(b.projects.keySet());
+        int differing = 0;
+        for (int id : ids) {
+            if (!Arrays.equals(a.related(id, Integer.MAX_VALUE), b.related(id, Integer.MAX_VALUE))) {
+                differing++;
+            }
+        }
+        return differing;
+    }
+
+    private ProjectNode setTags(int project, Collection<String> names) {
+        ProjectNode node = projects.computeIfAbsent(project, key -> new ProjectNode());
+        if (node.tags != null) {
+            for (TagNode tag : node.tags) {
+                tag.projects.remove(project);
+                for (TagNode other : node.tags) {
+                    if (other != tag) {
+                        tag.together.computeIfPresent(other, (key, both) -> both == 1 ? null : both - 1);
+                    }
+                }
+                if (--tag.count == 0) {
+                    tags.remove(tag.name);
+                }
+            }
+            node.tags = null;
+            tagged--;
+        }
+        // Capping the tags per project caps the pairs it adds to the matrix
+        List<String> kept = new LinkedHashSet<>(names).stream().limit(maxTags).toList();
+        if (kept.isEmpty()) {
+            return node;
+        }
+        node.tags = new TagNode[kept.size()];
+        for (int i = 0; i < node.tags.length; i++) {
+            node.tags[i] = tags.computeIfAbsent(kept.get(i), TagNode::new);
+        }
+        for (TagNode tag : node.tags) {
+            tag.projects.add(project);
+            tag.count++;
+            for (TagNode other : node.tags) {
+                if (other != tag) {
+                    tag.together.merge(other, 1, Integer::sum);
+                }
+            }
+        }
+        tagged++;
+        return node;
+    }
+
+    /**
+     * Candidates of {@code project} with a positive score, unordered.
+     */
+    private List<Scored> candidates(int project, Scorer scorer) {
+        Set<TagNode> sources = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TagNode tag : scorer.own) {
+            sources.add(tag);
+            sources.addAll(strongestPartners(tag));
+        }
+        List<TagNode> ordered = new ArrayList<>(sources);
+        // Rare tags say the most about a project, so they fill the candidate budget first
+        ordered.sort(Comparator.<TagNode>comparingInt(tag -> tag.count).thenComparing(tag -> tag.name));
+        Set<Integer> seen = new HashSet<>();
+        List<Scored> scored = new ArrayList<>();
+        for (TagNode source : ordered) {
+            if (seen.size() >= maxCandidates) {
+                break;
+            }
+            for (int candidate : source.projects.after(-1, maxCandidates - seen.size() + 1)) {
+                if (candidate == project || !seen.add(candidate)) {
+                    continue;
+                }
+                float score = scorer.score(projects.get(candidate).tags);
+                if (score > 0) {
+                    scored.add(new Scored(candidate, score));
+                }
+            }
+        }
+        return scored;
+    }
+
+    private static List<TagNode> strongestPartners(TagNode tag) {
+        List<Map.Entry<TagNode, Integer>> strongest = new ArrayList<>(EXPANSION + 1);
+        for (Map.Entry<TagNode, Integer> entry : tag.together.entrySet()) {
+            int at = strongest.size();
+            // Ties go to the first name, so every graph with the same tags picks the same partners
+            while (at > 0 && (strongest.get(at - 1).getValue() < entry.getValue()
+                    || (strongest.get(at - 1).getValue().equals(entry.getValue())
+                    && strongest.get(at - 1).getKey().name.compareTo(entry.getKey().name) > 0))) {
+                at--;
+            }
+            if (at < EXPANSION) {
+                strongest.add(at, entry);
+                if (strongest.size() > EXPANSION) {
+                    strongest.remove(EXPANSION);
+                }
+            }
+        }
+        return strongest.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private Scored[] top(List<Scored> scored) {
+        return scored.stream().sorted(ORDER).limit(neighbours).toArray(Scored[]::new);
+    }
+
+    /**
+     * Gives {@code project}, now scoring {@code score}, its place in the
+     * list of {@code holder}. A list that loses an entry is recomputed so
+     * it stays full.
+     */
+    private void offer(int holder, int project, float score) {
+        ProjectNode node = projects.get(holder);
+        if (node == null || node.tags == null) {
+            return;
+        }
+        int at = -1;
+        for (int i = 0; i < node.ids.length; i++) {
+            if (node.ids[i] == project) {
+                at = i;
+                break;
+            }
+        }
+        if (at < 0 && (score <= 0 || (node.ids.length == neighbours
+                && ORDER.compare(new Scored(project, score), new Scored(node.ids[neighbours - 1], node.scores[neighbours - 1])) > 0))) {
+            return;
+        }
+        if (at >= 0 && score <= 0) {
+            setList(holder, node, top(candidates(holder, new Scorer(node.tags))));
+            return;
+        }
+        List<Scored> list = new ArrayList<>(node.ids.length + 1);
+        for (int i = 0; i < node.ids.length; i++) {
+            if (i != at) {
+                list.add(new Scored(node.ids[i], node.scores[i]));
+            }
+        }
+        list.add(new Scored(project, score));
+        setList(holder, node, top(list));
+    }
+
+    private void setList(int project, ProjectNode node, Scored[] list) {
+        for (int id : node.ids) {
+            ProjectNode neighbour = projects.get(id);
+            removeHolder(neighbour, project);
+            dropIfUnused(id, neighbour);
+        }
+        node.ids = new int[list.length];
+        node.scores = new float[list.length];
+        for (int i = 0; i < list.length; i++) {
+            node.ids[i] = list[i].project();
+            node.scores[i] = list[i].score();
+            addHolder(projects.get(list[i].project()), project);
+        }
+    }
+
+    private static void addHolder(ProjectNode node, int holder) {
+        if (node.holderCount == node.holders.length) {
+            node.holders = Arrays.copyOf(node.holders, Math.max(4, node.holderCount * 2));
+        }
+        node.holders[node.holderCount++] = holder;
+    }
+
+    private static void removeHolder(ProjectNode node, int holder) {
+        for (int i = 0; i < node.holderCount; i++) {
+            if (node.holders[i] == holder) {
+                node.holders[i] = node.holders[--node.holderCount];
+                return;
+            }
+        }
+    }
+
+    private void dropIfUnused(int project, ProjectNode node) {
+        if (node.tags == null && node.ids.length == 0 && node.holderCount == 0) {
+            projects.remove(project);
+        }
+    }
+
+    /**
+     * Scores candidates against one project's tags, remembering the weights
+     * of each candidate tag so popular tags are only weighed once per write.
+     */
+    private final class Scorer {
+        final TagNode[] own;
+        private final Map<TagNode, float[]> columns = new IdentityHashMap<>();
+        private final float[] ownBest;
+
+        Scorer(TagNode[] own) {
+            this.own = own != null ? own : new TagNode[0];
+            this.ownBest = new float[this.own.length];
+        }
+
+        float score(TagNode[] other) {
+            if (other == null || own.length == 0) {
+                return 0;
+            }
+            Arrays.fill(ownBest, 0);
+            float total = 0;
+            for (TagNode tag : other) {
+                float[] column = columns.computeIfAbsent(tag, this::weigh);
+                float best = 0;
+                for (int i = 0; i < own.length; i++) {
+                    best = Math.max(best, column[i]);
+                    ownBest[i] = Math.max(ownBest[i], column[i]);
+                }
+                total += best;
+            }
+            for (float best : ownBest) {
+                total += best;
+            }
+            return total / (own.length + other.length);
+        }
+
+        private float[] weigh(TagNode tag) {
+            float[] column = new float[own.length];
+            for (int i = 0; i < own.length; i++) {
+                if (own[i] == tag) {
+                    column[i] = 1;
+                } else {
+                    Integer both = own[i].together.get(tag);
+                    column[i] = both == null ? 0
+                            : RELATED_TAG_WEIGHT * (float) (both / Math.sqrt((double) own[i].count * tag.count));
+                }
+            }
+            return column;
+        }
+    }
+}
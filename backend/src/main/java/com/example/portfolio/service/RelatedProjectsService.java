@@ -0,0 +1,191 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.RelatedProjectsProperties;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.ProjectTagLink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Related projects served from a {@link RelatedProjectsGraph}, updated by
+ * {@link ProjectService} on every write and rebuilt from {@code project_tag}
+ * on a schedule. Each rebuild logs how many incrementally kept lists it had
+ * to correct.
+ * <p>
+ * The graph holds project ids as ints. Ids past {@link Integer#MAX_VALUE}
+ * are logged and left out, so those projects have no related projects
+ * while their writes still succeed.
+ */
+@Service
+public class RelatedProjectsService {
+    private static final Logger logger = LoggerFactory.getLogger(RelatedProjectsService.class);
+
+    private final ProjectRepository projectRepository;
+    private final RelatedProjectsProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RelatedProjectsGraph graph;
+    // Writes made while a rebuild reads the database, replayed onto its result; null otherwise
+    private List<Runnable> pending;
+    private boolean loaded;
+    private volatile long generation;
+
+    public RelatedProjectsService(ProjectRepository projectRepository, RelatedProjectsProperties properties) {
+        this.projectRepository = projectRepository;
+        this.properties = properties;
+        this.graph = newGraph();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.related.rebuild-interval:PT1H}",
+            initialDelayString = "${app.related.rebuild-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        RelatedProjectsGraph fresh = newGraph();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try (Stream<ProjectTagLink> links = projectRepository.streamTagLinks()) {
+            Map<Long, List<String>> tags = new HashMap<>();
+            links.forEach(link -> tags.computeIfAbsent(link.getProjectId(), id -> new ArrayList<>()).add(link.getName()));
+            tags.forEach((id, names) -> {
+                if (indexable(id)) {
+                    fresh.addTags(id.intValue(), names);
+                }
+            });
+            fresh.relinkAll();
+        } catch (RuntimeException ex) {
+            // Keep serving the live lists; the next run starts over
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                RelatedProjectsGraph previous = graph;
+                graph = fresh;
+                pending.forEach(Runnable::run);
+                pending = null;
+                int corrected = RelatedProjectsGraph.differences(previous, graph);
+                if (loaded && corrected > 0) {
+                    logger.info("Related projects rebuilt; {} of {} lists differed from the incremental ones",
+                            corrected, graph.size());
+                }
+                loaded = true;
+                generation++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Related projects computed for {} projects over {} tag pairs in {} ms",
+                fresh.size(), fresh.pairCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Up to {@code limit} ids of the projects most related to
+     * {@code projectId}, most related first; never more than the configured
+     * neighbours.
+     */
+    public List<Long> related(long projectId, int limit) {
+        if (projectId > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (int id : graph.related((int) projectId, Math.min(limit, properties.getNeighbours()))) {
+                ids.add((long) id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long projectId) {
+        if (projectId > Integer.MAX_VALUE) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return graph.contains((int) projectId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bumped whenever a rebuild swaps in new lists, which can change them
+     * without any project write.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Replaces the tags of a project with {@code names}, already normalized.
+     */
+    public void indexProject(Long projectId, Collection<String> names) {
+        if (projectId == null || !indexable(projectId)) {
+            return;
+        }
+        int id = projectId.intValue();
+        List<String> tags = List.copyOf(names);
+        write(() -> graph.put(id, tags));
+    }
+
+    public void removeProjects(Collection<Long> projectIds) {
+        List<Long> ids = List.copyOf(projectIds);
+        write(() -> ids.stream()
+                .filter(id -> id <= Integer.MAX_VALUE)
+                .forEach(id -> graph.remove(id.intValue())));
+    }
+
+    private static boolean indexable(long projectId) {
+        if (projectId <= Integer.MAX_VALUE) {
+            return true;
+        }
+        logger.error("Project {} is past the related projects' int id range; it gets no related projects", projectId);
+        return false;
+    }
+
+    private RelatedProjectsGraph newGraph() {
+        return new RelatedProjectsGraph(properties.getNeighbours(), properties.getMaxCandidates(), properties.getMaxTags());
+    }
+
+    // The write reads the graph field when it runs, so a replay lands on the rebuilt graph
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.repo.SearchRepository;
+import com.example.portfolio.web.dto.SearchHitDto;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Full-text search with cached result pages. Queries are normalized before
+ * they reach the cache, so "Spring  Boot" and "spring boot" share entries.
+ */
+@Service
+public class SearchService {
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchRepository searchRepository;
+
+    public SearchService(SearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    /**
+     * Lower-cased, trimmed and with whitespace runs collapsed; blank and
+     * overlong queries are rejected.
+     */
+    public static String normalize(String query) {
+        if (!StringUtils.hasText(query)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Query is required");
+        }
+        String normalized = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(BAD_REQUEST, "Query is too long");
+        }
+        return normalized;
+    }
+
+    /**
+     * One page of hits for an already {@link #normalize normalized} query.
+     */
+    @Cacheable(cacheNames = CacheConfig.SEARCH_CACHE,
+            key = "#type.value() + ':' + #lastRank + ':' + #lastId + ':' + #limit + ':' + #query")
+    public KeysetPage<SearchHitDto> search(SearchRepository.Type type, String query, float lastRank, long lastId, int limit) {
+        return KeysetPage.of(searchRepository.search(type, query, lastRank, lastId, limit + 1), limit, SearchHitDto::id);
+    }
+}
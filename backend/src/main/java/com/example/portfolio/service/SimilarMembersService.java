@@ -0,0 +1,336 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.SimilarMembersProperties;
+import com.example.portfolio.model.Experience;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.OwnerTag;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.web.dto.ProfileMapper;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Members with similar backgrounds, by the Jaccard similarity of their
+ * headline and bio words, experience companies and project tags, estimated
+ * from {@link MinHashIndex} signatures.
+ * <p>
+ * Writes to profiles, experiences and projects only mark the owner dirty;
+ * once the write commits, a single background thread reloads the dirty
+ * members and recomputes their signatures, so writers never pay for it.
+ * Marks made while a reload is queued are picked up by that reload. A
+ * scheduled rebuild recomputes every signature from the database and logs
+ * how many had drifted.
+ */
+@Service
+public class SimilarMembersService implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(SimilarMembersService.class);
+
+    // Members reloaded per query round
+    private static final int RELOAD_BATCH = 500;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "are", "but", "for", "from", "has", "have", "into", "its", "not", "our", "that", "the",
+            "their", "this", "was", "were", "with", "who", "you", "your");
+
+    private final ProfileRepository profileRepository;
+    private final ExperienceRepository experienceRepository;
+    private final ProjectRepository projectRepository;
+    private final SimilarMembersProperties properties;
+    private final TransactionTemplate readOnly;
+    private final ExecutorService executor;
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MinHashIndex index;
+    // Writes made while a rebuild reads the database, replayed onto its result; null otherwise
+    private List<Runnable> pending;
+    private boolean loaded;
+    private volatile long generation;
+
+    public SimilarMembersService(ProfileRepository profileRepository,
+                                 ExperienceRepository experienceRepository,
+                                 ProjectRepository projectRepository,
+                                 SimilarMembersProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.experienceRepository = experienceRepository;
+        this.projectRepository = projectRepository;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.index = newIndex();
+        // One reload running and at most one waiting; the waiting one covers every later mark
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "similar-members");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.similar.rebuild-interval:PT1H}",
+            initialDelayString = "${app.similar.rebuild-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        MinHashIndex fresh = newIndex();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Map<Long, Features> features = new HashMap<>();
+            try (Stream<Profile> profiles = profileRepository.streamAllByOrderByIdAsc()) {
+                profiles.forEach(profile -> features.put(profile.getId(), new Features(profile)));
+            }
+            try (Stream<Experience> experiences = experienceRepository.streamAllByOrderByIdAsc()) {
+                experiences.forEach(experience -> {
+                    Features owner = features.get(experience.getProfile().getId());
+                    if (owner != null) {
+                        owner.addCompany(experience.getCompany());
+                    }
+                });
+            }
+            try (Stream<OwnerTag> tags = projectRepository.streamOwnerTags()) {
+                tags.forEach(tag -> {
+                    Features owner = features.get(tag.getOwnerId());
+                    if (owner != null) {
+                        owner.addTag(tag.getName());
+                    }
+                });
+            }
+            features.forEach((id, member) -> fresh.put(id, fresh.signature(member.names)));
+        } catch (RuntimeException ex) {
+            // Keep serving the live signatures; the next run starts over
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                MinHashIndex previous = index;
+                index = fresh;
+                pending.forEach(Runnable::run);
+                pending = null;
+                int drift = MinHashIndex.differences(previous, index);
+                if (loaded && drift > 0) {
+                    logger.info("Similar members rebuilt; {} of {} signatures differed from the incremental ones",
+                            drift, index.size());
+                }
+                loaded = true;
+                generation++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Similar-member signatures computed for {} profiles in {} ms",
+                fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Up to {@code limit} members most similar to the one at {@code slug},
+     * most similar first; never more than the configured neighbours.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileSummaryDto> similar(String slug, int limit) {
+        Profile profile = profileRepository.findBySlug(slug)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Profile not found"));
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (MinHashIndex.Match match : index.similar(profile.getId(), Math.min(limit, properties.getNeighbours()),
+                    properties.getMinSimilarity(), properties.getMaxCandidates())) {
+                ids.add(match.id());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Profile> byId = profileRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Profile::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(ProfileMapper::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Bumped whenever signatures change, which happens in the background
+     * after the write that caused it has returned.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Marks a member for reloading once the current transaction commits, or
+     * right away outside one. Deleted members are dropped by the reload.
+     */
+    public void refresh(Long profileId) {
+        if (profileId == null) {
+            return;
+        }
+        dirty.add(profileId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(SimilarMembersService.this::reloadDirty);
+                }
+            });
+        } else {
+            executor.execute(this::reloadDirty);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void reloadDirty() {
+        try {
+            List<Long> ids = new ArrayList<>(dirty);
+            dirty.removeAll(ids);
+            for (int from = 0; from < ids.size(); from += RELOAD_BATCH) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + RELOAD_BATCH));
+                Map<Long, int[]> signatures = readOnly.execute(status -> load(batch));
+                write(() -> signatures.forEach(index::put));
+            }
+        } catch (RuntimeException ex) {
+            // The next scheduled rebuild picks up whatever was missed
+            logger.warn("Reloading similar-member signatures failed", ex);
+        }
+    }
+
+    // Every id of the batch is in the result; deleted members map to null
+    private Map<Long, int[]> load(List<Long> ids) {
+        Map<Long, Features> features = new HashMap<>();
+        for (Profile profile : profileRepository.findAllById(ids)) {
+            features.put(profile.getId(), new Features(profile));
+        }
+        for (Experience experience : experienceRepository.findByProfileIdIn(features.keySet())) {
+            features.get(experience.getProfile().getId()).addCompany(experience.getCompany());
+        }
+        for (OwnerTag tag : projectRepository.findOwnerTagsByOwnerIdIn(features.keySet())) {
+            features.get(tag.getOwnerId()).addTag(tag.getName());
+        }
+        MinHashIndex hasher = currentIndex();
+        Map<Long, int[]> signatures = new HashMap<>();
+        for (Long id : ids) {
+            Features member = features.get(id);
+            signatures.put(id, member != null ? hasher.signature(member.names) : null);
+        }
+        return signatures;
+    }
+
+    private MinHashIndex currentIndex() {
+        lock.readLock().lock();
+        try {
+            return index;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private MinHashIndex newIndex() {
+        return new MinHashIndex(properties.getHashes(), properties.getBands());
+    }
+
+    // The write reads the index field when it runs, so a replay lands on the rebuilt index
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (pending != null) {
+                pending.add(update);
+            }
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Words of at least three letters from the headline and bio, companies
+     * and tags, each kind prefixed so a company never matches a word of the
+     * same name.
+     */
+    private static final class Features {
+        final Set<String> names = new LinkedHashSet<>();
+
+        Features(Profile profile) {
+            addText(profile.getRole());
+            addText(profile.getBio());
+        }
+
+        void addText(String text) {
+            if (text == null) {
+                return;
+            }
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= 3 && !STOP_WORDS.contains(word)) {
+                    names.add("w:" + word);
+                }
+            }
+        }
+
+        void addCompany(String company) {
+            String name = TagNames.normalize(company);
+            if (!name.isEmpty()) {
+                names.add("c:" + name);
+            }
+        }
+
+        void addTag(String tag) {
+            names.add("t:" + tag);
+        }
+    }
+}
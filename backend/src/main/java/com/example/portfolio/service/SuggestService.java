@@ -0,0 +1,221 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.web.dto.SuggestionDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead over member names and slugs, project titles and tags, served
+ * from an in-memory {@link PrefixIndex}. The index is loaded once when the
+ * application is ready and then kept current by the services that write
+ * profiles and projects; it is never rebuilt.
+ * <p>
+ * Popularity decides the order: members by how many projects they own,
+ * tags by how many projects use them. Projects themselves score zero and
+ * follow in title order.
+ */
+@Service
+public class SuggestService {
+    public static final int MAX_SUGGESTIONS = 10;
+
+    public static final String PROFILE = "profile";
+    public static final String PROJECT = "project";
+    public static final String TAG = "tag";
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestService.class);
+
+    private final ProfileRepository profileRepository;
+    private final ProjectRepository projectRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PrefixIndex index = new PrefixIndex(MAX_SUGGESTIONS);
+    // Bookkeeping for popularity and for re-pointing projects when an owner's slug changes
+    private final Map<Long, IndexedProject> projects = new HashMap<>();
+    private final Map<Long, Integer> projectsByOwner = new HashMap<>();
+    private final Map<String, Integer> tagUsage = new HashMap<>();
+
+    private record IndexedProject(Long ownerId, String title, Set<String> tags) {
+    }
+
+    public SuggestService(ProfileRepository profileRepository, ProjectRepository projectRepository) {
+        this.profileRepository = profileRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.nanoTime();
+        try (Stream<Profile> profiles = profileRepository.streamAllByOrderByIdAsc();
+             Stream<Project> projects = projectRepository.streamAllByOrderByIdAsc()) {
+            profiles.forEach(this::indexProfile);
+            projects.forEach(this::indexProject);
+        }
+        logger.info("Suggestion index loaded with {} entries in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        List<PrefixIndex.Entry> entries;
+        lock.readLock().lock();
+        try {
+            entries = index.lookup(prefix, Math.min(limit, MAX_SUGGESTIONS));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entries.stream()
+                .map(entry -> new SuggestionDto(entry.type(), TAG.equals(entry.type()) ? null : entry.id(),
+                        entry.label(), entry.slug()))
+                .toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexProfile(Profile profile) {
+        if (profile == null || profile.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            PrefixIndex.Entry previous = index.get(PROFILE + ":" + profile.getId());
+            putProfile(profile.getId(), profile.getName(), profile.getSlug());
+            if (previous != null && !Objects.equals(previous.slug(), profile.getSlug())) {
+                // Project entries carry the owner's slug for linking
+                projects.forEach((projectId, project) -> {
+                    if (profile.getId().equals(project.ownerId())) {
+                        putProject(projectId, project.title(), profile.getSlug());
+                    }
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProfile(Long profileId) {
+        if (profileId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Long> owned = new ArrayList<>();
+            projects.forEach((projectId, project) -> {
+                if (profileId.equals(project.ownerId())) {
+                    owned.add(projectId);
+                }
+            });
+            owned.forEach(this::unindexProject);
+            index.remove(PROFILE + ":" + profileId);
+            projectsByOwner.remove(profileId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexProject(Project project) {
+        if (project == null || project.getId() == null) {
+            return;
+        }
+        Profile owner = project.getOwner();
+        Long ownerId = owner != null ? owner.getId() : null;
+        lock.writeLock().lock();
+        try {
+            unindexProject(project.getId());
+            Set<String> tags = tags(project.getTags());
+            projects.put(project.getId(), new IndexedProject(ownerId, project.getTitle(), tags));
+            putProject(project.getId(), project.getTitle(), owner != null ? owner.getSlug() : null);
+            tags.forEach(tag -> putTag(tag, tagUsage.merge(tag, 1, Integer::sum)));
+            if (ownerId != null) {
+                rescoreOwner(ownerId, projectsByOwner.merge(ownerId, 1, Integer::sum));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProject(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unindexProject(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindexProject(Long projectId) {
+        IndexedProject removed = projects.remove(projectId);
+        if (removed == null) {
+            return;
+        }
+        index.remove(PROJECT + ":" + projectId);
+        for (String tag : removed.tags()) {
+            Integer usage = tagUsage.computeIfPresent(tag, (key, count) -> count > 1 ? count - 1 : null);
+            if (usage == null) {
+                index.remove(TAG + ":" + tag);
+            } else {
+                putTag(tag, usage);
+            }
+        }
+        if (removed.ownerId() != null) {
+            Integer owned = projectsByOwner.computeIfPresent(removed.ownerId(), (key, count) -> count > 1 ? count - 1 : null);
+            rescoreOwner(removed.ownerId(), owned != null ? owned : 0);
+        }
+    }
+
+    private void putProfile(Long id, String name, String slug) {
+        Set<String> keys = PrefixIndex.wordKeys(name);
+        if (StringUtils.hasText(slug)) {
+            keys.add(slug);
+        }
+        long score = projectsByOwner.getOrDefault(id, 0);
+        index.put(PROFILE + ":" + id, new PrefixIndex.Entry(PROFILE, id, name, slug, score), keys);
+    }
+
+    private void putProject(Long id, String title, String ownerSlug) {
+        index.put(PROJECT + ":" + id, new PrefixIndex.Entry(PROJECT, id, title, ownerSlug, 0L), PrefixIndex.wordKeys(title));
+    }
+
+    private void putTag(String tag, int usage) {
+        index.put(TAG + ":" + tag, new PrefixIndex.Entry(TAG, 0L, tag, null, usage), Set.of(tag));
+    }
+
+    private void rescoreOwner(Long ownerId, int owned) {
+        PrefixIndex.Entry current = index.get(PROFILE + ":" + ownerId);
+        if (current != null && current.score() != owned) {
+            putProfile(ownerId, current.label(), current.slug());
+        }
+    }
+
+    private static Set<String> tags(String tags) {
+        return new LinkedHashSet<>(TagNames.parse(tags));
+    }
+}
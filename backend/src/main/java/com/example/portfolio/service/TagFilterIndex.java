@@ -0,0 +1,248 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.ProjectTagLink;
+import com.example.portfolio.web.dto.FacetCountDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Tag to project-id bitmaps for multi-tag filters: "all of" is an
+ * intersection and "any of" a union of {@link CompressedBitmap}s, and the
+ * size of the result comes for free. Loaded from {@code project_tag} once
+ * the application is ready, kept current by {@link ProjectService} and
+ * rebuilt on the facet reconcile interval to repair any drift.
+ * <p>
+ * Project ids are held as ints. Ids past {@link Integer#MAX_VALUE} are
+ * logged and left out, so tag filters miss those projects while their
+ * writes still succeed; the bitmaps need wider values before the id
+ * sequence gets there.
+ */
+@Service
+public class TagFilterIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TagFilterIndex.class);
+
+    private final ProjectRepository projectRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, CompressedBitmap> bitmaps = new HashMap<>();
+    // Writes made while a load reads the database, replayed onto its result; null otherwise
+    private List<Runnable> pending;
+
+    public TagFilterIndex(ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * Builds the bitmaps from {@code project_tag} without blocking readers,
+     * then swaps them in. Writes that land meanwhile are applied to both the
+     * live bitmaps and the new ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.facets.reconcile-interval:PT10M}",
+            initialDelayString = "${app.facets.reconcile-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.nanoTime();
+        Map<String, CompressedBitmap> fresh = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try (Stream<ProjectTagLink> links = projectRepository.streamTagLinks()) {
+            links.filter(link -> indexable(link.getProjectId()))
+                    .forEach(link -> fresh.computeIfAbsent(link.getName(), name -> new CompressedBitmap())
+                            .add(link.getProjectId().intValue()));
+        } catch (RuntimeException ex) {
+            // Keep serving the live bitmaps; the next run starts over
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                bitmaps = fresh;
+                pending.forEach(Runnable::run);
+                pending = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Tag filter index loaded with {} tags in {} ms", fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Up to {@code limit} ids of projects tagged with all (or any) of
+     * {@code names}, ascending after {@code afterId}. Names must already be
+     * normalized.
+     */
+    public List<Long> filter(Collection<String> names, boolean all, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matching = matching(names, all);
+            List<Long> ids = new ArrayList<>();
+            for (int id : matching.after((int) Math.min(afterId, Integer.MAX_VALUE), limit)) {
+                ids.add((long) id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(Collection<String> names, boolean all) {
+        lock.readLock().lock();
+        try {
+            return matching(names, all).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every tag in use with its project count, most used first.
+     */
+    public List<FacetCountDto> counts() {
+        List<FacetCountDto> counts;
+        lock.readLock().lock();
+        try {
+            counts = new ArrayList<>(bitmaps.size());
+            for (Map.Entry<String, CompressedBitmap> entry : bitmaps.entrySet()) {
+                counts.add(new FacetCountDto(entry.getKey(), entry.getValue().cardinality()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top(counts, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The {@code limit} tags most common among projects matching
+     * {@code names}, each with how many of those projects carry it. Costs
+     * one bitmap intersection count per tag in use, whatever the number of
+     * projects.
+     */
+    public List<FacetCountDto> facets(Collection<String> names, boolean all, int limit) {
+        List<FacetCountDto> counts = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matching = matching(names, all);
+            if (matching.isEmpty()) {
+                return List.of();
+            }
+            for (Map.Entry<String, CompressedBitmap> entry : bitmaps.entrySet()) {
+                long count = CompressedBitmap.andCardinality(matching, entry.getValue());
+                if (count > 0) {
+                    counts.add(new FacetCountDto(entry.getKey(), count));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top(counts, limit);
+    }
+
+    /**
+     * Replaces the tags of a project with {@code names}, already normalized.
+     */
+    public void indexProject(Long projectId, Collection<String> names) {
+        if (projectId == null || !indexable(projectId)) {
+            return;
+        }
+        int id = projectId.intValue();
+        List<String> tags = List.copyOf(names);
+        write(() -> {
+            unindex(id);
+            for (String name : tags) {
+                bitmaps.computeIfAbsent(name, key -> new CompressedBitmap()).add(id);
+            }
+        });
+    }
+
+    public void removeProjects(Collection<Long> projectIds) {
+        List<Long> ids = List.copyOf(projectIds);
+        write(() -> {
+            for (Long projectId : ids) {
+                // Larger ids were never indexed
+                if (projectId <= Integer.MAX_VALUE) {
+                    unindex(projectId.intValue());
+                }
+            }
+        });
+    }
+
+    private static boolean indexable(long projectId) {
+        if (projectId <= Integer.MAX_VALUE) {
+            return true;
+        }
+        logger.error("Project {} is past the tag filter's int id range; tag filters will not list it", projectId);
+        return false;
+    }
+
+    // The write reads the bitmaps field when it runs, so a replay lands on the loaded bitmaps
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<FacetCountDto> top(List<FacetCountDto> counts, int limit) {
+        counts.sort(Comparator.comparingLong(FacetCountDto::count).reversed().thenComparing(FacetCountDto::name));
+        return counts.size() > limit ? List.copyOf(counts.subList(0, limit)) : counts;
+    }
+
+    // Probes every tag rather than remembering each project's tags; a lookup per tag is cheap
+    private void unindex(int id) {
+        bitmaps.values().removeIf(bitmap -> bitmap.remove(id) && bitmap.isEmpty());
+    }
+
+    private CompressedBitmap matching(Collection<String> names, boolean all) {
+        List<CompressedBitmap> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            CompressedBitmap bitmap = bitmaps.get(name);
+            if (bitmap != null) {
+                selected.add(bitmap);
+            } else if (all) {
+                return new CompressedBitmap();
+            }
+        }
+        if (selected.isEmpty()) {
+            return new CompressedBitmap();
+        }
+        // Smallest first, so every intersection is at most as large as the rarest tag
+        selected.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+        CompressedBitmap result = selected.get(0);
+        for (int i = 1; i < selected.size(); i++) {
+            result = all ? CompressedBitmap.and(result, selected.get(i)) : CompressedBitmap.or(result, selected.get(i));
+        }
+        return result;
+    }
+}
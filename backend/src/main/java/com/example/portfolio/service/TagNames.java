@@ -0,0 +1,41 @@
+package com.example.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normal form of project tags: trimmed, inner whitespace collapsed and
+ * lower-cased, so "Spring  Boot" and "spring boot" are the same tag. The
+ * V5 migration applies the same rules to existing rows.
+ */
+public final class TagNames {
+    private TagNames() {
+    }
+
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return "";
+        }
+        return tag.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct normalized names from a comma-separated list, in order of
+     * first appearance.
+     */
+    public static List<String> parse(String tags) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                String name = normalize(tag);
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.OwnerCount;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.web.dto.ProfileMapper;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import com.example.portfolio.web.dto.RecentUpdateDto;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cached keyset pages of the team listing and the profile parts of the home
+ * page bootstrap. Entries are cleared as a whole whenever a profile is
+ * created, edited or touched by a write to one of its projects or experiences.
+ */
+@Component
+public class TeamPageCache {
+    private final ProfileRepository profileRepository;
+    private final ExperienceRepository experienceRepository;
+
+    public TeamPageCache(ProfileRepository profileRepository, ExperienceRepository experienceRepository) {
+        this.profileRepository = profileRepository;
+        this.experienceRepository = experienceRepository;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TEAM_PAGES_CACHE, key = "#afterId + ':' + #limit")
+    public KeysetPage<ProfileSummaryDto> loadPage(long afterId, int limit) {
+        return KeysetPage.of(
+                profileRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1)).stream()
+                        .map(ProfileMapper::toSummary)
+                        .toList(),
+                limit,
+                ProfileSummaryDto::id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TEAM_PAGES_CACHE, key = "'count'")
+    public long count() {
+        return profileRepository.count();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TEAM_PAGES_CACHE, key = "'recent:' + #limit")
+    public List<RecentUpdateDto> recentUpdates(int limit) {
+        return profileRepository.findAllByOrderByUpdatedAtDescIdDesc(Limit.of(limit)).stream()
+                .map(profile -> new RecentUpdateDto(RecentUpdateDto.PROFILE, profile.getId(), profile.getName(),
+                        profile.getSlug(), profile.getUpdatedAt()))
+                .toList();
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TEAM_PAGES_CACHE, key = "'experienceCounts'")
+    public Map<Long, Long> experienceCountsByProfile() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (OwnerCount row : experienceRepository.countByProfile()) {
+            if (row.getOwnerId() != null) {
+                counts.put(row.getOwnerId(), row.getTotal());
+            }
+        }
+        return Map.copyOf(counts);
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Inverted index from character trigrams to the documents containing them,
+ * scored like {@code pg_trgm}'s {@code similarity}: shared trigrams over
+ * the union of both trigram sets. Words are lower-cased and padded with two
+ * leading blanks and one trailing blank, so word starts weigh more than
+ * their middles and small typos still leave most trigrams intact.
+ * <p>
+ * Posting lists are delta-encoded varints. Document numbers only ever grow,
+ * so adding a document appends to each of its lists; removing one rewrites
+ * only the lists of its own trigrams. Not thread-safe;
+ * {@link FuzzySearchService} guards it with a read-write lock.
+ */
+final class TrigramIndex {
+
+    record Document(String type, long id, String field, String text, long ownerId) {
+    }
+
+    record Match(Document document, float similarity) {
+    }
+
+    private record Stored(Document document, int trigrams) {
+    }
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> numbers = new HashMap<>();
+    private final Map<Integer, Stored> documents = new HashMap<>();
+    private int nextNumber;
+
+    /**
+     * Adds or replaces the document known as {@code identity}; documents
+     * without any trigram are only removed.
+     */
+    void put(String identity, Document document) {
+        remove(identity);
+        long[] trigrams = trigrams(document.text());
+        if (trigrams.length == 0) {
+            return;
+        }
+        int number = nextNumber++;
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).append(number);
+        }
+        numbers.put(identity, number);
+        documents.put(number, new Stored(document, trigrams.length));
+    }
+
+    boolean remove(String identity) {
+        Integer number = numbers.remove(identity);
+        if (number == null) {
+            return false;
+        }
+        Stored stored = documents.remove(number);
+        for (long trigram : trigrams(stored.document().text())) {
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(number) && list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every document whose owner is {@code ownerId}; a full scan,
+     * meant for the rare account deletion.
+     */
+    void removeOwnedBy(long ownerId) {
+        List<String> owned = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : numbers.entrySet()) {
+            if (documents.get(entry.getValue()).document().ownerId() == ownerId) {
+                owned.add(entry.getKey());
+            }
+        }
+        owned.forEach(this::remove);
+    }
+
+    /**
+     * Documents at least {@code threshold} similar to {@code query}, most
+     * similar first.
+     */
+    List<Match> search(String query, float threshold) {
+        long[] trigrams = trigrams(query);
+        if (trigrams.length == 0) {
+            return List.of();
+        }
+        // Counting into a dense array beats boxing every candidate into a map
+        int[] shared = new int[nextNumber];
+        int[][] touched = {new int[64]};
+        int[] candidates = new int[1];
+        for (long trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            list.forEach(number -> {
+                if (shared[number]++ == 0) {
+                    if (candidates[0] == touched[0].length) {
+                        touched[0] = Arrays.copyOf(touched[0], candidates[0] * 2);
+                    }
+                    touched[0][candidates[0]++] = number;
+                }
+            });
+        }
+        // Similarity can only reach the threshold if enough of the query's trigrams are shared
+        float needed = threshold * trigrams.length;
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < candidates[0]; i++) {
+            int number = touched[0][i];
+            int common = shared[number];
+            if (common < needed) {
+                continue;
+            }
+            Stored stored = documents.get(number);
+            float similarity = (float) common / (trigrams.length + stored.trigrams() - common);
+            if (similarity >= threshold) {
+                matches.add(new Match(stored.document(), similarity));
+            }
+        }
+        matches.sort(Comparator.comparing(Match::similarity).reversed()
+                .thenComparing(match -> match.document().text()));
+        return matches;
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    int trigramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Distinct trigrams of {@code text}, packed three chars to a long and sorted.
+     */
+    static long[] trigrams(String text) {
+        if (text == null) {
+            return new long[0];
+        }
+        long[] found = new long[16];
+        int size = 0;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                if (size == found.length) {
+                    found = Arrays.copyOf(found, size * 2);
+                }
+                found[size++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(found, 0, size).sorted().distinct().toArray();
+    }
+
+    /**
+     * Ascending document numbers as varint-encoded gaps.
+     */
+    private static final class PostingList {
+        private byte[] data = new byte[4];
+        private int length;
+        private int count;
+        private int last = -1;
+
+        void append(int number) {
+            int gap = number - last;
+            while (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((gap & ~0x7F) != 0) {
+                data[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[length++] = (byte) gap;
+            last = number;
+            count++;
+        }
+
+        void forEach(IntConsumer consumer) {
+            int position = 0;
+            int number = -1;
+            while (position < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                number += gap;
+                consumer.accept(number);
+            }
+        }
+
+        boolean remove(int number) {
+            int[] kept = new int[count];
+            int[] size = new int[1];
+            boolean[] found = new boolean[1];
+            forEach(current -> {
+                if (current == number) {
+                    found[0] = true;
+                } else {
+                    kept[size[0]++] = current;
+                }
+            });
+            if (!found[0]) {
+                return false;
+            }
+            data = new byte[Math.max(4, length)];
+            length = 0;
+            count = 0;
+            last = -1;
+            for (int i = 0; i < size[0]; i++) {
+                append(kept[i]);
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.portfolio.service;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECFieldFp;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPrivateKeySpec;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Arrays;
+
+/**
+ * Message encryption for web push (RFC 8291, {@code aes128gcm} content
+ * coding of RFC 8188) and the P-256 key handling around it, on the JDK's
+ * own providers.
+ * <p>
+ * A message is a single record: the salt, record size and the sender's
+ * public key as key id, then the AES-GCM ciphertext of the payload and its
+ * padding delimiter.
+ */
+final class WebPushCrypto {
+    /** Largest payload that fits the single 4096-byte record. */
+    static final int MAX_PAYLOAD = 4096 - 16 - 1;
+
+    private static final int RECORD_SIZE = 4096;
+    private static final int PUBLIC_KEY_LENGTH = 65;
+    private static final byte[] KEY_INFO = "WebPush: info\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CEK_INFO = "Content-Encoding: aes128gcm\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NONCE_INFO = "Content-Encoding: nonce\0".getBytes(StandardCharsets.US_ASCII);
+    private static final ECParameterSpec P256 = p256();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private WebPushCrypto() {
+    }
+
+    /**
+     * Encrypts {@code payload} for the browser holding {@code uaPublic} and
+     * {@code authSecret}. The sender key pair may be shared by the messages
+     * of one broadcast: the shared secret differs per browser and every
+     * message gets a fresh salt.
+     */
+    static byte[] encrypt(byte[] payload, ECPublicKey uaPublic, byte[] authSecret, KeyPair sender)
+            throws GeneralSecurityException {
+        if (payload.length > MAX_PAYLOAD) {
+            throw new IllegalArgumentException("Push payload of " + payload.length + " bytes exceeds one record");
+        }
+        byte[] uaKey = encode(uaPublic);
+        byte[] senderKey = encode((ECPublicKey) sender.getPublic());
+
+        KeyAgreement agreement = KeyAgreement.getInstance("ECDH");
+        agreement.init(sender.getPrivate());
+        agreement.doPhase(uaPublic, true);
+        byte[] sharedSecret = agreement.generateSecret();
+
+        byte[] keyInfo = concat(KEY_INFO, uaKey, senderKey);
+        byte[] ikm = hkdf(authSecret, sharedSecret, keyInfo, 32);
+        byte[] salt = new byte[16];
+        RANDOM.nextBytes(salt);
+        byte[] cek = hkdf(salt, ikm, CEK_INFO, 16);
+        byte[] nonce = hkdf(salt, ikm, NONCE_INFO, 12);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(cek, "AES"), new GCMParameterSpec(128, nonce));
+        // The last (and only) record ends with the 0x02 delimiter
+        byte[] record = Arrays.copyOf(payload, payload.length + 1);
+        record[payload.length] = 2;
+        byte[] ciphertext = cipher.doFinal(record);
+
+        return ByteBuffer.allocate(16 + 4 + 1 + senderKey.length + ciphertext.length)
+                .put(salt)
+                .putInt(RECORD_SIZE)
+                .put((byte) senderKey.length)
+                .put(senderKey)
+                .put(ciphertext)
+                .array();
+    }
+
+    static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), RANDOM);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("P-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Reads an uncompressed P-256 point, as browsers hand out in
+     * {@code keys.p256dh}.
+     *
+     * @throws IllegalArgumentException when it is not a point on the curve
+     */
+    static ECPublicKey publicKey(byte[] uncompressed) {
+        if (uncompressed.length != PUBLIC_KEY_LENGTH || uncompressed[0] != 4) {
+            throw new IllegalArgumentException("Not an uncompressed P-256 point");
+        }
+        BigInteger x = new BigInteger(1, Arrays.copyOfRange(uncompressed, 1, 33));
+        BigInteger y = new BigInteger(1, Arrays.copyOfRange(uncompressed, 33, 65));
+        BigInteger p = ((ECFieldFp) P256.getCurve().getField()).getP();
+        // y^2 = x^3 + ax + b (mod p)
+        BigInteger curve = x.pow(3).add(P256.getCurve().getA().multiply(x)).add(P256.getCurve().getB()).mod(p);
+        if (x.compareTo(p) >= 0 || y.compareTo(p) >= 0 || !y.modPow(BigInteger.TWO, p).equals(curve)) {
+            throw new IllegalArgumentException("Not a point on P-256");
+        }
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(new ECPoint(x, y), P256));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("Not a P-256 public key", ex);
+        }
+    }
+
+    static ECPrivateKey privateKey(byte[] scalar) {
+        try {
+            return (ECPrivateKey) KeyFactory.getInstance("EC")
+                    .generatePrivate(new ECPrivateKeySpec(new BigInteger(1, scalar), P256));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("Not a P-256 private key", ex);
+        }
+    }
+
+    /** The uncompressed point: 0x04, then x and y as 32 bytes each. */
+    static byte[] encode(ECPublicKey key) {
+        byte[] encoded = new byte[PUBLIC_KEY_LENGTH];
+        encoded[0] = 4;
+        copyUnsigned(key.getW().getAffineX(), encoded, 1);
+        copyUnsigned(key.getW().getAffineY(), encoded, 33);
+        return encoded;
+    }
+
+    static byte[] encode(ECPrivateKey key) {
+        byte[] encoded = new byte[32];
+        copyUnsigned(key.getS(), encoded, 0);
+        return encoded;
+    }
+
+    // HKDF-SHA-256 (RFC 5869) for outputs of at most one block
+    static byte[] hkdf(byte[] salt, byte[] ikm, byte[] info, int length) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(salt, "HmacSHA256"));
+        byte[] prk = mac.doFinal(ikm);
+        mac.init(new SecretKeySpec(prk, "HmacSHA256"));
+        mac.update(info);
+        mac.update((byte) 1);
+        return Arrays.copyOf(mac.doFinal(), length);
+    }
+
+    private static void copyUnsigned(BigInteger value, byte[] into, int offset) {
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, into, offset + 32 - length, length);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (byte[] part : parts) {
+            buffer.put(part);
+        }
+        return buffer.array();
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("P-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.BootstrapService;
+import com.example.portfolio.service.ContentVersions;
+import com.example.portfolio.web.dto.BootstrapDto;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single round trip for the home page: the first team page, featured
+ * projects, recent updates and per-member counts.
+ */
+@RestController
+public class BootstrapController extends BaseVersionedController {
+    private static final CacheControl PUBLIC_CACHE = CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+    private static final String TEAM_CURSOR_SCOPE = "team";
+
+    private final BootstrapService bootstrapService;
+    private final ProfileRepository profileRepository;
+    private final ContentVersions contentVersions;
+    private final PrecompressedResponses precompressed;
+
+    public BootstrapController(BootstrapService bootstrapService, ProfileRepository profileRepository,
+                               ContentVersions contentVersions, PrecompressedResponses precompressed) {
+        this.bootstrapService = bootstrapService;
+        this.profileRepository = profileRepository;
+        this.contentVersions = contentVersions;
+        this.precompressed = precompressed;
+    }
+
+    @GetMapping("/bootstrap")
+    public ResponseEntity<byte[]> bootstrap(WebRequest request) {
+        // Project and experience writes touch their owner, so the team stamp moves with every part
+        ProfileRepository.TeamStamp stamp = profileRepository.findTeamStamp();
+        String eTag = ETags.strong(ConditionalGet.stamp(stamp.getLastModified()) + "-" + stamp.getProfiles()
+                + "-" + contentVersions.projects());
+        return precompressed.respond(request, "bootstrap", eTag, ConditionalGet.toInstant(stamp.getLastModified()), PUBLIC_CACHE,
+                () -> {
+                    BootstrapService.Parts parts = bootstrapService.load();
+                    return new BootstrapDto(
+                            KeysetCursors.toDto(TEAM_CURSOR_SCOPE, parts.team(), parts.teamSize(), null),
+                            parts.featuredProjects(),
+                            parts.recentUpdates(),
+                            parts.memberCounts());
+                });
+    }
+}
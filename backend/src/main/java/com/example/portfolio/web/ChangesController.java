@@ -0,0 +1,39 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.service.ChangeFeedService;
+import com.example.portfolio.web.dto.ChangesDto;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Delta sync for clients that keep a copy of the team: profiles,
+ * experiences and projects created, updated or deleted since a cursor.
+ * Without {@code since} the feed starts from the beginning; a cursor older
+ * than the tombstone retention is answered with 410 and the client has to
+ * sync from the start.
+ */
+@RestController
+public class ChangesController extends BaseVersionedController {
+    private static final String CURSOR_SCOPE = "changes";
+
+    private final ChangeFeedService changeFeedService;
+    private final PaginationProperties pagination;
+
+    public ChangesController(ChangeFeedService changeFeedService, PaginationProperties pagination) {
+        this.changeFeedService = changeFeedService;
+        this.pagination = pagination;
+    }
+
+    @GetMapping("/changes")
+    public ChangesDto changes(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        ChangeFeedService.Position position = KeysetCursors.decodePosition(CURSOR_SCOPE, since);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        ChangeFeedService.Page page = changeFeedService.changesSince(position, size);
+        return new ChangesDto(page.changes(), KeysetCursors.encode(CURSOR_SCOPE, page.next()), page.hasMore(), size);
+    }
+}
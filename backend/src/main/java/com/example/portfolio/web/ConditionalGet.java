@@ -0,0 +1,81 @@
+package com.example.portfolio.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for controllers. Validators are computed up front
+ * from cheap version stamps; the body supplier only runs when the client's
+ * copy is stale, so 304 responses never load the underlying data.
+ */
+public final class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request,
+                                                String eTag,
+                                                Instant lastModified,
+                                                CacheControl cacheControl,
+                                                Supplier<T> body) {
+        if (isNotModified(request, eTag, lastModified)) {
+            return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified, cacheControl).build();
+        }
+        return validators(ResponseEntity.ok(), eTag, lastModified, cacheControl).body(body.get());
+    }
+
+    /**
+     * Converts an entity timestamp (stored in the JVM's zone) to an instant.
+     */
+    public static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    /**
+     * Stable tag value for a timestamp, at the microsecond precision the database keeps.
+     */
+    public static String stamp(LocalDateTime timestamp) {
+        Instant instant = toInstant(timestamp);
+        return instant != null ? Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, instant)) : "0";
+    }
+
+    static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder,
+                                                 String eTag,
+                                                 Instant lastModified,
+                                                 CacheControl cacheControl) {
+        builder.eTag(eTag).cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    static boolean isNotModified(WebRequest request, String eTag, Instant lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        // If-None-Match takes precedence; If-Modified-Since is only consulted without it
+        if (ifNoneMatch != null) {
+            return ETags.matchesIfNoneMatch(ifNoneMatch, eTag);
+        }
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+}
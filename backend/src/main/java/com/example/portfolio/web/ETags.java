@@ -0,0 +1,65 @@
+package com.example.portfolio.web;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Helpers for building entity tags and evaluating {@code If-None-Match}.
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String strong(String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * Weak comparison as required for {@code If-None-Match} (RFC 9110 13.1.2):
+     * the header may be {@code *} or a comma-separated list of strong or
+     * {@code W/}-prefixed tags.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (!StringUtils.hasText(ifNoneMatch) || eTag == null) {
+            return false;
+        }
+        String current = opaqueTag(eTag);
+        int index = 0;
+        int length = ifNoneMatch.length();
+        while (index < length) {
+            char c = ifNoneMatch.charAt(index);
+            if (c == ',' || Character.isWhitespace(c)) {
+                index++;
+                continue;
+            }
+            if (c == '*') {
+                return true;
+            }
+            int start = index;
+            if (ifNoneMatch.startsWith("W/", index)) {
+                index += 2;
+            }
+            if (index < length && ifNoneMatch.charAt(index) == '"') {
+                int close = ifNoneMatch.indexOf('"', index + 1);
+                if (close < 0) {
+                    return false;
+                }
+                index = close + 1;
+            } else {
+                int comma = ifNoneMatch.indexOf(',', index);
+                index = comma < 0 ? length : comma;
+            }
+            if (opaqueTag(ifNoneMatch.substring(start, index).trim()).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+        if (opaque.length() >= 2 && opaque.startsWith("\"") && opaque.endsWith("\"")) {
+            return opaque.substring(1, opaque.length() - 1);
+        }
+        return opaque;
+    }
+}
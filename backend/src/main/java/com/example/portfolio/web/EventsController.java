@@ -0,0 +1,56 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.EventStreamProperties;
+import com.example.portfolio.service.EventStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Server-Sent Events stream of committed changes: one {@code profile},
+ * {@code experience} or {@code project} event per write, carrying the same
+ * type, op and ids as the change feed. Reconnecting clients send
+ * {@code Last-Event-ID} and get what they missed, or a {@code reset} event
+ * when this node no longer has it.
+ */
+@RestController
+public class EventsController extends BaseVersionedController {
+    private final EventStreamService eventStreamService;
+    private final EventStreamProperties properties;
+
+    public EventsController(EventStreamService eventStreamService, EventStreamProperties properties) {
+        this.eventStreamService = eventStreamService;
+        this.properties = properties;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        EventStreamService.Subscription subscription = eventStreamService.subscribe(new EmitterSink(emitter), lastEventId);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements EventStreamService.Sink {
+        @Override
+        public void send(long id, String name, String data) throws IOException {
+            emitter.send(SseEmitter.event().id(Long.toString(id)).name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment(""));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
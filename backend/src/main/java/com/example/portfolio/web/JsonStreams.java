@@ -0,0 +1,72 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Writes export rows straight to the response as a JSON array, or as
+ * newline-delimited JSON when the client accepts {@code application/x-ndjson}.
+ */
+public final class JsonStreams {
+    private JsonStreams() {
+    }
+
+    @FunctionalInterface
+    public interface Export<T> {
+        long writeTo(ExportService.RowSink<T> sink) throws IOException;
+    }
+
+    public static <T> ResponseEntity<StreamingResponseBody> respond(ObjectMapper objectMapper, String accept, Export<T> export) {
+        boolean ndjson = prefersNdjson(accept);
+        // Let the generator buffer fill instead of flushing the socket after every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                if (ndjson) {
+                    // Rows are separated by the newline alone, not the default space between root values
+                    generator.setRootValueSeparator(null);
+                    export.writeTo(row -> {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                    });
+                } else {
+                    generator.writeStartArray();
+                    export.writeTo(row -> writer.writeValue(generator, row));
+                    generator.writeEndArray();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    static boolean prefersNdjson(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return false;
+        }
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                    return true;
+                }
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+            }
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.service.ChangeFeedService;
+import com.example.portfolio.service.KeysetPage;
+import com.example.portfolio.web.dto.PageDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Opaque cursor tokens and page size handling for keyset pagination. A
+ * cursor carries the listing it belongs to and the last id served, so a
+ * token from one listing is rejected by another. Ranked listings also carry
+ * the last rank, since they are ordered by rank before id; the change feed
+ * carries the instant and table of the last change.
+ */
+public final class KeysetCursors {
+    /**
+     * Sent with the legacy unpaginated lists, which stop at the configured
+     * cap: the number of rows there are in all, so clients can tell a cut
+     * off list from a complete one and move to the paginated form.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursors() {
+    }
+
+    public static <T> ResponseEntity<T> withTotalCount(ResponseEntity<T> response, long total) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(TOTAL_COUNT_HEADER, Long.toString(total));
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    public static String encode(String scope, long lastId) {
+        return ENCODER.encodeToString((scope + ":" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id to continue after, {@code 0} when no cursor is given.
+     */
+    public static long decode(String scope, String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(':');
+            if (separator < 0 || !decoded.substring(0, separator).equals(scope)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            long lastId = Long.parseLong(decoded.substring(separator + 1));
+            if (lastId < 0) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            return lastId;
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor", ex);
+        }
+    }
+
+    public static String encode(String scope, float lastRank, long lastId) {
+        return encode(scope + ":" + Integer.toHexString(Float.floatToIntBits(lastRank)), lastId);
+    }
+
+    /**
+     * Returns the position to continue after; the first page starts above
+     * every rank.
+     */
+    public static Ranked decodeRanked(String scope, String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return Ranked.FIRST;
+        }
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 3 || !parts[0].equals(scope)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            float lastRank = Float.intBitsToFloat(Integer.parseUnsignedInt(parts[1], 16));
+            long lastId = Long.parseLong(parts[2]);
+            if (lastId < 0 || Float.isNaN(lastRank)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            return new Ranked(lastRank, lastId);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor", ex);
+        }
+    }
+
+    public static String encode(String scope, ChangeFeedService.Position position) {
+        LocalDateTime at = position.at();
+        return encode(scope + ":" + at.toEpochSecond(ZoneOffset.UTC) + "." + at.getNano() + ":" + position.kind(), position.id());
+    }
+
+    /**
+     * Returns the change to continue after; the first page starts before
+     * every change.
+     */
+    public static ChangeFeedService.Position decodePosition(String scope, String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ChangeFeedService.Position.FIRST;
+        }
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 4 || !parts[0].equals(scope)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            int dot = parts[1].indexOf('.');
+            if (dot < 0) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            LocalDateTime at = LocalDateTime.ofEpochSecond(Long.parseLong(parts[1].substring(0, dot)),
+                    Integer.parseInt(parts[1].substring(dot + 1)), ZoneOffset.UTC);
+            int kind = Integer.parseInt(parts[2]);
+            long lastId = Long.parseLong(parts[3]);
+            // Kind -1 is the position before every change, handed out while the feed is still empty
+            if (lastId < 0 || kind < -1) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            return new ChangeFeedService.Position(at, kind, lastId);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor", ex);
+        }
+    }
+
+    public static int pageSize(Integer requested, PaginationProperties properties) {
+        if (requested == null) {
+            return properties.getDefaultPageSize();
+        }
+        if (requested < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "Limit must be positive");
+        }
+        return Math.min(requested, properties.getMaxPageSize());
+    }
+
+    public static <T> PageDto<T> toDto(String scope, KeysetPage<T> page, int limit, Long total) {
+        String next = page.hasMore() ? encode(scope, page.lastId()) : null;
+        return new PageDto<>(page.items(), next, limit, total);
+    }
+
+    public record Ranked(float lastRank, long lastId) {
+        public static final Ranked FIRST = new Ranked(Float.MAX_VALUE, 0L);
+    }
+}
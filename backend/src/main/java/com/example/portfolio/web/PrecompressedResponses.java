@@ -0,0 +1,219 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.CacheConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Conditional GET for public JSON that also keeps the serialized body and
+ * its gzip encoding in the {@code responseBodies} cache, so serialization and
+ * compression happen once per change instead of once per request. Each
+ * resource has a single entry per encoding (JSON or CBOR) that is replaced
+ * when its ETag moves on.
+ */
+@Component
+public class PrecompressedResponses {
+    static final String GZIP = "gzip";
+
+    static final String CBOR = "cbor";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+
+    public PrecompressedResponses(CacheManager cacheManager,
+                                  ObjectMapper objectMapper,
+                                  MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+    }
+
+    record EncodedBody(String eTag, byte[] identity, byte[] gzip) implements Serializable {
+    }
+
+    public ResponseEntity<byte[]> respond(WebRequest request,
+                                          String key,
+                                          String eTag,
+                                          Instant lastModified,
+                                          CacheControl cacheControl,
+                                          Supplier<?> body) {
+        return respond(request, key, eTag, lastModified, cacheControl, MediaType.APPLICATION_JSON, body);
+    }
+
+    /**
+     * Variant for negotiated representations; {@code key} and {@code eTag}
+     * must already be specific to {@code contentType}. Clients that prefer the
+     * CBOR counterpart of {@code contentType} receive that encoding instead.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request,
+                                          String key,
+                                          String eTag,
+                                          Instant lastModified,
+                                          CacheControl cacheControl,
+                                          MediaType contentType,
+                                          Supplier<?> body) {
+        MediaType binaryType = binaryVariant(contentType);
+        boolean binary = prefersBinary(request.getHeader(HttpHeaders.ACCEPT), binaryType);
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // Each encoding is its own representation and needs its own strong tag
+        String bodyTag = binary ? suffixed(eTag, CBOR) : eTag;
+        String representationTag = gzip ? suffixed(bodyTag, GZIP) : bodyTag;
+        if (ConditionalGet.isNotModified(request, representationTag, lastModified)) {
+            return ConditionalGet.validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), representationTag, lastModified, cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        EncodedBody encoded = binary
+                ? lookup(key + ":" + CBOR, bodyTag, cborMapper, body)
+                : lookup(key, bodyTag, objectMapper, body);
+        byte[] bytes = gzip ? encoded.gzip() : encoded.identity();
+        ResponseEntity.BodyBuilder ok = ConditionalGet.validators(ResponseEntity.ok(), representationTag, lastModified, cacheControl)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(binary ? binaryType : contentType)
+                .contentLength(bytes.length);
+        if (gzip) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return ok.body(bytes);
+    }
+
+    private EncodedBody lookup(String key, String eTag, ObjectMapper mapper, Supplier<?> body) {
+        Cache cache = cacheManager.getCache(CacheConfig.RESPONSE_BODIES_CACHE);
+        EncodedBody cached = cache != null ? cache.get(key, EncodedBody.class) : null;
+        if (cached != null && cached.eTag().equals(eTag)) {
+            return cached;
+        }
+        EncodedBody fresh = encode(eTag, mapper, body.get());
+        if (cache != null) {
+            cache.put(key, fresh);
+        }
+        return fresh;
+    }
+
+    private EncodedBody encode(String eTag, ObjectMapper mapper, Object body) {
+        try {
+            byte[] identity = mapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, identity.length / 4));
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(identity);
+            }
+            return new EncodedBody(eTag, identity, compressed.toByteArray());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize response body", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static String suffixed(String eTag, String suffix) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    /**
+     * CBOR counterpart of a JSON media type: {@code application/json} maps to
+     * {@code application/cbor} and {@code +json} suffixes to {@code +cbor}.
+     */
+    static MediaType binaryVariant(MediaType jsonType) {
+        String subtype = jsonType.getSubtype();
+        if (subtype.endsWith("+json")) {
+            return new MediaType(jsonType.getType(), subtype.substring(0, subtype.length() - 4) + CBOR);
+        }
+        return MediaType.APPLICATION_CBOR;
+    }
+
+    /**
+     * True when the highest-quality concrete type in {@code Accept} is
+     * {@code binaryType}; wildcards keep the JSON default.
+     */
+    static boolean prefersBinary(String accept, MediaType binaryType) {
+        if (!StringUtils.hasText(accept)) {
+            return false;
+        }
+        List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : types) {
+            if (type.getQualityValue() <= 0) {
+                continue;
+            }
+            if (type.isWildcardType() || type.isWildcardSubtype()) {
+                return false;
+            }
+            if (type.equalsTypeAndSubtype(binaryType)) {
+                return true;
+            }
+            if (type.getSubtype().equals("json") || type.getSubtype().endsWith("+json")) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * True when {@code Accept-Encoding} accepts gzip with a non-zero quality,
+     * either by name or through {@code *}; an explicit entry wins over the wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        Double named = null;
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(params);
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                named = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double effective = named != null ? named : wildcard;
+        return effective != null && effective > 0;
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+}
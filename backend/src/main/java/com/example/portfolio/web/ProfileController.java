@@ -7,9 +7,11 @@ import com.example.portfolio.service.ProfileService;
 import com.example.portfolio.service.ProjectService;
 import com.example.portfolio.web.dto.*;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -32,12 +34,18 @@ public class ProfileController {
     }
 
     @GetMapping
-    public ProfileDetailDto me() {
+    public ResponseEntity<ProfileDetailDto> me(WebRequest request) {
         System.out.println("DEBUG: ProfileController.me() called");
         Profile profile = currentUserService.requireProfileWithDetails();
-        List<ExperienceDto> experiences = experienceService.list(profile);
-        List<ProjectDto> projects = projectService.listOwned(profile);
-        return ProfileMapper.toDetail(profile, experiences, projects);
+        return ConditionalGet.respond(request,
+                ETags.strong(ConditionalGet.stamp(profile.getUpdatedAt())),
+                ConditionalGet.toInstant(profile.getUpdatedAt()),
+                CacheControl.noCache().cachePrivate(),
+                () -> {
+                    List<ExperienceDto> experiences = experienceService.list(profile);
+                    List<ProjectDto> projects = projectService.listOwned(profile);
+                    return ProfileMapper.toDetail(profile, experiences, projects);
+                });
     }
 
     @PutMapping
@@ -1,68 +1,232 @@
 package com.example.portfolio.web;
 
+import com.example.portfolio.config.ApiVersionConfig;
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.repo.SparseFieldRepository;
+import com.example.portfolio.service.ContentVersions;
+import com.example.portfolio.service.ExportService;
+import com.example.portfolio.service.FacetService;
+import com.example.portfolio.service.KeysetPage;
+import com.example.portfolio.service.ProjectListing;
 import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.RelatedProjectsService;
+import com.example.portfolio.service.TagNames;
+import com.example.portfolio.web.dto.FacetCountDto;
+import com.example.portfolio.web.dto.PageDto;
 import com.example.portfolio.web.dto.ProjectDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectsController {
+    private static final String CURSOR_SCOPE = "projects";
+    private static final String TAGGED_CURSOR_SCOPE = "projects-tagged";
+
     private final ProjectService projectService;
+    private final ContentVersions contentVersions;
+    private final PaginationProperties pagination;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+    private final PrecompressedResponses precompressed;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final FacetService facetService;
+    private final RelatedProjectsService relatedProjectsService;
 
-    public ProjectsController(ProjectService projectService) {
+    public ProjectsController(ProjectService projectService, ContentVersions contentVersions, PaginationProperties pagination,
+                              ExportService exportService, ObjectMapper objectMapper, PrecompressedResponses precompressed,
+                              SparseFieldRepository sparseFieldRepository, FacetService facetService,
+                              RelatedProjectsService relatedProjectsService) {
         this.projectService = projectService;
+        this.contentVersions = contentVersions;
+        this.pagination = pagination;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+        this.precompressed = precompressed;
+        this.sparseFieldRepository = sparseFieldRepository;
+        this.facetService = facetService;
+        this.relatedProjectsService = relatedProjectsService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectDto>> all(
+    public ResponseEntity<byte[]> all(
+            @RequestParam(name = "memberSlug", required = false) String memberSlug,
+            WebRequest request
+    ) {
+        // Read the owner stamp first so the tag can only lag behind the owner summaries in the body
+        long profilesVersion = contentVersions.profiles();
+        ProjectListing listing = projectService.getProjectListing(memberSlug);
+        String eTag = ETags.strong(listing.version() + "-" + profilesVersion);
+
+        String key = "projects:" + (StringUtils.hasText(memberSlug) ? memberSlug : CacheConfig.PROJECTS_ALL_KEY);
+        return KeysetCursors.withTotalCount(precompressed.respond(request, key, eTag, null,
+                CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic(),
+                () -> projectService.toDtos(listing)), projectService.countProjects(memberSlug));
+    }
+
+    /**
+     * Normalized variant of {@link #all}, selected with
+     * {@code Accept: application/vnd.portfolio.v2+json} (or {@code +cbor}):
+     * owners are listed once under {@code includes} instead of being embedded
+     * in every project.
+     */
+    @GetMapping(produces = {ApiVersionConfig.V2_MEDIA_TYPE, ApiVersionConfig.V2_CBOR_MEDIA_TYPE})
+    public ResponseEntity<byte[]> allNormalized(
             @RequestParam(name = "memberSlug", required = false) String memberSlug,
-            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+            WebRequest request
     ) {
-        List<ProjectDto> projects = projectService.getProjects(memberSlug);
-        String eTag = generateEtag(projects);
-
-        if (ifNoneMatch != null && ifNoneMatch.equals(eTag)) {
-            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
-                    .eTag(eTag)
-                    .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS))
-                    .build();
+        long profilesVersion = contentVersions.profiles();
+        ProjectListing listing = projectService.getProjectListing(memberSlug);
+        String eTag = ETags.strong(listing.version() + "-" + profilesVersion + "-v2");
+
+        String key = "projects:v2:" + (StringUtils.hasText(memberSlug) ? memberSlug : CacheConfig.PROJECTS_ALL_KEY);
+        return KeysetCursors.withTotalCount(precompressed.respond(request, key, eTag, null,
+                CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic(),
+                MediaType.valueOf(ApiVersionConfig.V2_MEDIA_TYPE),
+                () -> projectService.toNormalizedDto(listing)), projectService.countProjects(memberSlug));
+    }
+
+    /**
+     * Sparse variant of {@link #all}: only the listed fields are selected and
+     * returned; owner fields are requested as {@code owner.<field>}.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> allFields(
+            @RequestParam("fields") String fields,
+            @RequestParam(name = "memberSlug", required = false) String memberSlug,
+            WebRequest request
+    ) {
+        List<String> selected = SparseFields.parse(fields, SparseFieldRepository.projectFields());
+        String eTag = ETags.strong(contentVersions.projects() + "-" + contentVersions.profiles()
+                + "-" + String.join(",", selected));
+        return KeysetCursors.withTotalCount(ConditionalGet.respond(request, eTag, null,
+                CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic(),
+                () -> sparseFieldRepository.findProjectList(selected, memberSlug, pagination.getUnpaginatedCap())),
+                projectService.countProjects(memberSlug));
+    }
+
+    @GetMapping("/page")
+    public PageDto<ProjectDto> page(
+            @RequestParam(name = "memberSlug", required = false) String memberSlug,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        long afterId = KeysetCursors.decode(CURSOR_SCOPE, cursor);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        Long total = includeTotal ? projectService.countProjects(memberSlug) : null;
+        return KeysetCursors.toDto(CURSOR_SCOPE, projectService.getProjectPage(memberSlug, afterId, size), size, total);
+    }
+
+    /**
+     * Projects carrying all of the comma-separated {@code tags}, or any of
+     * them with {@code match=any}, ordered by id. Tags are matched in their
+     * normalized form, so case and extra spaces do not matter. With
+     * {@code includeFacets} the page also counts the other tags of the
+     * matching projects.
+     */
+    @GetMapping(params = "tags")
+    public PageDto<ProjectDto> tagged(
+            @RequestParam("tags") String tags,
+            @RequestParam(name = "match", defaultValue = "all") String match,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(name = "includeFacets", defaultValue = "false") boolean includeFacets
+    ) {
+        List<String> names = TagNames.parse(tags);
+        if (names.isEmpty()) {
+            throw new ResponseStatusException(BAD_REQUEST, "At least one tag is required");
         }
+        boolean matchAll = switch (match) {
+            case "all" -> true;
+            case "any" -> false;
+            default -> throw new ResponseStatusException(BAD_REQUEST, "match must be 'all' or 'any'");
+        };
+        long afterId = KeysetCursors.decode(TAGGED_CURSOR_SCOPE, cursor);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        Long total = includeTotal ? projectService.countTagged(names, matchAll) : null;
+        PageDto<ProjectDto> page = KeysetCursors.toDto(TAGGED_CURSOR_SCOPE,
+                projectService.getTaggedPage(names, matchAll, afterId, size), size, total);
+        return includeFacets ? page.withFacets(facetService.tagFacets(names, matchAll)) : page;
+    }
 
-        return ResponseEntity.ok()
-                .eTag(eTag)
-                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
-                .body(projects);
+    /**
+     * Every tag in use with its project count, most used first.
+     */
+    @GetMapping("/tags")
+    public ResponseEntity<List<FacetCountDto>> tagCounts(WebRequest request) {
+        String eTag = ETags.strong(contentVersions.projects() + "-tags");
+        return ConditionalGet.respond(request, eTag, null,
+                CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic(),
+                projectService::tagCounts);
     }
 
-    private String generateEtag(List<ProjectDto> projects) {
-        String signature = projects.stream()
-                .map(p -> (p.id() != null ? p.id() : 0L) + "|" + p.title() + "|" + (p.owner() != null ? p.owner().slug() : ""))
-                .collect(Collectors.joining("::"));
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-1");
-            byte[] hash = digest.digest(signature.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hash) {
-                sb.append(String.format("%02x", b));
-            }
-            return "\"" + sb + "\"";
-        } catch (NoSuchAlgorithmException e) {
-            return "\"" + signature.hashCode() + "\"";
+    /**
+     * Projects most related to project {@code id} by their tags, most
+     * related first, from lists kept in memory. {@code limit} can only lower
+     * the configured number of neighbours.
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<ProjectDto>> related(
+            @PathVariable Long id,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest request
+    ) {
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "limit must be at least 1");
         }
+        int size = limit != null ? limit : Integer.MAX_VALUE;
+        // Rebuilds can reorder the lists without any project write, so their generation is part of the tag
+        String eTag = ETags.strong(contentVersions.projects() + "-" + contentVersions.profiles() + "-"
+                + relatedProjectsService.generation() + "-related-" + id + "-" + size);
+        return ConditionalGet.respond(request, eTag, null,
+                CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic(),
+                () -> projectService.getRelated(id, size));
+    }
+
+    /**
+     * Full listing written row by row as it is read; send
+     * {@code Accept: application/x-ndjson} for newline-delimited output.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreams.respond(objectMapper, accept, exportService::exportProjects);
+    }
+
+    @GetMapping(value = "/page", params = "fields")
+    public PageDto<Map<String, Object>> pageFields(
+            @RequestParam("fields") String fields,
+            @RequestParam(name = "memberSlug", required = false) String memberSlug,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        List<String> selected = SparseFields.parse(fields, SparseFieldRepository.projectFields());
+        long afterId = KeysetCursors.decode(CURSOR_SCOPE, cursor);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        Long total = includeTotal ? projectService.countProjects(memberSlug) : null;
+        List<Map<String, Object>> rows = sparseFieldRepository.findProjects(selected, memberSlug, afterId, size + 1);
+        return KeysetCursors.toDto(CURSOR_SCOPE, KeysetPage.of(rows, size, SparseFields::id), size, total);
     }
 }
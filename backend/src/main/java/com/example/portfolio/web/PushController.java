@@ -0,0 +1,37 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.service.PushSubscriptionService;
+import com.example.portfolio.web.dto.PushSubscriptionRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Web push subscriptions, posted by the frontend's service worker setup.
+ * Subscribers are told about new projects and members; see
+ * {@code app.push.announce}.
+ */
+@RestController
+@RequestMapping("/api/push")
+public class PushController extends BaseVersionedController {
+    private final PushSubscriptionService pushSubscriptionService;
+
+    public PushController(PushSubscriptionService pushSubscriptionService) {
+        this.pushSubscriptionService = pushSubscriptionService;
+    }
+
+    @PostMapping("/subscribe")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void subscribe(@RequestBody PushSubscriptionRequest request) {
+        pushSubscriptionService.subscribe(request);
+    }
+
+    @PostMapping("/unsubscribe")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void unsubscribe(@RequestBody PushSubscriptionRequest request) {
+        pushSubscriptionService.unsubscribe(request);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.repo.SearchRepository;
+import com.example.portfolio.service.FuzzySearchService;
+import com.example.portfolio.service.KeysetPage;
+import com.example.portfolio.service.SearchService;
+import com.example.portfolio.service.SuggestService;
+import com.example.portfolio.web.dto.FuzzyHitDto;
+import com.example.portfolio.web.dto.PageDto;
+import com.example.portfolio.web.dto.SearchHitDto;
+import com.example.portfolio.web.dto.SearchResultsDto;
+import com.example.portfolio.web.dto.SuggestionDto;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Ranked search over members, projects and experiences, grouped by type.
+ * Without {@code type} the first page of every group is returned; a group's
+ * {@code nextCursor} is then followed with that group's {@code type}.
+ * Typeahead suggestions are served from memory by {@link SuggestService},
+ * typo-tolerant matches by {@link FuzzySearchService}.
+ */
+@RestController
+public class SearchController extends BaseVersionedController {
+    private static final String CURSOR_SCOPE = "search-";
+
+    private final SearchService searchService;
+    private final SuggestService suggestService;
+    private final FuzzySearchService fuzzySearchService;
+    private final PaginationProperties pagination;
+
+    public SearchController(SearchService searchService,
+                            SuggestService suggestService,
+                            FuzzySearchService fuzzySearchService,
+                            PaginationProperties pagination) {
+        this.searchService = searchService;
+        this.suggestService = suggestService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.pagination = pagination;
+    }
+
+    @GetMapping("/search")
+    public SearchResultsDto search(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        String query = SearchService.normalize(q);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        List<SearchRepository.Type> types;
+        if (type == null) {
+            if (cursor != null) {
+                throw new ResponseStatusException(BAD_REQUEST, "A cursor needs the type it was issued for");
+            }
+            types = List.of(SearchRepository.Type.values());
+        } else {
+            try {
+                types = List.of(SearchRepository.Type.fromValue(type));
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(BAD_REQUEST, ex.getMessage(), ex);
+            }
+        }
+
+        Map<SearchRepository.Type, PageDto<SearchHitDto>> groups = new EnumMap<>(SearchRepository.Type.class);
+        for (SearchRepository.Type group : types) {
+            String scope = CURSOR_SCOPE + group.value();
+            KeysetCursors.Ranked after = KeysetCursors.decodeRanked(scope, cursor);
+            KeysetPage<SearchHitDto> page = searchService.search(group, query, after.lastRank(), after.lastId(), size);
+            groups.put(group, toDto(scope, page, size));
+        }
+        return new SearchResultsDto(query,
+                groups.get(SearchRepository.Type.PROFILE),
+                groups.get(SearchRepository.Type.PROJECT),
+                groups.get(SearchRepository.Type.EXPERIENCE));
+    }
+
+    @GetMapping("/suggest")
+    public List<SuggestionDto> suggest(
+            @RequestParam(name = "prefix", required = false) String prefix,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "Limit must be positive");
+        }
+        return suggestService.suggest(prefix, limit != null ? limit : SuggestService.MAX_SUGGESTIONS);
+    }
+
+    @GetMapping("/search/fuzzy")
+    public List<FuzzyHitDto> fuzzy(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        return fuzzySearchService.search(SearchService.normalize(q), KeysetCursors.pageSize(limit, pagination));
+    }
+
+    private static PageDto<SearchHitDto> toDto(String scope, KeysetPage<SearchHitDto> page, int limit) {
+        String next = null;
+        if (page.hasMore()) {
+            SearchHitDto last = page.items().get(page.items().size() - 1);
+            next = KeysetCursors.encode(scope, last.rank(), last.id());
+        }
+        return new PageDto<>(page.items(), next, limit, null);
+    }
+}
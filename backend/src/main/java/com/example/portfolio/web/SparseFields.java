@@ -0,0 +1,51 @@
+package com.example.portfolio.web;
+
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Parses {@code ?fields=} lists. The result always starts with {@code id}
+ * (needed for cursors and client keys) and follows the order of the allowed
+ * set, so equivalent requests share one canonical form.
+ */
+public final class SparseFields {
+    private SparseFields() {
+    }
+
+    public static List<String> parse(String fields, Set<String> allowed) {
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Unknown field '" + name + "'. Allowed: " + String.join(", ", allowed));
+            }
+            requested.add(name);
+        }
+        requested.add("id");
+
+        List<String> canonical = new ArrayList<>(requested.size());
+        for (String name : allowed) {
+            if (requested.contains(name)) {
+                canonical.add(name);
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Id of a sparse row; always present because {@link #parse} adds it.
+     */
+    public static long id(Map<String, Object> row) {
+        return ((Number) row.get("id")).longValue();
+    }
+}
@@ -1,57 +1,224 @@
 package com.example.portfolio.web;
 
+import com.example.portfolio.config.PaginationProperties;
 import com.example.portfolio.model.Profile;
 import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.SparseFieldRepository;
+import com.example.portfolio.service.ContentVersions;
 import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ExportService;
+import com.example.portfolio.service.FacetService;
+import com.example.portfolio.service.KeysetPage;
+import com.example.portfolio.service.ProfileBatchService;
 import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.SimilarMembersService;
+import com.example.portfolio.service.TeamPageCache;
 import com.example.portfolio.web.dto.ExperienceDto;
+import com.example.portfolio.web.dto.PageDto;
+import com.example.portfolio.web.dto.ProfileBatchRequest;
 import com.example.portfolio.web.dto.ProfileDetailDto;
 import com.example.portfolio.web.dto.ProfileMapper;
 import com.example.portfolio.web.dto.ProfileSummaryDto;
 import com.example.portfolio.web.dto.ProjectDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/team")
 public class TeamController extends BaseVersionedController {
+    private static final CacheControl PUBLIC_CACHE = CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+    private static final String CURSOR_SCOPE = "team";
+
     private final ProfileRepository profileRepository;
     private final ExperienceService experienceService;
     private final ProjectService projectService;
+    private final TeamPageCache teamPageCache;
+    private final PaginationProperties pagination;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+    private final PrecompressedResponses precompressed;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final ProfileBatchService profileBatchService;
+    private final FacetService facetService;
+    private final SimilarMembersService similarMembersService;
+    private final ContentVersions contentVersions;
 
-    public TeamController(ProfileRepository profileRepository, ExperienceService experienceService, ProjectService projectService) {
+    public TeamController(ProfileRepository profileRepository, ExperienceService experienceService, ProjectService projectService,
+                          TeamPageCache teamPageCache, PaginationProperties pagination,
+                          ExportService exportService, ObjectMapper objectMapper, PrecompressedResponses precompressed,
+                          SparseFieldRepository sparseFieldRepository, ProfileBatchService profileBatchService,
+                          FacetService facetService, SimilarMembersService similarMembersService,
+                          ContentVersions contentVersions) {
         this.profileRepository = profileRepository;
         this.experienceService = experienceService;
         this.projectService = projectService;
+        this.teamPageCache = teamPageCache;
+        this.pagination = pagination;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+        this.precompressed = precompressed;
+        this.sparseFieldRepository = sparseFieldRepository;
+        this.profileBatchService = profileBatchService;
+        this.facetService = facetService;
+        this.similarMembersService = similarMembersService;
+        this.contentVersions = contentVersions;
     }
 
     @GetMapping
-    public List<ProfileSummaryDto> all() {
-        return profileRepository.findAll().stream()
-                .map(ProfileMapper::toSummary)
-                .collect(Collectors.toList());
+    public ResponseEntity<byte[]> all(WebRequest request) {
+        ProfileRepository.TeamStamp stamp = profileRepository.findTeamStamp();
+        // The count catches deletions, which never raise the newest updated_at
+        String eTag = ETags.strong(ConditionalGet.stamp(stamp.getLastModified()) + "-" + stamp.getProfiles());
+        return KeysetCursors.withTotalCount(precompressed.respond(request, "team", eTag,
+                ConditionalGet.toInstant(stamp.getLastModified()), PUBLIC_CACHE,
+                () -> profileRepository.findAllByOrderByIdAsc(Limit.of(pagination.getUnpaginatedCap())).stream()
+                        .map(ProfileMapper::toSummary)
+                        .collect(Collectors.toList())), stamp.getProfiles());
+    }
+
+    /**
+     * Sparse variant of {@link #all}: only the listed fields are selected and returned.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> allFields(@RequestParam("fields") String fields, WebRequest request) {
+        List<String> selected = SparseFields.parse(fields, SparseFieldRepository.profileFields());
+        ProfileRepository.TeamStamp stamp = profileRepository.findTeamStamp();
+        String eTag = ETags.strong(ConditionalGet.stamp(stamp.getLastModified()) + "-" + stamp.getProfiles()
+                + "-" + String.join(",", selected));
+        return KeysetCursors.withTotalCount(ConditionalGet.respond(request, eTag,
+                ConditionalGet.toInstant(stamp.getLastModified()), PUBLIC_CACHE,
+                () -> sparseFieldRepository.findProfiles(selected, 0L, pagination.getUnpaginatedCap())), stamp.getProfiles());
+    }
+
+    /**
+     * With {@code includeFacets} the page also counts members per location
+     * and per company they have worked at.
+     */
+    @GetMapping("/page")
+    public PageDto<ProfileSummaryDto> page(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(name = "includeFacets", defaultValue = "false") boolean includeFacets
+    ) {
+        long afterId = KeysetCursors.decode(CURSOR_SCOPE, cursor);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        Long total = includeTotal ? teamPageCache.count() : null;
+        PageDto<ProfileSummaryDto> page = KeysetCursors.toDto(CURSOR_SCOPE, teamPageCache.loadPage(afterId, size), size, total);
+        return includeFacets ? page.withFacets(facetService.memberFacets()) : page;
+    }
+
+    @GetMapping(value = "/page", params = "fields")
+    public PageDto<Map<String, Object>> pageFields(
+            @RequestParam("fields") String fields,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal
+    ) {
+        List<String> selected = SparseFields.parse(fields, SparseFieldRepository.profileFields());
+        long afterId = KeysetCursors.decode(CURSOR_SCOPE, cursor);
+        int size = KeysetCursors.pageSize(limit, pagination);
+        Long total = includeTotal ? teamPageCache.count() : null;
+        List<Map<String, Object>> rows = sparseFieldRepository.findProfiles(selected, afterId, size + 1);
+        return KeysetCursors.toDto(CURSOR_SCOPE, KeysetPage.of(rows, size, SparseFields::id), size, total);
     }
 
     @GetMapping("/{id}")
-    public ProfileSummaryDto one(@PathVariable Long id) {
-        Profile profile = profileRepository.findById(id)
+    public ResponseEntity<ProfileSummaryDto> one(@PathVariable Long id, WebRequest request) {
+        LocalDateTime updatedAt = profileRepository.findUpdatedAtById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        return ProfileMapper.toSummary(profile);
+        return ConditionalGet.respond(request, ETags.strong(ConditionalGet.stamp(updatedAt)),
+                ConditionalGet.toInstant(updatedAt), PUBLIC_CACHE, () -> {
+                    Profile profile = profileRepository.findById(id)
+                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+                    return ProfileMapper.toSummary(profile);
+                });
+    }
+
+    /**
+     * Detail views for several members in one round trip, keyed by slug;
+     * unknown slugs are omitted.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<Map<String, ProfileDetailDto>> batch(@RequestParam("slugs") List<String> slugs) {
+        return ResponseEntity.ok()
+                .cacheControl(PUBLIC_CACHE)
+                .body(profileBatchService.loadBySlugs(slugs));
+    }
+
+    /**
+     * Same as {@link #batch} for slug lists too long for a query string.
+     */
+    @PostMapping("/batch")
+    public Map<String, ProfileDetailDto> batchPost(@Valid @RequestBody ProfileBatchRequest request) {
+        return profileBatchService.loadBySlugs(request.slugs());
     }
 
     @GetMapping("/slug/{slug}")
-    public ProfileDetailDto bySlug(@PathVariable String slug) {
-        Profile profile = profileRepository.findBySlug(slug)
+    public ResponseEntity<byte[]> bySlug(@PathVariable String slug, WebRequest request) {
+        LocalDateTime updatedAt = profileRepository.findUpdatedAtBySlug(slug)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        List<ExperienceDto> experiences = experienceService.list(profile);
-        List<ProjectDto> projects = projectService.getProjects(slug);
-        return ProfileMapper.toDetail(profile, experiences, projects);
+        return precompressed.respond(request, "team:slug:" + slug, ETags.strong(ConditionalGet.stamp(updatedAt)),
+                ConditionalGet.toInstant(updatedAt), PUBLIC_CACHE, () -> {
+                    Profile profile = profileRepository.findBySlug(slug)
+                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+                    List<ExperienceDto> experiences = experienceService.list(profile);
+                    List<ProjectDto> projects = projectService.getProjects(slug);
+                    return ProfileMapper.toDetail(profile, experiences, projects);
+                });
+    }
+
+    /**
+     * Members with backgrounds most like the one at {@code slug}, most
+     * similar first. Signatures are refreshed in the background, so a write
+     * shows up here shortly after it returns. {@code limit} can only lower
+     * the configured number of members.
+     */
+    @GetMapping("/slug/{slug}/similar")
+    public ResponseEntity<List<ProfileSummaryDto>> similar(
+            @PathVariable String slug,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest request
+    ) {
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be at least 1");
+        }
+        int size = limit != null ? limit : Integer.MAX_VALUE;
+        // Background refreshes change the lists without a profile write, so their generation is part of the tag
+        String eTag = ETags.strong(contentVersions.profiles() + "-" + similarMembersService.generation()
+                + "-similar-" + slug + "-" + size);
+        return ConditionalGet.respond(request, eTag, null, PUBLIC_CACHE,
+                () -> similarMembersService.similar(slug, size));
+    }
+
+    /**
+     * Full listing written row by row as it is read; send
+     * {@code Accept: application/x-ndjson} for newline-delimited output.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreams.respond(objectMapper, accept, exportService::exportProfiles);
     }
-}
\ No newline at end of file
+}
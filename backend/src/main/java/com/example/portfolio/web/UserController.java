@@ -1,6 +1,6 @@
 package com.example.portfolio.web;
 
-import com.example.portfolio.model.UserAccount;
+import com.example.portfolio.security.AuthPrincipal;
 import com.example.portfolio.service.CurrentUserService;
 import com.example.portfolio.web.dto.UserDto;
 import org.springframework.http.ResponseEntity;
@@ -19,8 +19,8 @@ public class UserController {
 
     @GetMapping("/current-user")
     public ResponseEntity<UserDto> getCurrentUser() {
-        UserAccount user = currentUserService.getCurrentUser();
-        UserDto userDto = new UserDto(user.getId(), user.getEmail(), user.getRole());
+        AuthPrincipal user = currentUserService.requirePrincipal();
+        UserDto userDto = new UserDto(user.id(), user.email(), user.role());
         return ResponseEntity.ok(userDto);
     }
 }
\ No newline at end of file
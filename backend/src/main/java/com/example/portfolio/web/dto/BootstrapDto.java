@@ -0,0 +1,16 @@
+package com.example.portfolio.web.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the home page needs for first paint; member counts are keyed
+ * by profile id.
+ */
+public record BootstrapDto(
+        PageDto<ProfileSummaryDto> team,
+        List<ProjectDto> featuredProjects,
+        List<RecentUpdateDto> recentUpdates,
+        Map<Long, MemberCountsDto> memberCounts
+) {
+}
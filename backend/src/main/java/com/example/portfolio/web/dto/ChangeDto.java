@@ -0,0 +1,22 @@
+package com.example.portfolio.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the delta sync feed. {@code type} is {@code profile},
+ * {@code experience} or {@code project}; {@code op} is {@code created},
+ * {@code updated} or {@code deleted}. {@code ownerId} is the owning profile
+ * of experiences and projects, and {@code data} the current row, left out
+ * for deletions.
+ */
+public record ChangeDto(
+        String type,
+        Long id,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long ownerId,
+        String op,
+        LocalDateTime changedAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Object data
+) {
+}
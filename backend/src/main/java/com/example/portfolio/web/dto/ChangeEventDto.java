@@ -0,0 +1,16 @@
+package com.example.portfolio.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Payload of one change notification on the event stream; the same
+ * {@code type} and {@code op} values as {@link ChangeDto}. Clients fetch
+ * the row itself, or call the change feed, when they need its content.
+ */
+public record ChangeEventDto(
+        String type,
+        String op,
+        Long id,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long ownerId
+) {
+}
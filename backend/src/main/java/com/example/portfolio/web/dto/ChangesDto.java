@@ -0,0 +1,16 @@
+package com.example.portfolio.web.dto;
+
+import java.util.List;
+
+/**
+ * A page of the delta sync feed. {@code nextCursor} is always set: pass it
+ * back to continue, or to poll for later changes once {@code hasMore} is
+ * false.
+ */
+public record ChangesDto(
+        List<ChangeDto> changes,
+        String nextCursor,
+        boolean hasMore,
+        int limit
+) {
+}
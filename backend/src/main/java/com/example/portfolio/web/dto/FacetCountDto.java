@@ -0,0 +1,11 @@
+package com.example.portfolio.web.dto;
+
+/**
+ * One facet value, normalized, and how many rows carry it: projects for
+ * tags, members for locations and companies.
+ */
+public record FacetCountDto(
+        String name,
+        long count
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.portfolio.web.dto;
+
+/**
+ * One typo-tolerant match. {@code field} names what matched ({@code name},
+ * {@code headline}, {@code company} or {@code title}) and {@code text} is
+ * its value; {@code slug} is the member the hit belongs to.
+ */
+public record FuzzyHitDto(
+        String type,
+        Long id,
+        String field,
+        String text,
+        String slug,
+        float similarity
+) {
+}
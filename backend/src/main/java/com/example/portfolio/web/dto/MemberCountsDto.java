@@ -0,0 +1,7 @@
+package com.example.portfolio.web.dto;
+
+public record MemberCountsDto(
+        long projects,
+        long experiences
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.portfolio.web.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Project list served as {@code application/vnd.portfolio.v2+json}: each
+ * owner summary appears once under {@code includes.profiles}, keyed by id.
+ */
+public record NormalizedProjectsDto(
+        List<ProjectRefDto> data,
+        Includes includes
+) {
+    public record Includes(Map<Long, ProfileSummaryDto> profiles) {
+    }
+}
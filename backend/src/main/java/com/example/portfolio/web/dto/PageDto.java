@@ -0,0 +1,28 @@
+package com.example.portfolio.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset page returned by the paginated list endpoints. {@code nextCursor} is
+ * {@code null} on the last page; {@code total} is only set when requested.
+ * {@code facets}, value counts per facet name over the whole filtered list,
+ * is left out of the JSON unless requested.
+ */
+public record PageDto<T>(
+        List<T> items,
+        String nextCursor,
+        int limit,
+        Long total,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, List<FacetCountDto>> facets
+) {
+    public PageDto(List<T> items, String nextCursor, int limit, Long total) {
+        this(items, nextCursor, limit, total, null);
+    }
+
+    public PageDto<T> withFacets(Map<String, List<FacetCountDto>> facets) {
+        return new PageDto<>(items, nextCursor, limit, total, facets);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.portfolio.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ProfileBatchRequest(
+        @NotNull List<String> slugs
+) {
+}
@@ -1,5 +1,7 @@
 package com.example.portfolio.web.dto;
 
+import java.io.Serializable;
+
 public record ProfileSummaryDto(
         Long id,
         String slug,
@@ -12,5 +14,5 @@ public record ProfileSummaryDto(
         String twitterUrl,
         String websiteUrl,
         String location
-) {
+) implements Serializable {
 }
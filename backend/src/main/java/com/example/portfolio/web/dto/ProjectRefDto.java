@@ -0,0 +1,18 @@
+package com.example.portfolio.web.dto;
+
+/**
+ * Project in the normalized (v2) list shape; the owner is referenced by id
+ * and resolved from {@link NormalizedProjectsDto.Includes#profiles()}.
+ */
+public record ProjectRefDto(
+        Long id,
+        String title,
+        String summary,
+        String description,
+        String tags,
+        String repoUrl,
+        String liveUrl,
+        String imageUrl,
+        Long ownerId
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.portfolio.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * What the service worker receives in a push message, in the shape of the
+ * frontend's {@code PushNotificationPayload}. {@code data} lists the
+ * changes behind it, at most the first few of {@code count}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PushNotificationDto(
+        String title,
+        String body,
+        Data data
+) {
+    public record Data(List<ChangeEventDto> changes, int count) {
+    }
+}
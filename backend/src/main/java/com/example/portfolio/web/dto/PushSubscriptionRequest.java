@@ -0,0 +1,14 @@
+package com.example.portfolio.web.dto;
+
+/**
+ * A browser's {@code PushSubscription} as its {@code toJSON()} serializes
+ * it; unsubscribing only needs the endpoint.
+ */
+public record PushSubscriptionRequest(
+        String endpoint,
+        Long expirationTime,
+        Keys keys
+) {
+    public record Keys(String p256dh, String auth) {
+    }
+}
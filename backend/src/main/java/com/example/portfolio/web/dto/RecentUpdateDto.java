@@ -0,0 +1,19 @@
+package com.example.portfolio.web.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the "What's New" feed: a recently created or edited profile or
+ * project.
+ */
+public record RecentUpdateDto(
+        String type,
+        Long id,
+        String title,
+        String slug,
+        LocalDateTime updatedAt
+) implements Serializable {
+    public static final String PROFILE = "profile";
+    public static final String PROJECT = "project";
+}
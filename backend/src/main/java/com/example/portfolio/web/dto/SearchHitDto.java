@@ -0,0 +1,19 @@
+package com.example.portfolio.web.dto;
+
+import java.io.Serializable;
+
+/**
+ * One ranked search match. {@code slug} is the member the hit belongs to;
+ * {@code snippet} is HTML-escaped text with matched terms wrapped in
+ * {@code <mark>} tags.
+ */
+public record SearchHitDto(
+        String type,
+        Long id,
+        String title,
+        String subtitle,
+        String slug,
+        String snippet,
+        float rank
+) implements Serializable {
+}
@@ -0,0 +1,13 @@
+package com.example.portfolio.web.dto;
+
+/**
+ * Search results grouped by type. Groups that were not requested are
+ * {@code null}; each group pages independently through its own cursor.
+ */
+public record SearchResultsDto(
+        String query,
+        PageDto<SearchHitDto> profiles,
+        PageDto<SearchHitDto> projects,
+        PageDto<SearchHitDto> experiences
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.portfolio.web.dto;
+
+/**
+ * One typeahead entry. {@code slug} is the member to link to (the owner for
+ * projects) and {@code id} is {@code null} for tags.
+ */
+public record SuggestionDto(
+        String type,
+        Long id,
+        String label,
+        String slug
+) {
+}
@@ -0,0 +1,28 @@
+-- V5: Normalized project tags
+-- profile_project.tags stays as the display form returned by the API and
+-- indexed for full-text search; tag/project_tag are what filters read.
+CREATE TABLE tag (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE project_tag (
+    project_id BIGINT NOT NULL REFERENCES profile_project(id) ON DELETE CASCADE,
+    tag_id BIGINT NOT NULL REFERENCES tag(id) ON DELETE CASCADE,
+    PRIMARY KEY (project_id, tag_id)
+);
+
+CREATE INDEX idx_project_tag_tag_id ON project_tag(tag_id);
+
+-- Same normalization as TagNames.parse: trimmed, inner whitespace collapsed, lower-cased
+INSERT INTO tag (name)
+SELECT DISTINCT lower(regexp_replace(trim(t.name), '\s+', ' ', 'g'))
+FROM profile_project p
+CROSS JOIN LATERAL unnest(string_to_array(p.tags, ',')) AS t(name)
+WHERE trim(t.name) <> '';
+
+INSERT INTO project_tag (project_id, tag_id)
+SELECT DISTINCT p.id, tg.id
+FROM profile_project p
+CROSS JOIN LATERAL unnest(string_to_array(p.tags, ',')) AS t(name)
+JOIN tag tg ON tg.name = lower(regexp_replace(trim(t.name), '\s+', ' ', 'g'));
@@ -0,0 +1,15 @@
+-- V6: Delta sync for /api/v1/changes
+-- Deletes leave a tombstone so sync clients learn about rows that no longer
+-- exist; tombstones older than app.changes.retention are purged.
+CREATE TABLE tombstone (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    owner_id BIGINT,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Keyset scans read every table in (updated_at, id) order; profile and
+-- profile_project already have their updated_at indexes from V3
+CREATE INDEX idx_tombstone_deleted_at ON tombstone(deleted_at, id);
+CREATE INDEX idx_experience_updated_at ON experience(updated_at);
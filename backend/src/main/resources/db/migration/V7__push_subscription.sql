@@ -0,0 +1,11 @@
+-- V7: Web push subscriptions for /api/push
+-- One row per browser subscription; the push service's endpoint URL
+-- identifies it. Rows are removed on unsubscribe and when the push service
+-- answers 404 or 410 for the endpoint.
+CREATE TABLE push_subscription (
+    id BIGSERIAL PRIMARY KEY,
+    endpoint VARCHAR(2048) NOT NULL UNIQUE,
+    p256dh VARCHAR(128) NOT NULL,
+    auth VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
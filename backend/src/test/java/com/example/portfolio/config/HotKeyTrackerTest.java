@@ -0,0 +1,101 @@
+package com.example.portfolio.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyTrackerTest {
+
+    @Test
+    void findsHeavyHittersAmongManyDistinctKeys() {
+        HotKeyTracker tracker = new HotKeyTracker();
+        for (int i = 0; i < 200_000; i++) {
+            tracker.recordRead("cold-" + i);
+            if (i % 10 == 0) {
+                tracker.recordRead("hot-a");
+            }
+            if (i % 20 == 0) {
+                tracker.recordRead("hot-b");
+            }
+        }
+
+        List<HotKeyTracker.KeyStats> top = tracker.topKeys();
+        assertThat(top).hasSizeLessThanOrEqualTo(HotKeyTracker.TOP_K);
+        assertThat(top.get(0).key()).isEqualTo("hot-a");
+        assertThat(top.get(1).key()).isEqualTo("hot-b");
+        assertThat(top.get(0).reads()).isGreaterThanOrEqualTo(20_000);
+    }
+
+    @Test
+    void countsLoadsAndDecaysOverTime() {
+        HotKeyTracker tracker = new HotKeyTracker();
+        for (int i = 0; i < 64; i++) {
+            tracker.recordRead("alpha");
+            tracker.recordLoad("alpha");
+        }
+
+        HotKeyTracker.KeyStats stats = tracker.stats("alpha");
+        assertThat(stats.reads()).isEqualTo(64);
+        assertThat(stats.loads()).isEqualTo(64);
+
+        tracker.decay();
+        assertThat(tracker.stats("alpha").reads()).isEqualTo(32);
+        assertThat(tracker.stats("alpha").loads()).isEqualTo(32);
+
+        for (int i = 0; i < 6; i++) {
+            tracker.decay();
+        }
+        assertThat(tracker.topKeys()).isEmpty();
+    }
+
+    @Test
+    void decoratorRecordsReadsAndLoads() {
+        HotKeyTrackingCache cache = new HotKeyTrackingCache(new ConcurrentMapCache("test"));
+        cache.get("slug");
+        cache.put("slug", "value");
+        cache.get("slug");
+        cache.get("other", () -> "loaded");
+
+        assertThat(cache.getTracker().stats("slug").reads()).isEqualTo(2);
+        assertThat(cache.getTracker().stats("slug").loads()).isEqualTo(1);
+        assertThat(cache.getTracker().stats("other").loads()).isEqualTo(1);
+    }
+
+    @Test
+    void countsConcurrentReadsWithoutLosingAny() throws Exception {
+        HotKeyTracker tracker = new HotKeyTracker();
+        int threads = 4;
+        int readsPerThread = 500_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < readsPerThread; i++) {
+                    // Every request reads its caller's entry; a few keys take most of the traffic
+                    tracker.recordRead(i % 4 == 0 ? "user-" + thread + "-" + (i % 1000) : "hot");
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        assertThat(tracker.stats("hot").reads()).isEqualTo(threads * readsPerThread * 3L / 4);
+        assertThat(tracker.topKeys().get(0).key()).isEqualTo("hot");
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.portfolio.config;
+
+import com.example.portfolio.security.AuthPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapCacheTest {
+
+    @Test
+    void storesAndReturnsCopiesOfValues() {
+        // Room for one page per size class in use
+        OffHeapCache cache = new OffHeapCache("test", spec(OffHeapCacheProperties.EvictionPolicy.LRU, 4), true);
+        AuthPrincipal principal = new AuthPrincipal(1L, "user@test.local", "USER");
+        cache.put("user@test.local", principal);
+        cache.put("missing@test.local", null);
+
+        Cache.ValueWrapper hit = cache.get("user@test.local");
+        assertThat(hit).isNotNull();
+        assertThat(hit.get()).isEqualTo(principal).isNotSameAs(principal);
+        assertThat(cache.get("missing@test.local")).isNotNull();
+        assertThat(cache.get("missing@test.local").get()).isNull();
+        assertThat(cache.get("other@test.local")).isNull();
+
+        cache.evict("user@test.local");
+        assertThat(cache.get("user@test.local")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void lruEvictsLeastRecentlyUsedEntryWhenArenaIsFull() {
+        OffHeapCache cache = cache(OffHeapCacheProperties.EvictionPolicy.LRU);
+        byte[] payload = new byte[200_000];
+        // One 1 MB page holds four 256 KB chunks
+        for (int i = 0; i < 4; i++) {
+            cache.put("key-" + i, payload);
+        }
+        cache.get("key-0");
+        cache.put("key-4", payload);
+
+        assertThat(cache.get("key-0")).isNotNull();
+        assertThat(cache.get("key-1")).isNull();
+        assertThat(cache.get("key-4")).isNotNull();
+        assertThat(cache.size()).isEqualTo(4);
+    }
+
+    @Test
+    void lfuKeepsFrequentlyReadEntries() {
+        OffHeapCache cache = cache(OffHeapCacheProperties.EvictionPolicy.LFU);
+        byte[] payload = new byte[200_000];
+        for (int i = 0; i < 4; i++) {
+            cache.put("key-" + i, payload);
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.get("key-0");
+            cache.get("key-2");
+            cache.get("key-3");
+        }
+        cache.get("key-1");
+        cache.put("key-4", payload);
+
+        assertThat(cache.get("key-1")).isNull();
+        assertThat(cache.get("key-0")).isNotNull();
+    }
+
+    @Test
+    void sizeClassWithoutAPageTakesOneOverOnceEveryPageIsHandedOut() {
+        // Two 1 MB pages, one owned by 256 KB entries and one by 1 KB entries
+        OffHeapCache cache = new OffHeapCache("test", spec(OffHeapCacheProperties.EvictionPolicy.LRU, 2), true);
+        for (int i = 0; i < 4; i++) {
+            cache.put("large-" + i, new byte[200_000]);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("small-" + i, new byte[600]);
+        }
+        assertThat(cache.reservedBytes()).isEqualTo(2 * 1024 * 1024);
+
+        cache.put("new-class", new byte[10]);
+
+        assertThat(cache.get("new-class")).isNotNull();
+        // The page of the least recently used entries was emptied and handed over; the small entries kept theirs
+        assertThat(cache.get("large-0")).isNull();
+        assertThat(cache.get("large-3")).isNull();
+        assertThat(cache.get("small-99")).isNotNull();
+
+        // And again for a third class, now from the small entries' page
+        cache.put("another-class", new byte[40_000]);
+        assertThat(cache.get("another-class")).isNotNull();
+        assertThat(cache.get("new-class")).isNotNull();
+        assertThat(cache.reservedBytes()).isEqualTo(2 * 1024 * 1024);
+    }
+
+    @Test
+    void emptiedPagesGoBackToThePool() {
+        OffHeapCache cache = cache(OffHeapCacheProperties.EvictionPolicy.LRU);
+        cache.put("large", new byte[200_000]);
+        cache.evict("large");
+        assertThat(cache.reservedBytes()).isZero();
+
+        // The single page is free again for any size class
+        for (int i = 0; i < 1000; i++) {
+            cache.put("small-" + i, new byte[600]);
+        }
+        assertThat(cache.size()).isEqualTo(1000);
+    }
+
+    @Test
+    void skipsEntriesAboveMaxEntrySize() {
+        OffHeapCache cache = cache(OffHeapCacheProperties.EvictionPolicy.LRU);
+        cache.put("small", List.of("a", "b"));
+        cache.put("huge", new byte[600_000]);
+
+        assertThat(cache.get("small")).isNotNull();
+        assertThat(cache.get("huge")).isNull();
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.reservedBytes()).isZero();
+    }
+
+    @Test
+    void cacheManagerUsesOffHeapTierOnlyForConfiguredCaches() {
+        OffHeapCacheProperties properties = new OffHeapCacheProperties();
+        properties.getCaches().put(CacheConfig.PROJECTS_CACHE, spec(OffHeapCacheProperties.EvictionPolicy.LRU, 1));
+        CacheConfig.TieredCacheManager manager = new CacheConfig.TieredCacheManager(properties);
+        manager.setCacheNames(List.of(CacheConfig.PROJECTS_CACHE, CacheConfig.USER_CACHE));
+
+        assertThat(manager.getCache(CacheConfig.PROJECTS_CACHE).getNativeCache()).isInstanceOf(OffHeapCache.class);
+        assertThat(((HotKeyTrackingCache) manager.getCache(CacheConfig.USER_CACHE)).getDelegate())
+                .isInstanceOf(ConcurrentMapCache.class);
+    }
+
+    private OffHeapCache cache(OffHeapCacheProperties.EvictionPolicy eviction) {
+        return new OffHeapCache("test", spec(eviction, 1), true);
+    }
+
+    private OffHeapCacheProperties.CacheSpec spec(OffHeapCacheProperties.EvictionPolicy eviction, int capacityMegabytes) {
+        OffHeapCacheProperties.CacheSpec spec = new OffHeapCacheProperties.CacheSpec();
+        spec.setCapacity(DataSize.ofMegabytes(capacityMegabytes));
+        spec.setMaxEntrySize(DataSize.ofKilobytes(512));
+        spec.setEviction(eviction);
+        return spec;
+    }
+}
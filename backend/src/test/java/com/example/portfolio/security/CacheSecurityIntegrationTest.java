@@ -20,6 +20,7 @@ import org.springframework.web.context.WebApplicationContext;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -122,7 +123,7 @@ class CacheSecurityIntegrationTest {
         // Second lookup should hit cache
         var user2 = cachedUserService.findByEmail(testUser.getEmail());
         assertThat(user2).isPresent();
-        assertThat(user2.get().getId()).isEqualTo(user1.get().getId());
+        assertThat(user2.get().id()).isEqualTo(user1.get().id());
 
         // Verify cache has the user
         var stats = cacheMonitoringService.getCacheStatistics();
@@ -162,8 +163,8 @@ class CacheSecurityIntegrationTest {
         assertThat(user3).isPresent();
 
         // All should return the same cached instance
-        assertThat(user1.get().getId()).isEqualTo(user2.get().getId());
-        assertThat(user2.get().getId()).isEqualTo(user3.get().getId());
+        assertThat(user1.get().id()).isEqualTo(user2.get().id());
+        assertThat(user2.get().id()).isEqualTo(user3.get().id());
     }
 
     @Test
@@ -197,6 +198,67 @@ class CacheSecurityIntegrationTest {
                 .andExpect(jsonPath("$.users.keys").doesNotExist());
     }
 
+    @Test
+    void shouldRequireAuthenticationForPerKeyEndpoints() throws Exception {
+        mockMvc.perform(get("/api/v1/debug/cache/hot-keys/users"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/debug/cache/inspect/users/" + testUser.getEmail()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/debug/cache/evict/users/" + testUser.getEmail()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRestrictPerKeyEndpointsToAdmins() throws Exception {
+        String token = loginAndGetToken();
+
+        mockMvc.perform(get("/api/v1/debug/cache/hot-keys/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/debug/cache/inspect/users/" + testUser.getEmail())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/debug/cache/evict/users/" + testUser.getEmail())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReportHotKeysAndInspectWithoutExposingKeysOrValues() throws Exception {
+        String token = loginAsAdmin();
+        for (int i = 0; i < 5; i++) {
+            cachedUserService.findByEmail(testUser.getEmail());
+        }
+
+        String hotKeys = mockMvc.perform(get("/api/v1/debug/cache/hot-keys/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value(startsWith("sha256:")))
+                .andExpect(jsonPath("$[0].reads").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        // Users cache keys are email addresses; none may leave the server
+        assertThat(hotKeys).doesNotContain("@");
+
+        mockMvc.perform(get("/api/v1/debug/cache/inspect/users/" + testUser.getEmail())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.present").value(true))
+                .andExpect(jsonPath("$.valueType").value("AuthPrincipal"))
+                .andExpect(jsonPath("$.key").value(startsWith("sha256:")))
+                .andExpect(jsonPath("$.access.key").value(startsWith("sha256:")))
+                .andExpect(jsonPath("$.value").doesNotExist());
+
+        mockMvc.perform(post("/api/v1/debug/cache/evict/users/" + testUser.getEmail())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        // Checked directly: an authenticated request would re-cache the caller
+        assertThat(cacheMonitoringService.inspectKey("users", testUser.getEmail()).orElseThrow().present()).isFalse();
+
+        mockMvc.perform(get("/api/v1/debug/cache/hot-keys/nonexistent")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldProperlyManageCacheSize() throws Exception {
         // Test that cache doesn't grow indefinitely
@@ -235,9 +297,24 @@ class CacheSecurityIntegrationTest {
         assertThat(true).isTrue(); // Placeholder for log verification
     }
 
+    private String loginAsAdmin() throws Exception {
+        UserAccount admin = new UserAccount();
+        admin.setEmail("cache.admin@example.com");
+        admin.setPasswordHash(passwordEncoder.encode("CachePass123!"));
+        admin.setRole("ADMIN");
+        admin.setCreatedAt(LocalDateTime.now());
+        admin.setUpdatedAt(LocalDateTime.now());
+        userRepository.save(admin);
+        return login(admin.getEmail());
+    }
+
     private String loginAndGetToken() throws Exception {
+        return login(testUser.getEmail());
+    }
+
+    private String login(String email) throws Exception {
         String loginBody = objectMapper.writeValueAsString(
-            new com.example.portfolio.web.dto.AuthRequest(testUser.getEmail(), "CachePass123!")
+            new com.example.portfolio.web.dto.AuthRequest(email, "CachePass123!")
         );
 
         String response = mockMvc.perform(post("/api/v1/auth/login")
@@ -0,0 +1,96 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.model.UserAccount;
+import com.example.portfolio.security.AuthPrincipal;
+import com.example.portfolio.web.dto.ProfileMapper;
+import com.example.portfolio.web.dto.ProjectDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures retained heap of cached entries with JOL, comparing the previous
+ * cached shapes (entities, embedded owner summaries) with the compact records.
+ */
+@Tag("benchmark")
+class CacheEntryFootprintTest {
+
+    private static final int OWNERS = 10;
+    private static final int PROJECTS_PER_OWNER = 30;
+
+    static {
+        // Records hide field offsets from Unsafe; let JOL discover them itself
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void authPrincipalIsSmallerThanCachedEntity() {
+        UserAccount account = new UserAccount();
+        account.setId(42L);
+        account.setEmail("footprint@test.local");
+        account.setPasswordHash("$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234");
+        account.setRole("USER");
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+
+        long entityBytes = GraphLayout.parseInstance(account).totalSize();
+        long principalBytes = GraphLayout.parseInstance(AuthPrincipal.from(account)).totalSize();
+
+        System.out.printf("users cache entry: entity=%d bytes, principal=%d bytes%n", entityBytes, principalBytes);
+        assertThat(principalBytes).isLessThan(entityBytes);
+    }
+
+    @Test
+    void compactProjectEntriesAreSmallerThanEmbeddedOwnerDtos() {
+        List<Project> projects = seedProjects();
+
+        // Previous shape: every DTO carries its own owner summary record
+        List<ProjectDto> dtos = projects.stream().map(ProfileMapper::toProjectDto).collect(Collectors.toList());
+
+        // Compact shape: entries reference owners by id through one shared table
+        OwnerSummaryTable owners = new OwnerSummaryTable();
+        List<CachedProject> compact = new ArrayList<>();
+        for (Project project : projects) {
+            owners.register(project.getOwner());
+            compact.add(CachedProject.from(project));
+        }
+        compact = List.copyOf(compact);
+
+        long before = GraphLayout.parseInstance(dtos).totalSize();
+        long after = GraphLayout.parseInstance(compact, owners).totalSize();
+
+        System.out.printf("projects cache: %d entries, before=%d bytes (%d/entry), after=%d bytes (%d/entry)%n",
+                projects.size(), before, before / projects.size(), after, after / projects.size());
+        assertThat(after).isLessThan(before);
+    }
+
+    private List<Project> seedProjects() {
+        List<Project> projects = new ArrayList<>();
+        for (int o = 0; o < OWNERS; o++) {
+            Profile owner = new Profile();
+            owner.setId((long) o);
+            owner.setSlug("member-" + o);
+            owner.setName("Member " + o);
+            owner.setRole("Engineer");
+            owner.setBio("b".repeat(4000));
+            owner.setLocation("Berlin");
+            owner.setGithubUrl("https://github.com/member-" + o);
+            for (int p = 0; p < PROJECTS_PER_OWNER; p++) {
+                Project project = new Project("Project " + o + "-" + p, "Description " + p,
+                        new String("java,spring"), "https://github.com/repo/" + p, null, null, owner);
+                project.setId((long) (o * PROJECTS_PER_OWNER + p));
+                projects.add(project);
+            }
+        }
+        return projects;
+    }
+}
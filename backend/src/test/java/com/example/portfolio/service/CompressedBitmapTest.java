@@ -0,0 +1,135 @@
+package com.example.portfolio.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedBitmapTest {
+
+    static {
+        // JOL reads this once per JVM, so whichever footprint test runs first must set it
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void pagesThroughValuesAcrossChunks() {
+        CompressedBitmap bitmap = bitmapOf(3, 1, 70_000, 65_535, 65_536, 200_000);
+
+        assertThat(bitmap.after(0, 10)).containsExactly(1, 3, 65_535, 65_536, 70_000, 200_000);
+        assertThat(bitmap.after(3, 2)).containsExactly(65_535, 65_536);
+        assertThat(bitmap.after(65_536, 10)).containsExactly(70_000, 200_000);
+        assertThat(bitmap.after(200_000, 10)).isEmpty();
+        assertThat(bitmap.cardinality()).isEqualTo(6);
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void denseChunksConvertBackWhenTheyThinOut() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 2);
+        }
+        assertThat(bitmap.contains(19_998)).isTrue();
+        assertThat(bitmap.contains(19_999)).isFalse();
+        for (int i = 0; i < 9_000; i++) {
+            assertThat(bitmap.remove(i * 2)).isTrue();
+        }
+        assertThat(bitmap.remove(0)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(1_000);
+        assertThat(bitmap.after(0, 2)).containsExactly(18_000, 18_002);
+    }
+
+    @Test
+    void matchesTreeSetsAfterRandomWrites() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            // Some rounds stay sparse, others force dense chunks
+            int range = round % 2 == 0 ? 300_000 : 20_000;
+            CompressedBitmap a = new CompressedBitmap();
+            CompressedBitmap b = new CompressedBitmap();
+            TreeSet<Integer> expectedA = new TreeSet<>();
+            TreeSet<Integer> expectedB = new TreeSet<>();
+            for (int step = 0; step < 20_000; step++) {
+                int value = random.nextInt(range);
+                boolean first = random.nextBoolean();
+                if (random.nextInt(4) == 0) {
+                    (first ? a : b).remove(value);
+                    (first ? expectedA : expectedB).remove(value);
+                } else {
+                    (first ? a : b).add(value);
+                    (first ? expectedA : expectedB).add(value);
+                }
+            }
+
+            TreeSet<Integer> both = new TreeSet<>(expectedA);
+            both.retainAll(expectedB);
+            TreeSet<Integer> either = new TreeSet<>(expectedA);
+            either.addAll(expectedB);
+            assertThat(values(CompressedBitmap.and(a, b))).isEqualTo(List.copyOf(both));
+            assertThat(values(CompressedBitmap.or(a, b))).isEqualTo(List.copyOf(either));
+            assertThat(CompressedBitmap.and(a, b).cardinality()).isEqualTo(both.size());
+            assertThat(values(a)).isEqualTo(List.copyOf(expectedA));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void filterLatencyAndFootprintAtOneMillionProjects() {
+        int projects = 1_000_000;
+        Random random = new Random(42);
+        // Popularity falls off along a half-normal curve: tens of thousands of projects for the top tags, a few for the tail
+        List<CompressedBitmap> tags = new ArrayList<>();
+        for (int t = 0; t < 200; t++) {
+            tags.add(new CompressedBitmap());
+        }
+        for (int id = 1; id <= projects; id++) {
+            for (int i = 0; i < 3; i++) {
+                int t = Math.min(199, (int) Math.abs(random.nextGaussian() * 30));
+                tags.get(t).add(id);
+            }
+        }
+
+        long bytes = GraphLayout.parseInstance(tags).totalSize();
+        int queries = 200;
+        long started = System.nanoTime();
+        long matched = 0;
+        for (int i = 0; i < queries; i++) {
+            CompressedBitmap all = CompressedBitmap.and(tags.get(random.nextInt(5)), tags.get(random.nextInt(40)));
+            matched += all.cardinality() + all.after(0, 21).length;
+        }
+        long andMicros = (System.nanoTime() - started) / 1_000 / queries;
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            CompressedBitmap any = CompressedBitmap.or(tags.get(random.nextInt(5)), tags.get(random.nextInt(40)));
+            matched += any.cardinality() + any.after(0, 21).length;
+        }
+        long orMicros = (System.nanoTime() - started) / 1_000 / queries;
+        System.out.printf("tag bitmaps: %d projects, 200 tags, %d bytes, AND+count+page %d us, OR+count+page %d us%n",
+                projects, bytes, andMicros, orMicros);
+        assertThat(matched).isPositive();
+    }
+
+    private static CompressedBitmap bitmapOf(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    private static List<Integer> values(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        for (int value : bitmap.after(-1, Integer.MAX_VALUE)) {
+            values.add(value);
+        }
+        return values;
+    }
+}
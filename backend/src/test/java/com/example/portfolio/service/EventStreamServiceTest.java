@@ -0,0 +1,315 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.EventStreamProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventStreamServiceTest {
+
+    static {
+        // JOL reads this once per JVM, so whichever footprint test runs first must set it
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    private final List<EventStreamService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(EventStreamService::destroy);
+    }
+
+    @Test
+    void deliversEventsInOrderAsJson() throws Exception {
+        EventStreamService service = service(properties());
+        RecordingSink sink = new RecordingSink();
+        service.subscribe(sink, null);
+
+        service.publish(ChangeFeedService.PROJECT, "created", 7L, 3L);
+        service.publish(ChangeFeedService.PROFILE, "updated", 3L, null);
+
+        await(() -> sink.events.size() == 2);
+        assertThat(sink.events).extracting(Received::name).containsExactly("project", "profile");
+        assertThat(sink.events.get(0).data()).isEqualTo("{\"type\":\"project\",\"op\":\"created\",\"id\":7,\"ownerId\":3}");
+        assertThat(sink.events.get(1).data()).isEqualTo("{\"type\":\"profile\",\"op\":\"updated\",\"id\":3}");
+        assertThat(sink.events.get(1).id()).isEqualTo(sink.events.get(0).id() + 1);
+    }
+
+    @Test
+    void slowSubscribersDropTheirOldestEventsWithoutHoldingUpOthers() throws Exception {
+        EventStreamProperties properties = properties();
+        properties.setBufferSize(4);
+        EventStreamService service = service(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink stalled = new RecordingSink() {
+            @Override
+            public void send(long id, String name, String data) throws IOException {
+                super.send(id, name, data);
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+            }
+        };
+        RecordingSink fast = new RecordingSink();
+        EventStreamService.Subscription slow = service.subscribe(stalled, null);
+        service.subscribe(fast, null);
+
+        service.publish(ChangeFeedService.PROJECT, "created", 1L, 1L);
+        await(() -> stalled.events.size() == 1);
+        for (long id = 2; id <= 10; id++) {
+            service.publish(ChangeFeedService.PROJECT, "created", id, 1L);
+            // Paced so the fast client never has more than its buffer outstanding
+            int sent = (int) id;
+            await(() -> fast.events.size() == sent);
+        }
+        release.countDown();
+        await(() -> stalled.events.size() == 5);
+
+        // The first was already being written; of the nine after it only the newest four were kept
+        assertThat(stalled.events).extracting(received -> received.id() - fast.events.get(0).id())
+                .containsExactly(0L, 6L, 7L, 8L, 9L);
+        assertThat(slow.dropped()).isEqualTo(5);
+    }
+
+    @Test
+    void dropsStreamsStuckInAWriteSoSendersKeepServingTheRest() throws Exception {
+        EventStreamProperties properties = properties();
+        properties.setWriteTimeout(Duration.ofMillis(50));
+        EventStreamService service = service(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        // More stalled clients than sender threads
+        List<RecordingSink> stalled = new ArrayList<>();
+        for (int i = 0; i < properties.getSenderThreads() + 1; i++) {
+            RecordingSink sink = new RecordingSink() {
+                @Override
+                public void send(long id, String name, String data) throws IOException {
+                    super.send(id, name, data);
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        throw new IOException(ex);
+                    }
+                }
+            };
+            stalled.add(sink);
+            service.subscribe(sink, null);
+        }
+        RecordingSink healthy = new RecordingSink();
+        service.subscribe(healthy, null);
+
+        service.publish(ChangeFeedService.PROJECT, "created", 1L, 1L);
+        // Every sender is now blocked on a stalled socket
+        await(() -> stalled.stream().filter(sink -> !sink.events.isEmpty()).count() == properties.getSenderThreads());
+        service.publish(ChangeFeedService.PROJECT, "created", 2L, 1L);
+
+        await(() -> {
+            service.dropStalledStreams();
+            return healthy.events.size() == 2 && service.subscriberCount() == 1;
+        });
+        assertThat(stalled).noneMatch(sink -> sink.closed);
+
+        // Closed once their writes return, and the pool is back to its size
+        release.countDown();
+        await(() -> stalled.stream().allMatch(sink -> sink.closed));
+        service.publish(ChangeFeedService.PROJECT, "created", 3L, 1L);
+        await(() -> healthy.events.size() == 3);
+    }
+
+    @Test
+    void resumesFromLastEventIdOrAsksForAReset() throws Exception {
+        EventStreamProperties properties = properties();
+        properties.setHistory(8);
+        EventStreamService service = service(properties);
+        RecordingSink first = new RecordingSink();
+        service.subscribe(first, null);
+        for (long id = 1; id <= 12; id++) {
+            service.publish(ChangeFeedService.EXPERIENCE, "updated", id, 1L);
+        }
+        await(() -> first.events.size() == 12);
+        long tenth = first.events.get(9).id();
+        long latest = first.events.get(11).id();
+
+        RecordingSink resumed = new RecordingSink();
+        service.subscribe(resumed, tenth);
+        await(() -> resumed.events.size() == 2);
+        assertThat(resumed.events).extracting(Received::id).containsExactly(tenth + 1, latest);
+
+        // The second event has left the ring of eight
+        RecordingSink behind = new RecordingSink();
+        service.subscribe(behind, first.events.get(1).id());
+        // From before this node started
+        RecordingSink restarted = new RecordingSink();
+        service.subscribe(restarted, 5L);
+        await(() -> behind.events.size() == 1 && restarted.events.size() == 1);
+        assertThat(behind.events.get(0).name()).isEqualTo(EventStreamService.RESET);
+        assertThat(behind.events.get(0).id()).isEqualTo(latest);
+        assertThat(restarted.events.get(0).name()).isEqualTo(EventStreamService.RESET);
+
+        RecordingSink current = new RecordingSink();
+        service.subscribe(current, latest);
+        service.publish(ChangeFeedService.EXPERIENCE, "deleted", 1L, 1L);
+        await(() -> current.events.size() == 1);
+        assertThat(current.events.get(0).id()).isEqualTo(latest + 1);
+    }
+
+    @Test
+    void capsStreamsPerNode() {
+        EventStreamProperties properties = properties();
+        properties.setMaxConnections(2);
+        EventStreamService service = service(properties);
+        EventStreamService.Subscription first = service.subscribe(new RecordingSink(), null);
+        service.subscribe(new RecordingSink(), null);
+
+        assertThatThrownBy(() -> service.subscribe(new RecordingSink(), null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("503");
+
+        first.cancel();
+        first.cancel();
+        assertThat(service.subscriberCount()).isEqualTo(1);
+        service.subscribe(new RecordingSink(), null);
+        assertThat(service.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeatsIdleStreamsAndDropsDeadOnes() throws Exception {
+        EventStreamService service = service(properties());
+        RecordingSink alive = new RecordingSink();
+        RecordingSink dead = new RecordingSink() {
+            @Override
+            public void heartbeat() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        service.subscribe(alive, null);
+        service.subscribe(dead, null);
+
+        service.heartbeat();
+
+        await(() -> alive.heartbeats == 1 && dead.closed);
+        assertThat(service.subscriberCount()).isEqualTo(1);
+    }
+
+    /**
+     * Ten thousand idle streams: the heap each one costs on top of its
+     * connection, and how long a broadcast takes to reach all of them
+     * through the sender threads.
+     */
+    @Test
+    @Tag("benchmark")
+    void holdsTenThousandIdleSubscribers() throws Exception {
+        int subscribers = 10_000;
+        int broadcasts = 50;
+        EventStreamService service = service(properties());
+        long empty = GraphLayout.parseInstance(service).totalSize();
+        LatchSink[] sinks = new LatchSink[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            sinks[i] = new LatchSink();
+            service.subscribe(sinks[i], null);
+        }
+        // Measured before anything is sent, so no sender thread is in the graph yet
+        long perSubscriber = (GraphLayout.parseInstance(service).totalSize() - empty
+                - GraphLayout.parseInstance((Object[]) sinks).totalSize()) / subscribers;
+
+        long[] latencies = new long[broadcasts];
+        long publishNanos = 0;
+        for (int round = 0; round < broadcasts; round++) {
+            CountDownLatch delivered = new CountDownLatch(subscribers);
+            for (LatchSink sink : sinks) {
+                sink.latch = delivered;
+            }
+            long started = System.nanoTime();
+            service.publish(ChangeFeedService.PROJECT, "updated", (long) round, 1L);
+            publishNanos += System.nanoTime() - started;
+            assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+            latencies[round] = System.nanoTime() - started;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("event stream: %d idle subscribers, %d bytes each, publish %d us, "
+                        + "delivered to all in %d us median / %d us max over %d broadcasts%n",
+                subscribers, perSubscriber, publishNanos / broadcasts / 1_000,
+                latencies[broadcasts / 2] / 1_000, latencies[broadcasts - 1] / 1_000, broadcasts);
+
+        assertThat(service.subscriberCount()).isEqualTo(subscribers);
+        assertThat(perSubscriber).isLessThan(512);
+    }
+
+    private EventStreamService service(EventStreamProperties properties) {
+        EventStreamService service = new EventStreamService(properties, new ObjectMapper());
+        services.add(service);
+        return service;
+    }
+
+    private static EventStreamProperties properties() {
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setSenderThreads(2);
+        return properties;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("events delivered").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private record Received(long id, String name, String data) {
+    }
+
+    private static class RecordingSink implements EventStreamService.Sink {
+        final List<Received> events = new CopyOnWriteArrayList<>();
+        volatile int heartbeats;
+        volatile boolean closed;
+
+        @Override
+        public void send(long id, String name, String data) throws IOException {
+            events.add(new Received(id, name, data));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            heartbeats++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class LatchSink implements EventStreamService.Sink {
+        volatile CountDownLatch latch;
+
+        @Override
+        public void send(long id, String name, String data) {
+            latch.countDown();
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExportServiceIntegrationTest {
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void projectExportKeepsSessionBoundedWhileStreaming() throws Exception {
+        Profile owner = new Profile();
+        owner.setSlug("bulk-export");
+        owner.setName("Bulk Export");
+        owner = profileRepository.saveAndFlush(owner);
+        jdbcTemplate.update("""
+                INSERT INTO profile_project (title, tags, profile_id, created_at, updated_at)
+                SELECT 'Bulk ' || X, 'java', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)
+                """, owner.getId(), ROWS);
+
+        Session session = entityManager.unwrap(Session.class);
+        AtomicLong lastId = new AtomicLong();
+        AtomicInteger peakManaged = new AtomicInteger();
+        long written = exportService.exportProjects(row -> {
+            assertThat(row.id()).isGreaterThan(lastId.get());
+            lastId.set(row.id());
+            peakManaged.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+        });
+
+        assertThat(written).isEqualTo(projectRepository.count()).isGreaterThanOrEqualTo(ROWS);
+        // Rows are released every fetch batch, so the session never holds the whole table
+        assertThat(peakManaged.get()).isLessThanOrEqualTo(ProjectRepository.EXPORT_FETCH_SIZE + 1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.web.dto.FacetCountDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetCounterTest {
+
+    @Test
+    void countsOwnersOncePerValue() {
+        FacetCounter counter = new FacetCounter();
+        counter.put(1, 10, "Initech");
+        counter.put(2, 10, " initech ");
+        counter.put(3, 11, "INITECH");
+        counter.put(4, 12, "Globex");
+        counter.put(5, 12, "  ");
+
+        assertThat(counter.count("initech")).isEqualTo(2);
+        assertThat(counter.top(10)).containsExactly(new FacetCountDto("initech", 2), new FacetCountDto("globex", 1));
+
+        counter.put(3, 11, "Globex");
+        counter.remove(1);
+        assertThat(counter.top(10)).containsExactly(new FacetCountDto("globex", 2), new FacetCountDto("initech", 1));
+
+        counter.removeOwner(10);
+        assertThat(counter.top(1)).containsExactly(new FacetCountDto("globex", 2));
+        assertThat(counter.count("initech")).isZero();
+    }
+
+    @Test
+    void differencesCountValuesWhoseCountsDisagree() {
+        FacetCounter a = new FacetCounter();
+        FacetCounter b = new FacetCounter();
+        a.put(1, 1, "Berlin");
+        a.put(2, 2, "Oslo");
+        b.put(1, 1, "Berlin");
+        b.put(2, 2, "Lima");
+
+        assertThat(FacetCounter.differences(a, a)).isZero();
+        assertThat(FacetCounter.differences(a, b)).isEqualTo(2);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void topValuesCostTheSameAtTenThousandAndOneMillionRows() {
+        long small = topMicros(10_000);
+        long large = topMicros(1_000_000);
+        System.out.printf("facet top-20 over 500 values: %d us at 10k rows, %d us at 1M rows%n", small, large);
+        // Same number of distinct values, so reading them must not scale with the rows behind them
+        assertThat(large).isLessThan(Math.max(small * 5, 2_000));
+    }
+
+    private static long topMicros(int rows) {
+        Random random = new Random(rows);
+        FacetCounter counter = new FacetCounter();
+        for (int row = 0; row < rows; row++) {
+            counter.put(row, row, "value " + Math.min(499, (int) Math.abs(random.nextGaussian() * 100)));
+        }
+        int queries = 2_000;
+        long matched = 0;
+        for (int i = 0; i < queries; i++) {
+            matched += counter.top(20).size();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            List<FacetCountDto> top = counter.top(20);
+            matched += top.get(0).count();
+        }
+        assertThat(matched).isPositive();
+        return (System.nanoTime() - started) / 1_000 / queries;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.PushProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpPushSenderTest {
+
+    @Test
+    void refusesToStartWithoutVapidKeys() {
+        PushProperties properties = new PushProperties();
+
+        assertThatThrownBy(() -> new HttpPushSender(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.push.vapid.public-key");
+    }
+
+    @Test
+    void generatesKeysOnlyWhenAskedTo() {
+        PushProperties properties = new PushProperties();
+        properties.getVapid().setGenerate(true);
+
+        assertThatCode(() -> new HttpPushSender(properties)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.portfolio.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for a browser vendor's push service on a local port: accepts
+ * messages at {@code /push/{name}}, keeps them, and answers 201 unless a
+ * test scripted other statuses for the name.
+ */
+final class LocalPushService implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final Map<String, List<Received>> received = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Integer>> scripted = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    LocalPushService() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/push/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String endpoint(String name) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/push/" + name;
+    }
+
+    /** Answers the next requests for {@code name} with these statuses, then 201 again. */
+    void respond(String name, Integer... statuses) {
+        scripted.computeIfAbsent(name, key -> new ArrayDeque<>()).addAll(List.of(statuses));
+    }
+
+    List<Received> received(String name) {
+        return received.getOrDefault(name, List.of());
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String name = exchange.getRequestURI().getPath().substring("/push/".length());
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        received.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>())
+                .add(new Received(exchange.getRequestHeaders().getFirst("Authorization"),
+                        exchange.getRequestHeaders().getFirst("Content-Encoding"),
+                        exchange.getRequestHeaders().getFirst("TTL"), body));
+        Deque<Integer> statuses = scripted.get(name);
+        Integer status = null;
+        if (statuses != null) {
+            synchronized (statuses) {
+                status = statuses.pollFirst();
+            }
+        }
+        requests.incrementAndGet();
+        exchange.sendResponseHeaders(status != null ? status : 201, -1);
+        exchange.close();
+    }
+
+    record Received(String authorization, String contentEncoding, String ttl, byte[] body) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.portfolio.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHashIndexTest {
+
+    static {
+        // JOL reads this once per JVM, so whichever footprint test runs first must set it
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void estimatesJaccardOfSharedFeatures() {
+        MinHashIndex index = new MinHashIndex(128, 64);
+        index.put(1, index.signature(List.of("t:java", "t:spring", "c:acme", "w:backend")));
+        index.put(2, index.signature(List.of("t:java", "t:spring", "c:acme", "w:backend")));
+        index.put(3, index.signature(List.of("t:java", "t:spring", "c:other", "w:frontend")));
+        index.put(4, index.signature(List.of("t:rust", "c:elsewhere")));
+
+        List<MinHashIndex.Match> matches = index.similar(1, 10, 0.1f, 1000);
+
+        assertThat(matches).extracting(MinHashIndex.Match::id).containsExactly(2L, 3L);
+        assertThat(matches.get(0).similarity()).isEqualTo(1f);
+        // Exact Jaccard of 1 and 3 is 2 / 6
+        assertThat(matches.get(1).similarity()).isCloseTo(1f / 3, within(0.15f));
+        assertThat(index.similar(1, 1, 0.1f, 1000)).extracting(MinHashIndex.Match::id).containsExactly(2L);
+        assertThat(index.similar(4, 10, 0.1f, 1000)).isEmpty();
+    }
+
+    @Test
+    void replacingAndRemovingUpdatesTheBuckets() {
+        MinHashIndex index = new MinHashIndex(64, 32);
+        index.put(1, index.signature(List.of("t:java", "t:spring")));
+        index.put(2, index.signature(List.of("t:java", "t:spring")));
+
+        index.put(2, index.signature(List.of("t:rust")));
+        assertThat(index.similar(1, 10, 0.1f, 1000)).isEmpty();
+
+        index.put(3, index.signature(List.of("t:java", "t:spring")));
+        index.remove(2);
+        index.put(2, null);
+
+        assertThat(index.similar(1, 10, 0.1f, 1000)).extracting(MinHashIndex.Match::id).containsExactly(3L);
+        assertThat(index.contains(2)).isFalse();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void incrementalWritesMatchAFreshBuild() {
+        Random random = new Random(3);
+        MinHashIndex incremental = new MinHashIndex(64, 32);
+        List<List<String>> members = new ArrayList<>();
+        for (int id = 0; id < 500; id++) {
+            members.add(null);
+        }
+        for (int step = 0; step < 5_000; step++) {
+            int id = random.nextInt(500);
+            List<String> features = random.nextInt(10) == 0 ? List.of() : randomFeatures(random, 3 + random.nextInt(8), 200);
+            incremental.put(id, incremental.signature(features));
+            members.set(id, features);
+        }
+        MinHashIndex fresh = new MinHashIndex(64, 32);
+        for (int id = 0; id < members.size(); id++) {
+            if (members.get(id) != null) {
+                fresh.put(id, fresh.signature(members.get(id)));
+            }
+        }
+
+        assertThat(MinHashIndex.differences(incremental, fresh)).isZero();
+        for (int id = 0; id < members.size(); id++) {
+            assertThat(incremental.similar(id, 10, 0.1f, 1000)).isEqualTo(fresh.similar(id, 10, 0.1f, 1000));
+        }
+    }
+
+    /**
+     * Members drawn from overlapping backgrounds, compared against exact
+     * Jaccard by brute force. Candidate recall is the share of pairs at or
+     * above {@code threshold} that a lookup returns at all; top-10 recall is
+     * the overlap of the returned and the exact ten nearest members.
+     */
+    @Test
+    @Tag("benchmark")
+    void recallLatencyAndFootprintAgainstExactJaccard() {
+        int members = 20_000;
+        int queries = 300;
+        float threshold = 0.25f;
+        Random random = new Random(11);
+        List<List<String>> backgrounds = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            backgrounds.add(randomFeatures(random, 20, 8_000));
+        }
+        List<Set<String>> sets = new ArrayList<>();
+        MinHashIndex index = new MinHashIndex(128, 64);
+        long started = System.nanoTime();
+        for (int id = 0; id < members; id++) {
+            Set<String> features = new HashSet<>();
+            // Most members share most of one background; some mix in a second one
+            drawFrom(random, backgrounds.get(random.nextInt(backgrounds.size())), 0.5 + random.nextDouble() * 0.4, features);
+            if (random.nextInt(4) == 0) {
+                drawFrom(random, backgrounds.get(random.nextInt(backgrounds.size())), 0.3, features);
+            }
+            features.addAll(randomFeatures(random, random.nextInt(5), 8_000));
+            sets.add(features);
+            index.put(id, index.signature(features));
+        }
+        long putMicros = (System.nanoTime() - started) / 1_000 / members;
+        long bytes = GraphLayout.parseInstance(index).totalSize();
+
+        int exactPairs = 0;
+        int foundPairs = 0;
+        double topRecall = 0;
+        long lookupNanos = 0;
+        for (int q = 0; q < queries; q++) {
+            int query = random.nextInt(members);
+            Set<String> own = sets.get(query);
+            float[] exact = new float[members];
+            for (int other = 0; other < members; other++) {
+                exact[other] = other == query ? -1 : jaccard(own, sets.get(other));
+            }
+            long lookup = System.nanoTime();
+            List<MinHashIndex.Match> all = index.similar(query, Integer.MAX_VALUE, 0f, Integer.MAX_VALUE);
+            List<MinHashIndex.Match> top = index.similar(query, 10, 0.1f, 1000);
+            lookupNanos += System.nanoTime() - lookup;
+
+            Set<Long> returned = all.stream().map(MinHashIndex.Match::id).collect(Collectors.toSet());
+            for (int other = 0; other < members; other++) {
+                if (exact[other] >= threshold) {
+                    exactPairs++;
+                    if (returned.contains((long) other)) {
+                        foundPairs++;
+                    }
+                }
+            }
+            List<Integer> exactTop = IntStream.range(0, members).boxed()
+                    .filter(other -> exact[other] >= 0.1f)
+                    .sorted(Comparator.comparingDouble((Integer other) -> -exact[other]))
+                    .limit(10)
+                    .toList();
+            if (exactTop.isEmpty()) {
+                topRecall += 1;
+            } else {
+                Set<Long> topIds = top.stream().map(MinHashIndex.Match::id).collect(Collectors.toSet());
+                topRecall += exactTop.stream().filter(other -> topIds.contains((long) other)).count() / (double) exactTop.size();
+            }
+        }
+        double candidateRecall = foundPairs / (double) exactPairs;
+        topRecall /= queries;
+        System.out.printf("similar members: %d members, %d bytes (%d per member), %d us per put, %d us per lookup, "
+                        + "candidate recall %.3f over %d pairs with Jaccard >= %.2f, top-10 recall %.3f%n",
+                members, bytes, bytes / members, putMicros, lookupNanos / 2 / queries / 1_000,
+                candidateRecall, exactPairs, threshold, topRecall);
+
+        assertThat(exactPairs).isGreaterThan(queries);
+        assertThat(candidateRecall).isGreaterThan(0.95);
+        assertThat(topRecall).isGreaterThan(0.8);
+    }
+
+    private static void drawFrom(Random random, List<String> background, double share, Set<String> into) {
+        for (String feature : background) {
+            if (random.nextDouble() < share) {
+                into.add(feature);
+            }
+        }
+    }
+
+    private static List<String> randomFeatures(Random random, int count, int vocabulary) {
+        Set<String> features = new HashSet<>();
+        while (features.size() < count) {
+            features.add("f" + random.nextInt(vocabulary));
+        }
+        return new ArrayList<>(features);
+    }
+
+    private static float jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String feature : a) {
+            if (b.contains(feature)) {
+                shared++;
+            }
+        }
+        return (float) shared / (a.size() + b.size() - shared);
+    }
+}
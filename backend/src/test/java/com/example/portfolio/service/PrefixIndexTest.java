@@ -0,0 +1,147 @@
+package com.example.portfolio.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    static {
+        // Records hide field offsets from Unsafe; let JOL discover them itself
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void prefixesReturnBestRankedEntriesOfTheSubtree() {
+        PrefixIndex index = new PrefixIndex(3);
+        put(index, 1, "Ada Lovelace", 5);
+        put(index, 2, "Adam Smith", 9);
+        put(index, 3, "Alan Turing", 1);
+        put(index, 4, "Grace Hopper", 7);
+
+        assertThat(labels(index, "a")).containsExactly("Adam Smith", "Ada Lovelace", "Alan Turing");
+        assertThat(labels(index, "AD")).containsExactly("Adam Smith", "Ada Lovelace");
+        assertThat(labels(index, "lov")).containsExactly("Ada Lovelace");
+        assertThat(labels(index, "ada l")).containsExactly("Ada Lovelace");
+        assertThat(labels(index, "x")).isEmpty();
+        assertThat(labels(index, " ")).isEmpty();
+    }
+
+    @Test
+    void removalsBringBackEntriesThatDidNotFitBefore() {
+        PrefixIndex index = new PrefixIndex(2);
+        put(index, 1, "alpha", 3);
+        put(index, 2, "alps", 2);
+        put(index, 3, "altitude", 1);
+        assertThat(labels(index, "al")).containsExactly("alpha", "alps");
+
+        assertThat(index.remove("1")).isTrue();
+        assertThat(labels(index, "al")).containsExactly("alps", "altitude");
+        assertThat(labels(index, "alph")).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void replacingAnEntryMovesItAndDropsItsOldKeys() {
+        PrefixIndex index = new PrefixIndex(5);
+        put(index, 1, "Kernel Hacker", 1);
+        put(index, 2, "Kestrel", 2);
+        assertThat(labels(index, "ke")).containsExactly("Kestrel", "Kernel Hacker");
+
+        put(index, 1, "Kernel Hacker", 4);
+        assertThat(labels(index, "ke")).containsExactly("Kernel Hacker", "Kestrel");
+
+        put(index, 1, "Compiler Writer", 4);
+        assertThat(labels(index, "ke")).containsExactly("Kestrel");
+        assertThat(labels(index, "hack")).isEmpty();
+        assertThat(labels(index, "wri")).containsExactly("Compiler Writer");
+    }
+
+    @Test
+    void entriesReachedThroughSeveralKeysAreListedOnce() {
+        PrefixIndex index = new PrefixIndex(5);
+        index.put("1", new PrefixIndex.Entry("profile", 1, "Ann Annabel", "ann", 0), Set.of("ann annabel", "annabel", "ann"));
+
+        assertThat(index.lookup("ann", 5)).hasSize(1);
+        index.remove("1");
+        assertThat(index.lookup("a", 5)).isEmpty();
+    }
+
+    @Test
+    void matchesABruteForceScanAfterRandomWrites() {
+        Random random = new Random(7);
+        PrefixIndex index = new PrefixIndex(4);
+        Map<Long, PrefixIndex.Entry> live = new HashMap<>();
+        for (int step = 0; step < 2_000; step++) {
+            long id = random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                index.remove(String.valueOf(id));
+                live.remove(id);
+            } else {
+                // A three-letter alphabet forces plenty of shared prefixes, splits and merges
+                String label = shortWord(random) + " " + shortWord(random);
+                PrefixIndex.Entry entry = new PrefixIndex.Entry("profile", id, label, null, random.nextInt(5));
+                index.put(String.valueOf(id), entry, PrefixIndex.wordKeys(label));
+                live.put(id, entry);
+            }
+        }
+
+        for (String prefix : List.of("a", "b", "c", "ab", "ba", "cc", "abc", "aab", "ca", "bcb", "a b", "cab c")) {
+            List<PrefixIndex.Entry> expected = live.values().stream()
+                    .filter(entry -> PrefixIndex.wordKeys(entry.label()).stream().anyMatch(key -> key.startsWith(prefix)))
+                    .sorted(PrefixIndex.RANKING)
+                    .limit(4)
+                    .toList();
+            assertThat(index.lookup(prefix, 4)).as(prefix).containsExactlyElementsOf(expected);
+        }
+        assertThat(index.size()).isEqualTo(live.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void footprintPerEntry() {
+        int entries = 20_000;
+        Random random = new Random(42);
+        PrefixIndex index = new PrefixIndex(SuggestService.MAX_SUGGESTIONS);
+        for (int i = 0; i < entries; i++) {
+            put(index, i, word(random) + " " + word(random), random.nextInt(50));
+        }
+
+        long bytes = GraphLayout.parseInstance(index).totalSize();
+        System.out.printf("suggest index: %d entries, %d bytes (%d/entry, ~%d MB per 1M entries)%n",
+                entries, bytes, bytes / entries, bytes / entries * 1_000_000 / (1024 * 1024));
+        assertThat(index.lookup("a", 10)).hasSize(10);
+    }
+
+    private static void put(PrefixIndex index, long id, String label, long score) {
+        index.put(String.valueOf(id), new PrefixIndex.Entry("profile", id, label, null, score), PrefixIndex.wordKeys(label));
+    }
+
+    private static List<String> labels(PrefixIndex index, String prefix) {
+        return index.lookup(prefix, 10).stream().map(PrefixIndex.Entry::label).toList();
+    }
+
+    private static String shortWord(Random random) {
+        char[] word = new char[1 + random.nextInt(4)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(word);
+    }
+
+    private static String word(Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProfileDetailDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.pagination.max-batch-size=4"
+})
+@Transactional
+class ProfileBatchServiceIntegrationTest {
+    private static final List<String> SLUGS = List.of("batch-a", "batch-b", "batch-c");
+
+    @Autowired
+    private ProfileBatchService profileBatchService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (String slug : SLUGS) {
+            AuthResponse response = authService.register(new RegisterRequest(
+                    slug + "@test.local", "StrongPass!1", slug, slug,
+                    null, null, null, null, null, null, null, null
+            ));
+            Profile profile = profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+            for (int i = 1; i <= 2; i++) {
+                experienceService.create(profile, new ExperienceRequest("Role " + i, "Company " + i, null, null, null, false, null, i));
+                projectService.createProject(profile, new ProjectRequest(slug + " project " + i, null, null, null, null, null, null));
+            }
+        }
+        cacheManager.getCache(CacheConfig.PROJECTS_CACHE).clear();
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadsAnyNumberOfProfilesWithThreeQueries() {
+        Map<String, ProfileDetailDto> details = profileBatchService.loadBySlugs(List.of("batch-c", "batch-a", "missing", "batch-b"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(details.keySet()).containsExactly("batch-c", "batch-a", "batch-b");
+        ProfileDetailDto a = details.get("batch-a");
+        assertThat(a.profile().slug()).isEqualTo("batch-a");
+        assertThat(a.experiences()).extracting(experience -> experience.title()).containsExactly("Role 1", "Role 2");
+        assertThat(a.projects()).extracting(project -> project.title()).containsExactly("batch-a project 1", "batch-a project 2");
+        assertThat(a.projects()).extracting(project -> project.owner().slug()).containsOnly("batch-a");
+    }
+
+    @Test
+    void reusesCachedProjectListsAndMatchesSingleLookups() {
+        List<String> cachedTitles = projectService.getProjects("batch-b").stream().map(project -> project.title()).toList();
+        entityManager.clear();
+        statistics.clear();
+
+        profileBatchService.loadBySlugs(SLUGS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(cacheManager.getCache(CacheConfig.PROJECTS_CACHE).get("batch-a")).isNotNull();
+
+        entityManager.clear();
+        statistics.clear();
+        Map<String, ProfileDetailDto> details = profileBatchService.loadBySlugs(SLUGS);
+        // Every project list now comes from the cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(details.get("batch-b").projects()).extracting(project -> project.title()).isEqualTo(cachedTitles);
+    }
+
+    @Test
+    void rejectsBatchesAboveTheLimit() {
+        assertThatThrownBy(() -> profileBatchService.loadBySlugs(List.of("a", "b", "c", "d", "e")))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(profileBatchService.loadBySlugs(List.of("a", "a", "b", " ", "c", "d"))).isEmpty();
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.config.PaginationProperties;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class ProjectCacheInvalidationIntegrationTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private OwnerSummaryTable ownerSummaries;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PaginationProperties pagination;
+
+    private Cache projectsCache;
+    private Profile alpha;
+    private Profile beta;
+
+    @BeforeEach
+    void setUp() {
+        projectsCache = cacheManager.getCache(CacheConfig.PROJECTS_CACHE);
+        projectsCache.clear();
+
+        alpha = register("alpha.cache@test.local", "alpha-cache", "Alpha Cache");
+        beta = register("beta.cache@test.local", "beta-cache", "Beta Cache");
+        projectService.createProject(alpha, projectRequest("Alpha Project"));
+        projectService.createProject(beta, projectRequest("Beta Project"));
+
+        projectService.getProjects("alpha-cache");
+        projectService.getProjects("beta-cache");
+        projectService.getProjects(null);
+        assertThat(projectsCache.get("alpha-cache")).isNotNull();
+        assertThat(projectsCache.get("beta-cache")).isNotNull();
+        assertThat(projectsCache.get(CacheConfig.PROJECTS_ALL_KEY)).isNotNull();
+    }
+
+    @Test
+    void projectWritesOnlyEvictOwnerAndAllEntries() {
+        ProjectDto created = projectService.createProject(alpha, projectRequest("Second Alpha Project"));
+        assertEvictedOnlyFor("alpha-cache");
+
+        projectService.getProjects("alpha-cache");
+        projectService.getProjects(null);
+        projectService.updateProject(alpha, created.id(), projectRequest("Renamed Alpha Project"));
+        assertEvictedOnlyFor("alpha-cache");
+
+        projectService.getProjects("alpha-cache");
+        projectService.getProjects(null);
+        projectService.deleteProject(alpha, created.id());
+        assertEvictedOnlyFor("alpha-cache");
+    }
+
+    @Test
+    void slugChangeEvictsOldAndNewOwnerKeys() {
+        profileService.updateProfile(alpha, new ProfileUpdateRequest("alpha-renamed", null, null, null, null, null, null, null, null, null));
+
+        assertThat(projectsCache.get("alpha-cache")).isNull();
+        assertThat(projectsCache.get(CacheConfig.PROJECTS_ALL_KEY)).isNotNull();
+        assertThat(projectsCache.get("beta-cache")).isNotNull();
+
+        assertThat(projectService.getProjects("alpha-renamed"))
+                .extracting(dto -> dto.owner().slug())
+                .containsOnly("alpha-renamed");
+        assertThat(projectService.getProjects(null))
+                .extracting(dto -> dto.owner().slug())
+                .doesNotContain("alpha-cache");
+    }
+
+    @Test
+    void profileEditRefreshesEmbeddedOwnerSummaryWithoutEviction() {
+        profileService.updateProfile(beta, new ProfileUpdateRequest(null, "Beta Renamed", null, null, null, null, null, null, null, null));
+
+        assertThat(projectsCache.get("alpha-cache")).isNotNull();
+        assertThat(projectsCache.get("beta-cache")).isNotNull();
+        assertThat(projectService.getProjects("beta-cache"))
+                .extracting(dto -> dto.owner().name())
+                .containsOnly("Beta Renamed");
+        assertThat(projectService.getProjects(null))
+                .filteredOn(dto -> dto.owner().slug().equals("beta-cache"))
+                .extracting(dto -> dto.owner().name())
+                .containsOnly("Beta Renamed");
+    }
+
+    @Test
+    void accountDeletionDropsTheOwnersProjectsFromCachedListsAndMovesVersions() {
+        long projectsVersion = contentVersions.projects();
+        long profilesVersion = contentVersions.profiles();
+        cacheManager.getCache(CacheConfig.PROJECT_PAGES_CACHE).put("ALL:0:20", "stale");
+        cacheManager.getCache(CacheConfig.RESPONSE_BODIES_CACHE).put("projects:ALL", "stale");
+        // V4 cascades refresh tokens on delete; the generated test schema does not
+        entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+        // As in a request: the profile and its projects are loaded fresh by the delete
+        entityManager.flush();
+        entityManager.clear();
+
+        Long ownerId = profileRepository.findBySlug("beta-cache").orElseThrow().getId();
+        assertThat(ownerSummaries.get(ownerId)).isNotNull();
+
+        authService.deleteAccount(userAccountRepository.findByEmail("beta.cache@test.local").orElseThrow());
+
+        assertThat(projectsCache.get(CacheConfig.PROJECTS_ALL_KEY)).isNull();
+        assertThat(projectsCache.get("beta-cache")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROJECT_PAGES_CACHE).get("ALL:0:20")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.RESPONSE_BODIES_CACHE).get("projects:ALL")).isNull();
+        assertThat(ownerSummaries.get(ownerId)).isNull();
+        assertThat(contentVersions.projects()).isGreaterThan(projectsVersion);
+        assertThat(contentVersions.profiles()).isGreaterThan(profilesVersion);
+        assertThat(projectService.getProjects(null))
+                .extracting(ProjectDto::title)
+                .contains("Alpha Project")
+                .doesNotContain("Beta Project");
+    }
+
+    @Test
+    void fillThatReadTheOwnerBeforeAnEditKeepsTheEditedSummary() {
+        // What a cache fill that started before the edit loaded
+        Profile before = new Profile();
+        before.setId(beta.getId());
+        before.setSlug(beta.getSlug());
+        before.setName(beta.getName());
+        before.setUpdatedAt(beta.getUpdatedAt());
+
+        profileService.updateProfile(beta, new ProfileUpdateRequest(null, "Beta Renamed", null, null, null, null, null, null, null, null));
+        ownerSummaries.register(before);
+
+        assertThat(ownerSummaries.get(beta.getId()).name()).isEqualTo("Beta Renamed");
+        assertThat(projectService.getProjects(null))
+                .filteredOn(dto -> dto.owner().slug().equals("beta-cache"))
+                .extracting(dto -> dto.owner().name())
+                .containsOnly("Beta Renamed");
+    }
+
+    @Test
+    void listingsReadWhileAWriteMovesTheVersionAreNotCached() {
+        projectsCache.clear();
+        // Every read of the version sees a write land in between
+        ContentVersions moving = new ContentVersions() {
+            @Override
+            public long projects() {
+                projectsChanged();
+                return super.projects();
+            }
+        };
+        ProjectListCache loader = new ProjectListCache(projectRepository, ownerSummaries, moving, pagination, cacheManager);
+
+        Map<String, ProjectListing> listings = loader.loadAll(List.of(alpha, beta));
+
+        assertThat(listings.get("alpha-cache").projects()).extracting(CachedProject::title).containsExactly("Alpha Project");
+        assertThat(projectsCache.get("alpha-cache")).isNull();
+        assertThat(projectsCache.get("beta-cache")).isNull();
+
+        new ProjectListCache(projectRepository, ownerSummaries, new ContentVersions(), pagination, cacheManager)
+                .loadAll(List.of(alpha, beta));
+        assertThat(projectsCache.get("alpha-cache")).isNotNull();
+    }
+
+    @Test
+    void cachedListsCannotBeMutatedByCallers() {
+        List<ProjectDto> projects = projectService.getProjects(null);
+        assertThatThrownBy(() -> projects.clear()).isInstanceOf(UnsupportedOperationException.class);
+
+        ProjectListing cached = (ProjectListing) projectsCache.get(CacheConfig.PROJECTS_ALL_KEY).get();
+        assertThatThrownBy(() -> cached.projects().remove(0)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private void assertEvictedOnlyFor(String slug) {
+        assertThat(projectsCache.get(slug)).isNull();
+        assertThat(projectsCache.get(CacheConfig.PROJECTS_ALL_KEY)).isNull();
+        String unrelated = slug.equals("alpha-cache") ? "beta-cache" : "alpha-cache";
+        assertThat(projectsCache.get(unrelated)).isNotNull();
+    }
+
+    private Profile register(String email, String slug, String displayName) {
+        AuthResponse response = authService.register(new RegisterRequest(
+                email, "StrongPass!1", slug, displayName,
+                null, null, null, null, null, null, null, null
+        ));
+        return profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+    }
+
+    private ProjectRequest projectRequest(String title) {
+        return new ProjectRequest(title, null, null, "java", null, null, null);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.web.dto.ProjectDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ProjectListQueryIntegrationTest {
+    private static final int PROJECTS_PER_OWNER = 3;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int owners;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listsProjectsWithTheirOwnersInOneStatementAtAnySize() {
+        for (int size : new int[]{1, 4, 20}) {
+            addOwners(size - owners);
+
+            List<ProjectDto> all = statements(() -> projectService.getProjects(null), 1);
+            assertThat(all).hasSizeGreaterThanOrEqualTo(size * PROJECTS_PER_OWNER);
+            assertThat(all).filteredOn(project -> project.title().startsWith("list-"))
+                    .allSatisfy(project -> assertThat(project.title()).startsWith(project.owner().slug() + " "));
+
+            List<ProjectDto> owned = statements(() -> projectService.getProjects("list-0"), 1);
+            assertThat(owned).hasSize(PROJECTS_PER_OWNER);
+            assertThat(owned).extracting(project -> project.owner().slug()).containsOnly("list-0");
+
+            statements(() -> projectService.getProjectPage(null, 0, 50), 1);
+            statements(() -> projectService.getProjectPage("list-0", 0, 50), 1);
+        }
+    }
+
+    @Test
+    void otherPathsNoLongerLoadTheOwner() {
+        addOwners(1);
+        Long id = projectRepository.findByOwnerSlugOrderByTitleAscIdAsc("list-0", Limit.of(1))
+                .get(0).getId();
+        entityManager.clear();
+
+        Project project = projectRepository.findById(id).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(project.getOwner())).isFalse();
+    }
+
+    private void addOwners(int count) {
+        for (int i = 0; i < count; i++, owners++) {
+            Profile profile = new Profile();
+            profile.setSlug("list-" + owners);
+            profile.setName("list-" + owners);
+            profileRepository.save(profile);
+            for (int p = 0; p < PROJECTS_PER_OWNER; p++) {
+                projectRepository.save(new Project(profile.getSlug() + " project " + p, null, null, null, null, null, profile));
+            }
+        }
+        entityManager.flush();
+    }
+
+    private <T> T statements(Supplier<T> call, long expected) {
+        cacheManager.getCache(CacheConfig.PROJECTS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.PROJECT_PAGES_CACHE).clear();
+        entityManager.clear();
+        statistics.clear();
+
+        T result = call.get();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.TagRepository;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tag rows shared between concurrent project writes. Not transactional:
+ * the writers run on their own threads and commit.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class ProjectTagsIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    private Profile owner;
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Profile profile = new Profile();
+        profile.setSlug("tag-racer");
+        profile.setName("Tag Racer");
+        owner = profileRepository.save(profile);
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(id -> projectService.deleteProject(owner, id));
+        profileRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void concurrentWritesIntroducingTheSameTagAllSucceed() throws Exception {
+        int writers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            for (int round = 0; round < 10; round++) {
+                String tag = "race-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<ProjectDto>> writes = new ArrayList<>();
+                for (int writer = 0; writer < writers; writer++) {
+                    ProjectRequest request = new ProjectRequest("Racer " + writer, null, null, "java, " + tag,
+                            null, null, null);
+                    writes.add(pool.submit(() -> {
+                        start.await();
+                        return projectService.createProject(owner, request);
+                    }));
+                }
+                start.countDown();
+                for (Future<ProjectDto> write : writes) {
+                    created.add(write.get().id());
+                }
+                assertThat(tagRepository.findByNameIn(List.of(tag))).hasSize(1);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Project writes reach the in-memory indexes and the content version only
+ * once they commit. Not transactional, so the writes can commit.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class ProjectWriteCommitIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private TagFilterIndex tagFilterIndex;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Profile owner;
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        Profile profile = new Profile();
+        profile.setSlug("commit-owner");
+        profile.setName("Commit Owner");
+        owner = profileRepository.save(profile);
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(id -> projectService.deleteProject(owner, id));
+        profileRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void rolledBackWritesLeaveIndexesAndVersionAlone() {
+        long version = contentVersions.projects();
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            projectService.createProject(owner, new ProjectRequest("Phantomwick", null, null, "phantom-tag", null, null, null));
+            throw new IllegalStateException("rolled back");
+        })).hasMessage("rolled back");
+
+        assertThat(contentVersions.projects()).isEqualTo(version);
+        assertThat(tagFilterIndex.count(List.of("phantom-tag"), true)).isZero();
+        assertThat(suggestService.suggest("phantom", 10)).isEmpty();
+        assertThat(fuzzySearchService.search("phantomwick", 10)).isEmpty();
+    }
+
+    @Test
+    void committedWritesReachIndexesOnCommit() {
+        long version = contentVersions.projects();
+
+        ProjectDto project = transaction.execute(status -> {
+            ProjectDto stored = projectService.createProject(owner,
+                    new ProjectRequest("Commitwick", null, null, "commit-tag", null, null, null));
+            assertThat(tagFilterIndex.count(List.of("commit-tag"), true)).isZero();
+            assertThat(contentVersions.projects()).isEqualTo(version);
+            return stored;
+        });
+        created.add(project.id());
+
+        assertThat(contentVersions.projects()).isGreaterThan(version);
+        assertThat(tagFilterIndex.count(List.of("commit-tag"), true)).isEqualTo(1);
+        assertThat(suggestService.suggest("commitw", 10)).isNotEmpty();
+    }
+
+    @Test
+    void cacheEvictionsRunOutsideTheWriteTransaction() {
+        List<Class<?>> interceptors = Arrays.stream(((Advised) projectService).getAdvisors())
+                .map(Advisor::getAdvice)
+                .<Class<?>>map(Object::getClass)
+                .filter(type -> type == CacheInterceptor.class || type == TransactionInterceptor.class)
+                .toList();
+
+        // Advisors run in order, so the cache interceptor sees the method return after the commit
+        assertThat(interceptors).containsExactly(CacheInterceptor.class, TransactionInterceptor.class);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.portfolio.service;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.PushSubscriptionRepository;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.PushSubscriptionRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: pushes go out on background threads once the write commits
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class PushDispatchServiceIntegrationTest {
+
+    @Autowired
+    private PushSubscriptionService pushSubscriptionService;
+
+    @Autowired
+    private PushSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final KeyPair browser = WebPushCrypto.generateKeyPair();
+    private final byte[] auth = "push-auth-secret".getBytes();
+    private LocalPushService push;
+    private Profile owner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        push = new LocalPushService();
+        Profile profile = new Profile();
+        profile.setSlug("push-owner");
+        profile.setName("push-owner");
+        owner = profileRepository.save(profile);
+    }
+
+    @AfterEach
+    void tearDown() {
+        push.close();
+        jdbcTemplate.update("DELETE FROM push_subscription");
+        profileRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void batchesChangesRetriesAndDropsGoneSubscriptions() throws Exception {
+        for (String name : List.of("ok", "flaky", "gone", "down")) {
+            subscribe(name);
+        }
+        push.respond("flaky", 500, 503);
+        push.respond("gone", 410);
+        push.respond("down", 500, 500, 500, 500);
+        double delivered = count("push.messages", "delivered");
+        double failed = count("push.messages", "failed");
+        double retries = meterRegistry.counter("push.retries").count();
+
+        // Both announced when the transaction commits, so they land in one batch
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            projectService.createProject(owner, new ProjectRequest("Push alpha", null, null, null, null, null, null));
+            projectService.createProject(owner, new ProjectRequest("Push beta", null, null, null, null, null, null));
+        });
+
+        await(() -> subscriptionRepository.findByEndpoint(push.endpoint("gone")).isEmpty(), 10_000);
+        assertThat(push.received("ok")).hasSize(1);
+        assertThat(push.received("flaky")).hasSize(3);
+        assertThat(push.received("down")).hasSize(4);
+        assertThat(subscriptionRepository.findByEndpoint(push.endpoint("down"))).isPresent();
+
+        LocalPushService.Received message = push.received("ok").get(0);
+        assertThat(message.authorization()).startsWith("vapid t=").contains(", k=");
+        assertThat(message.contentEncoding()).isEqualTo("aes128gcm");
+        assertThat(message.ttl()).isEqualTo("43200");
+        JsonNode notification = objectMapper.readTree(WebPushCryptoTest.decrypt(message.body(), browser, auth));
+        assertThat(notification.get("title").asText()).isEqualTo("2 updates from the team");
+        assertThat(notification.get("body").asText()).isEqualTo("Push alpha, Push beta");
+        assertThat(notification.get("data").get("count").asInt()).isEqualTo(2);
+        assertThat(notification.get("data").get("changes").get(0).get("type").asText()).isEqualTo("project");
+        // Retries resend the same message
+        assertThat(push.received("flaky").get(2).body()).isEqualTo(push.received("flaky").get(0).body());
+
+        assertThat(count("push.messages", "delivered") - delivered).isEqualTo(2);
+        assertThat(count("push.messages", "failed") - failed).isEqualTo(1);
+        assertThat(meterRegistry.counter("push.retries").count() - retries).isEqualTo(5);
+    }
+
+    @Test
+    void deletesMoreGoneSubscriptionsThanFitOneQuery() throws Exception {
+        int subscriptions = 2_500;
+        insertSubscriptions("gone", subscriptions, 1);
+
+        projectService.createProject(owner, new ProjectRequest("Everyone left", null, null, null, null, null, null));
+        await(() -> subscriptionRepository.count() == 0, 60_000);
+
+        assertThat(push.requests()).isEqualTo(subscriptions);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void fansOutToFiftyThousandSubscriptions() throws Exception {
+        int subscriptions = 50_000;
+        int goneEvery = 100;
+        insertSubscriptions("fan", subscriptions, goneEvery);
+        int gone = subscriptions / goneEvery;
+        double delivered = count("push.messages", "delivered");
+
+        long started = System.nanoTime();
+        projectService.createProject(owner, new ProjectRequest("Fan-out", null, null, null, null, null, null));
+        await(() -> subscriptionRepository.count() == subscriptions - gone, 300_000);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.printf("push fan-out: %d subscriptions in %d ms (%d messages/s), %d gone%n",
+                subscriptions, millis, subscriptions * 1_000L / Math.max(1, millis), gone);
+        assertThat(push.requests()).isEqualTo(subscriptions);
+        assertThat(count("push.messages", "delivered") - delivered).isEqualTo(subscriptions - gone);
+        JsonNode notification = objectMapper.readTree(
+                WebPushCryptoTest.decrypt(push.received("fan-" + (subscriptions - 1)).get(0).body(), browser, auth));
+        assertThat(notification.get("title").asText()).isEqualTo("New project");
+        assertThat(notification.get("body").asText()).isEqualTo("Fan-out");
+    }
+
+    // Subscriptions name-0 to name-(count - 1) with the browser's keys; every goneEvery-th answers 410
+    private void insertSubscriptions(String name, int count, int goneEvery) {
+        String p256dh = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(WebPushCrypto.encode((ECPublicKey) browser.getPublic()));
+        String secret = Base64.getUrlEncoder().withoutPadding().encodeToString(auth);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{push.endpoint(name + "-" + i), p256dh, secret, Timestamp.valueOf(LocalDateTime.now())});
+            if (i % goneEvery == 0) {
+                push.respond(name + "-" + i, 410);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO push_subscription (endpoint, p256dh, auth, created_at) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private void subscribe(String name) {
+        pushSubscriptionService.subscribe(new PushSubscriptionRequest(push.endpoint(name), null,
+                new PushSubscriptionRequest.Keys(
+                        Base64.getUrlEncoder().withoutPadding().encodeToString(WebPushCrypto.encode((ECPublicKey) browser.getPublic())),
+                        Base64.getUrlEncoder().withoutPadding().encodeToString(auth))));
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.counter(name, "result", result).count();
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("push round finished").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
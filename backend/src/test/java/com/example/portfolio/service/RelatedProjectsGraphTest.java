@@ -0,0 +1,124 @@
+package com.example.portfolio.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelatedProjectsGraphTest {
+
+    static {
+        // JOL reads this once per JVM, so whichever footprint test runs first must set it
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void ranksSharedTagsAboveCoOccurringOnes() {
+        RelatedProjectsGraph graph = sample();
+
+        assertThat(graph.related(1, 10)).containsExactly(2, 3, 4);
+        assertThat(graph.related(1, 1)).containsExactly(2);
+        assertThat(graph.related(5, 10)).isEmpty();
+    }
+
+    @Test
+    void coOccurringTagsRelateProjectsWithoutSharedTags() {
+        RelatedProjectsGraph graph = sample();
+        graph.put(6, List.of("kotlin"));
+
+        // 1 and 2 share no tag with 6, but spring is used together with kotlin
+        assertThat(graph.related(6, 10)).containsExactly(4, 1, 2);
+    }
+
+    @Test
+    void listsThatLoseAProjectAreRefilled() {
+        RelatedProjectsGraph graph = sample();
+        graph.put(6, List.of("kotlin"));
+
+        graph.remove(2);
+
+        assertThat(graph.related(1, 10)).containsExactly(3, 4, 6);
+        assertThat(graph.related(2, 10)).isEmpty();
+        assertThat(graph.contains(2)).isFalse();
+    }
+
+    @Test
+    void relinkingAfterRandomWritesMatchesAFreshBuild() {
+        Random random = new Random(7);
+        RelatedProjectsGraph incremental = new RelatedProjectsGraph(5, 10_000, 16);
+        Map<Integer, List<String>> tags = new HashMap<>();
+        for (int step = 0; step < 3_000; step++) {
+            int project = 1 + random.nextInt(400);
+            if (random.nextInt(10) == 0) {
+                incremental.remove(project);
+                tags.remove(project);
+            } else {
+                List<String> names = randomTags(random, 30);
+                incremental.put(project, names);
+                tags.put(project, names);
+            }
+        }
+        RelatedProjectsGraph fresh = new RelatedProjectsGraph(5, 10_000, 16);
+        tags.forEach(fresh::addTags);
+        fresh.relinkAll();
+
+        incremental.relinkAll();
+
+        assertThat(RelatedProjectsGraph.differences(incremental, fresh)).isZero();
+        assertThat(incremental.size()).isEqualTo(tags.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void writeCostAndFootprintAtOneHundredThousandProjects() {
+        int projects = 100_000;
+        Random random = new Random(42);
+        RelatedProjectsGraph graph = new RelatedProjectsGraph(10, 500, 16);
+        for (int id = 1; id <= projects; id++) {
+            graph.addTags(id, randomTags(random, 200));
+        }
+        long started = System.nanoTime();
+        graph.relinkAll();
+        long rebuildMillis = (System.nanoTime() - started) / 1_000_000;
+        long bytes = GraphLayout.parseInstance(graph).totalSize();
+
+        int writes = 2_000;
+        started = System.nanoTime();
+        for (int i = 0; i < writes; i++) {
+            graph.put(1 + random.nextInt(projects), randomTags(random, 200));
+        }
+        long writeMicros = (System.nanoTime() - started) / 1_000 / writes;
+        System.out.printf("related projects: %d projects, %d tag pairs, %d bytes, rebuild %d ms, %d us per write%n",
+                projects, graph.pairCount(), bytes, rebuildMillis, writeMicros);
+        assertThat(graph.related(1, 10)).hasSize(10);
+    }
+
+    private static RelatedProjectsGraph sample() {
+        RelatedProjectsGraph graph = new RelatedProjectsGraph(3, 100, 16);
+        graph.put(1, List.of("java", "spring"));
+        graph.put(2, List.of("java", "spring"));
+        graph.put(3, List.of("java"));
+        graph.put(4, List.of("spring", "kotlin"));
+        graph.put(5, List.of("rust"));
+        return graph;
+    }
+
+    // One to three tags; popularity falls off along a half-normal curve
+    private static List<String> randomTags(Random random, int tagCount) {
+        Set<String> names = new LinkedHashSet<>();
+        int wanted = 1 + random.nextInt(3);
+        for (int i = 0; i < wanted; i++) {
+            names.add("tag" + Math.min(tagCount - 1, (int) Math.abs(random.nextGaussian() * tagCount / 6)));
+        }
+        return new ArrayList<>(names);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.portfolio.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    static {
+        // Records hide field offsets from Unsafe; let JOL discover them itself
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void misspelledQueriesStillFindTheirDocument() {
+        TrigramIndex index = new TrigramIndex();
+        put(index, 1, "Katherine Johnson");
+        put(index, 2, "Catherine Jones");
+        put(index, 3, "Grace Hopper");
+
+        assertThat(texts(index, "Kathrine Jonson")).first().isEqualTo("Katherine Johnson");
+        assertThat(texts(index, "grase hoper")).containsExactly("Grace Hopper");
+        assertThat(texts(index, "GRACE HOPPER")).containsExactly("Grace Hopper");
+        assertThat(texts(index, "xyz")).isEmpty();
+        assertThat(texts(index, " - ")).isEmpty();
+    }
+
+    @Test
+    void similarityMatchesPgTrgm() {
+        // SELECT similarity('word', 'two words') = 0.36363637
+        assertThat(TrigramIndex.trigrams("word")).hasSize(5);
+        assertThat(TrigramIndex.trigrams("two words")).hasSize(10);
+        TrigramIndex index = new TrigramIndex();
+        put(index, 1, "two words");
+
+        assertThat(index.search("word", 0.3f)).singleElement()
+                .satisfies(match -> assertThat(match.similarity()).isEqualTo(4f / 11));
+        assertThat(index.search("word", 0.4f)).isEmpty();
+    }
+
+    @Test
+    void replacingAndRemovingRewritesOnlyTheirOwnPostings() {
+        TrigramIndex index = new TrigramIndex();
+        put(index, 1, "Initech");
+        put(index, 2, "Initrode");
+        put(index, 1, "Globex");
+
+        assertThat(texts(index, "initech")).containsExactly("Initrode");
+        assertThat(texts(index, "globex")).containsExactly("Globex");
+        assertThat(texts(index, "initrode")).containsExactly("Initrode");
+
+        assertThat(index.remove("2")).isTrue();
+        assertThat(index.remove("2")).isFalse();
+        assertThat(texts(index, "initrode")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.trigramCount()).isEqualTo(TrigramIndex.trigrams("Globex").length);
+    }
+
+    @Test
+    void removingAnOwnerDropsAllItsDocuments() {
+        TrigramIndex index = new TrigramIndex();
+        index.put("a", new TrigramIndex.Document("project", 1, "title", "Sparrow", 7));
+        index.put("b", new TrigramIndex.Document("experience", 2, "company", "Sparrow Labs", 7));
+        index.put("c", new TrigramIndex.Document("project", 3, "title", "Sparrowhawk", 8));
+
+        index.removeOwnedBy(7);
+        assertThat(texts(index, "sparrow")).containsExactly("Sparrowhawk");
+    }
+
+    @Test
+    void matchesABruteForceScanAfterRandomWrites() {
+        Random random = new Random(11);
+        TrigramIndex index = new TrigramIndex();
+        Map<Long, String> live = new HashMap<>();
+        for (int step = 0; step < 3_000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                index.remove(String.valueOf(id));
+                live.remove(id);
+            } else {
+                // A small alphabet makes trigrams collide, so posting lists grow long and get rewritten
+                String text = word(random, 4) + " " + word(random, 4);
+                put(index, id, text);
+                live.put(id, text);
+            }
+        }
+
+        for (String query : List.of("abc", "abcd dcba", "aaaa", "bad cab", "dd")) {
+            long[] q = TrigramIndex.trigrams(query);
+            Map<Long, Float> expected = new HashMap<>();
+            live.forEach((id, text) -> {
+                long[] d = TrigramIndex.trigrams(text);
+                long common = Arrays.stream(d).filter(t -> Arrays.binarySearch(q, t) >= 0).count();
+                float similarity = (float) common / (q.length + d.length - common);
+                if (similarity >= 0.3f) {
+                    expected.put(id, similarity);
+                }
+            });
+            Map<Long, Float> actual = new HashMap<>();
+            index.search(query, 0.3f).forEach(match -> actual.put(match.document().id(), match.similarity()));
+            assertThat(actual).as(query).isEqualTo(expected);
+        }
+        assertThat(index.size()).isEqualTo(live.size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void footprintAndLatencyAtOneHundredThousandProfiles() {
+        int profiles = 100_000;
+        Random random = new Random(42);
+        TrigramIndex index = new TrigramIndex();
+        String[] names = new String[profiles];
+        for (int i = 0; i < profiles; i++) {
+            names[i] = word(random, 26) + " " + word(random, 26);
+            put(index, i, names[i]);
+        }
+
+        long bytes = GraphLayout.parseInstance(index).totalSize();
+        int queries = 1_000;
+        long started = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < queries; i++) {
+            // Drop a letter, as a typo would
+            String name = names[random.nextInt(profiles)];
+            found += index.search(name.substring(0, 2) + name.substring(3), FuzzySearchService.SIMILARITY_THRESHOLD).isEmpty() ? 0 : 1;
+        }
+        long micros = (System.nanoTime() - started) / 1_000 / queries;
+        System.out.printf("trigram index: %d profiles, %d trigrams, %d bytes (%d/profile), %d us/query%n",
+                profiles, index.trigramCount(), bytes, bytes / profiles, micros);
+        assertThat(found).isEqualTo(queries);
+    }
+
+    private static void put(TrigramIndex index, long id, String text) {
+        index.put(String.valueOf(id), new TrigramIndex.Document("profile", id, "name", text, id));
+    }
+
+    private static List<String> texts(TrigramIndex index, String query) {
+        return index.search(query, 0.3f).stream().map(match -> match.document().text()).toList();
+    }
+
+    private static String word(Random random, int alphabet) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(alphabet));
+        }
+        return new String(word);
+    }
+}
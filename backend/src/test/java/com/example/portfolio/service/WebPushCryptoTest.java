@@ -0,0 +1,105 @@
+package com.example.portfolio.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebPushCryptoTest {
+
+    @Test
+    void browsersCanDecryptWhatIsSent() throws Exception {
+        KeyPair browser = WebPushCrypto.generateKeyPair();
+        byte[] auth = new byte[16];
+        Arrays.fill(auth, (byte) 7);
+        KeyPair sender = WebPushCrypto.generateKeyPair();
+        byte[] payload = "{\"title\":\"New project\"}".getBytes(StandardCharsets.UTF_8);
+
+        byte[] first = WebPushCrypto.encrypt(payload, (ECPublicKey) browser.getPublic(), auth, sender);
+        byte[] second = WebPushCrypto.encrypt(payload, (ECPublicKey) browser.getPublic(), auth, sender);
+
+        assertThat(decrypt(first, browser, auth)).isEqualTo(payload);
+        assertThat(decrypt(second, browser, auth)).isEqualTo(payload);
+        // A fresh salt per message, even with the same sender keys
+        assertThat(Arrays.copyOf(first, 16)).isNotEqualTo(Arrays.copyOf(second, 16));
+        assertThatThrownBy(() -> WebPushCrypto.encrypt(new byte[WebPushCrypto.MAX_PAYLOAD + 1],
+                (ECPublicKey) browser.getPublic(), auth, sender))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keysRoundTripThroughTheirEncodings() {
+        KeyPair pair = WebPushCrypto.generateKeyPair();
+        byte[] publicKey = WebPushCrypto.encode((ECPublicKey) pair.getPublic());
+        byte[] privateKey = WebPushCrypto.encode((ECPrivateKey) pair.getPrivate());
+
+        assertThat(publicKey).hasSize(65);
+        assertThat(WebPushCrypto.publicKey(publicKey).getW()).isEqualTo(((ECPublicKey) pair.getPublic()).getW());
+        assertThat(WebPushCrypto.privateKey(privateKey).getS()).isEqualTo(((ECPrivateKey) pair.getPrivate()).getS());
+
+        byte[] offCurve = publicKey.clone();
+        offCurve[64] ^= 1;
+        assertThatThrownBy(() -> WebPushCrypto.publicKey(offCurve)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WebPushCrypto.publicKey(Arrays.copyOf(publicKey, 33)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void hkdfMatchesTheRfc5869Vector() throws Exception {
+        HexFormat hex = HexFormat.of();
+        byte[] ikm = new byte[22];
+        Arrays.fill(ikm, (byte) 0x0b);
+
+        byte[] okm = WebPushCrypto.hkdf(hex.parseHex("000102030405060708090a0b0c"), ikm,
+                hex.parseHex("f0f1f2f3f4f5f6f7f8f9"), 32);
+
+        assertThat(hex.formatHex(okm)).isEqualTo("3cb25f25faacd57a90434f64d0362f2a2d2d0a90cf1a5a4c5db02d56ecc4c5bf");
+    }
+
+    /**
+     * What the browser does with a message (RFC 8291 section 3.4), written
+     * out from the receiving side.
+     */
+    static byte[] decrypt(byte[] message, KeyPair browser, byte[] auth) throws GeneralSecurityException {
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        byte[] salt = new byte[16];
+        buffer.get(salt);
+        assertThat(buffer.getInt()).isEqualTo(4096);
+        byte[] senderKey = new byte[buffer.get()];
+        buffer.get(senderKey);
+        byte[] ciphertext = new byte[buffer.remaining()];
+        buffer.get(ciphertext);
+
+        KeyAgreement agreement = KeyAgreement.getInstance("ECDH");
+        agreement.init((PrivateKey) browser.getPrivate());
+        agreement.doPhase(WebPushCrypto.publicKey(senderKey), true);
+        byte[] browserKey = WebPushCrypto.encode((ECPublicKey) browser.getPublic());
+        ByteBuffer keyInfo = ByteBuffer.allocate(14 + 65 + 65)
+                .put("WebPush: info\0".getBytes(StandardCharsets.US_ASCII))
+                .put(browserKey)
+                .put(senderKey);
+        byte[] ikm = WebPushCrypto.hkdf(auth, agreement.generateSecret(), keyInfo.array(), 32);
+        byte[] cek = WebPushCrypto.hkdf(salt, ikm, "Content-Encoding: aes128gcm\0".getBytes(StandardCharsets.US_ASCII), 16);
+        byte[] nonce = WebPushCrypto.hkdf(salt, ikm, "Content-Encoding: nonce\0".getBytes(StandardCharsets.US_ASCII), 12);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(cek, "AES"), new GCMParameterSpec(128, nonce));
+        byte[] padded = cipher.doFinal(ciphertext);
+        assertThat(padded[padded.length - 1]).as("last record delimiter").isEqualTo((byte) 2);
+        return Arrays.copyOf(padded, padded.length - 1);
+    }
+}
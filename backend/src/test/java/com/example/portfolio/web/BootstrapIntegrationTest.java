@@ -0,0 +1,142 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Experience;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.ExperienceRepository;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.service.ProjectListCache;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.TeamPageCache;
+import com.example.portfolio.web.dto.ProjectRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the parts load on the bootstrap pool and only see committed rows
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class BootstrapIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ExperienceRepository experienceRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectListCache projectListCache;
+
+    @Autowired
+    private TeamPageCache teamPageCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Profile owner;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        owner = new Profile();
+        owner.setSlug("bootstrap-home");
+        owner.setName("Bootstrap Home");
+        owner = profileRepository.save(owner);
+        projectRepository.saveAll(List.of(
+                new Project("Bootstrap One", null, "java", null, null, null, owner),
+                new Project("Bootstrap Two", null, "java", null, null, null, owner)));
+        Experience experience = new Experience();
+        experience.setProfile(owner);
+        experience.setTitle("Engineer");
+        experienceRepository.save(experience);
+        // Rows above bypass the services, and rolled-back tests may have left entries behind
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll(projectRepository.findByOwnerIdOrderByCreatedAtDesc(owner.getId()));
+        experienceRepository.deleteAll(experienceRepository.findByProfileIdOrderByOrderIndexAsc(owner.getId()));
+        profileRepository.deleteById(owner.getId());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void returnsAllPartsInOneResponse() throws Exception {
+        String counts = "$.memberCounts['" + owner.getId() + "']";
+        mockMvc.perform(get("/api/v1/bootstrap"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.team.items[*].slug", hasItem("bootstrap-home")))
+                .andExpect(jsonPath("$.team.limit").value(20))
+                .andExpect(jsonPath("$.featuredProjects[*].title", hasItem("Bootstrap Two")))
+                .andExpect(jsonPath("$.featuredProjects[0].owner.slug").exists())
+                .andExpect(jsonPath("$.recentUpdates[*].type", hasItem("project")))
+                .andExpect(jsonPath("$.recentUpdates[*].slug", hasItem("bootstrap-home")))
+                .andExpect(jsonPath(counts + ".projects").value(2))
+                .andExpect(jsonPath(counts + ".experiences").value(1));
+    }
+
+    @Test
+    void tagIsRevalidatedAndMovesWithWrites() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/bootstrap"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/bootstrap").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        projectService.createProject(owner, new ProjectRequest("Bootstrap Three", null, null, "java", null, null, null));
+
+        String updated = mockMvc.perform(get("/api/v1/bootstrap").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.featuredProjects[0].title").value("Bootstrap Three"))
+                .andExpect(jsonPath("$.memberCounts['" + owner.getId() + "'].projects").value(3))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updated).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void cachedCountsCannotBeChangedByCallers() {
+        Map<Long, Long> projects = projectListCache.countsByOwner();
+        Map<Long, Long> experiences = teamPageCache.experienceCountsByProfile();
+
+        assertThat(projects).containsEntry(owner.getId(), 2L);
+        assertThat(experiences).containsEntry(owner.getId(), 1L);
+        assertThatThrownBy(() -> projects.put(owner.getId(), 0L)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> experiences.clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
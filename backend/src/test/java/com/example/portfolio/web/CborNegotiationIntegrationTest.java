@@ -0,0 +1,139 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.ApiVersionConfig;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.NormalizedProjectsDto;
+import com.example.portfolio.web.dto.PageDto;
+import com.example.portfolio.web.dto.ProfileDetailDto;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class CborNegotiationIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        AuthResponse response = authService.register(new RegisterRequest(
+                "cbor.member@test.local", "StrongPass!1", "cbor-member", "Cbor Member",
+                "Engineer", "Binary friendly biography", null, null, null, null, null, "Oslo"
+        ));
+        Profile member = profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+        experienceService.create(member, new ExperienceRequest("Engineer", "Acme", "Oslo",
+                LocalDate.of(2020, 1, 15), null, true, "Builds things", 0));
+        for (int i = 1; i <= 3; i++) {
+            projectService.createProject(member, new ProjectRequest("Cbor Project " + i, "summary", null, "java", null, null, null));
+        }
+    }
+
+    @Test
+    void profileDetailRoundTripsThroughCbor() throws Exception {
+        ProfileDetailDto json = objectMapper.readValue(fetch("/api/team/slug/cbor-member", MediaType.APPLICATION_JSON), ProfileDetailDto.class);
+        byte[] cbor = fetch("/api/team/slug/cbor-member", MediaType.APPLICATION_CBOR);
+        ProfileDetailDto decoded = cborMapper().readValue(cbor, ProfileDetailDto.class);
+
+        assertThat(decoded).isEqualTo(json);
+        assertThat(decoded.experiences().get(0).startDate()).isEqualTo(LocalDate.of(2020, 1, 15));
+        assertThat(cbor.length).isLessThan(fetch("/api/team/slug/cbor-member", MediaType.APPLICATION_JSON).length);
+    }
+
+    @Test
+    void projectListsRoundTripInBothShapes() throws Exception {
+        TypeReference<List<ProjectDto>> listType = new TypeReference<>() {
+        };
+        List<ProjectDto> json = objectMapper.readValue(fetch("/api/projects?memberSlug=cbor-member", MediaType.APPLICATION_JSON), listType);
+        List<ProjectDto> cbor = cborMapper().readValue(fetch("/api/projects?memberSlug=cbor-member", MediaType.APPLICATION_CBOR), listType);
+        assertThat(cbor).hasSize(3).isEqualTo(json);
+
+        MediaType v2Json = MediaType.valueOf(ApiVersionConfig.V2_MEDIA_TYPE);
+        MediaType v2Cbor = MediaType.valueOf(ApiVersionConfig.V2_CBOR_MEDIA_TYPE);
+        NormalizedProjectsDto normalizedJson = objectMapper.readValue(fetch("/api/projects?memberSlug=cbor-member", v2Json), NormalizedProjectsDto.class);
+        NormalizedProjectsDto normalizedCbor = cborMapper().readValue(fetch("/api/projects?memberSlug=cbor-member", v2Cbor), NormalizedProjectsDto.class);
+        assertThat(normalizedCbor).isEqualTo(normalizedJson);
+    }
+
+    @Test
+    void objectEndpointsNegotiateCborThroughTheConverter() throws Exception {
+        TypeReference<PageDto<ProfileSummaryDto>> pageType = new TypeReference<>() {
+        };
+        PageDto<ProfileSummaryDto> json = objectMapper.readValue(fetch("/api/team/page?limit=5", MediaType.APPLICATION_JSON), pageType);
+        PageDto<ProfileSummaryDto> cbor = cborMapper().readValue(fetch("/api/team/page?limit=5", MediaType.APPLICATION_CBOR), pageType);
+        assertThat(cbor).isEqualTo(json);
+    }
+
+    @Test
+    void wildcardsKeepJson() throws Exception {
+        mockMvc.perform(get("/api/projects").param("memberSlug", "cbor-member").header("Accept", "application/cbor;q=0.5, */*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private byte[] fetch(String url, MediaType accept) throws Exception {
+        return mockMvc.perform(get(url).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private ObjectMapper cborMapper() {
+        return cborConverter.getObjectMapper();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.ChangeFeedProperties;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ChangeFeedService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.ExperienceDto;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class ChangesIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChangeFeedProperties properties;
+
+    private String baseline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        // Rows committed by other test classes come first; start after them
+        baseline = readAll(null, 100).cursor();
+    }
+
+    @Test
+    void reportsCreatesUpdatesAndDeletesSinceTheCursor() throws Exception {
+        Profile owner = register("syncer");
+        ExperienceDto experience = experienceService.create(owner,
+                new ExperienceRequest("Engineer", "Acme", null, null, null, null, null, null));
+        ProjectDto project = projectService.createProject(owner, new ProjectRequest("Sync", null, null, "java", null, null, null));
+        projectService.updateProject(owner, project.id(), new ProjectRequest("Sync v2", null, null, "java", null, null, null));
+        experienceService.delete(owner, experience.id());
+
+        Feed feed = readAll(baseline, 100);
+
+        assertThat(feed.changes()).extracting(change -> change.get("type").asText() + ":" + change.get("op").asText())
+                // Inside the test transaction the project update is only stamped when it is flushed
+                .containsExactlyInAnyOrder("profile:created", "project:created", "experience:deleted");
+        JsonNode projectChange = change(feed, "project");
+        assertThat(projectChange.get("id").asLong()).isEqualTo(project.id());
+        assertThat(projectChange.get("ownerId").asLong()).isEqualTo(owner.getId());
+        assertThat(projectChange.get("data").get("title").asText()).isEqualTo("Sync v2");
+        JsonNode deletion = change(feed, "experience");
+        assertThat(deletion.get("id").asLong()).isEqualTo(experience.id());
+        assertThat(deletion.get("ownerId").asLong()).isEqualTo(owner.getId());
+        assertThat(deletion.has("data")).isFalse();
+
+        // Nothing new: no changes, and the cursor that comes back still picks up later writes
+        Feed idle = readAll(feed.cursor(), 100);
+        assertThat(idle.changes()).isEmpty();
+        assertThat(idle.pages()).isEqualTo(1);
+
+        projectService.updateProject(owner, project.id(), new ProjectRequest("Sync v3", null, null, "java", null, null, null));
+        assertThat(readAll(idle.cursor(), 100).changes())
+                .extracting(change -> change.get("type").asText() + ":" + change.get("op").asText())
+                .containsExactlyInAnyOrder("project:updated", "profile:updated");
+    }
+
+    @Test
+    void pagesFollowTheCursorWithoutGapsOrRepeats() throws Exception {
+        Profile owner = register("pager");
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(projectService.createProject(owner, new ProjectRequest("Page " + i, null, null, null, null, null, null)).id());
+        }
+
+        Feed feed = readAll(baseline, 2);
+
+        assertThat(feed.pages()).isEqualTo(3);
+        assertThat(feed.changes().stream().filter(change -> change.get("type").asText().equals("project"))
+                .map(change -> change.get("id").asLong()).toList())
+                .containsExactlyElementsOf(created);
+    }
+
+    @Test
+    void idleClientsThatKeepPollingNeverFallOutOfRetention() throws Exception {
+        register("idler");
+        String cursor = readAll(baseline, 100).cursor();
+        Duration retention = properties.getRetention();
+        properties.setRetention(Duration.ofSeconds(1));
+        try {
+            // Nothing changes for longer than the retention window, but each poll comes well within it
+            for (int poll = 0; poll < 4; poll++) {
+                Thread.sleep(400);
+                JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/v1/changes").param("since", cursor))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.changes.length()").value(0))
+                        .andExpect(jsonPath("$.hasMore").value(false))
+                        .andReturn().getResponse().getContentAsString());
+                cursor = page.get("nextCursor").asText();
+            }
+        } finally {
+            properties.setRetention(retention);
+        }
+    }
+
+    @Test
+    void rejectsForeignAndExpiredCursors() throws Exception {
+        mockMvc.perform(get("/api/v1/changes").param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/changes").param("since", KeysetCursors.encode("team", 5L)))
+                .andExpect(status().isBadRequest());
+        String expired = KeysetCursors.encode("changes",
+                new ChangeFeedService.Position(LocalDateTime.now().minusDays(90), 0, 1L));
+        mockMvc.perform(get("/api/v1/changes").param("since", expired))
+                .andExpect(status().isGone());
+    }
+
+    private Profile register(String slug) {
+        authService.register(new RegisterRequest(
+                slug + "@test.local", "StrongPass!1", slug, slug,
+                null, null, null, null, null, null, null, null
+        ));
+        return profileRepository.findBySlug(slug).orElseThrow();
+    }
+
+    private static JsonNode change(Feed feed, String type) {
+        return feed.changes().stream().filter(change -> change.get("type").asText().equals(type)).findFirst().orElseThrow();
+    }
+
+    private Feed readAll(String since, int limit) throws Exception {
+        // Owner touches are bulk updates; read the stamps they wrote, not the ones still held in the session
+        entityManager.flush();
+        entityManager.clear();
+        List<JsonNode> changes = new ArrayList<>();
+        String cursor = since;
+        int pages = 0;
+        boolean more = true;
+        while (more) {
+            var request = get("/api/v1/changes").param("limit", String.valueOf(limit));
+            if (cursor != null) {
+                request.param("since", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("changes").forEach(changes::add);
+            cursor = page.get("nextCursor").asText();
+            more = page.get("hasMore").asBoolean();
+            pages++;
+        }
+        return new Feed(changes, cursor, pages);
+    }
+
+    private record Feed(List<JsonNode> changes, String cursor, int pages) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.portfolio.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    @Test
+    void matchesStrongWeakListsAndWildcard() {
+        String eTag = ETags.strong("42-7");
+
+        assertThat(ETags.matchesIfNoneMatch("\"42-7\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("W/\"42-7\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("\"1-1\", W/\"42-7\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("\"a,b\",\"42-7\"", eTag)).isTrue();
+        assertThat(ETags.matchesIfNoneMatch("*", eTag)).isTrue();
+    }
+
+    @Test
+    void rejectsMissingDifferentAndMalformedTags() {
+        String eTag = ETags.strong("42-7");
+
+        assertThat(ETags.matchesIfNoneMatch(null, eTag)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch("", eTag)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch("\"42-8\"", eTag)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch("\"42-7", eTag)).isFalse();
+        assertThat(ETags.matchesIfNoneMatch("\"1-1\", \"2-2\"", eTag)).isFalse();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.FuzzySearchService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.SuggestService;
+import com.example.portfolio.web.dto.ExperienceDto;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Not @Transactional: events only go out once the write commits
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class EventsIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile owner;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        Profile profile = new Profile();
+        profile.setSlug("evt-owner");
+        profile.setName("evt-owner");
+        owner = profileRepository.save(profile);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profileRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void streamsCommittedChangesOnly() throws Exception {
+        MvcResult stream = open(null);
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+
+        ProjectDto rolledBack = transactions.execute(status -> {
+            status.setRollbackOnly();
+            return projectService.createProject(owner, new ProjectRequest("Evt ghost", null, null, null, null, null, null));
+        });
+        ProjectDto committed = transactions.execute(status ->
+                projectService.createProject(owner, new ProjectRequest("Evt live", null, null, null, null, null, null)));
+        // The search indexes are not transactional; drop what the rolled back write left there
+        suggestService.removeProject(rolledBack.id());
+        fuzzySearchService.removeProject(rolledBack.id());
+
+        // Waits for the whole event, as the body may be read while it is still being written
+        String body = awaitEvent(stream, "event:project\ndata:{\"type\":\"project\",\"op\":\"created\",\"id\":"
+                + committed.id() + ",\"ownerId\":" + owner.getId() + "}");
+        assertThat(body).doesNotContain("\"id\":" + rolledBack.id() + ",");
+        assertThat(stream.getResponse().getContentType()).startsWith("text/event-stream");
+    }
+
+    @Test
+    void resumesAfterTheLastEventId() throws Exception {
+        MvcResult first = open(null);
+        ExperienceDto seen = experienceService.create(owner, new ExperienceRequest("Engineer", "Evtco", null, null, null, null, null, null));
+        long seenId = eventId(awaitEvent(first, "\"id\":" + seen.id() + ","), seen.id());
+
+        ExperienceDto missed = experienceService.create(owner, new ExperienceRequest("Lead", "Evtco", null, null, null, null, null, null));
+        MvcResult resumed = open(seenId);
+
+        String body = awaitEvent(resumed, "\"id\":" + missed.id() + ",");
+        assertThat(body).doesNotContain("\"id\":" + seen.id() + ",");
+        assertThat(eventId(body, missed.id())).isEqualTo(seenId + 1);
+    }
+
+    private MvcResult open(Long lastEventId) throws Exception {
+        var get = get("/api/v1/events").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            get.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(get).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String awaitEvent(MvcResult stream, String fragment) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains(fragment)) {
+            assertThat(System.currentTimeMillis()).as("event with %s", fragment).isLessThan(deadline);
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    private static long eventId(String body, long entityId) {
+        Matcher matcher = Pattern.compile("id:(\\d+)\nevent:\\w+\ndata:\\{[^}]*\"id\":" + entityId + ",").matcher(body);
+        assertThat(matcher.find()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+}
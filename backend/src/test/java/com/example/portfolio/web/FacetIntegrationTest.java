@@ -0,0 +1,143 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.FacetService;
+import com.example.portfolio.service.ProfileService;
+import com.example.portfolio.web.dto.ExperienceDto;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class FacetIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private FacetService facetService;
+
+    private final List<Profile> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        Profile ada = register("facet-ada", "Facetburg");
+        Profile bob = register("facet-bob", " facetburg ");
+        Profile cy = register("facet-cy", "Facetham");
+        work(ada, "Facetcorp");
+        work(ada, "Facetcorp");
+        work(bob, "FACETCORP");
+        work(cy, "Facet Labs");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The counters live outside the rolled-back transaction
+        members.forEach(member -> facetService.removeProfile(member.getId()));
+    }
+
+    @Test
+    void teamPageCarriesFacetsOnlyWhenAsked() throws Exception {
+        mockMvc.perform(get("/api/team/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets").doesNotExist());
+
+        mockMvc.perform(get("/api/team/page").param("includeFacets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.locations[?(@.name == 'facetburg')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.locations[?(@.name == 'facetham')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.companies[?(@.name == 'facetcorp')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.companies[?(@.name == 'facet labs')].count", contains(1)));
+    }
+
+    @Test
+    void writesMoveTheCounts() throws Exception {
+        Profile bob = members.get(1);
+        profileService.updateProfile(bob, new ProfileUpdateRequest(null, null, null, null, "Facetham",
+                null, null, null, null, null));
+        ExperienceDto moved = work(bob, "Facet Labs");
+        experienceService.update(bob, moved.id(), new ExperienceRequest("Engineer", "Facet Labs", null,
+                LocalDate.of(2021, 1, 1), null, true, null, 1));
+
+        mockMvc.perform(get("/api/team/page").param("includeFacets", "true"))
+                .andExpect(jsonPath("$.facets.locations[?(@.name == 'facetburg')].count", contains(1)))
+                .andExpect(jsonPath("$.facets.locations[?(@.name == 'facetham')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.companies[?(@.name == 'facetcorp')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.companies[?(@.name == 'facet labs')].count", contains(2)));
+
+        experienceService.delete(bob, moved.id());
+        mockMvc.perform(get("/api/team/page").param("includeFacets", "true"))
+                .andExpect(jsonPath("$.facets.companies[?(@.name == 'facet labs')].count", contains(1)));
+    }
+
+    @Test
+    void reconcileRepairsDrift() throws Exception {
+        // Drop a member from the counters without touching the database
+        facetService.removeProfile(members.get(0).getId());
+        mockMvc.perform(get("/api/team/page").param("includeFacets", "true"))
+                .andExpect(jsonPath("$.facets.locations[?(@.name == 'facetburg')].count", contains(1)));
+
+        facetService.reconcile();
+
+        mockMvc.perform(get("/api/team/page").param("includeFacets", "true"))
+                .andExpect(jsonPath("$.facets.locations[?(@.name == 'facetburg')].count", contains(2)))
+                .andExpect(jsonPath("$.facets.companies[?(@.name == 'facetcorp')].count", contains(2)));
+    }
+
+    private Profile register(String slug, String location) {
+        authService.register(new RegisterRequest(
+                slug + "@test.local", "StrongPass!1", slug, "Facet " + slug,
+                null, null, null, null, null, null, null, location
+        ));
+        Profile profile = profileRepository.findBySlug(slug).orElseThrow();
+        members.add(profile);
+        return profile;
+    }
+
+    private ExperienceDto work(Profile profile, String company) {
+        return experienceService.create(profile, new ExperienceRequest("Engineer", company, null,
+                LocalDate.of(2020, 1, 1), null, true, null, 0));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ProfileService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.ExperienceDto;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: writes reach the fuzzy index only once they commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class FuzzySearchIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile member;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        authService.register(new RegisterRequest(
+                "wojciechowska@test.local", "StrongPass!1", "wojciechowska", "Agnieszka Wojciechowska",
+                "Distributed Systems Engineer", null, null, null, null, null, null, null
+        ));
+        member = profileRepository.findBySlug("wojciechowska").orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // V4 cascades refresh tokens on delete; the generated test schema does not
+            entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+            authService.deleteAccount(userAccountRepository.findByEmail("wojciechowska@test.local").orElseThrow());
+        });
+    }
+
+    @Test
+    void misspelledNamesAndHeadlinesAreFound() throws Exception {
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "Agneszka Wojchiechowska"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("profile"))
+                .andExpect(jsonPath("$[0].id").value(member.getId()))
+                .andExpect(jsonPath("$[0].field").value("name"))
+                .andExpect(jsonPath("$[0].slug").value("wojciechowska"));
+
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "distributd sytems"))
+                .andExpect(jsonPath("$[0].field").value("headline"))
+                .andExpect(jsonPath("$[0].text").value("Distributed Systems Engineer"));
+    }
+
+    @Test
+    void writesUpdateTheIndexIncrementally() throws Exception {
+        ProjectDto project = projectService.createProject(member, new ProjectRequest("Quasarflux", null, null, null, null, null, null));
+        ExperienceDto job = experienceService.create(member, new ExperienceRequest(
+                "Engineer", "Brightwater Analytics", null, LocalDate.of(2020, 1, 1), null, true, null, 0));
+
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "quasarflucs"))
+                .andExpect(jsonPath("$[*].id", contains(project.id().intValue())))
+                .andExpect(jsonPath("$[0].slug").value("wojciechowska"));
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "brightwatr analitics"))
+                .andExpect(jsonPath("$[0].type").value("experience"))
+                .andExpect(jsonPath("$[0].id").value(job.id()));
+
+        experienceService.delete(member, job.id());
+        projectService.deleteProject(member, project.id());
+        profileService.updateProfile(member, new ProfileUpdateRequest(null, "Ola Nowak", null, null, null, null, null, null, null, null));
+
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "brightwatr analitics"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "quasarflucs"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "Agnieszka Wojciechowska"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "ola nowk"))
+                .andExpect(jsonPath("$[0].id").value(member.getId()));
+    }
+
+    @Test
+    void rejectsBlankQueriesAndBadLimits() throws Exception {
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/search/fuzzy").param("q", "nowak").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
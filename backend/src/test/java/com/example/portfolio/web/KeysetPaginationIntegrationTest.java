@@ -0,0 +1,187 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.config.OffHeapCache;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb",
+        "app.pagination.max-page-size=3",
+        "app.pagination.unpaginated-cap=4"
+})
+@Transactional
+class KeysetPaginationIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Profile owner;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        owner = register("pager.one@test.local", "pager-one");
+        for (int i = 2; i <= 5; i++) {
+            register("pager." + i + "@test.local", "pager-" + i);
+        }
+        for (int i = 1; i <= 5; i++) {
+            projectService.createProject(owner, new ProjectRequest("Paged Project " + i, null, null, null, null, null, null));
+        }
+    }
+
+    @Test
+    void teamPagesWalkEveryProfileOnceInIdOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = "/api/team/page?limit=2" + (cursor != null ? "&cursor=" + cursor : "");
+            JsonNode page = read(url);
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(2);
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null && pages < 100);
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates().hasSize((int) profileRepository.count());
+    }
+
+    @Test
+    void limitIsClampedAndTotalIsOptional() throws Exception {
+        JsonNode page = read("/api/team/page?limit=50&includeTotal=true");
+        assertThat(page.get("limit").asInt()).isEqualTo(3);
+        assertThat(page.get("items").size()).isEqualTo(3);
+        assertThat(page.get("total").asLong()).isEqualTo(profileRepository.count());
+
+        assertThat(read("/api/team/page").get("total").isNull()).isTrue();
+    }
+
+    @Test
+    void projectPagesAreInvalidatedByWrites() throws Exception {
+        JsonNode first = read("/api/projects/page?memberSlug=pager-one&limit=3&includeTotal=true");
+        assertThat(first.get("total").asLong()).isEqualTo(5);
+        JsonNode second = read("/api/projects/page?memberSlug=pager-one&limit=3&cursor=" + first.get("nextCursor").asText());
+        assertThat(second.get("items").size()).isEqualTo(2);
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+
+        projectService.createProject(owner, new ProjectRequest("Paged Project 6", null, null, null, null, null, null));
+
+        JsonNode refreshed = read("/api/projects/page?memberSlug=pager-one&limit=3&includeTotal=true&cursor=" + first.get("nextCursor").asText());
+        assertThat(refreshed.get("items").size()).isEqualTo(3);
+        assertThat(refreshed.get("total").asLong()).isEqualTo(6);
+    }
+
+    @Test
+    void unpaginatedListsAreCapped() throws Exception {
+        assertThat(projectRepository.count()).isGreaterThan(4);
+        // The total tells clients the list was cut off
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(header().string(KeysetCursors.TOTAL_COUNT_HEADER, String.valueOf(projectRepository.count())));
+        mockMvc.perform(get("/api/projects").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(header().string(KeysetCursors.TOTAL_COUNT_HEADER, String.valueOf(projectRepository.count())));
+        mockMvc.perform(get("/api/team"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(header().string(KeysetCursors.TOTAL_COUNT_HEADER, String.valueOf(profileRepository.count())));
+        mockMvc.perform(get("/api/projects").param("memberSlug", "pager-one"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(header().string(KeysetCursors.TOTAL_COUNT_HEADER, "5"));
+    }
+
+    @Test
+    void malformedOrForeignCursorsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/team/page").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/team/page").param("cursor", KeysetCursors.encode("projects", 1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/projects/page").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void walkingArbitraryCursorsStaysWithinTheBoundedTier() {
+        int cursors = 10_000;
+        for (long afterId = 0; afterId < cursors; afterId++) {
+            projectService.getProjectPage(null, afterId, 3);
+        }
+
+        // Every cursor was a distinct key; the tier keeps only what fits its capacity
+        Object pages = cacheManager.getCache(CacheConfig.PROJECT_PAGES_CACHE).getNativeCache();
+        assertThat(pages).isInstanceOf(OffHeapCache.class);
+        assertThat(((OffHeapCache) pages).size()).isLessThan(cursors);
+        assertThat(cacheManager.getCache(CacheConfig.TEAM_PAGES_CACHE).getNativeCache()).isInstanceOf(OffHeapCache.class);
+        assertThat(cacheManager.getCache(CacheConfig.RESPONSE_BODIES_CACHE).getNativeCache()).isInstanceOf(OffHeapCache.class);
+        assertThat(projectService.getProjectPage("pager-one", 0, 3).items()).hasSize(3);
+    }
+
+    private Profile register(String email, String slug) {
+        AuthResponse response = authService.register(new RegisterRequest(
+                email, "StrongPass!1", slug, slug,
+                null, null, null, null, null, null, null, null
+        ));
+        return profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+    }
+}
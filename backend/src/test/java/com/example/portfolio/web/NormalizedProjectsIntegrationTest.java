@@ -0,0 +1,113 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.ApiVersionConfig;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class NormalizedProjectsIntegrationTest {
+    private static final int PROJECTS = 30;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    private Profile member;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        AuthResponse response = authService.register(new RegisterRequest(
+                "normalized.member@test.local", "StrongPass!1", "normalized-member", "Normalized Member",
+                "Engineer", "Long biography. ".repeat(200),
+                null, "https://github.com/normalized", null, null, null, "Porto"
+        ));
+        member = profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+        for (int i = 1; i <= PROJECTS; i++) {
+            projectService.createProject(member, new ProjectRequest("Normalized Project " + i, "summary " + i, null, "java", null, null, null));
+        }
+    }
+
+    @Test
+    void plainJsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/projects").param("memberSlug", "normalized-member"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(PROJECTS))
+                .andExpect(jsonPath("$[0].owner.slug").value("normalized-member"));
+        mockMvc.perform(get("/api/projects").param("memberSlug", "normalized-member").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PROJECTS));
+    }
+
+    @Test
+    void v2ListsEachOwnerOnce() throws Exception {
+        MvcResult v1 = mockMvc.perform(get("/api/projects").param("memberSlug", "normalized-member"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult v2 = mockMvc.perform(get("/api/projects").param("memberSlug", "normalized-member")
+                        .accept(ApiVersionConfig.V2_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ApiVersionConfig.V2_MEDIA_TYPE))
+                .andReturn();
+
+        JsonNode body = objectMapper.readTree(v2.getResponse().getContentAsByteArray());
+        assertThat(body.get("data")).hasSize(PROJECTS);
+        body.get("data").forEach(project -> {
+            assertThat(project.get("ownerId").asLong()).isEqualTo(member.getId());
+            assertThat(project.has("owner")).isFalse();
+        });
+        JsonNode profiles = body.get("includes").get("profiles");
+        assertThat(profiles).hasSize(1);
+        assertThat(profiles.get(member.getId().toString()).get("slug").asText()).isEqualTo("normalized-member");
+
+        // The bio is serialized once instead of once per project
+        assertThat(v2.getResponse().getContentAsByteArray().length * 10)
+                .isLessThan(v1.getResponse().getContentAsByteArray().length);
+        assertThat(v2.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(v1.getResponse().getHeader(HttpHeaders.ETAG));
+        assertThat(String.join(",", v2.getResponse().getHeaders(HttpHeaders.VARY)).split("\\s*,\\s*"))
+                .contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
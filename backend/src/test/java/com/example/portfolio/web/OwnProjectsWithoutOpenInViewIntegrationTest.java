@@ -0,0 +1,105 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.repo.RefreshTokenRepository;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The owner's project endpoints with open-in-view off, as in production:
+ * the owner is loaded lazily, so every DTO has to be built while the
+ * service still holds the session. Not transactional, for the same reason.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:noosiv",
+        "spring.jpa.open-in-view=false"
+})
+class OwnProjectsWithoutOpenInViewIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        RegisterRequest request = new RegisterRequest("noosiv@test.local", "StrongPass!1", "noosiv", "No OSIV",
+                null, null, null, null, null, null, null, null);
+        token = objectMapper.readTree(mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // The H2 schema is generated without the migrations' ON DELETE CASCADE
+        refreshTokenRepository.deleteAll();
+        mockMvc.perform(delete("/api/v1/auth/delete-account").header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void createsUpdatesListsAndDeletesOwnProjects() throws Exception {
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/v1/profile/me/projects")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(new ProjectRequest("Lazy", null, null, "java", null, null, null))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.owner.slug").value("noosiv"))
+                .andReturn().getResponse().getContentAsString());
+        long id = created.get("id").asLong();
+
+        mockMvc.perform(put("/api/v1/profile/me/projects/{id}", id)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(new ProjectRequest("Lazy v2", null, null, "java,jpa", null, null, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Lazy v2"))
+                .andExpect(jsonPath("$.owner.slug").value("noosiv"));
+
+        mockMvc.perform(get("/api/v1/profile/me/projects").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(jsonPath("$[0].owner.slug").value("noosiv"));
+
+        mockMvc.perform(delete("/api/v1/profile/me/projects/{id}", id).header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/api/v1/profile/me/projects").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: project writes move the content version only once they commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class PrecompressedResponsesIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile member;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        cacheManager.getCache(CacheConfig.RESPONSE_BODIES_CACHE).clear();
+        AuthResponse response = authService.register(new RegisterRequest(
+                "gzip.member@test.local", "StrongPass!1", "gzip-member", "Gzip Member",
+                null, null, null, null, null, null, null, null
+        ));
+        member = profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+        projectService.createProject(member, new ProjectRequest("Compressed Project", "summary", null, "java", null, null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // V4 cascades refresh tokens on delete; the generated test schema does not
+            entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+            authService.deleteAccount(userAccountRepository.findByEmail("gzip.member@test.local").orElseThrow());
+        });
+    }
+
+    @Test
+    void gzipRepresentationMatchesIdentityAndCarriesItsOwnTag() throws Exception {
+        MvcResult identity = mockMvc.perform(get("/api/team/slug/gzip-member"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(varyByAcceptEncoding())
+                .andReturn();
+        MvcResult gzip = mockMvc.perform(get("/api/team/slug/gzip-member").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(varyByAcceptEncoding())
+                .andReturn();
+
+        byte[] plain = identity.getResponse().getContentAsByteArray();
+        byte[] compressed = gzip.getResponse().getContentAsByteArray();
+        assertThat(identity.getResponse().getContentLength()).isEqualTo(plain.length);
+        assertThat(gzip.getResponse().getContentLength()).isEqualTo(compressed.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain);
+        }
+
+        String plainTag = identity.getResponse().getHeader(HttpHeaders.ETAG);
+        String gzipTag = gzip.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipTag).isNotEqualTo(plainTag);
+        mockMvc.perform(get("/api/team/slug/gzip-member")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isNotModified())
+                .andExpect(varyByAcceptEncoding());
+        mockMvc.perform(get("/api/team/slug/gzip-member").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void encodingsAreProducedOncePerChange() throws Exception {
+        Cache bodies = cacheManager.getCache(CacheConfig.RESPONSE_BODIES_CACHE);
+        mockMvc.perform(get("/api/projects").param("memberSlug", "gzip-member")).andExpect(status().isOk());
+        PrecompressedResponses.EncodedBody first = bodies.get("projects:gzip-member", PrecompressedResponses.EncodedBody.class);
+
+        byte[] served = mockMvc.perform(get("/api/projects").param("memberSlug", "gzip-member").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        // The tier hands out copies, so "encoded once" shows as the stored entry being served unchanged
+        PrecompressedResponses.EncodedBody second = bodies.get("projects:gzip-member", PrecompressedResponses.EncodedBody.class);
+        assertThat(second.eTag()).isEqualTo(first.eTag());
+        assertThat(second.gzip()).isEqualTo(first.gzip());
+        assertThat(served).isEqualTo(first.gzip());
+
+        projectService.createProject(member, new ProjectRequest("Second Compressed", null, null, null, null, null, null));
+        mockMvc.perform(get("/api/projects").param("memberSlug", "gzip-member"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        assertThat(bodies.get("projects:gzip-member", PrecompressedResponses.EncodedBody.class).eTag()).isNotEqualTo(first.eTag());
+    }
+
+    @Test
+    void acceptEncodingQualitiesAreHonoured() {
+        assertThat(PrecompressedResponses.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(PrecompressedResponses.acceptsGzip("*")).isTrue();
+        assertThat(PrecompressedResponses.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip("identity")).isFalse();
+        assertThat(PrecompressedResponses.acceptsGzip(null)).isFalse();
+    }
+
+    private static ResultMatcher varyByAcceptEncoding() {
+        return result -> assertThat(String.join(",", result.getResponse().getHeaders(HttpHeaders.VARY)).split("\\s*,\\s*"))
+                .contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProfileService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: project writes move the content version only once they commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class ProjectsConditionalGetIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile owner;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        AuthResponse response = authService.register(new RegisterRequest(
+                "etag.owner@test.local", "StrongPass!1", "etag-owner", "ETag Owner",
+                null, null, null, null, null, null, null, null
+        ));
+        owner = profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+        projectService.createProject(owner, new ProjectRequest("Tagged", "Before", null, null, null, null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // V4 cascades refresh tokens on delete; the generated test schema does not
+            entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+            authService.deleteAccount(userAccountRepository.findByEmail("etag.owner@test.local").orElseThrow());
+        });
+    }
+
+    @Test
+    void answersNotModifiedForMatchingStrongWeakAndListedTags() throws Exception {
+        String eTag = fetchETag();
+
+        mockMvc.perform(get("/api/projects").param("memberSlug", "etag-owner")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/projects").param("memberSlug", "etag-owner")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\", W/" + eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void projectEditOutsideTitleChangesTag() throws Exception {
+        String before = fetchETag();
+        ProjectDto project = projectService.getProjects("etag-owner").get(0);
+
+        projectService.updateProject(owner, project.id(),
+                new ProjectRequest("Tagged", "After", null, null, null, "https://live.example", null));
+
+        mockMvc.perform(get("/api/projects").param("memberSlug", "etag-owner")
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].summary").value("After"));
+        assertThat(fetchETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void ownerEditChangesTag() throws Exception {
+        String before = fetchETag();
+
+        profileService.updateProfile(owner, new ProfileUpdateRequest(null, null, null, "New bio", null, null, null, null, null, null));
+
+        mockMvc.perform(get("/api/projects").param("memberSlug", "etag-owner")
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].owner.bio").value("New bio"));
+    }
+
+    private String fetchETag() throws Exception {
+        return mockMvc.perform(get("/api/projects").param("memberSlug", "etag-owner"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.PushSubscription;
+import com.example.portfolio.repo.PushSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class PushIntegrationTest {
+
+    private static final String AUTH = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[16]);
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private PushSubscriptionRepository subscriptionRepository;
+
+    private String p256dh;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        ECPublicKey key = (ECPublicKey) generator.generateKeyPair().getPublic();
+        byte[] point = new byte[65];
+        point[0] = 4;
+        byte[] x = key.getW().getAffineX().toByteArray();
+        byte[] y = key.getW().getAffineY().toByteArray();
+        System.arraycopy(x, Math.max(0, x.length - 32), point, 1 + 32 - Math.min(32, x.length), Math.min(32, x.length));
+        System.arraycopy(y, Math.max(0, y.length - 32), point, 33 + 32 - Math.min(32, y.length), Math.min(32, y.length));
+        p256dh = Base64.getUrlEncoder().withoutPadding().encodeToString(point);
+    }
+
+    @Test
+    void storesAndRemovesSubscriptionsWithoutSigningIn() throws Exception {
+        String endpoint = "http://127.0.0.1:9/push/browser-1";
+
+        subscribe(endpoint, p256dh, AUTH).andExpect(status().isCreated());
+        // Subscribing again, as the frontend does on every load, keeps one row
+        subscribe(endpoint, p256dh, AUTH).andExpect(status().isCreated());
+
+        PushSubscription stored = subscriptionRepository.findByEndpoint(endpoint).orElseThrow();
+        assertThat(stored.getP256dh()).isEqualTo(p256dh);
+        assertThat(subscriptionRepository.count()).isEqualTo(1);
+
+        mockMvc.perform(post("/api/push/unsubscribe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"endpoint\":\"" + endpoint + "\"}"))
+                .andExpect(status().isNoContent());
+        assertThat(subscriptionRepository.findByEndpoint(endpoint)).isEmpty();
+    }
+
+    @Test
+    void rejectsForeignEndpointsAndUnusableKeys() throws Exception {
+        subscribe("http://10.0.0.1/push/internal", p256dh, AUTH).andExpect(status().isBadRequest());
+        subscribe("http://127.0.0.1.evil.test/push", p256dh, AUTH).andExpect(status().isBadRequest());
+        subscribe("file:///etc/passwd", p256dh, AUTH).andExpect(status().isBadRequest());
+        subscribe("http://127.0.0.1:9/push/a", "not-a-key", AUTH).andExpect(status().isBadRequest());
+        subscribe("http://127.0.0.1:9/push/a", p256dh.substring(0, 40), AUTH).andExpect(status().isBadRequest());
+        subscribe("http://127.0.0.1:9/push/a", p256dh, "c2hvcnQ").andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/push/subscribe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"endpoint\":\"http://127.0.0.1:9/push/a\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(subscriptionRepository.count()).isZero();
+    }
+
+    private ResultActions subscribe(String endpoint, String p256dh, String auth) throws Exception {
+        return mockMvc.perform(post("/api/push/subscribe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"endpoint\":\"" + endpoint + "\",\"expirationTime\":null,"
+                        + "\"keys\":{\"p256dh\":\"" + p256dh + "\",\"auth\":\"" + auth + "\"}}"));
+    }
+}
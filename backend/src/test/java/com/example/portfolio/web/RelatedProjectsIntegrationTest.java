@@ -0,0 +1,141 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.RelatedProjectsService;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: project writes reach the related projects only once they commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class RelatedProjectsIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private RelatedProjectsService relatedProjectsService;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile owner;
+    private ProjectDto api;
+    private ProjectDto twin;
+    private ProjectDto half;
+    private ProjectDto other;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        authService.register(new RegisterRequest(
+                "relater@test.local", "StrongPass!1", "relater", "Relater",
+                null, null, null, null, null, null, null, null
+        ));
+        owner = profileRepository.findBySlug("relater").orElseThrow();
+        api = create("Api", "rp-java, rp-spring");
+        twin = create("Twin", "rp-java, rp-spring");
+        half = create("Half", "rp-java");
+        other = create("Other", "rp-rust");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // V4 cascades refresh tokens on delete; the generated test schema does not
+            entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+            authService.deleteAccount(userAccountRepository.findByEmail("relater@test.local").orElseThrow());
+        });
+    }
+
+    @Test
+    void listsProjectsSharingTagsMostRelatedFirst() throws Exception {
+        mockMvc.perform(get("/api/projects/{id}/related", api.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[*].id", contains(twin.id().intValue(), half.id().intValue())))
+                .andExpect(jsonPath("$[0].owner.slug").value("relater"));
+
+        mockMvc.perform(get("/api/projects/{id}/related", api.id()).param("limit", "1"))
+                .andExpect(jsonPath("$[*].id", contains(twin.id().intValue())));
+        mockMvc.perform(get("/api/projects/{id}/related", other.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void writesUpdateTheLists() throws Exception {
+        projectService.updateProject(owner, other.id(), new ProjectRequest("Other", null, null, "rp-java, rp-spring", null, null, null));
+        projectService.deleteProject(owner, twin.id());
+
+        mockMvc.perform(get("/api/projects/{id}/related", api.id()))
+                .andExpect(jsonPath("$[*].id", contains(other.id().intValue(), half.id().intValue())));
+        mockMvc.perform(get("/api/projects/{id}/related", twin.id()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rebuildKeepsTheSameLists() throws Exception {
+        relatedProjectsService.rebuild();
+
+        mockMvc.perform(get("/api/projects/{id}/related", api.id()))
+                .andExpect(jsonPath("$[*].id", contains(twin.id().intValue(), half.id().intValue())));
+    }
+
+    @Test
+    void rejectsUnknownProjectsAndBadLimits() throws Exception {
+        mockMvc.perform(get("/api/projects/{id}/related", 987_654_321L))
+                .andExpect(status().isNotFound());
+        // Past the graph's int ids
+        mockMvc.perform(get("/api/projects/{id}/related", 5_000_000_000L))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/projects/{id}/related", api.id()).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ProjectDto create(String title, String tags) {
+        return projectService.createProject(owner, new ProjectRequest(title, null, null, tags, null, null, null));
+    }
+}
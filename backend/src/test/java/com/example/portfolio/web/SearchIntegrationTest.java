@@ -0,0 +1,151 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.config.CacheConfig;
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class SearchIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Profile member;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        authService.register(new RegisterRequest(
+                "search.member@test.local", "StrongPass!1", "search-member", "Quokka Searcher",
+                "Quokka wrangler", "Builds <b>quokka</b> tooling", null, null, null, null, null, null
+        ));
+        member = profileRepository.findBySlug("search-member").orElseThrow();
+        for (int i = 1; i <= 3; i++) {
+            projectService.createProject(member, new ProjectRequest(
+                    "Quokka tracker " + i, "Counts quokkas", i == 3 ? "quokka quokka quokka" : null, "java", null, null, null));
+        }
+        experienceService.create(member, new ExperienceRequest(
+                "Ranger", "Quokka Island Trust", null, null, null, true, null, null));
+    }
+
+    @Test
+    void groupsRankedHitsByType() throws Exception {
+        mockMvc.perform(get("/api/v1/search").param("q", "  QUOKKA "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("quokka"))
+                .andExpect(jsonPath("$.profiles.items[0].slug").value("search-member"))
+                .andExpect(jsonPath("$.profiles.items[0].type").value("profile"))
+                .andExpect(jsonPath("$.projects.items.length()").value(3))
+                // The project mentioning the term most often ranks first
+                .andExpect(jsonPath("$.projects.items[0].title").value("Quokka tracker 3"))
+                .andExpect(jsonPath("$.experiences.items[0].subtitle").value("Quokka Island Trust"))
+                .andExpect(jsonPath("$.experiences.items[0].slug").value("search-member"));
+    }
+
+    @Test
+    void snippetsAreEscapedAndMarked() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/search").param("q", "quokka").param("type", "profile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String snippet = objectMapper.readTree(body).at("/profiles/items/0/snippet").asText();
+        assertThat(snippet).contains("<mark>Quokka</mark>").contains("&lt;b&gt;<mark>quokka</mark>&lt;/b&gt;");
+    }
+
+    @Test
+    void cursorsWalkRankedPagesWithoutGapsOrRepeats() throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/search").param("q", "quokka").param("type", "project").param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("projects");
+            page.get("items").forEach(item -> titles.add(item.get("title").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(titles).hasSize(3).doesNotHaveDuplicates().startsWith("Quokka tracker 3");
+    }
+
+    @Test
+    void normalizedQueriesShareCacheEntriesUntilContentChanges() throws Exception {
+        var cache = cacheManager.getCache(CacheConfig.SEARCH_CACHE);
+        mockMvc.perform(get("/api/v1/search").param("q", "Quokka   Tracker").param("type", "project"))
+                .andExpect(jsonPath("$.projects.items.length()").value(3));
+        String key = "project:" + Float.MAX_VALUE + ":0:20:quokka tracker";
+        assertThat(cache.get(key)).isNotNull();
+
+        projectService.createProject(member, new ProjectRequest("Quokka tracker 4", null, null, null, null, null, null));
+        assertThat(cache.get(key)).isNull();
+        mockMvc.perform(get("/api/v1/search").param("q", "quokka tracker").param("type", "project"))
+                .andExpect(jsonPath("$.projects.items.length()").value(4));
+    }
+
+    @Test
+    void rejectsInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/v1/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/search").param("q", "quokka").param("type", "planet"))
+                .andExpect(status().isBadRequest());
+        String cursor = KeysetCursors.encode("search-project", 1f, 1L);
+        mockMvc.perform(get("/api/v1/search").param("q", "quokka").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/search").param("q", "quokka").param("type", "profile").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+}
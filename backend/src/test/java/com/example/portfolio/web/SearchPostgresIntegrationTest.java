@@ -0,0 +1,136 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The native {@code ts_rank}/{@code ts_headline} search against a real
+ * PostgreSQL, on the schema the migrations build. {@link SearchIntegrationTest}
+ * only reaches the H2 fallback. Skipped where Docker is not available.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional
+class SearchPostgresIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        authService.register(new RegisterRequest(
+                "pg.search@test.local", "StrongPass!1", "pg-search", "Quokka Searcher",
+                "Quokka wrangler", "Builds <b>quokka</b> tooling", null, null, null, null, null, null
+        ));
+        Profile member = profileRepository.findBySlug("pg-search").orElseThrow();
+        for (int i = 1; i <= 3; i++) {
+            projectService.createProject(member, new ProjectRequest(
+                    "Quokka tracker " + i, "Counts quokkas", i == 3 ? "quokka quokka quokka" : null, "java", null, null, null));
+        }
+        experienceService.create(member, new ExperienceRequest(
+                "Ranger", "Quokka Island Trust", null, null, null, true, null, null));
+    }
+
+    @Test
+    void ranksStemmedMatchesAndMarksThemInHeadlines() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/search").param("q", "quokkas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profiles.items[0].slug").value("pg-search"))
+                .andExpect(jsonPath("$.projects.items.length()").value(3))
+                .andExpect(jsonPath("$.projects.items[0].title").value("Quokka tracker 3"))
+                .andExpect(jsonPath("$.experiences.items[0].subtitle").value("Quokka Island Trust"))
+                .andReturn().getResponse().getContentAsString();
+        String snippet = objectMapper.readTree(body).at("/projects/items/0/snippet").asText();
+        assertThat(snippet).contains("<mark>Quokka</mark>").doesNotContain("\u0002", "\u0003");
+    }
+
+    @Test
+    void acceptsWebSearchSyntax() throws Exception {
+        mockMvc.perform(get("/api/v1/search").param("q", "\"quokka tracker\" -3").param("type", "project"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects.items.length()").value(2));
+    }
+
+    @Test
+    void cursorsWalkTiedRanksWithoutGapsOrRepeats() throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/search").param("q", "quokka").param("type", "project").param("limit", "1");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("projects");
+            page.get("items").forEach(item -> titles.add(item.get("title").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Quokka tracker 3", "Quokka tracker 1", "Quokka tracker 2");
+    }
+}
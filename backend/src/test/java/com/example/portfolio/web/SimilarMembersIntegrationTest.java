@@ -0,0 +1,159 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.service.ProfileService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.RelatedProjectsService;
+import com.example.portfolio.service.SimilarMembersService;
+import com.example.portfolio.service.TagFilterIndex;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.ProfileSummaryDto;
+import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: signatures are recomputed on a background thread that only sees committed rows
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class SimilarMembersIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SimilarMembersService similarMembersService;
+
+    @Autowired
+    private RelatedProjectsService relatedProjectsService;
+
+    @Autowired
+    private TagFilterIndex tagFilterIndex;
+
+    private final List<Profile> members = new ArrayList<>();
+    private final List<Long> projects = new ArrayList<>();
+    private Profile ana;
+    private Profile ben;
+    private Profile cat;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        ana = member("sim-ana", "Payments backend engineer", "Builds ledger reconciliation pipelines", "Simacme", "sim-kotlin, sim-kafka");
+        ben = member("sim-ben", "Payments backend engineer", "Ledger reconciliation and settlement", "Simacme", "sim-kotlin, sim-kafka");
+        cat = member("sim-cat", "Illustrator", "Watercolour storyboards", "Simstudio", "sim-figma");
+    }
+
+    @AfterEach
+    void tearDown() {
+        members.forEach(member -> {
+            profileRepository.deleteById(member.getId());
+            similarMembersService.refresh(member.getId());
+        });
+        // The other indexes live outside the deleted rows
+        relatedProjectsService.removeProjects(projects);
+        tagFilterIndex.removeProjects(projects);
+    }
+
+    @Test
+    void listsMembersWithSimilarBackgrounds() throws Exception {
+        awaitSimilar("sim-ana", similar -> similar.stream().anyMatch(member -> member.id().equals(ben.getId())));
+
+        mockMvc.perform(get("/api/team/slug/{slug}/similar", "sim-ana"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[*].slug", contains("sim-ben")));
+        mockMvc.perform(get("/api/team/slug/{slug}/similar", "sim-cat"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void writesAreReflectedInTheBackground() throws Exception {
+        profileService.updateProfile(cat, new ProfileUpdateRequest(null, null, "Payments backend engineer",
+                "Ledger reconciliation pipelines", null, null, null, null, null, null));
+        projects.add(projectService.createProject(cat, new ProjectRequest("Ledger", null, null, "sim-kotlin", null, null, null)).id());
+
+        awaitSimilar("sim-ana", similar -> similar.stream().anyMatch(member -> member.id().equals(cat.getId())));
+        mockMvc.perform(get("/api/team/slug/{slug}/similar", "sim-ana"))
+                .andExpect(jsonPath("$[*].slug", hasItem("sim-cat")));
+    }
+
+    @Test
+    void rebuildKeepsTheSameLists() throws Exception {
+        awaitSimilar("sim-ana", similar -> !similar.isEmpty());
+
+        similarMembersService.rebuild();
+
+        mockMvc.perform(get("/api/team/slug/{slug}/similar", "sim-ana").param("limit", "1"))
+                .andExpect(jsonPath("$[*].slug", contains("sim-ben")));
+    }
+
+    @Test
+    void rejectsUnknownMembersAndBadLimits() throws Exception {
+        mockMvc.perform(get("/api/team/slug/{slug}/similar", "sim-nobody"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/team/slug/{slug}/similar", "sim-ana").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Profile member(String slug, String headline, String bio, String company, String tags) {
+        Profile profile = new Profile();
+        profile.setSlug(slug);
+        profile.setName(slug);
+        profile = profileRepository.save(profile);
+        members.add(profile);
+        profile = profileService.updateProfile(profile, new ProfileUpdateRequest(null, null, headline, bio,
+                null, null, null, null, null, null));
+        experienceService.create(profile, new ExperienceRequest("Engineer", company, null, null, null, null, null, null));
+        ProjectDto project = projectService.createProject(profile, new ProjectRequest(slug, null, null, tags, null, null, null));
+        projects.add(project.id());
+        return profile;
+    }
+
+    private void awaitSimilar(String slug, Predicate<List<ProfileSummaryDto>> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.test(similarMembersService.similar(slug, 10))) {
+            assertThat(System.currentTimeMillis()).as("similar members of %s", slug).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:testdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class SparseFieldsIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        AuthResponse response = authService.register(new RegisterRequest(
+                "sparse.member@test.local", "StrongPass!1", "sparse-member", "Sparse Member",
+                "Engineer", "A rather long biography that list cards never show",
+                "https://img.example/sparse.png", "https://github.com/sparse", "https://linkedin.com/in/sparse",
+                "https://twitter.com/sparse", "https://sparse.example", "Lisbon"
+        ));
+        Profile member = profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+        for (int i = 1; i <= 3; i++) {
+            projectService.createProject(member, new ProjectRequest("Sparse Project " + i, "summary " + i,
+                    "a long description nobody needs on a card", "java", null, null, null));
+        }
+    }
+
+    @Test
+    void teamListReturnsOnlyRequestedFieldsPlusId() throws Exception {
+        JsonNode sparse = read("/api/team?fields=name,slug");
+        JsonNode entry = find(sparse, "slug", "sparse-member");
+        assertThat(fieldNames(entry)).containsExactly("id", "slug", "name");
+        assertThat(entry.get("name").asText()).isEqualTo("Sparse Member");
+
+        int fullBytes = mockMvc.perform(get("/api/team")).andReturn().getResponse().getContentAsByteArray().length;
+        int sparseBytes = mockMvc.perform(get("/api/team").param("fields", "name,slug")).andReturn().getResponse().getContentAsByteArray().length;
+        assertThat(sparseBytes).isLessThan(fullBytes);
+    }
+
+    @Test
+    void projectFieldsCanNarrowTheEmbeddedOwner() throws Exception {
+        JsonNode sparse = read("/api/projects?memberSlug=sparse-member&fields=title,owner.slug");
+        assertThat(sparse).hasSize(3);
+        JsonNode entry = sparse.get(0);
+        assertThat(fieldNames(entry)).containsExactly("id", "title", "owner");
+        assertThat(fieldNames(entry.get("owner"))).containsExactly("slug");
+        assertThat(entry.get("owner").get("slug").asText()).isEqualTo("sparse-member");
+    }
+
+    @Test
+    void sparsePagesFollowCursors() throws Exception {
+        JsonNode first = read("/api/projects/page?memberSlug=sparse-member&fields=title&limit=2");
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(fieldNames(first.get("items").get(0))).containsExactly("id", "title");
+        JsonNode second = read("/api/projects/page?memberSlug=sparse-member&fields=title&limit=2&cursor="
+                + first.get("nextCursor").asText());
+        assertThat(second.get("items")).hasSize(1);
+        assertThat(second.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void sparseListsKeepTheOrderOfTheFullRepresentation() throws Exception {
+        Profile member = profileRepository.findBySlug("sparse-member").orElseThrow();
+        // Created last but sorts first by title
+        projectService.createProject(member, new ProjectRequest("Another Sparse Project", null, null, null, null, null, null));
+
+        for (String url : List.of("/api/projects?memberSlug=sparse-member", "/api/projects")) {
+            List<Long> full = ids(read(url));
+            List<Long> sparse = ids(read(url + (url.contains("?") ? "&" : "?") + "fields=title"));
+            assertThat(sparse).isEqualTo(full);
+        }
+        assertThat(read("/api/projects?memberSlug=sparse-member&fields=title").get(0).get("title").asText())
+                .isEqualTo("Another Sparse Project");
+    }
+
+    @Test
+    void ownerIsJoinedOnlyWhenNeeded() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read("/api/projects?fields=title");
+        read("/api/projects/page?fields=title,summary");
+        assertThat(statistics.getQueries()).isNotEmpty().noneMatch(query -> query.contains("JOIN"));
+
+        statistics.clear();
+        read("/api/projects?fields=title,owner.slug");
+        read("/api/projects?memberSlug=sparse-member&fields=title");
+        // The total sent alongside the list is counted separately
+        assertThat(statistics.getQueries()).filteredOn(query -> query.startsWith("SELECT p.id"))
+                .hasSize(2).allMatch(query -> query.contains("JOIN p.owner o"));
+    }
+
+    @Test
+    void sparseListsRevalidateAndRejectUnknownFields() throws Exception {
+        String eTag = mockMvc.perform(get("/api/team").param("fields", "slug"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/team").param("fields", "slug").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/team").param("fields", "slug,name").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/team").param("fields", "slug,passwordHash"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/projects").param("fields", "owner.user"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static JsonNode find(JsonNode array, String field, String value) {
+        for (JsonNode node : array) {
+            if (value.equals(node.path(field).asText())) {
+                return node;
+            }
+        }
+        throw new AssertionError("No entry with " + field + "=" + value);
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
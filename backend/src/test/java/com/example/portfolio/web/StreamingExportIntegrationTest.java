@@ -0,0 +1,146 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.model.Project;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the streaming body runs on an async thread and only sees committed rows
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class StreamingExportIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Profile owner;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        owner = new Profile();
+        owner.setSlug("stream-export");
+        owner.setName("Stream Export");
+        owner = profileRepository.save(owner);
+        List<Project> projects = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            projects.add(new Project("Streamed " + i, null, "java", null, null, null, owner));
+        }
+        projectRepository.saveAll(projects);
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll(projectRepository.findByOwnerIdOrderByCreatedAtDesc(owner.getId()));
+        profileRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void projectsExportAsJsonArrayByDefault() throws Exception {
+        MvcResult result = dispatch("/api/projects/export", null);
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+
+        JsonNode array = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(array.isArray()).isTrue();
+        assertThat(array.size()).isEqualTo((int) projectRepository.count());
+        List<String> titles = new ArrayList<>();
+        array.forEach(node -> {
+            if ("stream-export".equals(node.path("owner").path("slug").asText())) {
+                titles.add(node.get("title").asText());
+            }
+        });
+        assertThat(titles).containsExactly("Streamed 1", "Streamed 2", "Streamed 3");
+    }
+
+    @Test
+    void teamExportsAsNdjsonWhenAccepted() throws Exception {
+        MvcResult result = dispatch("/api/team/export", MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize((int) profileRepository.count());
+        List<String> slugs = new ArrayList<>();
+        for (String line : lines) {
+            slugs.add(objectMapper.readTree(line).get("slug").asText());
+        }
+        assertThat(slugs).contains("stream-export");
+    }
+
+    @Test
+    void ndjsonRowsStartAtTheBeginningOfTheirLine() throws Exception {
+        MvcResult result = dispatch("/api/projects/export", MediaType.APPLICATION_NDJSON_VALUE);
+        byte[] body = result.getResponse().getContentAsByteArray();
+
+        int secondLine = indexOf(body, (byte) '\n', 0) + 1;
+        int secondEnd = indexOf(body, (byte) '\n', secondLine);
+        assertThat(secondLine).isPositive();
+        assertThat(secondEnd).isGreaterThan(secondLine);
+        byte[] line = Arrays.copyOfRange(body, secondLine, secondEnd);
+        // Exactly the compact row: no root-value separator in front, nothing but the newline after
+        assertThat(new String(line, StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(objectMapper.readTree(line)))
+                .startsWith("{");
+        assertThat(body[body.length - 1]).isEqualTo((byte) '\n');
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private MvcResult dispatch(String url, String accept) throws Exception {
+        var request = get(url);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
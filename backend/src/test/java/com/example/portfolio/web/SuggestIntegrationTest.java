@@ -0,0 +1,143 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProfileService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.web.dto.ProfileUpdateRequest;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: project writes reach the suggest index only once they commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class SuggestIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Profile busy;
+    private Profile quiet;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        quiet = register("zephyra.quiet@test.local", "zephyra-quiet", "Zephyra Quiet");
+        busy = register("zephyra.busy@test.local", "zephyra-busy", "Zephyra Busy");
+        projectService.createProject(busy, new ProjectRequest("Zephyrometer", null, null, "zephyrjs, rust", null, null, null));
+        projectService.createProject(busy, new ProjectRequest("Wind Tunnel", null, null, "zephyrjs", null, null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // V4 cascades refresh tokens on delete; the generated test schema does not
+            entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+            authService.deleteAccount(userAccountRepository.findByEmail("zephyra.quiet@test.local").orElseThrow());
+            authService.deleteAccount(userAccountRepository.findByEmail("zephyra.busy@test.local").orElseThrow());
+        });
+    }
+
+    @Test
+    void ranksByPopularityAcrossTypes() throws Exception {
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "ZEPH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].label", contains("Zephyra Busy", "zephyrjs", "Zephyra Quiet", "Zephyrometer")))
+                .andExpect(jsonPath("$[0].type").value("profile"))
+                .andExpect(jsonPath("$[0].slug").value("zephyra-busy"))
+                .andExpect(jsonPath("$[1].type").value("tag"))
+                .andExpect(jsonPath("$[1].id").doesNotExist())
+                .andExpect(jsonPath("$[3].slug").value("zephyra-busy"));
+
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zeph").param("limit", "1"))
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "quie"))
+                .andExpect(jsonPath("$[0].label").value("Zephyra Quiet"));
+    }
+
+    @Test
+    void writesUpdateTheIndexIncrementally() throws Exception {
+        ProjectDto third = projectService.createProject(quiet, new ProjectRequest("Zephyr Kite", null, null, null, null, null, null));
+        projectService.createProject(quiet, new ProjectRequest("Zephyr Sail", null, null, null, null, null, null));
+        projectService.createProject(quiet, new ProjectRequest("Zephyr Mast", null, null, null, null, null, null));
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zephyra"))
+                .andExpect(jsonPath("$[*].label", contains("Zephyra Quiet", "Zephyra Busy")));
+
+        projectService.deleteProject(quiet, third.id());
+        projectService.deleteProject(quiet, projectService.listOwned(quiet).get(0).id());
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zephyra"))
+                .andExpect(jsonPath("$[*].label", contains("Zephyra Busy", "Zephyra Quiet")));
+
+        profileService.updateProfile(quiet, new ProfileUpdateRequest(null, "Mistral Calm", null, null, null, null, null, null, null, null));
+        // Still reachable through the unchanged slug, but no longer through the old name
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zephyra"))
+                .andExpect(jsonPath("$[*].label", contains("Zephyra Busy", "Mistral Calm")));
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "quie"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "calm"))
+                .andExpect(jsonPath("$[0].slug").value("zephyra-quiet"));
+    }
+
+    @Test
+    void blankPrefixesSuggestNothing() throws Exception {
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "  "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/v1/suggest").param("prefix", "zeph").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Profile register(String email, String slug, String displayName) {
+        authService.register(new RegisterRequest(
+                email, "StrongPass!1", slug, displayName,
+                null, null, null, null, null, null, null, null
+        ));
+        return profileRepository.findBySlug(slug).orElseThrow();
+    }
+}
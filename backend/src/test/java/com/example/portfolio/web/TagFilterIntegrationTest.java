@@ -0,0 +1,193 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.repo.ProjectRepository;
+import com.example.portfolio.repo.UserAccountRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ProjectService;
+import com.example.portfolio.service.TagFilterIndex;
+import com.example.portfolio.web.dto.ProjectDto;
+import com.example.portfolio.web.dto.ProjectRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: project writes reach the tag index only once they commit
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+class TagFilterIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TagFilterIndex tagFilterIndex;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Profile owner;
+    private ProjectDto both;
+    private ProjectDto onlyJava;
+    private ProjectDto onlySpring;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        transaction = new TransactionTemplate(transactionManager);
+        authService.register(new RegisterRequest(
+                "tagger@test.local", "StrongPass!1", "tagger", "Tagger",
+                null, null, null, null, null, null, null, null
+        ));
+        owner = profileRepository.findBySlug("tagger").orElseThrow();
+        both = create("Both", "Tfjava, Tf Spring  Boot");
+        onlyJava = create("Only Java", "tfjava");
+        onlySpring = create("Only Spring", "tf spring boot, tfkotlin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            // V4 cascades refresh tokens on delete; the generated test schema does not
+            entityManager.createQuery("DELETE FROM RefreshToken").executeUpdate();
+            authService.deleteAccount(userAccountRepository.findByEmail("tagger@test.local").orElseThrow());
+        });
+    }
+
+    @Test
+    void tagsAreStoredNormalizedButDisplayedAsEntered() {
+        transaction.executeWithoutResult(status -> assertThat(projectRepository.findById(both.id()).orElseThrow().getTagSet())
+                .extracting("name").containsExactlyInAnyOrder("tfjava", "tf spring boot"));
+        assertThat(both.tags()).isEqualTo("Tfjava, Tf Spring  Boot");
+    }
+
+    @Test
+    void filtersByAllOrAnyTag() throws Exception {
+        mockMvc.perform(get("/api/projects").param("tags", "TFJAVA,tf spring boot").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(both.id().intValue())))
+                .andExpect(jsonPath("$.items[0].owner.slug").value("tagger"))
+                .andExpect(jsonPath("$.total").value(1));
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava,tfkotlin").param("match", "any")
+                        .param("includeTotal", "true"))
+                .andExpect(jsonPath("$.items[*].id", contains(both.id().intValue(), onlyJava.id().intValue(),
+                        onlySpring.id().intValue())))
+                .andExpect(jsonPath("$.total").value(3));
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava,unknown-tag"))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void pagesFollowTheCursor() throws Exception {
+        String next = JsonPath.read(mockMvc.perform(get("/api/projects")
+                        .param("tags", "tfjava,tfkotlin").param("match", "any").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].id", contains(both.id().intValue(), onlyJava.id().intValue())))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava,tfkotlin").param("match", "any")
+                        .param("limit", "2").param("cursor", next))
+                .andExpect(jsonPath("$.items[*].id", contains(onlySpring.id().intValue())))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void idsPastTheIntRangeAreLeftOutWithoutFailingTheWrite() throws Exception {
+        long huge = 5_000_000_000L;
+        tagFilterIndex.indexProject(huge, List.of("tfjava"));
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava"))
+                .andExpect(jsonPath("$.items[*].id", contains(both.id().intValue(), onlyJava.id().intValue())));
+        tagFilterIndex.removeProjects(List.of(huge));
+    }
+
+    @Test
+    void writesUpdateFiltersAndCounts() throws Exception {
+        projectService.updateProject(owner, onlyJava.id(), new ProjectRequest("Only Java", null, null, "tfkotlin", null, null, null));
+        projectService.deleteProject(owner, onlySpring.id());
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava"))
+                .andExpect(jsonPath("$.items[*].id", contains(both.id().intValue())));
+        mockMvc.perform(get("/api/projects").param("tags", "tfkotlin"))
+                .andExpect(jsonPath("$.items[*].id", contains(onlyJava.id().intValue())));
+        mockMvc.perform(get("/api/projects/tags"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[?(@.name == 'tfjava')].count", contains(1)))
+                .andExpect(jsonPath("$[?(@.name == 'tf spring boot')].count", contains(1)))
+                .andExpect(jsonPath("$[?(@.name == 'tfkotlin')].count", contains(1)));
+    }
+
+    @Test
+    void facetsCountTheTagsOfMatchingProjects() throws Exception {
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava"))
+                .andExpect(jsonPath("$.facets").doesNotExist());
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava").param("includeFacets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.tags[*].name", contains("tfjava", "tf spring boot")))
+                .andExpect(jsonPath("$.facets.tags[*].count", contains(2, 1)));
+
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava,tfkotlin").param("match", "any")
+                        .param("includeFacets", "true"))
+                .andExpect(jsonPath("$.facets.tags[*].name", contains("tf spring boot", "tfjava", "tfkotlin")))
+                .andExpect(jsonPath("$.facets.tags[*].count", contains(2, 2, 1)));
+    }
+
+    @Test
+    void rejectsEmptyTagListsAndUnknownMatchModes() throws Exception {
+        mockMvc.perform(get("/api/projects").param("tags", " , "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/projects").param("tags", "tfjava").param("match", "some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ProjectDto create(String title, String tags) {
+        return projectService.createProject(owner, new ProjectRequest(title, null, null, tags, null, null, null));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.web.dto.RegisterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class TeamBatchIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        for (String slug : new String[]{"batch-web-a", "batch-web-b"}) {
+            authService.register(new RegisterRequest(
+                    slug + "@test.local", "StrongPass!1", slug, slug,
+                    null, null, null, null, null, null, null, null
+            ));
+        }
+    }
+
+    @Test
+    void getReturnsDetailsKeyedBySlug() throws Exception {
+        mockMvc.perform(get("/api/team/batch").param("slugs", "batch-web-b,batch-web-a,nobody"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['batch-web-a'].profile.slug").value("batch-web-a"))
+                .andExpect(jsonPath("$['batch-web-b'].projects").isArray());
+    }
+
+    @Test
+    void postAcceptsLongListsWithoutAuthentication() throws Exception {
+        mockMvc.perform(post("/api/team/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"slugs\":[\"batch-web-a\",\"batch-web-b\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['batch-web-b'].profile.name").value("batch-web-b"));
+    }
+
+    @Test
+    void oversizedBatchesAreRejected() throws Exception {
+        StringBuilder slugs = new StringBuilder();
+        for (int i = 0; i <= 50; i++) {
+            slugs.append(i == 0 ? "" : ",").append("slug-").append(i);
+        }
+        mockMvc.perform(get("/api/team/batch").param("slugs", slugs.toString()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.portfolio.web;
+
+import com.example.portfolio.model.Profile;
+import com.example.portfolio.repo.ProfileRepository;
+import com.example.portfolio.service.AuthService;
+import com.example.portfolio.service.ExperienceService;
+import com.example.portfolio.web.dto.AuthResponse;
+import com.example.portfolio.web.dto.ExperienceRequest;
+import com.example.portfolio.web.dto.RegisterRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:testdb")
+@Transactional
+class TeamConditionalGetIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private ExperienceService experienceService;
+
+    private Profile member;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        member = register("team.etag@test.local", "team-etag");
+    }
+
+    @Test
+    void profileDetailRevalidatesUntilChildWrite() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/team/slug/team-etag"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/team/slug/team-etag").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/team/slug/team-etag").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        experienceService.create(member, new ExperienceRequest("Engineer", "Acme", null, null, null, true, null, null));
+
+        mockMvc.perform(get("/api/team/slug/team-etag").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.experiences[0].company").value("Acme"));
+    }
+
+    @Test
+    void teamListAndSummaryRevalidate() throws Exception {
+        String teamTag = mockMvc.perform(get("/api/team"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/team").header(HttpHeaders.IF_NONE_MATCH, teamTag))
+                .andExpect(status().isNotModified());
+
+        String memberTag = mockMvc.perform(get("/api/team/" + member.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/team/" + member.getId()).header(HttpHeaders.IF_NONE_MATCH, memberTag))
+                .andExpect(status().isNotModified());
+
+        register("team.etag.second@test.local", "team-etag-second");
+
+        String changedTag = mockMvc.perform(get("/api/team").header(HttpHeaders.IF_NONE_MATCH, teamTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedTag).isNotEqualTo(teamTag);
+    }
+
+    @Test
+    void unknownProfileIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/team/slug/nobody-here"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Profile register(String email, String slug) {
+        AuthResponse response = authService.register(new RegisterRequest(
+                email, "StrongPass!1", slug, slug,
+                null, null, null, null, null, null, null, null
+        ));
+        return profileRepository.findBySlug(response.profile().slug()).orElseThrow();
+    }
+}